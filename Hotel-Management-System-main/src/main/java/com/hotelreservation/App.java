@@ -1,14 +1,22 @@
 package com.hotelreservation;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.controller.MainController;
+import com.hotelreservation.model.SettingKey;
 import com.hotelreservation.model.Staff;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.service.SettingsStore;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.MetricsServer;
+import com.hotelreservation.util.StartupTimeline;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -25,16 +33,38 @@ public class App extends Application {
     private static Stage primaryStage;
 
     /**
-     * Starts the application by showing the login view.
+     * Starts the application by showing the login view, then prepares the rest of the
+     * application in the background while the user logs in.
      *
      * @param stage the primary stage for the application
      * @throws IOException if an error occurs while loading the view
      */
     @Override
     public void start(Stage stage) throws IOException {
+        StartupTimeline.mark("app.start");
         logger.info("Starting Hotel Reservation System");
         primaryStage = stage;
+        long loginStart = StartupTimeline.now();
         showLoginView();
+        StartupTimeline.record("login.view", loginStart);
+        MetricsServer.startIfConfigured();
+        CompletableFuture<Void> bootstrap = AppBootstrap.start();
+        if (TrainingRun.isRequested()) {
+            bootstrap.thenRun(() -> Platform.runLater(TrainingRun::run));
+        }
+    }
+
+    /**
+     * Writes any settings changes that are still pending and closes pooled connections before the application exits.
+     */
+    @Override
+    public void stop() {
+        SettingsStore.getInstance().flush();
+        // Without a database the pool was never set up, and loading it would require the connection settings
+        if (!Repositories.get().inMemory()) {
+            DatabaseConnection.shutdown();
+        }
+        MetricsServer.stop();
     }
 
     /**
@@ -60,11 +90,17 @@ public class App extends Application {
      */
     public static void showMainView(Staff authenticatedStaff) throws IOException {
         logger.info("Showing main view for staff: {}", authenticatedStaff.getStaffId());
-        FXMLLoader loader = new FXMLLoader(App.class.getResource("/com/hotelreservation/view/main-view.fxml"));
-        Parent root = loader.load();
+        FXMLLoader loader = AppBootstrap.takeMainView();
+        if (loader == null) {
+            loader = new FXMLLoader(App.class.getResource("/com/hotelreservation/view/main-view.fxml"));
+            loader.load();
+        }
+        Parent root = loader.getRoot();
         MainController controller = loader.getController();
         controller.setCurrentStaff(authenticatedStaff);
         Scene scene = new Scene(root);
+        String theme = SettingsStore.getInstance().get(SettingKey.DARK_MODE) ? "dark" : "light";
+        scene.getStylesheets().add(App.class.getResource("/com/hotelreservation/styles/" + theme + ".css").toExternalForm());
         primaryStage.setScene(scene);
         primaryStage.setTitle("Hotel Reservation System");
         primaryStage.setFullScreen(true); // Set the stage to fullscreen
@@ -78,6 +114,11 @@ public class App extends Application {
      * @param content the content of the alert
      */
     public static void showErrorAlert(String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            // Views preloaded in the background report their load errors from there
+            Platform.runLater(() -> showErrorAlert(title, content));
+            return;
+        }
         logger.error("Error alert: {} - {}", title, content);
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -0,0 +1,199 @@
+package com.hotelreservation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.jdbc.JdbcSettingsRepository;
+import com.hotelreservation.repository.jdbc.JdbcStaffRepository;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.StartupTimeline;
+
+import javafx.css.CssParser;
+import javafx.fxml.FXMLLoader;
+
+/**
+ * Prepares the application in the background while the login screen is shown.
+ * Database connections are opened and warmed, the classes used by the views are loaded,
+ * stylesheets are parsed once and the main view is built ahead of time, all in parallel.
+ * Each step is recorded on the {@link StartupTimeline}.
+ */
+public final class AppBootstrap {
+    private static final Logger logger = LoggerFactory.getLogger(AppBootstrap.class);
+
+    private static final String VIEW_DIR = "/com/hotelreservation/view/";
+    private static final String STYLE_DIR = "/com/hotelreservation/styles/";
+    private static final String MAIN_VIEW = VIEW_DIR + "main-view.fxml";
+    private static final List<String> VIEWS = List.of(
+            "main-view.fxml", "reservations-view.fxml", "availability-view.fxml", "manage-guests-view.fxml",
+            "profile-view.fxml", "notifications-view.fxml", "promos-view.fxml", "settings-view.fxml",
+            "staff-management-view.fxml", "staff-logs-view.fxml", "performance-view.fxml");
+    private static final List<String> STYLESHEETS = List.of("main.css", "light.css", "dark.css");
+    private static final int WARM_CONNECTIONS = 2;
+
+    private static final Pattern IMPORT = Pattern.compile("<\\?import\\s+([\\w.]+?)(\\.\\*)?\\s*\\?>");
+    private static final Pattern ELEMENT = Pattern.compile("<([A-Z]\\w*)");
+    private static final Pattern CONTROLLER = Pattern.compile("fx:controller=\"([\\w.]+)\"");
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+        Thread thread = new Thread(runnable, "bootstrap-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile CompletableFuture<FXMLLoader> mainView;
+
+    private AppBootstrap() {
+    }
+
+    /**
+     * Starts all bootstrap steps in the background. Safe to call once the login screen is visible.
+     *
+     * @return a future completed when every step has finished, successfully or not
+     */
+    public static CompletableFuture<Void> start() {
+        CompletableFuture<Void> database = CompletableFuture.runAsync(
+                StartupTimeline.timed("database.warmup", AppBootstrap::warmDatabase), executor);
+        CompletableFuture<Void> classes = CompletableFuture.runAsync(
+                StartupTimeline.timed("view.classes", AppBootstrap::loadViewClasses), executor);
+        CompletableFuture<Void> styles = CompletableFuture.runAsync(
+                StartupTimeline.timed("stylesheets", AppBootstrap::parseStylesheets), executor);
+        mainView = CompletableFuture.supplyAsync(AppBootstrap::loadMainView, executor);
+
+        return CompletableFuture.allOf(database, classes, styles, mainView)
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        logger.warn("Bootstrap step failed", error);
+                    }
+                    StartupTimeline.mark("bootstrap.complete");
+                    StartupTimeline.report();
+                    return null;
+                });
+    }
+
+    /**
+     * Takes the main view built during bootstrap, if it is ready. It can be taken only once;
+     * later logins build the main view as usual.
+     *
+     * @return the loader holding the main view and its controller, or null if not available
+     */
+    public static FXMLLoader takeMainView() {
+        CompletableFuture<FXMLLoader> future = mainView;
+        mainView = null;
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    private static void warmDatabase() {
+        if (Repositories.get().inMemory()) {
+            // Nothing to connect to when running without a database
+            return;
+        }
+        int opened = DatabaseConnection.warmUp(WARM_CONNECTIONS,
+                List.of(JdbcStaffRepository.LOGIN_QUERY, JdbcSettingsRepository.LOAD_QUERY));
+        logger.debug("Warmed {} database connections", opened);
+    }
+
+    /**
+     * Loads the classes used by the views and their controllers so building a view later
+     * does not wait on class loading. Classes are loaded but not initialized.
+     */
+    private static void loadViewClasses() {
+        Set<String> classNames = new HashSet<>();
+        for (String view : VIEWS) {
+            String fxml = readResource(VIEW_DIR + view);
+            if (fxml == null) {
+                continue;
+            }
+            List<String> packages = new ArrayList<>();
+            Matcher imports = IMPORT.matcher(fxml);
+            while (imports.find()) {
+                if (imports.group(2) != null) {
+                    packages.add(imports.group(1));
+                } else {
+                    classNames.add(imports.group(1));
+                }
+            }
+            // Elements of wildcard imports are resolved against every imported package
+            Matcher elements = ELEMENT.matcher(fxml);
+            while (elements.find()) {
+                for (String pkg : packages) {
+                    classNames.add(pkg + "." + elements.group(1));
+                }
+            }
+            Matcher controller = CONTROLLER.matcher(fxml);
+            if (controller.find()) {
+                classNames.add(controller.group(1));
+            }
+        }
+
+        ClassLoader loader = AppBootstrap.class.getClassLoader();
+        int loaded = 0;
+        for (String className : classNames) {
+            try {
+                Class.forName(className, false, loader);
+                loaded++;
+            } catch (ClassNotFoundException e) {
+                // Expected for element names tried against the wrong wildcard package
+            }
+        }
+        logger.debug("Preloaded {} view classes", loaded);
+    }
+
+    private static void parseStylesheets() {
+        CssParser parser = new CssParser();
+        for (String stylesheet : STYLESHEETS) {
+            URL url = AppBootstrap.class.getResource(STYLE_DIR + stylesheet);
+            try {
+                if (url != null) {
+                    parser.parse(url);
+                }
+            } catch (IOException e) {
+                logger.debug("Could not preload stylesheet {}", stylesheet, e);
+            }
+        }
+    }
+
+    /**
+     * Builds the main view off the application thread. This is safe because the view is not
+     * attached to a scene yet and its controller does no work until a staff member is set.
+     */
+    private static FXMLLoader loadMainView() {
+        long start = StartupTimeline.now();
+        try {
+            FXMLLoader loader = new FXMLLoader(AppBootstrap.class.getResource(MAIN_VIEW));
+            loader.load();
+            return loader;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to preload main view", e);
+        } finally {
+            StartupTimeline.record("main.view", start);
+        }
+    }
+
+    private static String readResource(String path) {
+        try (InputStream in = AppBootstrap.class.getResourceAsStream(path)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.hotelreservation;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.controller.ViewRegistry;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.service.LoginService;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.service.SettingsStore;
+import com.hotelreservation.util.StartupTimeline;
+
+import javafx.application.Platform;
+
+/**
+ * A scripted startup used to record a class-sharing archive and to benchmark cold start.
+ * Enabled with {@code -Dhotel.training=true}: once bootstrap has finished, the run logs in with the
+ * staff ID and password in the {@code HOTEL_TRAINING_STAFF_ID} and {@code HOTEL_TRAINING_PASSWORD}
+ * environment variables, opens the main, reservations and availability views, and exits.
+ * Without credentials it exits right after bootstrap, which is what the startup benchmark measures.
+ */
+public final class TrainingRun {
+    private static final Logger logger = LoggerFactory.getLogger(TrainingRun.class);
+    private static final String PROPERTY = "hotel.training";
+    private static final List<String> VIEWS = List.of(
+            "/com/hotelreservation/view/reservations-view.fxml",
+            "/com/hotelreservation/view/availability-view.fxml");
+
+    private TrainingRun() {
+    }
+
+    /**
+     * Checks whether this process was started for a scripted run.
+     *
+     * @return true if the training property is set
+     */
+    public static boolean isRequested() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Runs the scripted session and exits the application. Must be called on the JavaFX application thread.
+     */
+    public static void run() {
+        String staffId = System.getenv("HOTEL_TRAINING_STAFF_ID");
+        String password = System.getenv("HOTEL_TRAINING_PASSWORD");
+        try {
+            if (staffId != null && password != null) {
+                long start = StartupTimeline.now();
+                walkThrough(staffId, password);
+                StartupTimeline.record("training.session", start);
+                StartupTimeline.report();
+            }
+        } catch (Exception e) {
+            logger.error("Training run failed", e);
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    private static void walkThrough(String staffId, String password) throws Exception {
+        Staff staff = new LoginService().authenticate(staffId, password);
+        if (staff == null) {
+            logger.warn("Training login failed for staff {}", staffId);
+            return;
+        }
+        SessionManager.getInstance().startSession(staff);
+        SettingsStore.getInstance().load(staff.getStaffId());
+        App.showMainView(staff);
+
+        ViewRegistry views = new ViewRegistry(staff);
+        for (String view : VIEWS) {
+            views.show(view);
+        }
+        views.clear();
+        SettingsStore.getInstance().clear();
+        SessionManager.getInstance().endSession();
+    }
+}
@@ -16,27 +16,23 @@ import com.hotelreservation.App;
 import com.hotelreservation.model.Booking;
 import com.hotelreservation.model.Room;
 import com.hotelreservation.model.Staff;
-import com.hotelreservation.service.BookingService;
+import com.hotelreservation.service.CalendarDataProvider;
 import com.hotelreservation.service.RoomService;
+import com.hotelreservation.view.AvailabilityCalendar;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
-import javafx.geometry.Pos;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DateCell;
 import javafx.scene.control.DatePicker;
-import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.ColumnConstraints;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.text.Text;
 import javafx.stage.Popup;
 
 /**
  * Controller for the availability calendar view.
  */
-public class AvailabilityController {
+public class AvailabilityController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(AvailabilityController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd");
     private static final int DAYS_TO_SHOW = 14; // Show two weeks by default
@@ -45,7 +41,7 @@ public class AvailabilityController {
     @FXML private DatePicker endDatePicker;
     @FXML private ComboBox<String> roomTypeFilter;
     @FXML private ComboBox<Integer> floorFilter;
-    @FXML private GridPane calendarGrid;
+    @FXML private AvailabilityCalendar calendarView;
     @FXML private Popup roomDetailsPopup;
     @FXML private Text roomNumberText;
     @FXML private Text roomTypeText;
@@ -55,25 +51,31 @@ public class AvailabilityController {
 
     private Staff currentStaff;
     private final RoomService roomService;
-    private final BookingService bookingService;
+    private final CalendarDataProvider calendarDataProvider;
     private Map<String, Room> rooms;
     private Map<String, List<Booking>> bookings;
     private LocalDate currentStartDate;
 
     public AvailabilityController() {
         this.roomService = new RoomService();
-        this.bookingService = new BookingService();
+        this.calendarDataProvider = CalendarDataProvider.getInstance();
         this.currentStartDate = LocalDate.now();
     }
 
     @FXML
     private void initialize() {
         setupDatePickers();
+        setupCalendar();
         setupFilters();
         loadData();
         updateCalendar();
     }
 
+    private void setupCalendar() {
+        calendarView.setStatusProvider(this::getCellStatus);
+        calendarView.setOnCellClicked(this::showRoomDetails);
+    }
+
     private void setupDatePickers() {
         // Set minimum date to today for both date pickers
         startDatePicker.setDayCellFactory(picker -> new DateCell() {
@@ -102,12 +104,14 @@ public class AvailabilityController {
         startDatePicker.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
                 currentStartDate = newVal;
+                loadBookings();
                 updateCalendar();
             }
         });
 
         endDatePicker.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
+                loadBookings();
                 updateCalendar();
             }
         });
@@ -139,49 +143,35 @@ public class AvailabilityController {
             List<Room> allRooms = roomService.getAllRooms();
             rooms = allRooms.stream()
                     .collect(Collectors.toMap(Room::getRoomId, room -> room));
-
-            // Load bookings for the date range
-            LocalDate endDate = endDatePicker.getValue();
-            if (endDate == null) {
-                endDate = currentStartDate.plusDays(DAYS_TO_SHOW - 1);
-            }
-            List<Booking> allBookings = bookingService.searchBookings(null, null, currentStartDate);
-            bookings = allBookings.stream()
-                    .collect(Collectors.groupingBy(Booking::getRoomId));
         } catch (Exception e) {
             logger.error("Error loading data", e);
             App.showErrorAlert("Error", "Failed to load calendar data: " + e.getMessage());
         }
+        loadBookings();
     }
 
-    private void updateCalendar() {
-        calendarGrid.getChildren().clear();
-        calendarGrid.getColumnConstraints().clear();
-        calendarGrid.getRowConstraints().clear();
-
-        // Add column constraints
-        ColumnConstraints firstCol = new ColumnConstraints();
-        firstCol.setMinWidth(100);
-        firstCol.setPrefWidth(150);
-        calendarGrid.getColumnConstraints().add(firstCol);
-
-        for (int i = 0; i < DAYS_TO_SHOW; i++) {
-            ColumnConstraints col = new ColumnConstraints();
-            col.setMinWidth(80);
-            col.setPrefWidth(100);
-            calendarGrid.getColumnConstraints().add(col);
+    private void loadBookings() {
+        try {
+            // Load every booking overlapping the visible date range
+            bookings = calendarDataProvider.getBookingsByRoom(currentStartDate, getEndDate());
+        } catch (Exception e) {
+            logger.error("Error loading bookings", e);
+            App.showErrorAlert("Error", "Failed to load calendar data: " + e.getMessage());
+            if (bookings == null) {
+                bookings = Map.of();
+            }
         }
+    }
 
-        // Add date headers
-        for (int i = 0; i < DAYS_TO_SHOW; i++) {
-            LocalDate date = currentStartDate.plusDays(i);
-            Label dateLabel = new Label(date.format(DATE_FORMATTER));
-            dateLabel.setAlignment(Pos.CENTER);
-            dateLabel.setMaxWidth(Double.MAX_VALUE);
-            dateLabel.getStyleClass().add("calendar-header");
-            calendarGrid.add(dateLabel, i + 1, 0);
+    private LocalDate getEndDate() {
+        LocalDate endDate = endDatePicker.getValue();
+        if (endDate == null || endDate.isBefore(currentStartDate)) {
+            endDate = currentStartDate.plusDays(DAYS_TO_SHOW - 1);
         }
+        return endDate;
+    }
 
+    private void updateCalendar() {
         // Filter rooms
         List<Room> filteredRooms = rooms.values().stream()
                 .filter(room -> roomTypeFilter.getValue().equals("All Types") || 
@@ -191,38 +181,8 @@ public class AvailabilityController {
                 .sorted(Comparator.comparing(Room::getRoomNumber))
                 .collect(Collectors.toList());
 
-        // Add room rows
-        int row = 1;
-        for (Room room : filteredRooms) {
-            // Add room number
-            Label roomLabel = new Label(room.getRoomNumber());
-            roomLabel.setAlignment(Pos.CENTER_LEFT);
-            roomLabel.setMaxWidth(Double.MAX_VALUE);
-            roomLabel.getStyleClass().add("room-header");
-            calendarGrid.add(roomLabel, 0, row);
-
-            // Add status cells
-            for (int col = 0; col < DAYS_TO_SHOW; col++) {
-                LocalDate date = currentStartDate.plusDays(col);
-                StackPane cell = createCalendarCell(room, date);
-                calendarGrid.add(cell, col + 1, row);
-            }
-            row++;
-        }
-    }
-
-    private StackPane createCalendarCell(Room room, LocalDate date) {
-        StackPane cell = new StackPane();
-        cell.getStyleClass().add("calendar-cell");
-
-        // Determine cell status
-        String status = getCellStatus(room, date);
-        cell.getStyleClass().add(status.toLowerCase());
-
-        // Add click handler
-        cell.setOnMouseClicked(e -> showRoomDetails(room, date, e));
-
-        return cell;
+        calendarView.setDateRange(currentStartDate, getEndDate());
+        calendarView.setRooms(filteredRooms);
     }
 
     private String getCellStatus(Room room, LocalDate date) {
@@ -273,7 +233,7 @@ public class AvailabilityController {
         }
 
         // Show popup
-        roomDetailsPopup.show(calendarGrid.getScene().getWindow(),
+        roomDetailsPopup.show(calendarView.getScene().getWindow(),
                 event.getScreenX(), event.getScreenY());
     }
 
@@ -287,6 +247,7 @@ public class AvailabilityController {
         currentStartDate = LocalDate.now();
         startDatePicker.setValue(currentStartDate);
         endDatePicker.setValue(currentStartDate.plusDays(DAYS_TO_SHOW - 1));
+        loadBookings();
         updateCalendar();
     }
 
@@ -295,7 +256,16 @@ public class AvailabilityController {
      *
      * @param staff the staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
     }
+
+    @Override
+    public void refresh() {
+        // Picks up bookings made on other terminals since the weeks were cached
+        calendarDataProvider.invalidate();
+        loadData();
+        updateCalendar();
+    }
 }
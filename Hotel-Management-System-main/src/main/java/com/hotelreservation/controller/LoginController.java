@@ -1,10 +1,17 @@
 package com.hotelreservation.controller;
 
+import java.sql.SQLException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
 import com.hotelreservation.service.LoginService;
+import com.hotelreservation.service.LoginThrottle;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.service.SettingsStore;
 import com.hotelreservation.App;
 import com.hotelreservation.model.Staff;
 
@@ -30,22 +37,53 @@ public class LoginController {
 
     /**
      * Handles the login action.
-     * Validates the staff ID and password, and proceeds to the main view if successful.
+     * Validates the staff ID and password and loads the user's settings in the background,
+     * and proceeds to the main view if successful.
      */
     @FXML
     private void handleLogin() {
         String staffId = staffIdField.getText();
         String password = passwordField.getText();
 
-        if (loginService.verifyLogin(staffId, password)) {
-            try {
-                Staff authenticatedStaff = loginService.getStaffById(staffId);
-                App.showMainView(authenticatedStaff);
-            } catch (Exception e) {
-                App.showErrorAlert("Error", "Failed to load main view: " + e.getMessage());
-            }
-        } else {
-            App.showErrorAlert("Login Failed", "Invalid Staff ID or Password");
-        }
+        setInputDisabled(true);
+        loginService.authenticateAsync(staffId, password)
+                .thenApply(staff -> {
+                    // Cache the user's settings before the main view needs them
+                    if (staff != null) {
+                        SettingsStore.getInstance().load(staff.getStaffId());
+                    }
+                    return staff;
+                })
+                .whenComplete((authenticatedStaff, error) -> Platform.runLater(() -> {
+                    setInputDisabled(false);
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        if (cause instanceof LoginThrottle.ThrottledException) {
+                            App.showErrorAlert("Login Failed", cause.getMessage());
+                        } else if (cause instanceof RejectedExecutionException) {
+                            App.showErrorAlert("Login Busy", "Too many logins in progress. Please try again in a moment.");
+                        } else if (cause instanceof SQLException) {
+                            App.showErrorAlert("Database Unavailable",
+                                    "The login cannot be checked because the database is unavailable. "
+                                    + "Please try again later.");
+                        } else {
+                            App.showErrorAlert("Error", "Failed to verify login: " + error.getMessage());
+                        }
+                    } else if (authenticatedStaff != null) {
+                        try {
+                            SessionManager.getInstance().startSession(authenticatedStaff);
+                            App.showMainView(authenticatedStaff);
+                        } catch (Exception e) {
+                            App.showErrorAlert("Error", "Failed to load main view: " + e.getMessage());
+                        }
+                    } else {
+                        App.showErrorAlert("Login Failed", "Invalid Staff ID or Password");
+                    }
+                }));
+    }
+
+    private void setInputDisabled(boolean disabled) {
+        staffIdField.setDisable(disabled);
+        passwordField.setDisable(disabled);
     }
 }
@@ -1,18 +1,33 @@
 package com.hotelreservation.controller;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.App;
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Staff;
+import com.hotelreservation.repository.offline.OfflineSync;
+import com.hotelreservation.repository.replica.ReadReplica;
 import com.hotelreservation.service.LogoutService;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.service.SettingsStore;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.StackPane;
 
 /**
@@ -20,54 +35,143 @@ import javafx.scene.layout.StackPane;
  */
 public class MainController {
     private static final Logger logger = LoggerFactory.getLogger(MainController.class);
+    private static final String VIEW_DIR = "/com/hotelreservation/view/";
+    private static final String PROFILE_VIEW = VIEW_DIR + "profile-view.fxml";
+    private static final String MANAGE_GUESTS_VIEW = VIEW_DIR + "manage-guests-view.fxml";
+    private static final String NOTIFICATIONS_VIEW = VIEW_DIR + "notifications-view.fxml";
+    private static final String PROMOS_VIEW = VIEW_DIR + "promos-view.fxml";
+    private static final String RESERVATIONS_VIEW = VIEW_DIR + "reservations-view.fxml";
+    private static final String AVAILABILITY_VIEW = VIEW_DIR + "availability-view.fxml";
+    private static final String STAFF_MANAGEMENT_VIEW = VIEW_DIR + "staff-management-view.fxml";
+    private static final String STAFF_LOGS_VIEW = VIEW_DIR + "staff-logs-view.fxml";
+    private static final String SETTINGS_VIEW = VIEW_DIR + "settings-view.fxml";
+    private static final String PERFORMANCE_VIEW = VIEW_DIR + "performance-view.fxml";
+    private static final DateTimeFormatter MIRROR_TIME = DateTimeFormatter.ofPattern("MMM d, HH:mm");
+    private static final DateTimeFormatter REFRESH_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     @FXML private StackPane contentArea;
     private Staff currentStaff;
+    private final SessionManager session = SessionManager.getInstance();
     @FXML private Button manageGuestsButton;
     @FXML private Button staffManagementButton;
     @FXML private Button staffLogsButton;
     @FXML private Button promosButton;
+    @FXML private Button performanceButton;
+    @FXML private Label connectionStatusLabel;
+    @FXML private Label dataFreshnessLabel;
+    private Timeline freshnessTimer;
+    private ViewRegistry views;
+    private final OfflineSync.StatusListener offlineStatusListener =
+            status -> Platform.runLater(() -> showConnectionStatus(status));
 
-    private void loadView(String fxmlPath) {
+    /**
+     * Shows a view in the content area, reusing it if it was shown before in this session.
+     *
+     * @param fxmlPath the resource path of the view
+     * @param description the name of the view used in error messages
+     */
+    private void showView(String fxmlPath, String description) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Node view = loader.load();
-            contentArea.getChildren().setAll(view);
+            contentArea.getChildren().setAll(views.show(fxmlPath));
         } catch (IOException e) {
-            App.showErrorAlert("Error", "Failed to load view: " + e.getMessage());
+            logger.error("Failed to load {}", description, e);
+            App.showErrorAlert("Error", "Failed to load " + description + ": " + e.getMessage());
         }
     }
 
     @FXML
     private void initialize() {
-        // Initialize UI components
+        OfflineSync.addStatusListener(offlineStatusListener);
+        showConnectionStatus(OfflineSync.currentStatus());
+        if (ReadReplica.currentStatus() != null) {
+            showDataFreshness();
+            // The age keeps growing between refreshes, so the label is redrawn on a timer rather than on change
+            freshnessTimer = new Timeline(new KeyFrame(javafx.util.Duration.seconds(1), event -> showDataFreshness()));
+            freshnessTimer.setCycleCount(Animation.INDEFINITE);
+            freshnessTimer.play();
+        }
+    }
+
+    /**
+     * Shows how old the read replica's data is, and warns when it has stopped refreshing.
+     */
+    private void showDataFreshness() {
+        ReadReplica.Status status = ReadReplica.currentStatus();
+        dataFreshnessLabel.setVisible(status != null);
+        dataFreshnessLabel.setManaged(status != null);
+        if (status == null) {
+            return;
+        }
+        dataFreshnessLabel.getStyleClass().remove("stale");
+        if (!status.ready()) {
+            dataFreshnessLabel.setText("Loading local data...");
+        } else if (status.stale()) {
+            dataFreshnessLabel.setText("Data may be out of date: last refreshed " + status.dataAsOf().format(MIRROR_TIME));
+            dataFreshnessLabel.getStyleClass().add("stale");
+        } else {
+            long age = Math.max(0, Duration.between(status.dataAsOf(), LocalDateTime.now()).toSeconds());
+            dataFreshnessLabel.setText("Data as of " + status.dataAsOf().format(REFRESH_TIME) + " (" + age + " s old)");
+        }
+    }
+
+    /**
+     * Shows whether the data comes from the offline copy, how many changes wait to be synced, and which
+     * offline changes could not be synced. Hidden while online with nothing to report.
+     *
+     * @param status the offline status, or null if offline support is off
+     */
+    private void showConnectionStatus(OfflineSync.Status status) {
+        boolean conflicts = status != null && !status.conflicts().isEmpty();
+        boolean show = status != null && (status.mode() != OfflineSync.Mode.ONLINE || conflicts);
+        connectionStatusLabel.setVisible(show);
+        connectionStatusLabel.setManaged(show);
+        if (!show) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        if (status.mode() == OfflineSync.Mode.OFFLINE) {
+            String since = status.mirrorRefreshedAt() != null
+                    ? status.mirrorRefreshedAt().format(MIRROR_TIME) : "no saved copy";
+            lines.add("Offline - showing data from " + since);
+            if (status.pendingChanges() > 0) {
+                lines.add(status.pendingChanges() + " change(s) waiting to sync");
+            }
+        } else if (status.mode() == OfflineSync.Mode.SYNCING) {
+            lines.add("Syncing " + status.pendingChanges() + " offline change(s)...");
+        }
+        if (conflicts) {
+            lines.add(status.conflicts().size() + " offline change(s) could not be synced. Click to dismiss.");
+            connectionStatusLabel.setTooltip(new Tooltip(status.conflicts().stream()
+                    .map(conflict -> conflict.entry().describe() + ": " + conflict.reason())
+                    .collect(Collectors.joining("\n"))));
+        } else {
+            connectionStatusLabel.setTooltip(null);
+        }
+        connectionStatusLabel.setText(String.join("\n", lines));
+        connectionStatusLabel.getStyleClass().remove("sync-conflict");
+        if (conflicts) {
+            connectionStatusLabel.getStyleClass().add("sync-conflict");
+        }
     }
 
     @FXML
-    private void showProfile() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/profile-view.fxml"));
-            Node view = loader.load();
-            ProfileController controller = loader.getController();
-            controller.setStaff(currentStaff);
-            contentArea.getChildren().setAll(view);
-        } catch (IOException e) {
-            App.showErrorAlert("Error", "Failed to load profile view: " + e.getMessage());
+    private void acknowledgeSyncConflicts() {
+        OfflineSync.Status status = OfflineSync.currentStatus();
+        if (status != null && !status.conflicts().isEmpty()) {
+            OfflineSync.acknowledgeConflicts();
         }
     }
 
+    @FXML
+    private void showProfile() {
+        showView(PROFILE_VIEW, "profile view");
+    }
+
     @FXML
     private void manageGuests() {
-        if (hasManagerAccess()) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/manage-guests-view.fxml"));
-                Node view = loader.load();
-                ManageGuestsController controller = loader.getController();
-                controller.setCurrentStaff(currentStaff);
-                contentArea.getChildren().setAll(view);
-            } catch (IOException e) {
-                App.showErrorAlert("Error", "Failed to load manage guests view: " + e.getMessage());
-            }
+        if (session.hasPermission(Permission.MANAGE_GUESTS)) {
+            showView(MANAGE_GUESTS_VIEW, "manage guests view");
         } else {
             App.showErrorAlert("Access Denied", "You don't have permission to access this feature.");
         }
@@ -75,29 +179,13 @@ public class MainController {
 
     @FXML
     private void showNotifications() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/notifications-view.fxml"));
-            Node view = loader.load();
-            NotificationsController controller = loader.getController();
-            controller.setCurrentStaff(currentStaff);
-            contentArea.getChildren().setAll(view);
-        } catch (IOException e) {
-            App.showErrorAlert("Error", "Failed to load notifications view: " + e.getMessage());
-        }
+        showView(NOTIFICATIONS_VIEW, "notifications view");
     }
 
     @FXML
     private void showPromos() {
-        if (hasAdminAccess()) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/promos-view.fxml"));
-                Node view = loader.load();
-                PromosController controller = loader.getController();
-                controller.setCurrentStaff(currentStaff);
-                contentArea.getChildren().setAll(view);
-            } catch (IOException e) {
-                App.showErrorAlert("Error", "Failed to load promos view: " + e.getMessage());
-            }
+        if (session.hasPermission(Permission.MANAGE_PROMOS)) {
+            showView(PROMOS_VIEW, "promos view");
         } else {
             App.showErrorAlert("Access Denied", "You don't have permission to access this feature.");
         }
@@ -105,42 +193,18 @@ public class MainController {
 
     @FXML
     private void showReservations() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/reservations-view.fxml"));
-            Node view = loader.load();
-            ReservationsController controller = loader.getController();
-            controller.setCurrentStaff(currentStaff);
-            contentArea.getChildren().setAll(view);
-        } catch (IOException e) {
-            App.showErrorAlert("Error", "Failed to load reservations view: " + e.getMessage());
-        }
+        showView(RESERVATIONS_VIEW, "reservations view");
     }
 
     @FXML
     private void showAvailability() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/availability-view.fxml"));
-            Node view = loader.load();
-            AvailabilityController controller = loader.getController();
-            controller.setCurrentStaff(currentStaff);
-            contentArea.getChildren().setAll(view);
-        } catch (IOException e) {
-            App.showErrorAlert("Error", "Failed to load availability calendar: " + e.getMessage());
-        }
+        showView(AVAILABILITY_VIEW, "availability calendar");
     }
 
     @FXML
     private void manageStaff() {
-        if (hasManagerAccess()) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/staff-management-view.fxml"));
-                Node view = loader.load();
-                StaffManagementController controller = loader.getController();
-                controller.setCurrentStaff(currentStaff);
-                contentArea.getChildren().setAll(view);
-            } catch (IOException e) {
-                App.showErrorAlert("Error", "Failed to load staff management view: " + e.getMessage());
-            }
+        if (session.hasPermission(Permission.MANAGE_STAFF)) {
+            showView(STAFF_MANAGEMENT_VIEW, "staff management view");
         } else {
             App.showErrorAlert("Access Denied", "You don't have permission to access this feature.");
         }
@@ -148,52 +212,39 @@ public class MainController {
 
     @FXML
     private void showStaffLogs() {
-        if (hasAdminAccess()) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotelreservation/view/staff-logs-view.fxml"));
-                Node view = loader.load();
-                StaffLogsController controller = loader.getController();
-                controller.setCurrentStaff(currentStaff);
-                contentArea.getChildren().setAll(view);
-            } catch (IOException e) {
-                App.showErrorAlert("Error", "Failed to load staff logs view: " + e.getMessage());
-            }
+        if (session.hasPermission(Permission.VIEW_STAFF_LOGS)) {
+            showView(STAFF_LOGS_VIEW, "staff logs view");
         } else {
             App.showErrorAlert("Access Denied", "You don't have permission to access this feature.");
         }
     }
 
     @FXML
-    private void showSettings() {
-        try {
-            logger.info("Loading settings view...");
-            // Clear existing content first
-            contentArea.getChildren().clear();
-            
-            // Load new settings view
-            String fxmlPath = "/com/hotelreservation/view/settings-view.fxml";
-            logger.info("Loading FXML from: " + fxmlPath);
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Node view = loader.load();
-            
-            // Set up controller
-            SettingsController controller = loader.getController();
-            controller.setCurrentStaff(currentStaff);
-            
-            // Add view to content area
-            contentArea.getChildren().setAll(view);
-            logger.info("Settings view loaded successfully");
-        } catch (IOException e) {
-            logger.error("Failed to load settings view", e);
-            App.showErrorAlert("Error", "Failed to load settings view: " + e.getMessage());
+    private void showPerformance() {
+        if (session.hasPermission(Permission.VIEW_PERFORMANCE)) {
+            showView(PERFORMANCE_VIEW, "performance view");
+        } else {
+            App.showErrorAlert("Access Denied", "You don't have permission to access this feature.");
         }
     }
 
+    @FXML
+    private void showSettings() {
+        showView(SETTINGS_VIEW, "settings view");
+    }
+
     @FXML
     private void handleLogout() {
         try {
             LogoutService logoutService = new LogoutService();
             if (logoutService.logout(currentStaff)) {
+                OfflineSync.removeStatusListener(offlineStatusListener);
+                if (freshnessTimer != null) {
+                    freshnessTimer.stop();
+                }
+                views.clear();
+                SettingsStore.getInstance().clear();
+                session.endSession();
                 App.showLoginView();
             } else {
                 App.showErrorAlert("Error", "Failed to process logout");
@@ -206,41 +257,38 @@ public class MainController {
 
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
+        this.views = new ViewRegistry(staff);
         updateUIBasedOnRole();
+        views.warmUp(getWarmUpViews());
     }
 
-    private void updateUIBasedOnRole() {
-        if (currentStaff != null) {
-            boolean hasManagerAccess = hasManagerAccess();
-            boolean hasAdminAccess = hasAdminAccess();
-
-            if (manageGuestsButton != null) {
-                manageGuestsButton.setVisible(hasManagerAccess);
-                manageGuestsButton.setManaged(hasManagerAccess);
-            }
-            if (staffManagementButton != null) {
-                staffManagementButton.setVisible(hasManagerAccess);
-                staffManagementButton.setManaged(hasManagerAccess);
-            }
-            if (staffLogsButton != null) {
-                staffLogsButton.setVisible(hasAdminAccess);
-                staffLogsButton.setManaged(hasAdminAccess);
-            }
-            if (promosButton != null) {
-                promosButton.setVisible(hasAdminAccess);
-                promosButton.setManaged(hasAdminAccess);
-            }
+    /**
+     * Gets the views worth loading right after login: the daily front-desk views,
+     * plus guest management for those allowed to open it.
+     */
+    private List<String> getWarmUpViews() {
+        List<String> paths = new ArrayList<>(List.of(RESERVATIONS_VIEW, AVAILABILITY_VIEW));
+        if (session.hasPermission(Permission.MANAGE_GUESTS)) {
+            paths.add(MANAGE_GUESTS_VIEW);
         }
+        return paths;
     }
 
-    private boolean hasManagerAccess() {
-        if (currentStaff == null) return false;
-        String position = currentStaff.getPosition().toUpperCase();
-        return position.equals("ADMIN") || position.equals("MANAGER");
+    private void updateUIBasedOnRole() {
+        if (currentStaff != null) {
+            showIfPermitted(manageGuestsButton, Permission.MANAGE_GUESTS);
+            showIfPermitted(staffManagementButton, Permission.MANAGE_STAFF);
+            showIfPermitted(staffLogsButton, Permission.VIEW_STAFF_LOGS);
+            showIfPermitted(promosButton, Permission.MANAGE_PROMOS);
+            showIfPermitted(performanceButton, Permission.VIEW_PERFORMANCE);
+        }
     }
 
-    private boolean hasAdminAccess() {
-        if (currentStaff == null) return false;
-        return currentStaff.getPosition().toUpperCase().equals("ADMIN");
+    private void showIfPermitted(Button button, Permission permission) {
+        if (button != null) {
+            boolean permitted = session.hasPermission(permission);
+            button.setVisible(permitted);
+            button.setManaged(permitted);
+        }
     }
 }
@@ -1,20 +1,23 @@
 package com.hotelreservation.controller;
 
-import java.util.List;
+import java.sql.SQLException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.App;
 import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.service.GuestService;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
-import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -28,16 +31,18 @@ import javafx.scene.control.Label;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 
 /**
  * Controller for managing guests.
  */
-public class ManageGuestsController {
+public class ManageGuestsController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(ManageGuestsController.class);
 
     @FXML private TextField searchField;
@@ -49,22 +54,35 @@ public class ManageGuestsController {
     @FXML private TableColumn<Guest, String> contactNumberColumn;
     @FXML private TableColumn<Guest, Void> actionsColumn;
 
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 50;
+
     private Staff currentStaff;
     private final GuestService guestService;
-    private ObservableList<Guest> guestsList;
-    private FilteredList<Guest> filteredGuests;
+    private final ObservableList<Guest> guestsList = FXCollections.observableArrayList();
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(250));
+    private GuestSortField sortField = GuestSortField.LAST_NAME;
+    private boolean loading;
+    private boolean lastPageLoaded;
+    private int generation;
 
     /**
      * Sets the current staff member.
      *
      * @param staff the staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         // Refresh the table after setting staff
         loadGuests();
     }
 
+    @Override
+    public void refresh() {
+        loadGuests();
+    }
+
     public ManageGuestsController() {
         this.guestService = new GuestService();
     }
@@ -84,11 +102,26 @@ public class ManageGuestsController {
         lastNameColumn.setCellValueFactory(new PropertyValueFactory<>("lastName"));
         contactNumberColumn.setCellValueFactory(new PropertyValueFactory<>("contactNumber"));
         
+        // Sorting happens in the database; the table only ever holds the pages loaded so far
+        guestsTable.getColumns().forEach(column -> column.setSortable(false));
+
         // Setup actions column
         setupActionsColumn();
 
         // Enable table selection
         guestsTable.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+
+        // Fetch the next page as soon as a row near the end of the loaded ones is rendered
+        guestsTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Guest guest, boolean empty) {
+                super.updateItem(guest, empty);
+                if (!empty && getIndex() >= guestsList.size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
+        guestsTable.setItems(guestsList);
     }
 
     private void setupActionsColumn() {
@@ -131,62 +164,83 @@ public class ManageGuestsController {
     }
 
     private void setupSearch() {
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            if (filteredGuests != null) {
-                filteredGuests.setPredicate(guest -> {
-                    if (newValue == null || newValue.isEmpty()) {
-                        return true;
-                    }
-
-                    String lowerCaseFilter = newValue.toLowerCase();
-                    return guest.getGuestId().toLowerCase().contains(lowerCaseFilter)
-                        || guest.getFirstName().toLowerCase().contains(lowerCaseFilter)
-                        || guest.getLastName().toLowerCase().contains(lowerCaseFilter)
-                        || guest.getContactNumber().toLowerCase().contains(lowerCaseFilter);
-                });
-            }
-        });
+        searchDebounce.setOnFinished(event -> loadGuests());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchDebounce.playFromStart());
     }
 
+    /**
+     * Clears the table and loads the first page for the current filter and sort order.
+     */
     private void loadGuests() {
-        try {
-            List<Guest> guests = guestService.getAllGuests();
-            guestsList = FXCollections.observableArrayList(guests);
-            filteredGuests = new FilteredList<>(guestsList, p -> true);
-            SortedList<Guest> sortedGuests = new SortedList<>(filteredGuests);
-            sortedGuests.comparatorProperty().bind(guestsTable.comparatorProperty());
-            guestsTable.setItems(sortedGuests);
-        } catch (Exception e) {
-            logger.error("Error loading guests", e);
-            App.showErrorAlert("Error", "Failed to load guests: " + e.getMessage());
+        generation++;
+        guestsList.clear();
+        loading = false;
+        lastPageLoaded = false;
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || lastPageLoaded) {
+            return;
         }
+        loading = true;
+        int requestGeneration = generation;
+        String filter = searchField.getText() == null ? "" : searchField.getText().trim();
+        GuestSortField requestSort = sortField;
+        Guest after = guestsList.isEmpty() ? null : guestsList.get(guestsList.size() - 1);
+
+        CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return guestService.getGuestPage(filter, requestSort, after, PAGE_SIZE);
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .whenComplete((page, error) -> Platform.runLater(() -> {
+                    // A newer search or sort has started since this page was requested
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading = false;
+                    if (error != null) {
+                        // lastPageLoaded stays false, so scrolling or searching again retries the page
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        logger.error("Error loading guests", cause);
+                        App.showErrorAlert("Error", "Failed to load guests: " + cause.getMessage());
+                        return;
+                    }
+                    lastPageLoaded = page.size() < PAGE_SIZE;
+                    guestsList.addAll(page);
+                }));
     }
 
     @FXML
     private void handleSearch() {
-        // Search is handled automatically through the FilteredList
+        searchDebounce.stop();
         String searchText = searchField.getText();
         logger.info("Searching for guests with query: {}", searchText);
+        loadGuests();
     }
 
     private void handleSort(String sortBy) {
         if (sortBy == null) return;
 
-        guestsTable.getSortOrder().clear();
         switch (sortBy) {
             case "Guest ID":
-                guestsTable.getSortOrder().add(guestIdColumn);
+                sortField = GuestSortField.GUEST_ID;
                 break;
             case "First Name":
-                guestsTable.getSortOrder().add(firstNameColumn);
+                sortField = GuestSortField.FIRST_NAME;
                 break;
             case "Last Name":
-                guestsTable.getSortOrder().add(lastNameColumn);
+                sortField = GuestSortField.LAST_NAME;
                 break;
             case "Contact Number":
-                guestsTable.getSortOrder().add(contactNumberColumn);
+                sortField = GuestSortField.CONTACT_NUMBER;
                 break;
         }
+        loadGuests();
     }
 
     @FXML
@@ -2,8 +2,10 @@ package com.hotelreservation.controller;
 
 import com.hotelreservation.App;
 import com.hotelreservation.model.Notification;
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.service.NotificationService;
+import com.hotelreservation.service.SessionManager;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -23,7 +25,7 @@ import java.util.List;
 /**
  * Controller for managing notifications.
  */
-public class NotificationsController {
+public class NotificationsController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(NotificationsController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
 
@@ -55,12 +57,18 @@ public class NotificationsController {
      *
      * @param staff the staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         updateUIBasedOnRole();
         loadNotifications();
     }
 
+    @Override
+    public void refresh() {
+        loadNotifications();
+    }
+
     private void setupTable() {
         // Initialize columns
         dateColumn.setCellValueFactory(data -> {
@@ -107,8 +115,7 @@ public class NotificationsController {
 
     private void updateUIBasedOnRole() {
         if (currentStaff != null) {
-            boolean isManagerOrAdmin = currentStaff.getPosition().toUpperCase().equals("ADMIN") ||
-                                    currentStaff.getPosition().toUpperCase().equals("MANAGER");
+            boolean isManagerOrAdmin = SessionManager.getInstance().hasPermission(Permission.SEND_NOTIFICATIONS);
             
             // Show/hide send notification section based on role
             sendNotificationSection.setVisible(isManagerOrAdmin);
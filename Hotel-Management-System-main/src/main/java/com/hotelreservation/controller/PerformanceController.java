@@ -0,0 +1,125 @@
+package com.hotelreservation.controller;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+import com.hotelreservation.model.Permission;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.util.MetricsRegistry;
+import com.hotelreservation.util.MetricsRegistry.Reading;
+import com.hotelreservation.util.MetricsRegistry.TimerStats;
+import com.hotelreservation.util.SlowQueryLog;
+import com.hotelreservation.util.SlowQueryLog.SlowQuery;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.text.Text;
+
+/**
+ * Controller for the admin-only performance view.
+ * Shows latency percentiles of every timer, the state of the connection pool and the slowest queries.
+ */
+public class PerformanceController implements SessionView {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM dd HH:mm:ss");
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    @FXML private Text activeConnectionsText;
+    @FXML private Text idleConnectionsText;
+    @FXML private Text waitingThreadsText;
+    @FXML private Text acquireWaitText;
+    @FXML private TableView<TimerStats> timersTable;
+    @FXML private TableColumn<TimerStats, String> familyColumn;
+    @FXML private TableColumn<TimerStats, String> labelColumn;
+    @FXML private TableColumn<TimerStats, Long> countColumn;
+    @FXML private TableColumn<TimerStats, String> p50Column;
+    @FXML private TableColumn<TimerStats, String> p99Column;
+    @FXML private TableColumn<TimerStats, String> maxColumn;
+    @FXML private TableView<SlowQuery> slowQueriesTable;
+    @FXML private TableColumn<SlowQuery, String> slowDurationColumn;
+    @FXML private TableColumn<SlowQuery, String> slowCallerColumn;
+    @FXML private TableColumn<SlowQuery, String> slowQueryColumn;
+    @FXML private TableColumn<SlowQuery, String> slowBindsColumn;
+    @FXML private TableColumn<SlowQuery, String> slowTimeColumn;
+    @FXML private TextArea planArea;
+
+    private Staff currentStaff;
+
+    @FXML
+    private void initialize() {
+        familyColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(
+                data.getValue().family().replaceFirst("^hotel_", "").replaceFirst("_seconds$", "")));
+        labelColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().label()));
+        countColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().stats().count()));
+        p50Column.setCellValueFactory(data -> new ReadOnlyStringWrapper(formatMillis(data.getValue().stats().p50Millis())));
+        p99Column.setCellValueFactory(data -> new ReadOnlyStringWrapper(formatMillis(data.getValue().stats().p99Millis())));
+        maxColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(formatMillis(data.getValue().stats().maxMillis())));
+
+        slowDurationColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(formatMillis(data.getValue().getDurationMillis())));
+        slowCallerColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getCaller()));
+        slowQueryColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getFingerprint()));
+        slowBindsColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getBindShape()));
+        slowTimeColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getTimestamp().format(TIME_FORMATTER)));
+        slowQueriesTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> showPlan(newVal));
+    }
+
+    private void showPlan(SlowQuery query) {
+        if (query == null) {
+            planArea.clear();
+        } else if (query.getPlan() == null) {
+            planArea.setText(query.getFingerprint() + "\n\nNo plan was captured for this execution.");
+        } else {
+            planArea.setText(query.getFingerprint() + "\n\n" + query.getPlan());
+        }
+    }
+
+    @Override
+    public void setCurrentStaff(Staff staff) {
+        this.currentStaff = staff;
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
+        if (currentStaff == null || !SessionManager.getInstance().hasPermission(Permission.VIEW_PERFORMANCE)) {
+            return;
+        }
+        List<TimerStats> timers = metrics.getTimerStats();
+        timersTable.setItems(FXCollections.observableArrayList(timers));
+        slowQueriesTable.setItems(FXCollections.observableArrayList(SlowQueryLog.getInstance().getSlowest()));
+
+        activeConnectionsText.setText(readingText("hotel_db_pool_active"));
+        idleConnectionsText.setText(readingText("hotel_db_pool_idle"));
+        waitingThreadsText.setText(readingText("hotel_db_pool_waiting"));
+        acquireWaitText.setText(timers.stream()
+                .filter(stats -> stats.family().equals("hotel_db_pool_acquire_seconds"))
+                .findFirst()
+                .map(stats -> formatMillis(stats.stats().p99Millis()) + " ms")
+                .orElse("-"));
+    }
+
+    @FXML
+    private void handleRefresh() {
+        refresh();
+    }
+
+    private String readingText(String name) {
+        return metrics.getReadings().stream()
+                .filter(reading -> reading.name().equals(name))
+                .findFirst()
+                .map(Reading::value)
+                .map(value -> String.valueOf(value.longValue()))
+                .orElse("-");
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, millis < 10 ? "%.2f" : "%.0f", millis);
+    }
+}
@@ -8,9 +8,11 @@ import org.slf4j.LoggerFactory;
 import com.hotelreservation.App;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.service.LoginThrottle;
 import com.hotelreservation.service.ShiftService;
 import com.hotelreservation.service.StaffService;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
@@ -19,7 +21,7 @@ import javafx.scene.text.Text;
 /**
  * Controller for the profile view.
  */
-public class ProfileController {
+public class ProfileController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -61,6 +63,19 @@ public class ProfileController {
         updateProfileDisplay();
     }
 
+    @Override
+    public void setCurrentStaff(Staff staff) {
+        setStaff(staff);
+    }
+
+    /**
+     * Refreshes the profile, e.g. to show a changed shift.
+     */
+    @Override
+    public void refresh() {
+        updateProfileDisplay();
+    }
+
     /**
      * Updates the profile display with the current staff member's information.
      */
@@ -107,21 +122,33 @@ public class ProfileController {
             return;
         }
 
-        // Verify current password
-        Staff authenticatedStaff = staffService.authenticateStaff(currentStaff.getStaffId(), currentPassword);
-        if (authenticatedStaff == null) {
-            App.showErrorAlert("Error", "Current password is incorrect");
-            return;
-        }
+        // Verify the current password, then change it; both hash on the authentication pool
+        String staffId = currentStaff.getStaffId();
+        staffService.authenticateStaffAsync(staffId, currentPassword)
+                .whenComplete((authenticatedStaff, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        logger.error("Error verifying current password", cause);
+                        App.showErrorAlert("Error", cause instanceof LoginThrottle.ThrottledException
+                                ? cause.getMessage() : "Failed to verify current password");
+                    } else if (authenticatedStaff == null) {
+                        App.showErrorAlert("Error", "Current password is incorrect");
+                    } else {
+                        changePassword(staffId, newPassword);
+                    }
+                }));
+    }
 
-        // Change password
-        boolean success = staffService.resetStaffPassword(currentStaff.getStaffId(), newPassword);
-        if (success) {
-            App.showInfoAlert("Success", "Password changed successfully");
-            clearPasswordFields();
-        } else {
-            App.showErrorAlert("Error", "Failed to change password");
-        }
+    private void changePassword(String staffId, String newPassword) {
+        staffService.resetStaffPassword(staffId, newPassword)
+                .thenAccept(success -> Platform.runLater(() -> {
+                    if (success) {
+                        App.showInfoAlert("Success", "Password changed successfully");
+                        clearPasswordFields();
+                    } else {
+                        App.showErrorAlert("Error", "Failed to change password");
+                    }
+                }));
     }
 
     /**
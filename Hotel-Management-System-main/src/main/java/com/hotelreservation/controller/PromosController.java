@@ -8,9 +8,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.App;
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Promo;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.service.PromoService;
+import com.hotelreservation.service.SessionManager;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -34,7 +36,7 @@ import javafx.scene.text.Text;
 /**
  * Controller for managing promotional offers.
  */
-public class PromosController {
+public class PromosController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(PromosController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
@@ -180,15 +182,21 @@ public class PromosController {
      *
      * @param staff the staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         updateUIBasedOnRole();
         loadPromos();
     }
 
+    @Override
+    public void refresh() {
+        loadPromos();
+    }
+
     private void updateUIBasedOnRole() {
         if (currentStaff != null) {
-            boolean isAdmin = currentStaff.getPosition().toUpperCase().equals("ADMIN");
+            boolean isAdmin = SessionManager.getInstance().hasPermission(Permission.MANAGE_PROMOS);
             
             // Show/hide create promo section based on role
             createPromoSection.setVisible(isAdmin);
@@ -6,8 +6,8 @@ import com.hotelreservation.model.Guest;
 import com.hotelreservation.model.Room;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.service.BookingService;
-import com.hotelreservation.service.GuestService;
 import com.hotelreservation.service.RoomService;
+import com.hotelreservation.view.GuestPicker;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -30,7 +30,7 @@ import java.util.List;
 /**
  * Controller for managing reservations.
  */
-public class ReservationsController {
+public class ReservationsController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(ReservationsController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
@@ -52,13 +52,11 @@ public class ReservationsController {
 
     private Staff currentStaff;
     private final BookingService bookingService;
-    private final GuestService guestService;
     private final RoomService roomService;
     private ObservableList<Booking> bookingsList;
 
     public ReservationsController() {
         this.bookingService = new BookingService();
-        this.guestService = new GuestService();
         this.roomService = new RoomService();
     }
 
@@ -183,11 +181,17 @@ public class ReservationsController {
      *
      * @param staff the staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         loadBookings();
     }
 
+    @Override
+    public void refresh() {
+        loadBookings();
+    }
+
     private void loadBookings() {
         try {
             List<Booking> bookings = bookingService.getAllBookings();
@@ -233,27 +237,12 @@ public class ReservationsController {
         grid.setPadding(new Insets(20, 150, 10, 10));
 
         // Add form fields
-        ComboBox<Guest> guestComboBox = new ComboBox<>();
+        GuestPicker guestPicker = new GuestPicker();
         ComboBox<Room> roomComboBox = new ComboBox<>();
         DatePicker checkInPicker = new DatePicker();
         DatePicker checkOutPicker = new DatePicker();
         TextField promoCodeField = new TextField();
 
-        // Setup guest combo box
-        List<Guest> guests = guestService.getAllGuests();
-        guestComboBox.setItems(FXCollections.observableArrayList(guests));
-        guestComboBox.setConverter(new StringConverter<Guest>() {
-            @Override
-            public String toString(Guest guest) {
-                return guest == null ? "" : guest.getFirstName() + " " + guest.getLastName();
-            }
-
-            @Override
-            public Guest fromString(String string) {
-                return null;
-            }
-        });
-
         // Setup date pickers
         checkInPicker.setDayCellFactory(picker -> new DateCell() {
             @Override
@@ -288,7 +277,7 @@ public class ReservationsController {
 
         // Add fields to grid
         grid.add(new Label("Guest:"), 0, 0);
-        grid.add(guestComboBox, 1, 0);
+        grid.add(guestPicker, 1, 0);
         grid.add(new Label("Check In:"), 0, 1);
         grid.add(checkInPicker, 1, 1);
         grid.add(new Label("Check Out:"), 0, 2);
@@ -303,7 +292,7 @@ public class ReservationsController {
         // Convert the result
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == saveButtonType) {
-                Guest guest = guestComboBox.getValue();
+                Guest guest = guestPicker.getSelectedGuest();
                 Room room = roomComboBox.getValue();
                 LocalDate checkIn = checkInPicker.getValue();
                 LocalDate checkOut = checkOutPicker.getValue();
@@ -0,0 +1,23 @@
+package com.hotelreservation.controller;
+
+import com.hotelreservation.model.Staff;
+
+/**
+ * A view shown in the main content area that is kept alive for the whole session.
+ * Views are created once per login and reused, so data that may have changed
+ * while the view was hidden is reloaded in {@link #refresh()}.
+ */
+public interface SessionView {
+
+    /**
+     * Called once after the view is loaded, with the staff member who is logged in.
+     *
+     * @param staff the staff member of the current session
+     */
+    void setCurrentStaff(Staff staff);
+
+    /**
+     * Called each time a cached view is shown again.
+     */
+    void refresh();
+}
@@ -3,9 +3,9 @@ package com.hotelreservation.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.hotelreservation.model.Settings;
+import com.hotelreservation.model.SettingKey;
 import com.hotelreservation.model.Staff;
-import com.hotelreservation.service.SettingsService;
+import com.hotelreservation.service.SettingsStore;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -15,16 +15,15 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.ToggleButton;
 import javafx.stage.Stage;
 
-public class SettingsController {
+public class SettingsController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(SettingsController.class);
     
-    private final SettingsService settingsService = new SettingsService();
+    private final SettingsStore settingsStore = SettingsStore.getInstance();
 
     @FXML private ToggleButton darkModeToggle;
     @FXML private ComboBox<String> resolutionComboBox;
 
     private Staff currentStaff;
-    private Settings currentSettings;
 
     @FXML
     public void initialize() {
@@ -43,55 +42,30 @@ public class SettingsController {
     }
 
     private void loadCurrentSettings() {
-        if (currentStaff != null) {
-            currentSettings = settingsService.loadSettings(currentStaff.getStaffId());
-            if (currentSettings != null) {
-                darkModeToggle.setSelected(currentSettings.isDarkMode());
-                resolutionComboBox.setValue(currentSettings.getResolution());
-                applySettings(currentSettings);
-            } else {
-                // Default settings
-                currentSettings = new Settings(false, "1366x768", currentStaff.getStaffId());
-                settingsService.saveSettings(currentSettings);
-                // Apply default settings
-                darkModeToggle.setSelected(false);
-                resolutionComboBox.setValue("1366x768");
-            }
-        } else {
-            // Set default values when no staff is set
-            darkModeToggle.setSelected(false);
-            resolutionComboBox.setValue("1366x768");
+        // Settings are cached at login, so this never waits on the database
+        darkModeToggle.setSelected(settingsStore.get(SettingKey.DARK_MODE));
+        resolutionComboBox.setValue(settingsStore.get(SettingKey.RESOLUTION));
+        if (currentStaff == null) {
             logger.info("No staff set, using default settings");
         }
     }
 
     private void setupListeners() {
-        // Apply dark mode immediately when toggled
+        // Apply dark mode immediately when toggled; the change is written in the background
         darkModeToggle.selectedProperty().addListener((obs, oldVal, newVal) -> {
             applyDarkMode(newVal);
-            if (currentSettings != null) {
-                currentSettings.setDarkMode(newVal);
-                saveSettings();
-            }
+            settingsStore.set(SettingKey.DARK_MODE, newVal);
         });
 
         // Apply resolution when changed
         resolutionComboBox.setOnAction(e -> {
             String resolution = resolutionComboBox.getValue();
             applyResolution(resolution);
-            if (currentSettings != null) {
-                currentSettings.setResolution(resolution);
-                saveSettings();
-            }
+            settingsStore.set(SettingKey.RESOLUTION, resolution);
             showRestartDialog();
         });
     }
 
-    private void applySettings(Settings settings) {
-        applyDarkMode(settings.isDarkMode());
-        applyResolution(settings.getResolution());
-    }
-
     private void applyDarkMode(boolean isDarkMode) {
         Scene scene = darkModeToggle.getScene();
         if (scene != null) {
@@ -114,21 +88,12 @@ public class SettingsController {
                     stage.setHeight(height);
                     stage.centerOnScreen();
                 } catch (NumberFormatException e) {
-                    logger.error("Invalid resolution format: " + resolution, e);
+                    logger.error("Invalid resolution format: {}", resolution, e);
                 }
             }
         }
     }
 
-    private void saveSettings() {
-        if (currentSettings != null) {
-            if (!settingsService.saveSettings(currentSettings)) {
-                showAlert(Alert.AlertType.ERROR, "Error", 
-                         "Failed to save settings");
-            }
-        }
-    }
-
     private void showRestartDialog() {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Resolution Changed");
@@ -150,39 +115,36 @@ public class SettingsController {
      *
      * @param staff The staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         loadCurrentSettings();
     }
 
+    @Override
+    public void refresh() {
+        loadCurrentSettings();
+    }
+
     @FXML
     private void handleSaveSettings() {
         boolean isDarkMode = darkModeToggle.isSelected();
         String resolution = resolutionComboBox.getValue();
-        
-        if (currentStaff != null) {
-            if (currentSettings == null) {
-                currentSettings = new Settings(isDarkMode, resolution, currentStaff.getStaffId());
-            } else {
-                currentSettings.setDarkMode(isDarkMode);
-                currentSettings.setResolution(resolution);
-            }
-            
-            if (settingsService.saveSettings(currentSettings)) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", 
-                         "Settings saved successfully");
-                // Apply settings immediately
-                applyDarkMode(isDarkMode);
-                applyResolution(resolution);
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", 
-                         "Failed to save settings");
-            }
-        } else {
+
+        settingsStore.set(SettingKey.DARK_MODE, isDarkMode);
+        settingsStore.set(SettingKey.RESOLUTION, resolution);
+        applyDarkMode(isDarkMode);
+        applyResolution(resolution);
+
+        if (currentStaff == null) {
             // Even without a staff member, we can still apply the settings temporarily
-            applyDarkMode(isDarkMode);
-            applyResolution(resolution);
             logger.info("Applied settings without saving (no staff member)");
+        } else if (settingsStore.flush()) {
+            showAlert(Alert.AlertType.INFORMATION, "Success",
+                     "Settings saved successfully");
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Error",
+                     "Failed to save settings");
         }
     }
 }
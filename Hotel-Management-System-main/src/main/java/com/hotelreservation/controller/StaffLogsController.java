@@ -7,8 +7,11 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.service.StaffDirectory;
 import com.hotelreservation.service.StaffLogService;
 import com.hotelreservation.service.StaffService;
 
@@ -25,7 +28,7 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-public class StaffLogsController {
+public class StaffLogsController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(StaffLogsController.class);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -90,8 +93,7 @@ public class StaffLogsController {
                     setText(null);
                 } else {
                     StaffLog log = getTableView().getItems().get(getIndex());
-                    Staff staff = staffService.getStaffById(log.getStaffId());
-                    setText(staff != null ? staff.getFullName() : "Unknown");
+                    setText(StaffDirectory.getInstance().getDisplayName(log.getStaffId()));
                 }
             }
         });
@@ -197,8 +199,7 @@ public class StaffLogsController {
     }
 
     private boolean isAdmin() {
-        return currentStaff != null && 
-               currentStaff.getPosition().toUpperCase().equals("ADMIN");
+        return SessionManager.getInstance().hasPermission(Permission.VIEW_STAFF_LOGS);
     }
 
     private void showAccessDeniedAlert() {
@@ -214,6 +215,7 @@ public class StaffLogsController {
      *
      * @param staff The staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         this.currentStaff = staff;
         
@@ -222,4 +224,12 @@ public class StaffLogsController {
             loadLogs();
         }
     }
+
+    @Override
+    public void refresh() {
+        if (isAdmin()) {
+            loadLogs();
+            applyFilters();
+        }
+    }
 }
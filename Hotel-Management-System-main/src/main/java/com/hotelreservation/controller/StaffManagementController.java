@@ -1,11 +1,18 @@
 package com.hotelreservation.controller;
 
+import com.hotelreservation.model.Permission;
+import com.hotelreservation.model.RosterPlan;
+import com.hotelreservation.model.ShiftType;
 import com.hotelreservation.model.Staff;
 import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.service.SessionManager;
+import com.hotelreservation.service.StaffDirectory;
 import com.hotelreservation.service.StaffService;
+import com.hotelreservation.service.RosterGeneratorService;
 import com.hotelreservation.service.ShiftService;
 import com.hotelreservation.service.StaffLogService;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -15,19 +22,30 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class StaffManagementController {
+public class StaffManagementController implements SessionView {
     private static final Logger logger = LoggerFactory.getLogger(StaffManagementController.class);
     
     private final StaffService staffService = new StaffService();
     private final ShiftService shiftService = new ShiftService();
     private final StaffLogService staffLogService = new StaffLogService();
+    private final SessionManager session = SessionManager.getInstance();
+    private final StaffDirectory staffDirectory = StaffDirectory.getInstance();
+    private final RosterGeneratorService rosterGenerator = new RosterGeneratorService();
+    private static final Duration ROSTER_TIME_BUDGET = Duration.ofSeconds(2);
 
     @FXML private TableView<Staff> staffTable;
     @FXML private TableColumn<Staff, String> staffIdColumn;
@@ -138,7 +156,8 @@ public class StaffManagementController {
     }
 
     private void loadShiftData() {
-        List<StaffShift> shiftList = shiftService.getShifts(LocalDate.now());
+        LocalDate week = shiftDate.getValue() != null ? shiftDate.getValue() : LocalDate.now();
+        List<StaffShift> shiftList = shiftService.getShiftsForWeek(week);
         shifts = FXCollections.observableArrayList(shiftList);
         shiftTable.setItems(shifts);
     }
@@ -199,9 +218,7 @@ public class StaffManagementController {
     private void setupShiftManagement() {
         // Initialize shift types
         shiftSelector.setItems(FXCollections.observableArrayList(
-            "Morning (6:00-14:00)", 
-            "Afternoon (14:00-22:00)", 
-            "Night (22:00-6:00)"
+            java.util.Arrays.stream(ShiftType.values()).map(ShiftType::getLabel).toList()
         ));
 
         // Initialize staff selector
@@ -218,8 +235,9 @@ public class StaffManagementController {
             }
         });
 
-        // Set default date to today
+        // Set default date to today and show the roster of the selected week
         shiftDate.setValue(LocalDate.now());
+        shiftDate.valueProperty().addListener((obs, oldVal, newVal) -> loadShiftData());
 
         // Setup shift table columns
         TableColumn<StaffShift, String> shiftStaffColumn = new TableColumn<>("Staff");
@@ -229,10 +247,11 @@ public class StaffManagementController {
         TableColumn<StaffShift, Void> shiftActionsColumn = new TableColumn<>("Actions");
 
         shiftStaffColumn.setCellValueFactory(cellData -> {
-            Staff staff = staffService.getStaffById(cellData.getValue().getStaffId());
-            return javafx.beans.binding.Bindings.createStringBinding(
-                () -> staff != null ? staff.getFullName() : "Unknown"
-            );
+            StaffShift shift = cellData.getValue();
+            String name = shift.getStaffName() != null
+                ? shift.getStaffName()
+                : staffDirectory.getDisplayName(shift.getStaffId());
+            return new javafx.beans.property.ReadOnlyStringWrapper(name);
         });
 
         shiftDateColumn.setCellValueFactory(new PropertyValueFactory<>("date"));
@@ -304,15 +323,11 @@ public class StaffManagementController {
     }
 
     private boolean hasManagementAccess() {
-        // Check if current user is admin or manager
-        // This is a placeholder - implement actual role check
-        return true;
+        return session.hasPermission(Permission.MANAGE_STAFF);
     }
 
     private boolean isAdmin() {
-        // Check if current user is admin
-        // This is a placeholder - implement actual role check
-        return true;
+        return session.hasPermission(Permission.RESET_PASSWORDS);
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -381,14 +396,15 @@ public class StaffManagementController {
         });
 
         Optional<Staff> result = dialog.showAndWait();
-        result.ifPresent(staff -> {
-            if (staffService.addStaff(staff)) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Staff added successfully");
-                loadStaffData();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to add staff");
-            }
-        });
+        result.ifPresent(staff -> staffService.addStaff(staff)
+            .thenAccept(added -> Platform.runLater(() -> {
+                if (added) {
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "Staff added successfully");
+                    loadStaffData();
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to add staff");
+                }
+            })));
     }
 
     @FXML
@@ -407,32 +423,21 @@ public class StaffManagementController {
             return;
         }
 
-        LocalTime startTime;
-        LocalTime endTime;
-
-        switch (selectedShift) {
-            case "Morning (6:00-14:00)":
-                startTime = LocalTime.of(6, 0);
-                endTime = LocalTime.of(14, 0);
-                break;
-            case "Afternoon (14:00-22:00)":
-                startTime = LocalTime.of(14, 0);
-                endTime = LocalTime.of(22, 0);
-                break;
-            case "Night (22:00-6:00)":
-                startTime = LocalTime.of(22, 0);
-                endTime = LocalTime.of(6, 0);
-                break;
-            default:
-                showAlert(Alert.AlertType.ERROR, "Error", "Invalid shift selected");
-                return;
+        ShiftType shiftType = ShiftType.fromLabel(selectedShift);
+        if (shiftType == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Invalid shift selected");
+            return;
         }
 
-        StaffShift shift = new StaffShift();
-        shift.setStaffId(selectedStaff.getStaffId());
-        shift.setDate(selectedDate);
-        shift.setStartTime(startTime);
-        shift.setEndTime(endTime);
+        StaffShift shift = shiftType.toShift(selectedStaff.getStaffId(), selectedDate);
+
+        List<StaffShift> overlapping = shiftService.findOverlappingShifts(shift);
+        if (!overlapping.isEmpty()) {
+            StaffShift existing = overlapping.get(0);
+            showAlert(Alert.AlertType.ERROR, "Error", "Shift overlaps an existing shift on "
+                + existing.getDate() + " (" + existing.getStartTime() + "-" + existing.getEndTime() + ")");
+            return;
+        }
 
         if (shiftService.assignShift(shift)) {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Shift assigned successfully");
@@ -442,6 +447,49 @@ public class StaffManagementController {
         }
     }
 
+    @FXML
+    private void handleGenerateRoster() {
+        LocalDate selectedDate = shiftDate.getValue() != null ? shiftDate.getValue() : LocalDate.now();
+        LocalDate monday = selectedDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        // Default coverage: a receptionist on every shift and a manager on the morning shift
+        Map<ShiftType, Map<String, Integer>> coverage = new EnumMap<>(ShiftType.class);
+        for (ShiftType type : ShiftType.values()) {
+            coverage.put(type, new HashMap<>(Map.of("Receptionist", 1)));
+        }
+        coverage.get(ShiftType.MORNING).put("Manager", 1);
+
+        CompletableFuture.supplyAsync(() -> rosterGenerator.generateRoster(monday, 7, coverage, ROSTER_TIME_BUDGET))
+            .whenComplete((plan, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    logger.error("Error generating roster", error);
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to generate roster");
+                    return;
+                }
+                confirmRoster(plan);
+            }));
+    }
+
+    private void confirmRoster(RosterPlan plan) {
+        Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmation.setTitle("Generate Roster");
+        confirmation.setHeaderText("Roster for the week of " + plan.getStartDate());
+        confirmation.setContentText(plan.getShifts().size() + " shifts generated"
+            + (plan.isFullyCovered() ? "." : ", " + plan.getUnfilledSlots() + " could not be covered.")
+            + "\nSave this roster?");
+
+        Optional<ButtonType> result = confirmation.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            if (rosterGenerator.applyRoster(plan)) {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Roster saved successfully");
+                loadShiftData();
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Error",
+                    "Failed to save roster. It may overlap shifts assigned in the meantime.");
+            }
+        }
+    }
+
     @FXML
     private void handleResetPassword() {
         Staff selectedStaff = resetStaffSelector.getValue();
@@ -457,12 +505,15 @@ public class StaffManagementController {
 
         Optional<ButtonType> result = confirmation.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (staffService.resetPassword(selectedStaff.getStaffId())) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", 
-                    "Password has been reset to default");
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to reset password");
-            }
+            staffService.resetPassword(selectedStaff.getStaffId())
+                .thenAccept(reset -> Platform.runLater(() -> {
+                    if (reset) {
+                        showAlert(Alert.AlertType.INFORMATION, "Success", 
+                            "Password has been reset to default");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to reset password");
+                    }
+                }));
         }
     }
 
@@ -471,15 +522,25 @@ public class StaffManagementController {
      *
      * @param staff The staff member to set
      */
+    @Override
     public void setCurrentStaff(Staff staff) {
         // Store the current staff member for access control
         this.currentStaff = staff;
         
         // Update UI based on staff role
         if (staff != null) {
-            boolean isAdmin = staff.getPosition().toUpperCase().equals("ADMIN");
+            boolean isAdmin = isAdmin();
             passwordResetSection.setVisible(isAdmin);
             passwordResetSection.setManaged(isAdmin);
         }
     }
+
+    @Override
+    public void refresh() {
+        if (hasManagementAccess()) {
+            loadStaffData();
+            filterStaff();
+            loadShiftData();
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.hotelreservation.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.util.LatencyHistogram;
+import com.hotelreservation.util.MetricsRegistry;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+
+/**
+ * Caches the views of one session so each FXML file is parsed only once.
+ * The first request for a view loads it and hands it the session's staff member;
+ * later requests return the same view after asking its controller to refresh.
+ * All methods must be called on the JavaFX application thread.
+ */
+public class ViewRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ViewRegistry.class);
+    private static final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, LoadedView> views = new HashMap<>();
+    // Preloaded views whose controller has not been handed the staff member yet
+    private final Set<String> preloaded = new HashSet<>();
+    private final Staff staff;
+    private boolean closed;
+
+    /**
+     * A loaded view together with its controller.
+     */
+    private record LoadedView(Node view, SessionView controller) {
+    }
+
+    /**
+     * Creates a registry for the session of a staff member.
+     *
+     * @param staff the staff member who is logged in
+     */
+    public ViewRegistry(Staff staff) {
+        this.staff = staff;
+    }
+
+    /**
+     * Gets a view, loading it on first use and refreshing it otherwise.
+     *
+     * @param fxmlPath the resource path of the view's FXML file
+     * @return the view's root node
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public Node show(String fxmlPath) throws IOException {
+        LoadedView loaded = views.get(fxmlPath);
+        if (loaded == null) {
+            return load(fxmlPath).view();
+        }
+        long start = System.nanoTime();
+        if (preloaded.remove(fxmlPath)) {
+            loaded.controller().setCurrentStaff(staff);
+        } else {
+            loaded.controller().refresh();
+        }
+        timer("hotel_view_refresh_seconds", "Time to refresh a cached view before showing it", fxmlPath)
+                .recordSince(start);
+        return loaded.view();
+    }
+
+    /**
+     * Loads views ahead of time so the first visit is quick.
+     * The FXML is parsed and the controllers initialized on a background thread, one view after another,
+     * as the main view is during bootstrap; the application thread only files the finished views. A
+     * preloaded view is handed the staff member, and loads that staff member's data, when first shown.
+     * Views already loaded are skipped and warming stops when the registry is cleared.
+     *
+     * @param fxmlPaths the views to load, most used first
+     */
+    public void warmUp(List<String> fxmlPaths) {
+        warmNext(new ArrayDeque<>(fxmlPaths));
+    }
+
+    private void warmNext(Deque<String> queue) {
+        String fxmlPath = queue.poll();
+        if (fxmlPath == null || closed) {
+            return;
+        }
+        if (views.containsKey(fxmlPath)) {
+            warmNext(queue);
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return parse(fxmlPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, warmUpExecutor).whenComplete((loaded, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                logger.warn("Failed to preload view: {}", fxmlPath, error);
+            } else if (!closed && !views.containsKey(fxmlPath)) {
+                views.put(fxmlPath, loaded);
+                preloaded.add(fxmlPath);
+                logger.debug("Preloaded view {}", fxmlPath);
+            }
+            warmNext(queue);
+        }));
+    }
+
+    private LoadedView load(String fxmlPath) throws IOException {
+        long start = System.nanoTime();
+        LoadedView loaded = parse(fxmlPath);
+        loaded.controller().setCurrentStaff(staff);
+        views.put(fxmlPath, loaded);
+        timer("hotel_view_load_seconds", "Time to load a view and its data for the first time", fxmlPath)
+                .recordSince(start);
+        return loaded;
+    }
+
+    /**
+     * Parses a view's FXML and initializes its controller. Safe to call off the application thread
+     * as long as the view is not yet part of a scene.
+     */
+    private LoadedView parse(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+        Node view = loader.load();
+        SessionView controller = loader.getController();
+        return new LoadedView(view, controller);
+    }
+
+    private static LatencyHistogram timer(String family, String help, String fxmlPath) {
+        String view = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1).replace(".fxml", "");
+        return MetricsRegistry.getInstance().timer(family, help, "view", view);
+    }
+
+    /**
+     * Drops all cached views, e.g. on logout.
+     */
+    public void clear() {
+        closed = true;
+        views.clear();
+        preloaded.clear();
+    }
+}
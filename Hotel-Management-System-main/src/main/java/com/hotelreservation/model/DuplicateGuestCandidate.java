@@ -0,0 +1,44 @@
+package com.hotelreservation.model;
+
+/**
+ * Represents two guest records that probably describe the same person.
+ */
+public class DuplicateGuestCandidate {
+    private final Guest first;
+    private final Guest second;
+    private final double score;
+
+    /**
+     * Creates a new DuplicateGuestCandidate instance.
+     *
+     * @param first One of the guests
+     * @param second The other guest
+     * @param score Similarity between 0 and 1
+     */
+    public DuplicateGuestCandidate(Guest first, Guest second, double score) {
+        this.first = first;
+        this.second = second;
+        this.score = score;
+    }
+
+    public Guest getFirst() {
+        return first;
+    }
+
+    public Guest getSecond() {
+        return second;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateGuestCandidate{" +
+                "first='" + first.getGuestId() + '\'' +
+                ", second='" + second.getGuestId() + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
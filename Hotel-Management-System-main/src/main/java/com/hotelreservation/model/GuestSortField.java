@@ -0,0 +1,47 @@
+package com.hotelreservation.model;
+
+/**
+ * Fields the guest directory can be sorted on. Each is backed by an index, and guestId breaks ties
+ * so the sort order is total and usable as a pagination cursor. The contact number is optional; a
+ * missing one sorts as an empty string, so no guest falls out of the keyset comparison.
+ */
+public enum GuestSortField {
+    GUEST_ID("guestId"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    CONTACT_NUMBER("COALESCE(contactNumber, '')");
+
+    private final String column;
+
+    GuestSortField(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Gets the SQL expression over the Guests columns that this field sorts by.
+     *
+     * @return the column name or expression
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Reads the sort value of this field from a guest, never null.
+     *
+     * @param guest the guest
+     * @return the field value, or an empty string for a missing contact number
+     */
+    public String getValue(Guest guest) {
+        switch (this) {
+            case FIRST_NAME:
+                return guest.getFirstName();
+            case LAST_NAME:
+                return guest.getLastName();
+            case CONTACT_NUMBER:
+                return guest.getContactNumber() != null ? guest.getContactNumber() : "";
+            default:
+                return guest.getGuestId();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotelreservation.model;
+
+/**
+ * Actions that are restricted to certain staff positions.
+ * Each permission owns one bit so a set of permissions fits in a single {@code long}.
+ */
+public enum Permission {
+    MANAGE_GUESTS,
+    MANAGE_STAFF,
+    RESET_PASSWORDS,
+    VIEW_STAFF_LOGS,
+    MANAGE_PROMOS,
+    SEND_NOTIFICATIONS,
+    VIEW_PERFORMANCE;
+
+    /**
+     * Gets the bit representing this permission.
+     *
+     * @return the permission's bit mask
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Gets the permissions granted to a staff position.
+     *
+     * @param position the staff position, e.g. "Admin" or "Manager" (case-insensitive)
+     * @return the combined permission bit mask
+     */
+    public static long maskForPosition(String position) {
+        if (position == null) {
+            return 0;
+        }
+        return switch (position.trim().toUpperCase()) {
+            case "ADMIN" -> allMask();
+            case "MANAGER" -> MANAGE_GUESTS.mask() | MANAGE_STAFF.mask() | SEND_NOTIFICATIONS.mask();
+            default -> 0;
+        };
+    }
+
+    private static long allMask() {
+        long mask = 0;
+        for (Permission permission : values()) {
+            mask |= permission.mask();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotelreservation.model;
+
+/**
+ * Immutable view of the logged-in staff member used for authorization.
+ * Permissions are resolved from the position once, when the principal is created.
+ */
+public final class Principal {
+    private final String staffId;
+    private final String displayName;
+    private final String position;
+    private final long permissions;
+
+    private Principal(String staffId, String displayName, String position, long permissions) {
+        this.staffId = staffId;
+        this.displayName = displayName;
+        this.position = position;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Creates a principal for a staff member.
+     *
+     * @param staff the authenticated staff member
+     * @return the principal with the permissions of the staff member's position
+     */
+    public static Principal of(Staff staff) {
+        return new Principal(staff.getStaffId(), staff.getFullName(), staff.getPosition(),
+                Permission.maskForPosition(staff.getPosition()));
+    }
+
+    public String getStaffId() {
+        return staffId;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public long getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * Checks whether this principal holds a permission.
+     *
+     * @param permission the permission to check
+     * @return true if the permission is granted
+     */
+    public boolean has(Permission permission) {
+        return (permissions & permission.mask()) != 0;
+    }
+
+    /**
+     * Checks whether this principal holds every permission of a position, which is what it takes to
+     * assign that position or to change a staff member holding it.
+     *
+     * @param position the staff position, e.g. "Admin"
+     * @return true if the position grants nothing this principal lacks
+     */
+    public boolean covers(String position) {
+        return (Permission.maskForPosition(position) & ~permissions) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Principal{" +
+                "staffId='" + staffId + '\'' +
+                ", position='" + position + '\'' +
+                ", permissions=" + Long.toBinaryString(permissions) +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotelreservation.model;
+
+/**
+ * Represents a proposed move of a booking from one room to another.
+ */
+public class RoomReassignment {
+    private final Booking booking;
+    private final Room fromRoom;
+    private final Room toRoom;
+
+    /**
+     * Creates a new RoomReassignment instance.
+     *
+     * @param booking The booking to move
+     * @param fromRoom The room currently assigned to the booking
+     * @param toRoom The room the booking would be moved to
+     */
+    public RoomReassignment(Booking booking, Room fromRoom, Room toRoom) {
+        this.booking = booking;
+        this.fromRoom = fromRoom;
+        this.toRoom = toRoom;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public Room getFromRoom() {
+        return fromRoom;
+    }
+
+    public Room getToRoom() {
+        return toRoom;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomReassignment{" +
+                "bookingId='" + booking.getBookingId() + '\'' +
+                ", from='" + fromRoom.getRoomNumber() + '\'' +
+                ", to='" + toRoom.getRoomNumber() + '\'' +
+                ", checkInDate=" + booking.getCheckInDate() +
+                ", checkOutDate=" + booking.getCheckOutDate() +
+                '}';
+    }
+}
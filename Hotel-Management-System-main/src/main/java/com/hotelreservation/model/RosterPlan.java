@@ -0,0 +1,64 @@
+package com.hotelreservation.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A generated roster that has not been saved yet.
+ */
+public class RosterPlan {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<StaffShift> shifts;
+    private final int unfilledSlots;
+
+    /**
+     * Creates a new RosterPlan instance.
+     *
+     * @param startDate First day of the roster
+     * @param endDate Day after the last day of the roster
+     * @param shifts The generated shifts
+     * @param unfilledSlots Number of required shifts nobody could be assigned to
+     */
+    public RosterPlan(LocalDate startDate, LocalDate endDate, List<StaffShift> shifts, int unfilledSlots) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.shifts = shifts;
+        this.unfilledSlots = unfilledSlots;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<StaffShift> getShifts() {
+        return shifts;
+    }
+
+    public int getUnfilledSlots() {
+        return unfilledSlots;
+    }
+
+    /**
+     * Checks whether every required shift was covered.
+     *
+     * @return true if no slot is left unfilled
+     */
+    public boolean isFullyCovered() {
+        return unfilledSlots == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RosterPlan{" +
+                "startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", shifts=" + shifts.size() +
+                ", unfilledSlots=" + unfilledSlots +
+                '}';
+    }
+}
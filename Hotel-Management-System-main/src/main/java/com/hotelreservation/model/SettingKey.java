@@ -0,0 +1,67 @@
+package com.hotelreservation.model;
+
+import java.util.function.Function;
+
+/**
+ * A typed user preference stored as a key-value pair.
+ * Adding a preference only needs a new constant here; values are kept as text in the database
+ * and converted with the key's parser, falling back to the default when missing or unreadable.
+ *
+ * @param <T> the type of the setting's value
+ */
+public final class SettingKey<T> {
+    public static final SettingKey<Boolean> DARK_MODE =
+            new SettingKey<>("ui.darkMode", false, Boolean::parseBoolean);
+    public static final SettingKey<String> RESOLUTION =
+            new SettingKey<>("ui.resolution", "1366x768", value -> value);
+
+    private final String name;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+
+    private SettingKey(String name, T defaultValue, Function<String, T> parser) {
+        this.name = name;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Converts a stored value to the setting's type.
+     *
+     * @param raw the stored text, may be null
+     * @return the parsed value, or the default if the text is missing or invalid
+     */
+    public T decode(String raw) {
+        if (raw == null) {
+            return defaultValue;
+        }
+        try {
+            return parser.apply(raw);
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Converts a value to the text stored in the database.
+     *
+     * @param value the value to store; null stands for the default
+     * @return the stored text, never null
+     */
+    public String encode(T value) {
+        return String.valueOf(value != null ? value : defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
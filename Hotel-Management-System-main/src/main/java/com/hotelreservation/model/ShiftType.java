@@ -0,0 +1,81 @@
+package com.hotelreservation.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The standard shifts of the hotel roster.
+ */
+public enum ShiftType {
+    MORNING("Morning", LocalTime.of(6, 0), LocalTime.of(14, 0)),
+    AFTERNOON("Afternoon", LocalTime.of(14, 0), LocalTime.of(22, 0)),
+    NIGHT("Night", LocalTime.of(22, 0), LocalTime.of(6, 0));
+
+    private final String name;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    ShiftType(String name, LocalTime startTime, LocalTime endTime) {
+        this.name = name;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Gets the label shown in shift pickers, e.g. "Night (22:00-6:00)".
+     *
+     * @return the display label
+     */
+    public String getLabel() {
+        return name + " (" + startTime.getHour() + ":00-" + endTime.getHour() + ":00)";
+    }
+
+    /**
+     * Gets the length of the shift, taking shifts that cross midnight into account.
+     *
+     * @return the shift duration
+     */
+    public Duration getDuration() {
+        Duration duration = Duration.between(startTime, endTime);
+        return duration.isNegative() || duration.isZero() ? duration.plusDays(1) : duration;
+    }
+
+    /**
+     * Creates a shift of this type for a staff member.
+     *
+     * @param staffId the staff member working the shift
+     * @param date the day the shift starts
+     * @return the new, unsaved shift
+     */
+    public StaffShift toShift(String staffId, LocalDate date) {
+        return new StaffShift(null, staffId, startTime, endTime, date);
+    }
+
+    /**
+     * Finds the shift type with the given label.
+     *
+     * @param label a label as returned by {@link #getLabel()}
+     * @return the matching shift type, or null if none matches
+     */
+    public static ShiftType fromLabel(String label) {
+        for (ShiftType type : values()) {
+            if (type.getLabel().equals(label)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
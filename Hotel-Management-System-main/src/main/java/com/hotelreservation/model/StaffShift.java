@@ -1,14 +1,18 @@
 package com.hotelreservation.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 /**
  * Represents a work shift assigned to a staff member.
+ * A shift starts on its date; when the end time is not after the start time (e.g. a night shift
+ * from 22:00 to 6:00) it ends on the following day.
  */
 public class StaffShift {
     private String shiftId;
     private String staffId;
+    private String staffName;
     private LocalTime startTime;
     private LocalTime endTime;
     private LocalDate date;
@@ -45,6 +49,19 @@ public class StaffShift {
         this.staffId = staffId;
     }
 
+    /**
+     * Gets the staff member's display name when it was loaded together with the shift.
+     *
+     * @return the staff member's full name, or null if it was not loaded
+     */
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public void setStaffName(String staffName) {
+        this.staffName = staffName;
+    }
+
     public LocalTime getStartTime() {
         return startTime;
     }
@@ -68,4 +85,35 @@ public class StaffShift {
     public void setDate(LocalDate date) {
         this.date = date;
     }
+
+    /**
+     * Gets the moment the shift starts.
+     *
+     * @return the start date and time
+     */
+    public LocalDateTime getStartDateTime() {
+        return date.atTime(startTime);
+    }
+
+    /**
+     * Gets the moment the shift ends, which is on the next day for shifts crossing midnight.
+     *
+     * @return the end date and time
+     */
+    public LocalDateTime getEndDateTime() {
+        LocalDate endDate = endTime.isAfter(startTime) ? date : date.plusDays(1);
+        return endDate.atTime(endTime);
+    }
+
+    /**
+     * Checks whether this shift and another one share any time. Shifts that only touch, one ending
+     * when the other starts, do not overlap.
+     *
+     * @param other the other shift
+     * @return true if the time ranges overlap
+     */
+    public boolean overlaps(StaffShift other) {
+        return getStartDateTime().isBefore(other.getEndDateTime())
+                && other.getStartDateTime().isBefore(getEndDateTime());
+    }
 }
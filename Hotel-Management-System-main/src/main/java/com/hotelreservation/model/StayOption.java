@@ -0,0 +1,57 @@
+package com.hotelreservation.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents a room that is free for a contiguous stay starting on a given date.
+ */
+public class StayOption {
+    private final Room room;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+
+    /**
+     * Creates a new StayOption instance.
+     *
+     * @param room The free room
+     * @param checkInDate The first night of the stay
+     * @param checkOutDate The check-out date (the morning after the last night)
+     */
+    public StayOption(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        this.room = room;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    /**
+     * Gets the total price of the stay at the room's nightly rate.
+     *
+     * @return The rate multiplied by the number of nights
+     */
+    public double getTotalPrice() {
+        return room.getRate() * ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+    }
+
+    @Override
+    public String toString() {
+        return "StayOption{" +
+                "roomNumber='" + room.getRoomNumber() + '\'' +
+                ", checkInDate=" + checkInDate +
+                ", checkOutDate=" + checkOutDate +
+                ", totalPrice=" + getTotalPrice() +
+                '}';
+    }
+}
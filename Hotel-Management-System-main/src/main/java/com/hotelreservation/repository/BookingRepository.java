@@ -0,0 +1,155 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Booking;
+
+/**
+ * Storage for bookings. Listing methods fill in the guest name and room number, and only return
+ * bookings whose guest and room still exist.
+ */
+public interface BookingRepository {
+
+    /**
+     * A planned change of the room of one booking.
+     *
+     * @param bookingId the booking ID
+     * @param fromRoomId the room the booking must still be in
+     * @param toRoomId the room to move the booking to
+     * @param expectedStatus the status the booking must still have
+     */
+    record RoomMove(String bookingId, String fromRoomId, String toRoomId, String expectedStatus) {
+    }
+
+    /**
+     * Finds every booking, latest check-in first.
+     *
+     * @return the bookings with guest and room details
+     * @throws SQLException if the bookings cannot be read
+     */
+    List<Booking> findAll() throws SQLException;
+
+    /**
+     * Finds bookings matching all given criteria, latest check-in first.
+     *
+     * @param searchText case-insensitive text contained in the guest name or booking ID, or null
+     * @param status the exact status, or null
+     * @param date a check-in or check-out date, or null
+     * @return the matching bookings with guest and room details
+     * @throws SQLException if the bookings cannot be read
+     */
+    List<Booking> search(String searchText, String status, LocalDate date) throws SQLException;
+
+    /**
+     * Finds bookings whose stay touches a date range, including the check-out day, earliest check-in first.
+     *
+     * @param startDate first day of the range (inclusive)
+     * @param endDate last day of the range (inclusive)
+     * @return the bookings with guest and room details
+     * @throws SQLException if the bookings cannot be read
+     */
+    List<Booking> findInRange(LocalDate startDate, LocalDate endDate) throws SQLException;
+
+    /**
+     * Finds confirmed and checked-in bookings occupying at least one night of a range.
+     *
+     * @param startDate first night of the range (inclusive)
+     * @param endDate end of the range (exclusive)
+     * @return the bookings, without guest and room details
+     * @throws SQLException if the bookings cannot be read
+     */
+    List<Booking> findActiveOverlapping(LocalDate startDate, LocalDate endDate) throws SQLException;
+
+    /**
+     * Finds a booking by ID.
+     *
+     * @param bookingId the booking ID
+     * @return the booking, without guest and room details, or null if there is none
+     * @throws SQLException if the booking cannot be read
+     */
+    Booking findById(String bookingId) throws SQLException;
+
+    /**
+     * Counts all bookings, active bookings and check-ins on a day.
+     *
+     * @param today the day to count check-ins for
+     * @return [total, active, check-ins today]
+     * @throws SQLException if the bookings cannot be counted
+     */
+    int[] countStats(LocalDate today) throws SQLException;
+
+    /**
+     * Stores a new booking without checking its room; bookings taken from staff go through
+     * {@link #insertIfRoomFree}.
+     *
+     * @param booking the booking, with its ID set
+     * @return true if the booking was stored
+     * @throws SQLException if the booking cannot be stored
+     */
+    boolean insert(Booking booking) throws SQLException;
+
+    /**
+     * Stores a new booking unless its room is taken. A confirmed or checked-in booking may not share a
+     * night with another confirmed or checked-in booking of its room; the check and the insert happen
+     * together, so two such inserts for one room, or an insert and a room move, cannot both pass the check.
+     *
+     * @param booking the booking, with its ID set
+     * @return the booking already holding the room for an overlapping night, or null if the booking was stored
+     * @throws SQLException if the booking cannot be stored
+     */
+    Booking insertIfRoomFree(Booking booking) throws SQLException;
+
+    /**
+     * Overwrites a booking without checking its room; changes made by staff go through {@link #updateIfRoomFree}.
+     *
+     * @param booking the booking
+     * @return true if the booking existed
+     * @throws SQLException if the booking cannot be stored
+     */
+    boolean update(Booking booking) throws SQLException;
+
+    /**
+     * Overwrites a booking unless it would then share a night of its room with another confirmed or
+     * checked-in booking. The check and the update happen together under the same room lock as
+     * {@link #insertIfRoomFree}.
+     *
+     * @param booking the booking
+     * @return true if the booking existed and was overwritten, false if it does not exist or its room is taken
+     * @throws SQLException if the booking cannot be stored
+     */
+    boolean updateIfRoomFree(Booking booking) throws SQLException;
+
+    /**
+     * Changes the status of a booking.
+     *
+     * @param bookingId the booking ID
+     * @param status the new status
+     * @return true if the booking existed
+     * @throws SQLException if the booking cannot be stored
+     */
+    boolean updateStatus(String bookingId, String status) throws SQLException;
+
+    /**
+     * Changes the status of a booking only if it still has the expected status.
+     *
+     * @param bookingId the booking ID
+     * @param expected the status the booking must have
+     * @param status the new status
+     * @return true if the booking existed with the expected status and was changed
+     * @throws SQLException if the booking cannot be stored
+     */
+    boolean updateStatusIf(String bookingId, String expected, String status) throws SQLException;
+
+    /**
+     * Moves bookings to other rooms, all or none. Only the room of each booking changes, and only if the
+     * booking is still in the expected room with the expected status; no moved booking may end up
+     * overlapping a confirmed or checked-in booking in its new room.
+     *
+     * @param moves the moves
+     * @return true if every booking was moved, false if none was
+     * @throws SQLException if the bookings cannot be stored
+     */
+    boolean moveRooms(List<RoomMove> moves) throws SQLException;
+}
@@ -0,0 +1,97 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+
+/**
+ * Storage for guests.
+ */
+public interface GuestRepository {
+
+    /**
+     * Finds every guest, including passwords.
+     *
+     * @return the guests
+     * @throws SQLException if the guests cannot be read
+     */
+    List<Guest> findAll() throws SQLException;
+
+    /**
+     * Finds every guest without the password.
+     *
+     * @return the guests with a null password
+     * @throws SQLException if the guests cannot be read
+     */
+    List<Guest> findAllSummaries() throws SQLException;
+
+    /**
+     * Finds a guest by ID.
+     *
+     * @param guestId the guest ID
+     * @return the guest, or null if there is none
+     * @throws SQLException if the guest cannot be read
+     */
+    Guest findById(String guestId) throws SQLException;
+
+    /**
+     * Finds one keyset page of the guest directory, without passwords.
+     *
+     * @param filter case-insensitive prefix of a name or guest ID, or prefix of the contact number; null or empty for all
+     * @param sortField the field to sort by, with guestId breaking ties
+     * @param after the last guest of the previous page, or null for the first page
+     * @param limit the maximum page size
+     * @return the page
+     * @throws SQLException if the guests cannot be read
+     */
+    List<Guest> findPage(String filter, GuestSortField sortField, Guest after, int limit) throws SQLException;
+
+    /**
+     * Finds guests whose first name, last name or contact number contains a text.
+     *
+     * @param query the text
+     * @return the matching guests
+     * @throws SQLException if the guests cannot be read
+     */
+    List<Guest> search(String query) throws SQLException;
+
+    /**
+     * Stores a new guest.
+     *
+     * @param guest the guest, with its ID set
+     * @return true if the guest was stored
+     * @throws SQLException if the guest cannot be stored
+     */
+    boolean insert(Guest guest) throws SQLException;
+
+    /**
+     * Updates the name and contact number of a guest; the password is left as it is.
+     *
+     * @param guest the guest
+     * @return true if the guest existed
+     * @throws SQLException if the guest cannot be stored
+     */
+    boolean update(Guest guest) throws SQLException;
+
+    /**
+     * Deletes a guest.
+     *
+     * @param guestId the guest ID
+     * @return true if the guest existed
+     * @throws SQLException if the guest cannot be deleted
+     */
+    boolean delete(String guestId) throws SQLException;
+
+    /**
+     * Merges a duplicate guest into a surviving guest atomically: the duplicate's bookings move to the
+     * survivor, contact details missing on the survivor are copied over, and the duplicate is deleted.
+     *
+     * @param survivingGuestId the guest to keep
+     * @param duplicateGuestId the guest to merge away
+     * @return the number of bookings moved, or -1 if either guest does not exist
+     * @throws SQLException if the merge fails; nothing is changed then
+     */
+    int merge(String survivingGuestId, String duplicateGuestId) throws SQLException;
+}
@@ -0,0 +1,46 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Notification;
+
+/**
+ * Storage for staff notifications.
+ */
+public interface NotificationRepository {
+
+    /**
+     * Finds every notification, newest first.
+     *
+     * @return the notifications
+     * @throws SQLException if the notifications cannot be read
+     */
+    List<Notification> findAll() throws SQLException;
+
+    /**
+     * Stores a new notification.
+     *
+     * @param notification the notification, with its ID set
+     * @return true if the notification was stored
+     * @throws SQLException if the notification cannot be stored
+     */
+    boolean insert(Notification notification) throws SQLException;
+
+    /**
+     * Marks a notification as read.
+     *
+     * @param notificationId the notification ID
+     * @return true if the notification existed
+     * @throws SQLException if the notification cannot be stored
+     */
+    boolean markRead(String notificationId) throws SQLException;
+
+    /**
+     * Counts unread notifications.
+     *
+     * @return the count
+     * @throws SQLException if the notifications cannot be counted
+     */
+    int countUnread() throws SQLException;
+}
@@ -0,0 +1,66 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Promo;
+
+/**
+ * Storage for promotional offers.
+ */
+public interface PromoRepository {
+
+    /**
+     * Finds every promo, latest start date first.
+     *
+     * @return the promos
+     * @throws SQLException if the promos cannot be read
+     */
+    List<Promo> findAll() throws SQLException;
+
+    /**
+     * Finds an active promo by code that is valid today.
+     *
+     * @param code the promo code
+     * @return the promo, or null if there is no valid promo with that code
+     * @throws SQLException if the promo cannot be read
+     */
+    Promo findValidByCode(String code) throws SQLException;
+
+    /**
+     * Stores a new promo.
+     *
+     * @param promo the promo, with its ID set
+     * @return true if the promo was stored
+     * @throws SQLException if the promo cannot be stored
+     */
+    boolean insert(Promo promo) throws SQLException;
+
+    /**
+     * Overwrites a promo.
+     *
+     * @param promo the promo
+     * @return true if the promo existed
+     * @throws SQLException if the promo cannot be stored
+     */
+    boolean update(Promo promo) throws SQLException;
+
+    /**
+     * Activates or deactivates a promo.
+     *
+     * @param promoId the promo ID
+     * @param active the new state
+     * @return true if the promo existed
+     * @throws SQLException if the promo cannot be stored
+     */
+    boolean setActive(String promoId, boolean active) throws SQLException;
+
+    /**
+     * Deletes a promo.
+     *
+     * @param promoId the promo ID
+     * @return true if the promo existed
+     * @throws SQLException if the promo cannot be deleted
+     */
+    boolean delete(String promoId) throws SQLException;
+}
@@ -0,0 +1,134 @@
+package com.hotelreservation.repository;
+
+import com.hotelreservation.repository.jdbc.JdbcBookingRepository;
+import com.hotelreservation.repository.jdbc.JdbcChangeFeed;
+import com.hotelreservation.repository.jdbc.JdbcGuestRepository;
+import com.hotelreservation.repository.jdbc.JdbcNotificationRepository;
+import com.hotelreservation.repository.jdbc.JdbcPromoRepository;
+import com.hotelreservation.repository.jdbc.JdbcRoomRepository;
+import com.hotelreservation.repository.jdbc.JdbcSettingsRepository;
+import com.hotelreservation.repository.jdbc.JdbcShiftRepository;
+import com.hotelreservation.repository.jdbc.JdbcStaffLogRepository;
+import com.hotelreservation.repository.jdbc.JdbcStaffRepository;
+import com.hotelreservation.repository.memory.DemoData;
+import com.hotelreservation.repository.memory.InMemoryBookingRepository;
+import com.hotelreservation.repository.memory.InMemoryGuestRepository;
+import com.hotelreservation.repository.memory.InMemoryNotificationRepository;
+import com.hotelreservation.repository.memory.InMemoryPromoRepository;
+import com.hotelreservation.repository.memory.InMemoryRoomRepository;
+import com.hotelreservation.repository.memory.InMemorySettingsRepository;
+import com.hotelreservation.repository.memory.InMemoryShiftRepository;
+import com.hotelreservation.repository.memory.InMemoryStaffLogRepository;
+import com.hotelreservation.repository.memory.InMemoryStaffRepository;
+import com.hotelreservation.repository.memory.InMemoryStore;
+import com.hotelreservation.repository.offline.OfflineSync;
+import com.hotelreservation.repository.replica.ReadReplica;
+import com.hotelreservation.util.SchemaMigrations;
+
+/**
+ * The set of repositories the services work with.
+ * The storage engine is chosen once, at startup, with {@code -Dhotel.storage}: {@code jdbc} (the default)
+ * uses the PostgreSQL database, {@code memory} keeps everything in the process, seeded with demo data,
+ * so the application runs without a database. Before the database is first used, its schema is brought up
+ * to date by {@link SchemaMigrations}. With {@code -Dhotel.replica=true} the database repositories
+ * answer reads from a local copy kept up to date in the background, see {@link ReadReplica}. With
+ * {@code -Dhotel.offline=true} they fall back to a local copy while the database is unreachable, see
+ * {@link OfflineSync}. Benchmarks and tools can {@link #install} their own set before the first service call.
+ *
+ * @param bookings the booking repository
+ * @param rooms the room repository
+ * @param guests the guest repository
+ * @param staff the staff repository
+ * @param shifts the shift repository
+ * @param promos the promo repository
+ * @param notifications the notification repository
+ * @param staffLogs the staff log repository
+ * @param settings the settings repository
+ * @param inMemory whether the repositories keep their data in the process
+ */
+public record Repositories(BookingRepository bookings, RoomRepository rooms, GuestRepository guests,
+        StaffRepository staff, ShiftRepository shifts, PromoRepository promos,
+        NotificationRepository notifications, StaffLogRepository staffLogs, SettingsRepository settings,
+        boolean inMemory) {
+
+    private static final String PROPERTY = "hotel.storage";
+    private static final String OFFLINE_PROPERTY = "hotel.offline";
+    private static final String REPLICA_PROPERTY = "hotel.replica";
+
+    private static volatile Repositories current;
+
+    /**
+     * Gets the installed repositories, choosing them from the {@code hotel.storage} property on first use.
+     *
+     * @return the repositories
+     */
+    public static Repositories get() {
+        Repositories repositories = current;
+        if (repositories == null) {
+            synchronized (Repositories.class) {
+                repositories = current;
+                if (repositories == null) {
+                    repositories = create();
+                    current = repositories;
+                }
+            }
+        }
+        return repositories;
+    }
+
+    private static Repositories create() {
+        if ("memory".equalsIgnoreCase(System.getProperty(PROPERTY))) {
+            return inMemory(DemoData.seed(new InMemoryStore()));
+        }
+        // A failure is logged and startup carries on: the schema is usually current already, and offline
+        // mode must still start while the database is unreachable
+        SchemaMigrations.migrate();
+        Repositories database = jdbc();
+        Repositories repositories = database;
+        if (Boolean.getBoolean(REPLICA_PROPERTY)) {
+            repositories = ReadReplica.enable(database, new JdbcChangeFeed());
+        }
+        // Outermost, so reads fall back to the offline mirror when neither replica nor database can answer.
+        // Offline changes are replayed against the database itself: the replica may not have seen a booking
+        // made elsewhere yet, and replayed changes reach it through the change feed
+        if (Boolean.getBoolean(OFFLINE_PROPERTY)) {
+            repositories = OfflineSync.enable(repositories, database);
+        }
+        return repositories;
+    }
+
+    /**
+     * Replaces the repositories used by every service.
+     *
+     * @param repositories the repositories to use from now on
+     */
+    public static void install(Repositories repositories) {
+        current = repositories;
+    }
+
+    /**
+     * Creates repositories backed by the PostgreSQL database.
+     *
+     * @return the JDBC repositories
+     */
+    public static Repositories jdbc() {
+        return new Repositories(new JdbcBookingRepository(), new JdbcRoomRepository(), new JdbcGuestRepository(),
+                new JdbcStaffRepository(), new JdbcShiftRepository(), new JdbcPromoRepository(),
+                new JdbcNotificationRepository(), new JdbcStaffLogRepository(), new JdbcSettingsRepository(),
+                false);
+    }
+
+    /**
+     * Creates repositories over an in-memory store.
+     *
+     * @param store the store holding the data
+     * @return the in-memory repositories
+     */
+    public static Repositories inMemory(InMemoryStore store) {
+        return new Repositories(new InMemoryBookingRepository(store), new InMemoryRoomRepository(store),
+                new InMemoryGuestRepository(store), new InMemoryStaffRepository(store),
+                new InMemoryShiftRepository(store), new InMemoryPromoRepository(store),
+                new InMemoryNotificationRepository(store), new InMemoryStaffLogRepository(store),
+                new InMemorySettingsRepository(store), true);
+    }
+}
@@ -0,0 +1,98 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Room;
+
+/**
+ * Storage for rooms.
+ */
+public interface RoomRepository {
+
+    /**
+     * Finds every room, ordered by room number.
+     *
+     * @return the rooms
+     * @throws SQLException if the rooms cannot be read
+     */
+    List<Room> findAll() throws SQLException;
+
+    /**
+     * Finds available rooms without a confirmed or checked-in booking clashing with a stay.
+     *
+     * @param checkIn check-in date
+     * @param checkOut check-out date
+     * @return the free rooms, ordered by room number
+     * @throws SQLException if the rooms cannot be read
+     */
+    List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) throws SQLException;
+
+    /**
+     * Finds rooms not under maintenance that fit a party, whatever their bookings.
+     *
+     * @param roomType the room type, or null for any type
+     * @param minCapacity the minimum capacity
+     * @return the rooms
+     * @throws SQLException if the rooms cannot be read
+     */
+    List<Room> findBookable(String roomType, int minCapacity) throws SQLException;
+
+    /**
+     * Finds a room by ID.
+     *
+     * @param roomId the room ID
+     * @return the room, or null if there is none
+     * @throws SQLException if the room cannot be read
+     */
+    Room findById(String roomId) throws SQLException;
+
+    /**
+     * Finds a room by its number.
+     *
+     * @param roomNumber the room number
+     * @return the room, or null if there is none
+     * @throws SQLException if the room cannot be read
+     */
+    Room findByNumber(String roomNumber) throws SQLException;
+
+    /**
+     * Stores a new room.
+     *
+     * @param room the room, with its ID set
+     * @return true if the room was stored
+     * @throws SQLException if the room cannot be stored
+     */
+    boolean insert(Room room) throws SQLException;
+
+    /**
+     * Overwrites a room.
+     *
+     * @param room the room
+     * @return true if the room existed
+     * @throws SQLException if the room cannot be stored
+     */
+    boolean update(Room room) throws SQLException;
+
+    /**
+     * Changes the status of a room.
+     *
+     * @param roomId the room ID
+     * @param status the new status
+     * @return true if the room existed
+     * @throws SQLException if the room cannot be stored
+     */
+    boolean updateStatus(String roomId, String status) throws SQLException;
+
+    /**
+     * Changes the status of a room only if it still has the expected status.
+     *
+     * @param roomId the room ID
+     * @param expected the status the room must have
+     * @param status the new status
+     * @return true if the room existed with the expected status and was changed
+     * @throws SQLException if the room cannot be stored
+     */
+    boolean updateStatusIf(String roomId, String expected, String status) throws SQLException;
+}
@@ -0,0 +1,39 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import com.hotelreservation.model.Settings;
+
+/**
+ * Storage for per-user settings as key-value pairs.
+ */
+public interface SettingsRepository {
+
+    /**
+     * Loads the stored settings of a user.
+     *
+     * @param userId the user ID
+     * @return the values by key name, empty if the user has none
+     * @throws SQLException if the settings cannot be read
+     */
+    Map<String, String> load(String userId) throws SQLException;
+
+    /**
+     * Writes several settings of a user atomically; existing keys are overwritten.
+     *
+     * @param userId the user ID
+     * @param values the values by key name
+     * @throws SQLException if the settings cannot be stored; none are stored then
+     */
+    void save(String userId, Map<String, String> values) throws SQLException;
+
+    /**
+     * Loads settings stored in the older one-row-per-user format.
+     *
+     * @param userId the user ID
+     * @return the settings, or null if the user has none in that format
+     * @throws SQLException if the settings cannot be read
+     */
+    Settings loadLegacy(String userId) throws SQLException;
+}
@@ -0,0 +1,82 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.hotelreservation.model.StaffShift;
+
+/**
+ * Storage for the staff roster. A shift runs from its date at the start time until the end time,
+ * on the next day when the shift crosses midnight.
+ */
+public interface ShiftRepository {
+
+    /**
+     * Finds the shifts dated on a day, with staff names, ordered by start time.
+     *
+     * @param date the day
+     * @return the shifts
+     * @throws SQLException if the shifts cannot be read
+     */
+    List<StaffShift> findByDate(LocalDate date) throws SQLException;
+
+    /**
+     * Finds every shift overlapping a time range, with staff names, ordered by start.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the shifts
+     * @throws SQLException if the shifts cannot be read
+     */
+    List<StaffShift> findBetween(LocalDateTime from, LocalDateTime to) throws SQLException;
+
+    /**
+     * Finds the shift a staff member is on at a moment, including a night shift that started the day before.
+     *
+     * @param staffId the staff ID
+     * @param at the moment
+     * @return the shift, or null if the staff member is off duty
+     * @throws SQLException if the shifts cannot be read
+     */
+    StaffShift findCurrent(String staffId, LocalDateTime at) throws SQLException;
+
+    /**
+     * Finds stored shifts overlapping any of the given shifts of the same staff member.
+     *
+     * @param shifts the proposed shifts
+     * @return the overlapping stored shifts
+     * @throws SQLException if the shifts cannot be read
+     */
+    List<StaffShift> findOverlapping(List<StaffShift> shifts) throws SQLException;
+
+    /**
+     * Stores a batch of shifts unless one of them overlaps a stored shift of the same staff member.
+     * The check and the insert are atomic with respect to other assignments for the same staff members.
+     *
+     * @param shifts the shifts to store, which must not overlap each other
+     * @return the stored shifts that overlap, empty if the batch was stored
+     * @throws SQLException if the shifts cannot be stored; nothing is stored then
+     */
+    List<StaffShift> insertUnlessOverlapping(List<StaffShift> shifts) throws SQLException;
+
+    /**
+     * Moves a shift unless it would then overlap another stored shift of the same staff member.
+     * The check and the update are atomic with respect to assignments and moves for that staff member.
+     *
+     * @param shift the shift with its new times and date
+     * @return true if the shift was moved, false if it does not exist or would overlap
+     * @throws SQLException if the shift cannot be stored
+     */
+    boolean update(StaffShift shift) throws SQLException;
+
+    /**
+     * Deletes a shift.
+     *
+     * @param shiftId the shift ID
+     * @return true if the shift existed
+     * @throws SQLException if the shift cannot be deleted
+     */
+    boolean delete(String shiftId) throws SQLException;
+}
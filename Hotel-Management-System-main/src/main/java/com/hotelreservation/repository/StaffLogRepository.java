@@ -0,0 +1,47 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.StaffLog;
+
+/**
+ * Storage for the staff activity log.
+ */
+public interface StaffLogRepository {
+
+    /**
+     * Finds every log entry, newest first.
+     *
+     * @return the entries
+     * @throws SQLException if the log cannot be read
+     */
+    List<StaffLog> findAll() throws SQLException;
+
+    /**
+     * Finds the log entries of one staff member, newest first.
+     *
+     * @param staffId the staff ID
+     * @return the entries
+     * @throws SQLException if the log cannot be read
+     */
+    List<StaffLog> findByStaff(String staffId) throws SQLException;
+
+    /**
+     * Appends a log entry; the repository assigns its ID.
+     *
+     * @param log the entry
+     * @return true if the entry was stored
+     * @throws SQLException if the entry cannot be stored
+     */
+    boolean insert(StaffLog log) throws SQLException;
+
+    /**
+     * Deletes entries older than a number of days.
+     *
+     * @param daysToKeep the number of days to keep
+     * @return the number of entries deleted
+     * @throws SQLException if the entries cannot be deleted
+     */
+    int deleteOlderThan(int daysToKeep) throws SQLException;
+}
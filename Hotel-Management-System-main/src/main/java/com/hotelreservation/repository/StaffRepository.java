@@ -0,0 +1,86 @@
+package com.hotelreservation.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Staff;
+
+/**
+ * Storage for staff members. Staff objects read from a repository never carry the password hash;
+ * the hash is only handed out as {@link Credentials} for checking a login.
+ */
+public interface StaffRepository {
+
+    /**
+     * A staff member together with the stored password hash.
+     *
+     * @param staff the staff member, without the hash
+     * @param passwordHash the stored hash
+     */
+    record Credentials(Staff staff, String passwordHash) {
+    }
+
+    /**
+     * Finds every staff member.
+     *
+     * @return the staff members
+     * @throws SQLException if the staff cannot be read
+     */
+    List<Staff> findAll() throws SQLException;
+
+    /**
+     * Finds a staff member by ID.
+     *
+     * @param staffId the staff ID
+     * @return the staff member, or null if there is none
+     * @throws SQLException if the staff member cannot be read
+     */
+    Staff findById(String staffId) throws SQLException;
+
+    /**
+     * Finds a staff member and the stored password hash.
+     *
+     * @param staffId the staff ID
+     * @return the credentials, or null if there is no such staff member
+     * @throws SQLException if the staff member cannot be read
+     */
+    Credentials findCredentials(String staffId) throws SQLException;
+
+    /**
+     * Stores a new staff member.
+     *
+     * @param staff the staff member
+     * @param passwordHash the hash of the initial password
+     * @return true if the staff member was stored
+     * @throws SQLException if the staff member cannot be stored
+     */
+    boolean insert(Staff staff, String passwordHash) throws SQLException;
+
+    /**
+     * Updates the name and position of a staff member.
+     *
+     * @param staff the staff member
+     * @return true if the staff member existed
+     * @throws SQLException if the staff member cannot be stored
+     */
+    boolean update(Staff staff) throws SQLException;
+
+    /**
+     * Replaces the stored password hash.
+     *
+     * @param staffId the staff ID
+     * @param passwordHash the new hash
+     * @return true if the staff member existed
+     * @throws SQLException if the hash cannot be stored
+     */
+    boolean updatePassword(String staffId, String passwordHash) throws SQLException;
+
+    /**
+     * Deletes a staff member.
+     *
+     * @param staffId the staff ID
+     * @return true if the staff member existed
+     * @throws SQLException if the staff member cannot be deleted
+     */
+    boolean delete(String staffId) throws SQLException;
+}
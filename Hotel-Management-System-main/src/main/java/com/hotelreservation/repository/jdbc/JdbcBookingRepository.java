@@ -0,0 +1,281 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.repository.BookingRepository;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.JdbcTemplate;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Bookings stored in the Bookings table.
+ */
+public class JdbcBookingRepository implements BookingRepository {
+    // Listing queries join the guest name and room number in, so a table needs no lookup per row
+    private static final String BOOKINGS_WITH_NAMES =
+            "SELECT b.*, g.firstName || ' ' || g.lastName as guestName, r.roomNumber " +
+            "FROM Bookings b " +
+            "JOIN Guests g ON b.guestId = g.guestId " +
+            "JOIN Rooms r ON b.roomId = r.roomId ";
+    private static final String INSERT =
+            "INSERT INTO Bookings (bookingId, guestId, roomId, checkInDate, checkOutDate, " +
+            "totalAmount, status, promoCode, discountAmount, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE Bookings SET guestId = ?, roomId = ?, checkInDate = ?, checkOutDate = ?, " +
+            "totalAmount = ?, status = ?, promoCode = ?, discountAmount = ?, notes = ? " +
+            "WHERE bookingId = ?";
+    private static final Set<String> ACTIVE_STATUSES = Set.of("CONFIRMED", "CHECKED_IN");
+    private static final RowMapper<int[]> STATS = columns -> {
+        int total = columns.require("total");
+        int active = columns.require("active");
+        int todayCheckins = columns.require("todayCheckins");
+        return rs -> new int[] { rs.getInt(total), rs.getInt(active), rs.getInt(todayCheckins) };
+    };
+
+    @Override
+    public List<Booking> findAll() throws SQLException {
+        String sql = BOOKINGS_WITH_NAMES + "ORDER BY b.checkInDate DESC";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.BOOKING);
+    }
+
+    @Override
+    public List<Booking> search(String searchText, String status, LocalDate date) throws SQLException {
+        StringBuilder sql = new StringBuilder(BOOKINGS_WITH_NAMES + "WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+
+        if (searchText != null && !searchText.isEmpty()) {
+            // Matched by ID and by guest name separately, so each half can use its trigram index; an OR across
+            // the join would have to read every booking
+            sql.append(" AND b.bookingId IN (SELECT bookingId FROM Bookings WHERE LOWER(bookingId) LIKE ? " +
+                       "UNION SELECT m.bookingId FROM Bookings m JOIN Guests n ON n.guestId = m.guestId " +
+                       "WHERE LOWER(n.firstName || ' ' || n.lastName) LIKE ?)");
+            String searchPattern = "%" + JdbcTemplate.escapeLike(searchText.toLowerCase()) + "%";
+            params.add(searchPattern);
+            params.add(searchPattern);
+        }
+
+        if (status != null && !status.isEmpty()) {
+            sql.append(" AND b.status = ?");
+            params.add(status);
+        }
+
+        if (date != null) {
+            sql.append(" AND (b.checkInDate = ? OR b.checkOutDate = ?)");
+            params.add(Date.valueOf(date));
+            params.add(Date.valueOf(date));
+        }
+
+        sql.append(" ORDER BY b.checkInDate DESC");
+        return JdbcTemplate.query(sql.toString(), JdbcTemplate.params(params.toArray()), RowMappers.BOOKING);
+    }
+
+    @Override
+    public List<Booking> findInRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = BOOKINGS_WITH_NAMES +
+                    "WHERE b.checkInDate <= ? AND b.checkOutDate >= ? " +
+                    "ORDER BY b.checkInDate";
+        return JdbcTemplate.query(sql, JdbcTemplate.params(Date.valueOf(endDate), Date.valueOf(startDate)),
+                RowMappers.BOOKING);
+    }
+
+    @Override
+    public List<Booking> findActiveOverlapping(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = "SELECT * FROM Bookings " +
+                    "WHERE status IN ('CONFIRMED', 'CHECKED_IN') " +
+                    "AND checkInDate < ? AND checkOutDate > ?";
+        return JdbcTemplate.query(sql, JdbcTemplate.params(Date.valueOf(endDate), Date.valueOf(startDate)),
+                RowMappers.BOOKING);
+    }
+
+    @Override
+    public Booking findById(String bookingId) throws SQLException {
+        String sql = "SELECT * FROM Bookings WHERE bookingId = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(bookingId), RowMappers.BOOKING);
+    }
+
+    @Override
+    public int[] countStats(LocalDate today) throws SQLException {
+        String sql = "SELECT " +
+                    "(SELECT COUNT(*) FROM Bookings) as total, " +
+                    "(SELECT COUNT(*) FROM Bookings WHERE status IN ('CONFIRMED', 'CHECKED_IN')) as active, " +
+                    "(SELECT COUNT(*) FROM Bookings WHERE checkInDate = ?) as todayCheckins";
+        int[] stats = JdbcTemplate.queryOne(sql, JdbcTemplate.params(Date.valueOf(today)), STATS);
+        return stats != null ? stats : new int[3];
+    }
+
+    @Override
+    public boolean insert(Booking booking) throws SQLException {
+        return JdbcTemplate.update(INSERT, pstmt -> {
+            pstmt.setString(1, booking.getBookingId());
+            bindDetails(pstmt, 2, booking);
+        }) > 0;
+    }
+
+    @Override
+    public Booking insertIfRoomFree(Booking booking) throws SQLException {
+        String clashSql = "SELECT * FROM Bookings WHERE roomId = ? AND status IN ('CONFIRMED', 'CHECKED_IN') " +
+                    "AND checkInDate < ? AND checkOutDate > ? LIMIT 1";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // The room lock is also taken by room moves, so nothing can enter the room between check and insert
+                lockRooms(conn, Set.of(booking.getRoomId()));
+                if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                    Booking clash = JdbcTemplate.queryOne(conn, clashSql, JdbcTemplate.params(booking.getRoomId(),
+                            Date.valueOf(booking.getCheckOutDate()), Date.valueOf(booking.getCheckInDate())),
+                            RowMappers.BOOKING);
+                    if (clash != null) {
+                        conn.rollback();
+                        return clash;
+                    }
+                }
+                JdbcTemplate.update(conn, INSERT, pstmt -> {
+                    pstmt.setString(1, booking.getBookingId());
+                    bindDetails(pstmt, 2, booking);
+                });
+                conn.commit();
+                return null;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean update(Booking booking) throws SQLException {
+        return JdbcTemplate.update(UPDATE, pstmt -> {
+            bindDetails(pstmt, 1, booking);
+            pstmt.setString(10, booking.getBookingId());
+        }) > 0;
+    }
+
+    @Override
+    public boolean updateIfRoomFree(Booking booking) throws SQLException {
+        String clashSql = "SELECT * FROM Bookings WHERE roomId = ? AND bookingId <> ? " +
+                    "AND status IN ('CONFIRMED', 'CHECKED_IN') AND checkInDate < ? AND checkOutDate > ? LIMIT 1";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Only the room the booking ends up in can gain a clash, so only its lock is needed
+                lockRooms(conn, Set.of(booking.getRoomId()));
+                if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                    Booking clash = JdbcTemplate.queryOne(conn, clashSql, JdbcTemplate.params(booking.getRoomId(),
+                            booking.getBookingId(), Date.valueOf(booking.getCheckOutDate()),
+                            Date.valueOf(booking.getCheckInDate())), RowMappers.BOOKING);
+                    if (clash != null) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+                boolean updated = JdbcTemplate.update(conn, UPDATE, pstmt -> {
+                    bindDetails(pstmt, 1, booking);
+                    pstmt.setString(10, booking.getBookingId());
+                }) > 0;
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String bookingId, String status) throws SQLException {
+        String sql = "UPDATE Bookings SET status = ? WHERE bookingId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(status, bookingId)) > 0;
+    }
+
+    @Override
+    public boolean updateStatusIf(String bookingId, String expected, String status) throws SQLException {
+        String sql = "UPDATE Bookings SET status = ? WHERE bookingId = ? AND status = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(status, bookingId, expected)) > 0;
+    }
+
+    @Override
+    public boolean moveRooms(List<RoomMove> moves) throws SQLException {
+        if (moves.isEmpty()) {
+            return true;
+        }
+        String moveSql = "UPDATE Bookings SET roomId = ? WHERE bookingId = ? AND roomId = ? AND status = ?";
+        // A moved booking may not share a night with another live booking in its new room
+        String clashSql = "SELECT 1 FROM Bookings m JOIN Bookings o ON o.roomId = m.roomId " +
+                    "AND o.bookingId <> m.bookingId " +
+                    "AND o.checkInDate < m.checkOutDate AND o.checkOutDate > m.checkInDate " +
+                    "WHERE m.bookingId = ANY (?) AND m.status IN ('CONFIRMED', 'CHECKED_IN') " +
+                    "AND o.status IN ('CONFIRMED', 'CHECKED_IN') LIMIT 1";
+        String[] bookingIds = moves.stream().map(RoomMove::bookingId).toArray(String[]::new);
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                TreeSet<String> roomIds = new TreeSet<>();
+                moves.forEach(move -> {
+                    roomIds.add(move.fromRoomId());
+                    roomIds.add(move.toRoomId());
+                });
+                lockRooms(conn, roomIds);
+                for (RoomMove move : moves) {
+                    if (JdbcTemplate.update(conn, moveSql, JdbcTemplate.params(move.toRoomId(), move.bookingId(),
+                            move.fromRoomId(), move.expectedStatus())) != 1) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+                Integer clash = JdbcTemplate.queryOne(conn, clashSql,
+                        pstmt -> pstmt.setArray(1, conn.createArrayOf("varchar", bookingIds)),
+                        columns -> rs -> 1);
+                if (clash != null) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Takes a transaction-scoped advisory lock per room, in a fixed order to avoid deadlocks, so two
+     * transactions changing the bookings of the same rooms are applied one after the other.
+     */
+    private static void lockRooms(Connection conn, Set<String> roomIds) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+            for (String roomId : new TreeSet<>(roomIds)) {
+                pstmt.setString(1, "Bookings:room:" + roomId);
+                pstmt.executeQuery().close();
+            }
+        }
+    }
+
+    /**
+     * Binds the nine booking columns after the ID, in the order shared by the insert and the update.
+     */
+    private static void bindDetails(PreparedStatement pstmt, int first, Booking booking) throws SQLException {
+        pstmt.setString(first, booking.getGuestId());
+        pstmt.setString(first + 1, booking.getRoomId());
+        pstmt.setDate(first + 2, Date.valueOf(booking.getCheckInDate()));
+        pstmt.setDate(first + 3, Date.valueOf(booking.getCheckOutDate()));
+        pstmt.setDouble(first + 4, booking.getTotalAmount());
+        pstmt.setString(first + 5, booking.getStatus());
+        pstmt.setString(first + 6, booking.getPromoCode());
+        pstmt.setDouble(first + 7, booking.getDiscountAmount());
+        pstmt.setString(first + 8, booking.getNotes());
+    }
+}
@@ -0,0 +1,109 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
+import com.hotelreservation.repository.replica.ChangeFeed;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.JdbcTemplate;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Reads changes from the database by their {@code updatedAt} column.
+ * Triggers stamp {@code updatedAt} on every insert and update of Rooms, Guests, Bookings and Promos,
+ * and record deleted rows in DeletedRows, so a poll finds changes through an index instead of reading
+ * the tables again. Each batch is read in one repeatable-read transaction, so the tables agree with
+ * each other and with the clock reading that starts the next batch. Guests are read without their
+ * passwords, which the replica never needs.
+ * The columns, triggers and DeletedRows table are created by the V3 schema migration.
+ */
+public class JdbcChangeFeed implements ChangeFeed {
+    private static final RowMapper<Deletion> DELETION = columns -> {
+        int tableName = columns.require("tableName");
+        int rowId = columns.require("rowId");
+        int deletedAt = columns.require("deletedAt");
+        return rs -> new Deletion(rs.getString(tableName).toLowerCase(Locale.ROOT), rs.getString(rowId),
+                rs.getObject(deletedAt, OffsetDateTime.class).toInstant());
+    };
+
+    @Override
+    public ChangeBatch load(LocalDate bookingsFrom) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // Tombstones are only needed until every replica has polled past them; replicas that fall
+            // further behind reload in full. Pruned outside the snapshot so replicas loading together
+            // never conflict over the same rows.
+            JdbcTemplate.update(conn, "DELETE FROM DeletedRows WHERE deletedAt < now() - interval '1 day'",
+                    JdbcTemplate.NO_PARAMETERS);
+            beginSnapshot(conn);
+            try {
+                ChangeBatch batch = new ChangeBatch(readClock(conn), true,
+                        JdbcTemplate.query(conn, "SELECT * FROM Rooms", JdbcTemplate.NO_PARAMETERS, RowMappers.ROOM),
+                        JdbcTemplate.query(conn, "SELECT " + JdbcGuestRepository.DIRECTORY_COLUMNS + " FROM Guests",
+                                JdbcTemplate.NO_PARAMETERS, RowMappers.GUEST),
+                        JdbcTemplate.query(conn, "SELECT * FROM Bookings WHERE checkOutDate >= ?",
+                                JdbcTemplate.params(Date.valueOf(bookingsFrom)), RowMappers.BOOKING),
+                        JdbcTemplate.query(conn, "SELECT * FROM Promos", JdbcTemplate.NO_PARAMETERS, RowMappers.PROMO),
+                        List.of());
+                conn.commit();
+                return batch;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public ChangeBatch changesSince(Instant since) throws SQLException {
+        JdbcTemplate.Binder after = JdbcTemplate.params(OffsetDateTime.ofInstant(since, ZoneOffset.UTC));
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            beginSnapshot(conn);
+            try {
+                ChangeBatch batch = new ChangeBatch(readClock(conn), false,
+                        JdbcTemplate.query(conn, "SELECT * FROM Rooms WHERE updatedAt > ?", after, RowMappers.ROOM),
+                        JdbcTemplate.query(conn, "SELECT " + JdbcGuestRepository.DIRECTORY_COLUMNS
+                                + " FROM Guests WHERE updatedAt > ?", after, RowMappers.GUEST),
+                        JdbcTemplate.query(conn, "SELECT * FROM Bookings WHERE updatedAt > ?", after,
+                                RowMappers.BOOKING),
+                        JdbcTemplate.query(conn, "SELECT * FROM Promos WHERE updatedAt > ?", after, RowMappers.PROMO),
+                        JdbcTemplate.query(conn, "SELECT * FROM DeletedRows WHERE deletedAt > ?", after,
+                                DELETION));
+                conn.commit();
+                return batch;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Starts a repeatable-read transaction. The isolation is set for this transaction only, so the
+     * pooled connection goes back with its defaults.
+     */
+    private static void beginSnapshot(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+        }
+    }
+
+    /**
+     * Reads the database clock. As the first statement of the transaction it also fixes the snapshot.
+     */
+    private static Instant readClock(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT clock_timestamp()")) {
+            rs.next();
+            return rs.getObject(1, OffsetDateTime.class).toInstant();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Guests stored in the Guests table.
+ */
+public class JdbcGuestRepository implements GuestRepository {
+    // Everything but the password, for reads that list or copy guests
+    static final String DIRECTORY_COLUMNS = "guestId, firstName, lastName, middleName, contactNumber";
+    private static final int DIRECTORY_FETCH_SIZE = 5000;
+
+    @Override
+    public List<Guest> findAll() throws SQLException {
+        String sql = "SELECT * FROM Guests";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.GUEST);
+    }
+
+    @Override
+    public List<Guest> findAllSummaries() throws SQLException {
+        String sql = "SELECT " + DIRECTORY_COLUMNS + " FROM Guests";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.GUEST, DIRECTORY_FETCH_SIZE);
+    }
+
+    @Override
+    public Guest findById(String guestId) throws SQLException {
+        String sql = "SELECT * FROM Guests WHERE guestId = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(guestId), RowMappers.GUEST);
+    }
+
+    @Override
+    public List<Guest> findPage(String filter, GuestSortField sortField, Guest after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT " + DIRECTORY_COLUMNS + " FROM Guests WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+
+        if (filter != null && !filter.isEmpty()) {
+            sql.append(" AND (LOWER(firstName) LIKE ? OR LOWER(lastName) LIKE ? " +
+                       "OR contactNumber LIKE ? OR LOWER(guestId) LIKE ?)");
+            String pattern = JdbcTemplate.escapeLike(filter.toLowerCase()) + "%";
+            for (int i = 0; i < 4; i++) {
+                params.add(pattern);
+            }
+        }
+
+        if (after != null) {
+            sql.append(" AND (").append(sortField.getColumn()).append(", guestId) > (?, ?)");
+            params.add(sortField.getValue(after));
+            params.add(after.getGuestId());
+        }
+
+        sql.append(" ORDER BY ").append(sortField.getColumn()).append(", guestId LIMIT ?");
+        params.add(limit);
+
+        return JdbcTemplate.query(sql.toString(), JdbcTemplate.params(params.toArray()), RowMappers.GUEST);
+    }
+
+    @Override
+    public List<Guest> search(String query) throws SQLException {
+        String sql = "SELECT * FROM Guests WHERE firstName LIKE ? OR lastName LIKE ? OR contactNumber LIKE ?";
+        String searchPattern = "%" + JdbcTemplate.escapeLike(query) + "%";
+        return JdbcTemplate.query(sql, JdbcTemplate.params(searchPattern, searchPattern, searchPattern),
+                RowMappers.GUEST);
+    }
+
+    @Override
+    public boolean insert(Guest guest) throws SQLException {
+        String sql = "INSERT INTO Guests (guestId, firstName, lastName, middleName, password, contactNumber) VALUES (?, ?, ?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, guest.getGuestId());
+            pstmt.setString(2, guest.getFirstName());
+            pstmt.setString(3, guest.getLastName());
+            pstmt.setString(4, guest.getMiddleName());
+            pstmt.setString(5, guest.getPassword());
+            pstmt.setString(6, guest.getContactNumber());
+        }) > 0;
+    }
+
+    @Override
+    public boolean update(Guest guest) throws SQLException {
+        String sql = "UPDATE Guests SET firstName = ?, lastName = ?, middleName = ?, contactNumber = ? WHERE guestId = ?";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, guest.getFirstName());
+            pstmt.setString(2, guest.getLastName());
+            pstmt.setString(3, guest.getMiddleName());
+            pstmt.setString(4, guest.getContactNumber());
+            pstmt.setString(5, guest.getGuestId());
+        }) > 0;
+    }
+
+    @Override
+    public boolean delete(String guestId) throws SQLException {
+        String sql = "DELETE FROM Guests WHERE guestId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(guestId)) > 0;
+    }
+
+    @Override
+    public int merge(String survivingGuestId, String duplicateGuestId) throws SQLException {
+        String moveBookingsSql = "UPDATE Bookings SET guestId = ? WHERE guestId = ?";
+        String fillContactSql = "UPDATE Guests s SET " +
+                "middleName = COALESCE(NULLIF(s.middleName, ''), d.middleName), " +
+                "contactNumber = COALESCE(NULLIF(s.contactNumber, ''), d.contactNumber) " +
+                "FROM Guests d WHERE s.guestId = ? AND d.guestId = ?";
+        String deleteSql = "DELETE FROM Guests WHERE guestId = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int filled = JdbcTemplate.update(conn, fillContactSql,
+                        JdbcTemplate.params(survivingGuestId, duplicateGuestId));
+                if (filled == 0) {
+                    // One of the two guests does not exist
+                    conn.rollback();
+                    return -1;
+                }
+
+                int movedBookings = JdbcTemplate.update(conn, moveBookingsSql,
+                        JdbcTemplate.params(survivingGuestId, duplicateGuestId));
+                JdbcTemplate.update(conn, deleteSql, JdbcTemplate.params(duplicateGuestId));
+
+                conn.commit();
+                return movedBookings;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
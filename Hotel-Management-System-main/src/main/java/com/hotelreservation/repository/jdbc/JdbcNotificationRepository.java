@@ -0,0 +1,48 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import com.hotelreservation.model.Notification;
+import com.hotelreservation.repository.NotificationRepository;
+import com.hotelreservation.util.JdbcTemplate;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Notifications stored in the Notifications table.
+ */
+public class JdbcNotificationRepository implements NotificationRepository {
+    private static final RowMapper<Integer> COUNT = columns -> rs -> rs.getInt(1);
+
+    @Override
+    public List<Notification> findAll() throws SQLException {
+        String sql = "SELECT * FROM Notifications ORDER BY createdAt DESC";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.NOTIFICATION);
+    }
+
+    @Override
+    public boolean insert(Notification notification) throws SQLException {
+        String sql = "INSERT INTO Notifications (notificationId, staffId, message, createdAt, read) VALUES (?, ?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, notification.getNotificationId());
+            pstmt.setString(2, notification.getStaffId());
+            pstmt.setString(3, notification.getMessage());
+            pstmt.setTimestamp(4, Timestamp.valueOf(notification.getCreatedAt()));
+            pstmt.setBoolean(5, notification.isRead());
+        }) > 0;
+    }
+
+    @Override
+    public boolean markRead(String notificationId) throws SQLException {
+        String sql = "UPDATE Notifications SET read = true WHERE notificationId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(notificationId)) > 0;
+    }
+
+    @Override
+    public int countUnread() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Notifications WHERE read = false";
+        Integer count = JdbcTemplate.queryOne(sql, JdbcTemplate.NO_PARAMETERS, COUNT);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.repository.PromoRepository;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Promos stored in the Promos table.
+ */
+public class JdbcPromoRepository implements PromoRepository {
+
+    @Override
+    public List<Promo> findAll() throws SQLException {
+        String sql = "SELECT * FROM Promos ORDER BY validFrom DESC";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.PROMO);
+    }
+
+    @Override
+    public Promo findValidByCode(String code) throws SQLException {
+        String sql = "SELECT * FROM Promos WHERE code = ? AND active = true " +
+                    "AND (validFrom IS NULL OR validFrom <= CURRENT_DATE) " +
+                    "AND (validUntil IS NULL OR validUntil >= CURRENT_DATE)";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(code), RowMappers.PROMO);
+    }
+
+    @Override
+    public boolean insert(Promo promo) throws SQLException {
+        String sql = "INSERT INTO Promos (promoId, code, description, discountAmount, validFrom, validUntil, active) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, promo.getPromoId());
+            bindDetails(pstmt, 2, promo);
+        }) > 0;
+    }
+
+    @Override
+    public boolean update(Promo promo) throws SQLException {
+        String sql = "UPDATE Promos SET code = ?, description = ?, discountAmount = ?, " +
+                    "validFrom = ?, validUntil = ?, active = ? WHERE promoId = ?";
+        return JdbcTemplate.update(sql, pstmt -> {
+            bindDetails(pstmt, 1, promo);
+            pstmt.setString(7, promo.getPromoId());
+        }) > 0;
+    }
+
+    @Override
+    public boolean setActive(String promoId, boolean active) throws SQLException {
+        String sql = "UPDATE Promos SET active = ? WHERE promoId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(active, promoId)) > 0;
+    }
+
+    @Override
+    public boolean delete(String promoId) throws SQLException {
+        String sql = "DELETE FROM Promos WHERE promoId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(promoId)) > 0;
+    }
+
+    /**
+     * Binds the six promo columns after the ID, in the order shared by the insert and the update.
+     */
+    private static void bindDetails(PreparedStatement pstmt, int first, Promo promo) throws SQLException {
+        pstmt.setString(first, promo.getCode());
+        pstmt.setString(first + 1, promo.getDescription());
+        pstmt.setDouble(first + 2, promo.getDiscountAmount());
+        pstmt.setDate(first + 3, promo.getValidFrom() != null ? Date.valueOf(promo.getValidFrom()) : null);
+        pstmt.setDate(first + 4, promo.getValidUntil() != null ? Date.valueOf(promo.getValidUntil()) : null);
+        pstmt.setBoolean(first + 5, promo.isActive());
+    }
+}
@@ -0,0 +1,112 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Rooms stored in the Rooms table.
+ */
+public class JdbcRoomRepository implements RoomRepository {
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        String sql = "SELECT * FROM Rooms ORDER BY roomNumber";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.ROOM);
+    }
+
+    @Override
+    public List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        String sql = "SELECT r.* FROM Rooms r " +
+                    "WHERE r.status = 'AVAILABLE' " +
+                    "AND r.roomId NOT IN (" +
+                    "    SELECT b.roomId FROM Bookings b " +
+                    "    WHERE b.status IN ('CONFIRMED', 'CHECKED_IN') " +
+                    "    AND (" +
+                    "        (b.checkInDate <= ? AND b.checkOutDate > ?) OR " +
+                    "        (b.checkInDate < ? AND b.checkOutDate >= ?) OR " +
+                    "        (b.checkInDate >= ? AND b.checkOutDate <= ?)" +
+                    "    )" +
+                    ") " +
+                    "ORDER BY r.roomNumber";
+        Date from = Date.valueOf(checkIn);
+        Date to = Date.valueOf(checkOut);
+        return JdbcTemplate.query(sql, JdbcTemplate.params(from, from, to, to, from, to), RowMappers.ROOM);
+    }
+
+    @Override
+    public List<Room> findBookable(String roomType, int minCapacity) throws SQLException {
+        String sql = "SELECT * FROM Rooms WHERE status <> 'MAINTENANCE' AND capacity >= ?" +
+                    (roomType != null ? " AND type = ?" : "");
+        return JdbcTemplate.query(sql, pstmt -> {
+            pstmt.setInt(1, minCapacity);
+            if (roomType != null) {
+                pstmt.setString(2, roomType);
+            }
+        }, RowMappers.ROOM);
+    }
+
+    @Override
+    public Room findById(String roomId) throws SQLException {
+        String sql = "SELECT * FROM Rooms WHERE roomId = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(roomId), RowMappers.ROOM);
+    }
+
+    @Override
+    public Room findByNumber(String roomNumber) throws SQLException {
+        String sql = "SELECT * FROM Rooms WHERE roomNumber = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(roomNumber), RowMappers.ROOM);
+    }
+
+    @Override
+    public boolean insert(Room room) throws SQLException {
+        String sql = "INSERT INTO Rooms (roomId, roomNumber, type, rate, capacity, status, " +
+                    "description, amenities, floor) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, room.getRoomId());
+            bindDetails(pstmt, 2, room);
+        }) > 0;
+    }
+
+    @Override
+    public boolean update(Room room) throws SQLException {
+        String sql = "UPDATE Rooms SET roomNumber = ?, type = ?, rate = ?, capacity = ?, " +
+                    "status = ?, description = ?, amenities = ?, floor = ? WHERE roomId = ?";
+        return JdbcTemplate.update(sql, pstmt -> {
+            bindDetails(pstmt, 1, room);
+            pstmt.setString(9, room.getRoomId());
+        }) > 0;
+    }
+
+    @Override
+    public boolean updateStatus(String roomId, String status) throws SQLException {
+        String sql = "UPDATE Rooms SET status = ? WHERE roomId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(status, roomId)) > 0;
+    }
+
+    @Override
+    public boolean updateStatusIf(String roomId, String expected, String status) throws SQLException {
+        String sql = "UPDATE Rooms SET status = ? WHERE roomId = ? AND status = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(status, roomId, expected)) > 0;
+    }
+
+    /**
+     * Binds the eight room columns after the ID, in the order shared by the insert and the update.
+     */
+    private static void bindDetails(PreparedStatement pstmt, int first, Room room) throws SQLException {
+        pstmt.setString(first, room.getRoomNumber());
+        pstmt.setString(first + 1, room.getType());
+        pstmt.setDouble(first + 2, room.getRate());
+        pstmt.setInt(first + 3, room.getCapacity());
+        pstmt.setString(first + 4, room.getStatus());
+        pstmt.setString(first + 5, room.getDescription());
+        pstmt.setString(first + 6, room.getAmenities());
+        pstmt.setInt(first + 7, room.getFloor());
+    }
+}
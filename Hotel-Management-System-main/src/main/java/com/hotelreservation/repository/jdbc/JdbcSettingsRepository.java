@@ -0,0 +1,68 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hotelreservation.model.Settings;
+import com.hotelreservation.repository.SettingsRepository;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.JdbcTemplate;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Settings stored one row per key in UserSettings, with the older one-row-per-user Settings table
+ * still readable.
+ */
+public class JdbcSettingsRepository implements SettingsRepository {
+    /** The settings lookup run right after login; also run during startup warm-up. */
+    public static final String LOAD_QUERY = "SELECT settingKey, settingValue FROM UserSettings WHERE userId = ?";
+
+    // Values may be null, which Map.entry does not allow
+    private static final RowMapper<Map.Entry<String, String>> SETTING = columns -> {
+        int settingKey = columns.require("settingKey");
+        int settingValue = columns.require("settingValue");
+        return rs -> new AbstractMap.SimpleImmutableEntry<>(rs.getString(settingKey), rs.getString(settingValue));
+    };
+
+    @Override
+    public Map<String, String> load(String userId) throws SQLException {
+        Map<String, String> values = new HashMap<>();
+        JdbcTemplate.query(LOAD_QUERY, JdbcTemplate.params(userId), SETTING)
+                .forEach(entry -> values.put(entry.getKey(), entry.getValue()));
+        return values;
+    }
+
+    @Override
+    public void save(String userId, Map<String, String> values) throws SQLException {
+        String sql = "INSERT INTO UserSettings (userId, settingKey, settingValue) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (userId, settingKey) DO UPDATE SET settingValue = EXCLUDED.settingValue";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                JdbcTemplate.batch(conn, sql, values.entrySet(), (pstmt, entry) -> {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, entry.getKey());
+                    pstmt.setString(3, entry.getValue());
+                });
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Settings loadLegacy(String userId) throws SQLException {
+        String sql = "SELECT darkMode, resolution FROM Settings WHERE userId = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(userId), columns -> {
+            int darkMode = columns.require("darkMode");
+            int resolution = columns.require("resolution");
+            return rs -> new Settings(rs.getBoolean(darkMode), rs.getString(resolution), userId);
+        });
+    }
+}
@@ -0,0 +1,204 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.repository.ShiftRepository;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Shifts stored in the StaffShifts table.
+ * Range queries also filter on the shift date, so an index on (date) or (staffId, date) narrows the
+ * rows before the range test.
+ */
+public class JdbcShiftRepository implements ShiftRepository {
+    // Start and end of a shift as timestamps; the end moves to the next day when endTime <= startTime
+    private static final String SHIFT_START = "(s.date + s.startTime)";
+    private static final String SHIFT_END = "(s.date + s.endTime + CASE WHEN s.endTime <= s.startTime "
+            + "THEN INTERVAL '1 day' ELSE INTERVAL '0 days' END)";
+    private static final String SHIFT_COLUMNS = "s.shiftId, s.staffId, s.startTime, s.endTime, s.date";
+    // Listing queries join the staff name in, so a roster table needs no lookup per row
+    private static final String SHIFT_WITH_NAME_COLUMNS = SHIFT_COLUMNS
+            + ", st.firstName || ' ' || st.lastName AS staffName";
+    private static final String SHIFTS_WITH_NAMES = "StaffShifts s LEFT JOIN Staffs st ON st.staffId = s.staffId";
+
+    @Override
+    public List<StaffShift> findByDate(LocalDate date) throws SQLException {
+        String sql = "SELECT " + SHIFT_WITH_NAME_COLUMNS + " FROM " + SHIFTS_WITH_NAMES
+                + " WHERE s.date = ? ORDER BY s.startTime";
+        return JdbcTemplate.query(sql, JdbcTemplate.params(Date.valueOf(date)), RowMappers.STAFF_SHIFT);
+    }
+
+    @Override
+    public List<StaffShift> findBetween(LocalDateTime from, LocalDateTime to) throws SQLException {
+        String sql = "SELECT " + SHIFT_WITH_NAME_COLUMNS + " FROM " + SHIFTS_WITH_NAMES + " " +
+                    "WHERE s.date BETWEEN ? AND ? " +
+                    "AND " + SHIFT_START + " < ? AND " + SHIFT_END + " > ? " +
+                    "ORDER BY s.date, s.startTime";
+        return JdbcTemplate.query(sql, pstmt -> {
+            // A shift lasts less than a day, so only shifts dated from the day before can reach into the range
+            pstmt.setDate(1, Date.valueOf(from.toLocalDate().minusDays(1)));
+            pstmt.setDate(2, Date.valueOf(to.toLocalDate()));
+            pstmt.setTimestamp(3, Timestamp.valueOf(to));
+            pstmt.setTimestamp(4, Timestamp.valueOf(from));
+        }, RowMappers.STAFF_SHIFT);
+    }
+
+    @Override
+    public StaffShift findCurrent(String staffId, LocalDateTime at) throws SQLException {
+        String sql = "SELECT " + SHIFT_COLUMNS + " FROM StaffShifts s WHERE s.staffId = ? " +
+                    "AND s.date BETWEEN ? AND ? " +
+                    "AND " + SHIFT_START + " <= ? AND " + SHIFT_END + " > ?";
+        return JdbcTemplate.queryOne(sql, pstmt -> {
+            pstmt.setString(1, staffId);
+            pstmt.setDate(2, Date.valueOf(at.toLocalDate().minusDays(1)));
+            pstmt.setDate(3, Date.valueOf(at.toLocalDate()));
+            pstmt.setTimestamp(4, Timestamp.valueOf(at));
+            pstmt.setTimestamp(5, Timestamp.valueOf(at));
+        }, RowMappers.STAFF_SHIFT);
+    }
+
+    @Override
+    public List<StaffShift> findOverlapping(List<StaffShift> shifts) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return findOverlapping(conn, shifts);
+        }
+    }
+
+    /**
+     * Checks and inserts in one transaction. Concurrent assignments for the same staff members are
+     * serialized with transaction-level advisory locks, so two overlapping shifts can never both be committed.
+     */
+    @Override
+    public List<StaffShift> insertUnlessOverlapping(List<StaffShift> shifts) throws SQLException {
+        String insertSql = "INSERT INTO StaffShifts (staffId, startTime, endTime, date) VALUES (?, ?, ?, ?)";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                lockStaff(conn, shifts);
+
+                List<StaffShift> existing = findOverlapping(conn, shifts);
+                if (!existing.isEmpty()) {
+                    conn.rollback();
+                    return existing;
+                }
+
+                JdbcTemplate.batch(conn, insertSql, shifts, (pstmt, shift) -> {
+                    pstmt.setString(1, shift.getStaffId());
+                    pstmt.setTime(2, Time.valueOf(shift.getStartTime()));
+                    pstmt.setTime(3, Time.valueOf(shift.getEndTime()));
+                    pstmt.setDate(4, Date.valueOf(shift.getDate()));
+                });
+                conn.commit();
+                return List.of();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Checks and moves in one transaction, under the same advisory lock as {@link #insertUnlessOverlapping}.
+     * The staff member is taken from the stored shift, since a move never changes it.
+     */
+    @Override
+    public boolean update(StaffShift shift) throws SQLException {
+        String findSql = "SELECT " + SHIFT_COLUMNS + " FROM StaffShifts s WHERE s.shiftId = ?";
+        String updateSql = "UPDATE StaffShifts SET startTime = ?, endTime = ?, date = ? WHERE shiftId = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                StaffShift stored = JdbcTemplate.queryOne(conn, findSql, JdbcTemplate.params(shift.getShiftId()),
+                        RowMappers.STAFF_SHIFT);
+                if (stored == null) {
+                    conn.rollback();
+                    return false;
+                }
+                StaffShift moved = new StaffShift(stored.getShiftId(), stored.getStaffId(), shift.getStartTime(),
+                        shift.getEndTime(), shift.getDate());
+                lockStaff(conn, List.of(moved));
+
+                boolean overlaps = findOverlapping(conn, List.of(moved)).stream()
+                        .anyMatch(existing -> !existing.getShiftId().equals(moved.getShiftId()));
+                if (overlaps) {
+                    conn.rollback();
+                    return false;
+                }
+
+                boolean updated = JdbcTemplate.update(conn, updateSql, pstmt -> {
+                    pstmt.setTime(1, Time.valueOf(moved.getStartTime()));
+                    pstmt.setTime(2, Time.valueOf(moved.getEndTime()));
+                    pstmt.setDate(3, Date.valueOf(moved.getDate()));
+                    pstmt.setString(4, moved.getShiftId());
+                }) > 0;
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(String shiftId) throws SQLException {
+        String sql = "DELETE FROM StaffShifts WHERE shiftId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(shiftId)) > 0;
+    }
+
+    /**
+     * Takes a transaction-scoped advisory lock per staff member, in a fixed order to avoid deadlocks.
+     */
+    private static void lockStaff(Connection conn, List<StaffShift> shifts) throws SQLException {
+        TreeSet<String> staffIds = new TreeSet<>();
+        shifts.forEach(shift -> staffIds.add(shift.getStaffId()));
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+            for (String staffId : staffIds) {
+                pstmt.setString(1, "StaffShifts:" + staffId);
+                pstmt.executeQuery().close();
+            }
+        }
+    }
+
+    /**
+     * Loads the stored shifts of the batch's staff members around the batch's dates and returns those
+     * overlapping a shift of the batch.
+     */
+    private static List<StaffShift> findOverlapping(Connection conn, List<StaffShift> shifts) throws SQLException {
+        LocalDate first = shifts.stream().map(StaffShift::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate last = shifts.stream().map(StaffShift::getDate).max(LocalDate::compareTo).orElseThrow();
+        String[] staffIds = shifts.stream().map(StaffShift::getStaffId).distinct().toArray(String[]::new);
+
+        String sql = "SELECT " + SHIFT_COLUMNS + " FROM StaffShifts s " +
+                    "WHERE s.staffId = ANY (?) AND s.date BETWEEN ? AND ?";
+        List<StaffShift> stored = JdbcTemplate.query(conn, sql, pstmt -> {
+            pstmt.setArray(1, conn.createArrayOf("varchar", staffIds));
+            pstmt.setDate(2, Date.valueOf(first.minusDays(1)));
+            pstmt.setDate(3, Date.valueOf(last.plusDays(1)));
+        }, RowMappers.STAFF_SHIFT);
+
+        List<StaffShift> overlapping = new ArrayList<>();
+        for (StaffShift existing : stored) {
+            for (StaffShift shift : shifts) {
+                if (shift.getStaffId().equals(existing.getStaffId()) && shift.overlaps(existing)) {
+                    overlapping.add(existing);
+                    break;
+                }
+            }
+        }
+        return overlapping;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.repository.StaffLogRepository;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Log entries stored in the StaffLogs table.
+ */
+public class JdbcStaffLogRepository implements StaffLogRepository {
+    // The full log grows without bound, so it is read from the server in chunks
+    private static final int LOG_FETCH_SIZE = 1000;
+
+    @Override
+    public List<StaffLog> findAll() throws SQLException {
+        String sql = "SELECT * FROM StaffLogs ORDER BY timestamp DESC";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.STAFF_LOG, LOG_FETCH_SIZE);
+    }
+
+    @Override
+    public List<StaffLog> findByStaff(String staffId) throws SQLException {
+        String sql = "SELECT * FROM StaffLogs WHERE staffId = ? ORDER BY timestamp DESC";
+        return JdbcTemplate.query(sql, JdbcTemplate.params(staffId), RowMappers.STAFF_LOG);
+    }
+
+    @Override
+    public boolean insert(StaffLog log) throws SQLException {
+        String sql = "INSERT INTO StaffLogs (staffId, action, details, timestamp) VALUES (?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, pstmt -> {
+            pstmt.setString(1, log.getStaffId());
+            pstmt.setString(2, log.getAction());
+            pstmt.setString(3, log.getDetails());
+            pstmt.setTimestamp(4, Timestamp.valueOf(log.getTimestamp()));
+        }) > 0;
+    }
+
+    @Override
+    public int deleteOlderThan(int daysToKeep) throws SQLException {
+        String sql = "DELETE FROM StaffLogs WHERE timestamp < CURRENT_TIMESTAMP - ? * INTERVAL '1 day'";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(daysToKeep));
+    }
+}
@@ -0,0 +1,70 @@
+package com.hotelreservation.repository.jdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.repository.StaffRepository;
+import com.hotelreservation.util.JdbcTemplate;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Staff members stored in the Staffs table.
+ */
+public class JdbcStaffRepository implements StaffRepository {
+    /** The credential lookup run on every login; also run during startup warm-up. */
+    public static final String LOGIN_QUERY =
+            "SELECT staffId, firstName, lastName, middleName, position, password FROM Staffs WHERE staffId = ?";
+
+    // Profile columns only; the password hash is never loaded into Staff objects
+    private static final String STAFF_COLUMNS = "staffId, firstName, lastName, middleName, position";
+    private static final RowMapper<Credentials> CREDENTIALS = columns -> {
+        RowMapper.Reader<Staff> staff = RowMappers.STAFF.bind(columns);
+        int password = columns.require("password");
+        return rs -> new Credentials(staff.read(rs), rs.getString(password));
+    };
+
+    @Override
+    public List<Staff> findAll() throws SQLException {
+        String sql = "SELECT " + STAFF_COLUMNS + " FROM Staffs";
+        return JdbcTemplate.query(sql, JdbcTemplate.NO_PARAMETERS, RowMappers.STAFF);
+    }
+
+    @Override
+    public Staff findById(String staffId) throws SQLException {
+        String sql = "SELECT " + STAFF_COLUMNS + " FROM Staffs WHERE staffId = ?";
+        return JdbcTemplate.queryOne(sql, JdbcTemplate.params(staffId), RowMappers.STAFF);
+    }
+
+    @Override
+    public Credentials findCredentials(String staffId) throws SQLException {
+        return JdbcTemplate.queryOne(LOGIN_QUERY, JdbcTemplate.params(staffId), CREDENTIALS);
+    }
+
+    @Override
+    public boolean insert(Staff staff, String passwordHash) throws SQLException {
+        String sql = "INSERT INTO Staffs (staffId, firstName, lastName, middleName, password, position) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(staff.getStaffId(), staff.getFirstName(),
+                staff.getLastName(), staff.getMiddleName(), passwordHash, staff.getPosition())) > 0;
+    }
+
+    @Override
+    public boolean update(Staff staff) throws SQLException {
+        String sql = "UPDATE Staffs SET firstName = ?, lastName = ?, middleName = ?, position = ? WHERE staffId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(staff.getFirstName(), staff.getLastName(),
+                staff.getMiddleName(), staff.getPosition(), staff.getStaffId())) > 0;
+    }
+
+    @Override
+    public boolean updatePassword(String staffId, String passwordHash) throws SQLException {
+        String sql = "UPDATE Staffs SET password = ? WHERE staffId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(passwordHash, staffId)) > 0;
+    }
+
+    @Override
+    public boolean delete(String staffId) throws SQLException {
+        String sql = "DELETE FROM Staffs WHERE staffId = ?";
+        return JdbcTemplate.update(sql, JdbcTemplate.params(staffId)) > 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.hotelreservation.repository.jdbc;
+
+import static com.hotelreservation.util.RowMapper.localDate;
+import static com.hotelreservation.util.RowMapper.localDateTime;
+import static com.hotelreservation.util.RowMapper.localTime;
+import static com.hotelreservation.util.RowMapper.optionalString;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Notification;
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.util.RowMapper;
+
+/**
+ * Row mappers for the model classes, shared by the JDBC repositories.
+ * Columns that only some queries select, such as joined names or a guest's password, are optional:
+ * a mapper leaves the field null when its query does not return the column.
+ */
+public final class RowMappers {
+
+    /** Maps Staffs rows. The password column is never mapped, so Staff objects never carry the hash. */
+    public static final RowMapper<Staff> STAFF = columns -> {
+        int staffId = columns.require("staffId");
+        int firstName = columns.require("firstName");
+        int lastName = columns.require("lastName");
+        int middleName = columns.require("middleName");
+        int position = columns.require("position");
+        return rs -> new Staff(
+            rs.getString(staffId),
+            rs.getString(firstName),
+            rs.getString(lastName),
+            rs.getString(middleName),
+            null,
+            rs.getString(position)
+        );
+    };
+
+    /** Maps Guests rows; the password is mapped only when the query selects it. */
+    public static final RowMapper<Guest> GUEST = columns -> {
+        int guestId = columns.require("guestId");
+        int firstName = columns.require("firstName");
+        int lastName = columns.require("lastName");
+        int middleName = columns.require("middleName");
+        int password = columns.find("password");
+        int contactNumber = columns.require("contactNumber");
+        return rs -> new Guest(
+            rs.getString(guestId),
+            rs.getString(firstName),
+            rs.getString(lastName),
+            rs.getString(middleName),
+            optionalString(rs, password),
+            rs.getString(contactNumber)
+        );
+    };
+
+    /** Maps Bookings rows, with the guest name and room number when the query joins them in. */
+    public static final RowMapper<Booking> BOOKING = columns -> {
+        int bookingId = columns.require("bookingId");
+        int guestId = columns.require("guestId");
+        int roomId = columns.require("roomId");
+        int checkInDate = columns.require("checkInDate");
+        int checkOutDate = columns.require("checkOutDate");
+        int totalAmount = columns.require("totalAmount");
+        int status = columns.require("status");
+        int promoCode = columns.require("promoCode");
+        int discountAmount = columns.require("discountAmount");
+        int notes = columns.require("notes");
+        int guestName = columns.find("guestName");
+        int roomNumber = columns.find("roomNumber");
+        return rs -> {
+            Booking booking = new Booking(
+                rs.getString(bookingId),
+                rs.getString(guestId),
+                rs.getString(roomId),
+                localDate(rs, checkInDate),
+                localDate(rs, checkOutDate),
+                rs.getDouble(totalAmount),
+                rs.getString(status),
+                rs.getString(promoCode),
+                rs.getDouble(discountAmount),
+                rs.getString(notes)
+            );
+            booking.setGuestName(optionalString(rs, guestName));
+            booking.setRoomNumber(optionalString(rs, roomNumber));
+            return booking;
+        };
+    };
+
+    /** Maps Rooms rows. */
+    public static final RowMapper<Room> ROOM = columns -> {
+        int roomId = columns.require("roomId");
+        int roomNumber = columns.require("roomNumber");
+        int type = columns.require("type");
+        int rate = columns.require("rate");
+        int capacity = columns.require("capacity");
+        int status = columns.require("status");
+        int description = columns.require("description");
+        int amenities = columns.require("amenities");
+        int floor = columns.require("floor");
+        return rs -> new Room(
+            rs.getString(roomId),
+            rs.getString(roomNumber),
+            rs.getString(type),
+            rs.getDouble(rate),
+            rs.getInt(capacity),
+            rs.getString(status),
+            rs.getString(description),
+            rs.getString(amenities),
+            rs.getInt(floor)
+        );
+    };
+
+    /** Maps Promos rows. */
+    public static final RowMapper<Promo> PROMO = columns -> {
+        int promoId = columns.require("promoId");
+        int code = columns.require("code");
+        int description = columns.require("description");
+        int discountAmount = columns.require("discountAmount");
+        int validFrom = columns.require("validFrom");
+        int validUntil = columns.require("validUntil");
+        int active = columns.require("active");
+        return rs -> new Promo(
+            rs.getString(promoId),
+            rs.getString(code),
+            rs.getString(description),
+            rs.getDouble(discountAmount),
+            localDate(rs, validFrom),
+            localDate(rs, validUntil),
+            rs.getBoolean(active)
+        );
+    };
+
+    /** Maps Notifications rows. */
+    public static final RowMapper<Notification> NOTIFICATION = columns -> {
+        int notificationId = columns.require("notificationId");
+        int staffId = columns.require("staffId");
+        int message = columns.require("message");
+        int createdAt = columns.require("createdAt");
+        int read = columns.require("read");
+        return rs -> new Notification(
+            rs.getString(notificationId),
+            rs.getString(staffId),
+            rs.getString(message),
+            localDateTime(rs, createdAt),
+            rs.getBoolean(read)
+        );
+    };
+
+    /** Maps StaffLogs rows. */
+    public static final RowMapper<StaffLog> STAFF_LOG = columns -> {
+        int logId = columns.require("logId");
+        int staffId = columns.require("staffId");
+        int action = columns.require("action");
+        int details = columns.require("details");
+        int timestamp = columns.require("timestamp");
+        return rs -> new StaffLog(
+            rs.getString(logId),
+            rs.getString(staffId),
+            rs.getString(action),
+            rs.getString(details),
+            localDateTime(rs, timestamp)
+        );
+    };
+
+    /** Maps StaffShifts rows, with the staff name when the query joins it in. */
+    public static final RowMapper<StaffShift> STAFF_SHIFT = columns -> {
+        int shiftId = columns.require("shiftId");
+        int staffId = columns.require("staffId");
+        int startTime = columns.require("startTime");
+        int endTime = columns.require("endTime");
+        int date = columns.require("date");
+        int staffName = columns.find("staffName");
+        return rs -> {
+            StaffShift shift = new StaffShift(
+                rs.getString(shiftId),
+                rs.getString(staffId),
+                localTime(rs, startTime),
+                localTime(rs, endTime),
+                localDate(rs, date)
+            );
+            if (staffName != 0) {
+                shift.setStaffName(rs.getString(staffName));
+            }
+            return shift;
+        };
+    };
+
+    private RowMappers() {
+    }
+}
@@ -0,0 +1,77 @@
+package com.hotelreservation.repository.memory;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.util.PasswordHasher;
+
+/**
+ * Sample data for running the application without a database.
+ * Log in with staff ID {@code admin} and password {@code admin}.
+ */
+public final class DemoData {
+    private static final String[] ROOM_TYPES = { "STANDARD", "DELUXE", "SUITE" };
+    private static final String[][] GUEST_NAMES = {
+        { "Maria", "Santos" }, { "Jose", "Reyes" }, { "Ana", "Cruz" }, { "Juan", "Dela Cruz" },
+        { "Liza", "Garcia" }, { "Mark", "Mendoza" }, { "Grace", "Torres" }, { "Paolo", "Ramos" }
+    };
+
+    private DemoData() {
+    }
+
+    /**
+     * Fills a store with rooms, guests, an administrator, a few bookings, shifts and promos around today.
+     *
+     * @param store the store to fill
+     * @return the store
+     */
+    public static InMemoryStore seed(InMemoryStore store) {
+        LocalDate today = LocalDate.now();
+        synchronized (store) {
+            for (int floor = 1; floor <= 3; floor++) {
+                for (int number = 1; number <= 6; number++) {
+                    String roomNumber = String.valueOf(floor * 100 + number);
+                    int type = (number - 1) / 2;
+                    store.rooms.put("room-" + roomNumber, new Room("room-" + roomNumber, roomNumber,
+                            ROOM_TYPES[type], 2500 + type * 1500, 2 + type, "AVAILABLE",
+                            ROOM_TYPES[type].charAt(0) + ROOM_TYPES[type].substring(1).toLowerCase() + " room",
+                            "WiFi, Air conditioning", floor));
+                }
+            }
+            store.rooms.get("room-306").setStatus("MAINTENANCE");
+
+            for (int i = 0; i < GUEST_NAMES.length; i++) {
+                String guestId = "guest-" + (i + 1);
+                store.guests.put(guestId, new Guest(guestId, GUEST_NAMES[i][0], GUEST_NAMES[i][1], "",
+                        null, String.format("0917%07d", 1234567 + i)));
+            }
+
+            store.staff.put("admin", new Staff("admin", "Demo", "Admin", "", PasswordHasher.hash("admin"), "Admin"));
+
+            store.putBooking(new Booking("booking-1", "guest-1", "room-101", today.minusDays(2), today.plusDays(1),
+                    7500, "CHECKED_IN", null, 0, null));
+            store.putBooking(new Booking("booking-2", "guest-2", "room-103", today, today.plusDays(3),
+                    12000, "CONFIRMED", null, 0, null));
+            store.putBooking(new Booking("booking-3", "guest-3", "room-105", today.plusDays(2), today.plusDays(4),
+                    11000, "CONFIRMED", "WELCOME10", 1100, "Late arrival"));
+            store.putBooking(new Booking("booking-4", "guest-4", "room-201", today.minusDays(5), today.minusDays(2),
+                    7500, "CHECKED_OUT", null, 0, null));
+            store.putBooking(new Booking("booking-5", "guest-5", "room-202", today.plusDays(1), today.plusDays(2),
+                    2500, "CANCELLED", null, 0, null));
+
+            store.putShift(new StaffShift(store.nextId(), "admin", LocalTime.of(8, 0), LocalTime.of(16, 0), today));
+
+            store.putPromo(new Promo("promo-1", "WELCOME10", "Welcome discount", 1100,
+                    today.minusMonths(1), today.plusMonths(2), true));
+            store.putPromo(new Promo("promo-2", "SUMMER", "Summer rate", 500,
+                    today.minusYears(1), today.minusMonths(9), false));
+        }
+        return store;
+    }
+}
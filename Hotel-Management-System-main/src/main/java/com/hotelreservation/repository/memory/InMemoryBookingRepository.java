@@ -0,0 +1,247 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.BookingRepository;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Bookings kept in an {@link InMemoryStore}.
+ */
+public class InMemoryBookingRepository implements BookingRepository {
+    private static final Set<String> ACTIVE_STATUSES = Set.of("CONFIRMED", "CHECKED_IN");
+    private static final Comparator<Booking> LATEST_CHECK_IN_FIRST =
+            Comparator.comparing(Booking::getCheckInDate).reversed();
+
+    private final InMemoryStore store;
+
+    public InMemoryBookingRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Booking> findAll() {
+        return withNames(booking -> true, LATEST_CHECK_IN_FIRST);
+    }
+
+    @Override
+    public List<Booking> search(String searchText, String status, LocalDate date) {
+        Predicate<Booking> matches = booking -> true;
+
+        if (searchText != null && !searchText.isEmpty()) {
+            String text = JdbcTemplate.escapeLike(searchText.toLowerCase());
+            Predicate<String> pattern = InMemoryStore.like("%" + text + "%");
+            matches = matches.and(booking -> pattern.test(booking.getGuestName().toLowerCase())
+                    || pattern.test(booking.getBookingId().toLowerCase()));
+        }
+
+        if (status != null && !status.isEmpty()) {
+            matches = matches.and(booking -> status.equals(booking.getStatus()));
+        }
+
+        if (date != null) {
+            matches = matches.and(booking -> date.equals(booking.getCheckInDate())
+                    || date.equals(booking.getCheckOutDate()));
+        }
+
+        return withNames(matches, LATEST_CHECK_IN_FIRST);
+    }
+
+    @Override
+    public List<Booking> findInRange(LocalDate startDate, LocalDate endDate) {
+        return withNames(booking -> !booking.getCheckInDate().isAfter(endDate)
+                && !booking.getCheckOutDate().isBefore(startDate), Comparator.comparing(Booking::getCheckInDate));
+    }
+
+    @Override
+    public List<Booking> findActiveOverlapping(LocalDate startDate, LocalDate endDate) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : store.bookings.values()) {
+            if (occupies(booking, startDate, endDate)) {
+                result.add(InMemoryStore.copy(booking));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Booking findById(String bookingId) {
+        Booking booking = store.bookings.get(bookingId);
+        return booking != null ? InMemoryStore.copy(booking) : null;
+    }
+
+    @Override
+    public int[] countStats(LocalDate today) {
+        int[] stats = new int[3];
+        for (Booking booking : store.bookings.values()) {
+            stats[0]++;
+            if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                stats[1]++;
+            }
+            if (today.equals(booking.getCheckInDate())) {
+                stats[2]++;
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public boolean insert(Booking booking) throws SQLException {
+        synchronized (store) {
+            if (store.bookings.containsKey(booking.getBookingId())) {
+                throw InMemoryStore.duplicateKey("Bookings", booking.getBookingId());
+            }
+            store.putBooking(withoutNames(booking));
+            return true;
+        }
+    }
+
+    @Override
+    public Booking insertIfRoomFree(Booking booking) throws SQLException {
+        synchronized (store) {
+            if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                for (Booking stored : store.bookings.values()) {
+                    if (stored.getRoomId().equals(booking.getRoomId())
+                            && occupies(stored, booking.getCheckInDate(), booking.getCheckOutDate())) {
+                        return InMemoryStore.copy(stored);
+                    }
+                }
+            }
+            insert(booking);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean update(Booking booking) {
+        synchronized (store) {
+            if (!store.bookings.containsKey(booking.getBookingId())) {
+                return false;
+            }
+            store.putBooking(withoutNames(booking));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updateIfRoomFree(Booking booking) {
+        synchronized (store) {
+            if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                for (Booking stored : store.bookings.values()) {
+                    if (!stored.getBookingId().equals(booking.getBookingId())
+                            && stored.getRoomId().equals(booking.getRoomId())
+                            && occupies(stored, booking.getCheckInDate(), booking.getCheckOutDate())) {
+                        return false;
+                    }
+                }
+            }
+            return update(booking);
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String bookingId, String status) {
+        synchronized (store) {
+            Booking stored = store.bookings.get(bookingId);
+            if (stored == null) {
+                return false;
+            }
+            Booking updated = InMemoryStore.copy(stored);
+            updated.setStatus(status);
+            store.putBooking(updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updateStatusIf(String bookingId, String expected, String status) {
+        synchronized (store) {
+            Booking stored = store.bookings.get(bookingId);
+            return stored != null && expected.equals(stored.getStatus()) && updateStatus(bookingId, status);
+        }
+    }
+
+    @Override
+    public boolean moveRooms(List<RoomMove> moves) {
+        synchronized (store) {
+            Map<String, Booking> moved = new HashMap<>();
+            for (RoomMove move : moves) {
+                Booking stored = store.bookings.get(move.bookingId());
+                if (stored == null || !move.fromRoomId().equals(stored.getRoomId())
+                        || !move.expectedStatus().equals(stored.getStatus())) {
+                    return false;
+                }
+                Booking updated = InMemoryStore.copy(stored);
+                updated.setRoomId(move.toRoomId());
+                moved.put(updated.getBookingId(), updated);
+            }
+            for (Booking booking : moved.values()) {
+                for (Booking stored : store.bookings.values()) {
+                    Booking other = moved.getOrDefault(stored.getBookingId(), stored);
+                    if (!other.getBookingId().equals(booking.getBookingId())
+                            && other.getRoomId().equals(booking.getRoomId())
+                            && ACTIVE_STATUSES.contains(booking.getStatus())
+                            && occupies(other, booking.getCheckInDate(), booking.getCheckOutDate())) {
+                        return false;
+                    }
+                }
+            }
+            moved.values().forEach(store::putBooking);
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether a booking is confirmed or checked in and occupies at least one night of a range.
+     *
+     * @param booking the booking
+     * @param startDate the first night of the range
+     * @param endDate the day after the last night
+     * @return true if the booking blocks its room for part of the range
+     */
+    static boolean occupies(Booking booking, LocalDate startDate, LocalDate endDate) {
+        return ACTIVE_STATUSES.contains(booking.getStatus())
+                && booking.getCheckInDate().isBefore(endDate) && booking.getCheckOutDate().isAfter(startDate);
+    }
+
+    /**
+     * Copies the bookings whose guest and room exist, with the guest name and room number filled in,
+     * keeps those matching the filter and sorts them.
+     */
+    private List<Booking> withNames(Predicate<Booking> filter, Comparator<Booking> order) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking stored : store.bookings.values()) {
+            Guest guest = store.guests.get(stored.getGuestId());
+            Room room = store.rooms.get(stored.getRoomId());
+            if (guest == null || room == null) {
+                continue;
+            }
+            Booking booking = InMemoryStore.copy(stored);
+            booking.setGuestName(guest.getFirstName() + " " + guest.getLastName());
+            booking.setRoomNumber(room.getRoomNumber());
+            if (filter.test(booking)) {
+                result.add(booking);
+            }
+        }
+        result.sort(order);
+        return result;
+    }
+
+    private static Booking withoutNames(Booking booking) {
+        Booking stored = InMemoryStore.copy(booking);
+        stored.setGuestName(null);
+        stored.setRoomNumber(null);
+        return stored;
+    }
+}
@@ -0,0 +1,152 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.util.JdbcTemplate;
+
+/**
+ * Guests kept in an {@link InMemoryStore}.
+ */
+public class InMemoryGuestRepository implements GuestRepository {
+    private final InMemoryStore store;
+
+    public InMemoryGuestRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Guest> findAll() {
+        return find(guest -> true, true);
+    }
+
+    @Override
+    public List<Guest> findAllSummaries() {
+        return find(guest -> true, false);
+    }
+
+    @Override
+    public Guest findById(String guestId) {
+        Guest guest = store.guests.get(guestId);
+        return guest != null ? InMemoryStore.copy(guest) : null;
+    }
+
+    @Override
+    public List<Guest> findPage(String filter, GuestSortField sortField, Guest after, int limit) {
+        Predicate<Guest> matches = guest -> true;
+
+        if (filter != null && !filter.isEmpty()) {
+            Predicate<String> pattern = InMemoryStore.like(JdbcTemplate.escapeLike(filter.toLowerCase()) + "%");
+            matches = guest -> pattern.test(lower(guest.getFirstName())) || pattern.test(lower(guest.getLastName()))
+                    || pattern.test(guest.getContactNumber()) || pattern.test(lower(guest.getGuestId()));
+        }
+
+        // Same order as ORDER BY column, guestId
+        Comparator<Guest> order = Comparator.comparing(sortField::getValue).thenComparing(Guest::getGuestId);
+        if (after != null) {
+            matches = matches.and(guest -> order.compare(guest, after) > 0);
+        }
+
+        List<Guest> page = find(matches, false);
+        page.sort(order);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    @Override
+    public List<Guest> search(String query) {
+        Predicate<String> pattern = InMemoryStore.like("%" + JdbcTemplate.escapeLike(query) + "%");
+        return find(guest -> pattern.test(guest.getFirstName()) || pattern.test(guest.getLastName())
+                || pattern.test(guest.getContactNumber()), true);
+    }
+
+    @Override
+    public boolean insert(Guest guest) throws SQLException {
+        synchronized (store) {
+            if (store.guests.containsKey(guest.getGuestId())) {
+                throw InMemoryStore.duplicateKey("Guests", guest.getGuestId());
+            }
+            store.guests.put(guest.getGuestId(), InMemoryStore.copy(guest));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean update(Guest guest) {
+        synchronized (store) {
+            Guest stored = store.guests.get(guest.getGuestId());
+            if (stored == null) {
+                return false;
+            }
+            Guest updated = InMemoryStore.copy(guest);
+            updated.setPassword(stored.getPassword());
+            store.guests.put(guest.getGuestId(), updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean delete(String guestId) {
+        synchronized (store) {
+            return store.guests.remove(guestId) != null;
+        }
+    }
+
+    @Override
+    public int merge(String survivingGuestId, String duplicateGuestId) {
+        synchronized (store) {
+            Guest survivor = store.guests.get(survivingGuestId);
+            Guest duplicate = store.guests.get(duplicateGuestId);
+            if (survivor == null || duplicate == null) {
+                return -1;
+            }
+
+            Guest merged = InMemoryStore.copy(survivor);
+            if (isBlank(merged.getMiddleName())) {
+                merged.setMiddleName(duplicate.getMiddleName());
+            }
+            if (isBlank(merged.getContactNumber())) {
+                merged.setContactNumber(duplicate.getContactNumber());
+            }
+            store.guests.put(survivingGuestId, merged);
+
+            int movedBookings = 0;
+            for (String bookingId : List.copyOf(store.bookingIdsByGuest(duplicateGuestId))) {
+                Booking booking = InMemoryStore.copy(store.bookings.get(bookingId));
+                booking.setGuestId(survivingGuestId);
+                store.putBooking(booking);
+                movedBookings++;
+            }
+            store.guests.remove(duplicateGuestId);
+            return movedBookings;
+        }
+    }
+
+    private List<Guest> find(Predicate<Guest> filter, boolean withPassword) {
+        List<Guest> result = new ArrayList<>();
+        for (Guest stored : store.guests.values()) {
+            if (filter.test(stored)) {
+                Guest guest = InMemoryStore.copy(stored);
+                if (!withPassword) {
+                    guest.setPassword(null);
+                }
+                result.add(guest);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase() : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.hotelreservation.model.Notification;
+import com.hotelreservation.repository.NotificationRepository;
+
+/**
+ * Notifications kept in an {@link InMemoryStore}.
+ */
+public class InMemoryNotificationRepository implements NotificationRepository {
+    private final InMemoryStore store;
+
+    public InMemoryNotificationRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Notification> findAll() {
+        List<Notification> result = new ArrayList<>();
+        for (Notification notification : store.notifications.values()) {
+            result.add(InMemoryStore.copy(notification));
+        }
+        result.sort(Comparator.comparing(Notification::getCreatedAt).reversed());
+        return result;
+    }
+
+    @Override
+    public boolean insert(Notification notification) throws SQLException {
+        synchronized (store) {
+            if (store.notifications.containsKey(notification.getNotificationId())) {
+                throw InMemoryStore.duplicateKey("Notifications", notification.getNotificationId());
+            }
+            store.notifications.put(notification.getNotificationId(), InMemoryStore.copy(notification));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean markRead(String notificationId) {
+        synchronized (store) {
+            Notification stored = store.notifications.get(notificationId);
+            if (stored == null) {
+                return false;
+            }
+            Notification updated = InMemoryStore.copy(stored);
+            updated.setRead(true);
+            store.notifications.put(notificationId, updated);
+            return true;
+        }
+    }
+
+    @Override
+    public int countUnread() {
+        int count = 0;
+        for (Notification notification : store.notifications.values()) {
+            if (!notification.isRead()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.repository.PromoRepository;
+
+/**
+ * Promos kept in an {@link InMemoryStore}, indexed by code.
+ */
+public class InMemoryPromoRepository implements PromoRepository {
+    // ORDER BY validFrom DESC, which puts promos without a start date first
+    private static final Comparator<Promo> LATEST_START_FIRST = Comparator.comparing(Promo::getValidFrom,
+            Comparator.nullsFirst(Comparator.<LocalDate>reverseOrder()));
+
+    private final InMemoryStore store;
+
+    public InMemoryPromoRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Promo> findAll() {
+        List<Promo> result = new ArrayList<>();
+        for (Promo promo : store.promos.values()) {
+            result.add(InMemoryStore.copy(promo));
+        }
+        result.sort(LATEST_START_FIRST);
+        return result;
+    }
+
+    @Override
+    public Promo findValidByCode(String code) {
+        LocalDate today = LocalDate.now();
+        for (String promoId : store.promoIdsByCode(code)) {
+            Promo promo = store.promos.get(promoId);
+            if (promo != null && code.equals(promo.getCode()) && promo.isActive()
+                    && (promo.getValidFrom() == null || !promo.getValidFrom().isAfter(today))
+                    && (promo.getValidUntil() == null || !promo.getValidUntil().isBefore(today))) {
+                return InMemoryStore.copy(promo);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean insert(Promo promo) throws SQLException {
+        synchronized (store) {
+            if (store.promos.containsKey(promo.getPromoId())) {
+                throw InMemoryStore.duplicateKey("Promos", promo.getPromoId());
+            }
+            store.putPromo(promo);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean update(Promo promo) {
+        synchronized (store) {
+            if (!store.promos.containsKey(promo.getPromoId())) {
+                return false;
+            }
+            store.putPromo(promo);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean setActive(String promoId, boolean active) {
+        synchronized (store) {
+            Promo stored = store.promos.get(promoId);
+            if (stored == null) {
+                return false;
+            }
+            Promo updated = InMemoryStore.copy(stored);
+            updated.setActive(active);
+            store.putPromo(updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean delete(String promoId) {
+        synchronized (store) {
+            return store.removePromo(promoId);
+        }
+    }
+}
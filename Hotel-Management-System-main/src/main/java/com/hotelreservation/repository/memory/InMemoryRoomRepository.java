@@ -0,0 +1,135 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.RoomRepository;
+
+/**
+ * Rooms kept in an {@link InMemoryStore}. Availability is checked against the store's bookings
+ * through its by-room index.
+ */
+public class InMemoryRoomRepository implements RoomRepository {
+    private static final Comparator<Room> BY_NUMBER =
+            Comparator.comparing(Room::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Set<String> ACTIVE_STATUSES = Set.of("CONFIRMED", "CHECKED_IN");
+
+    private final InMemoryStore store;
+
+    public InMemoryRoomRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Room> findAll() {
+        return find(room -> true);
+    }
+
+    @Override
+    public List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) {
+        return find(room -> "AVAILABLE".equals(room.getStatus()) && !hasClash(room.getRoomId(), checkIn, checkOut));
+    }
+
+    @Override
+    public List<Room> findBookable(String roomType, int minCapacity) {
+        return find(room -> room.getStatus() != null && !"MAINTENANCE".equals(room.getStatus())
+                && room.getCapacity() >= minCapacity
+                && (roomType == null || roomType.equals(room.getType())));
+    }
+
+    @Override
+    public Room findById(String roomId) {
+        Room room = store.rooms.get(roomId);
+        return room != null ? InMemoryStore.copy(room) : null;
+    }
+
+    @Override
+    public Room findByNumber(String roomNumber) {
+        for (Room room : store.rooms.values()) {
+            if (roomNumber.equals(room.getRoomNumber())) {
+                return InMemoryStore.copy(room);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean insert(Room room) throws SQLException {
+        synchronized (store) {
+            if (store.rooms.containsKey(room.getRoomId())) {
+                throw InMemoryStore.duplicateKey("Rooms", room.getRoomId());
+            }
+            store.rooms.put(room.getRoomId(), InMemoryStore.copy(room));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean update(Room room) {
+        synchronized (store) {
+            return store.rooms.replace(room.getRoomId(), InMemoryStore.copy(room)) != null;
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String roomId, String status) {
+        synchronized (store) {
+            Room stored = store.rooms.get(roomId);
+            if (stored == null) {
+                return false;
+            }
+            Room updated = InMemoryStore.copy(stored);
+            updated.setStatus(status);
+            store.rooms.put(roomId, updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updateStatusIf(String roomId, String expected, String status) {
+        synchronized (store) {
+            Room stored = store.rooms.get(roomId);
+            return stored != null && expected.equals(stored.getStatus()) && updateStatus(roomId, status);
+        }
+    }
+
+    /**
+     * Checks the room's confirmed and checked-in bookings for one that clashes with a stay, with the same
+     * three overlap cases as the SQL query.
+     */
+    private boolean hasClash(String roomId, LocalDate checkIn, LocalDate checkOut) {
+        for (String bookingId : store.bookingIdsByRoom(roomId)) {
+            Booking booking = store.bookings.get(bookingId);
+            if (booking == null || !roomId.equals(booking.getRoomId())
+                    || !ACTIVE_STATUSES.contains(booking.getStatus())) {
+                continue;
+            }
+            LocalDate in = booking.getCheckInDate();
+            LocalDate out = booking.getCheckOutDate();
+            if ((!in.isAfter(checkIn) && out.isAfter(checkIn))
+                    || (in.isBefore(checkOut) && !out.isBefore(checkOut))
+                    || (!in.isBefore(checkIn) && !out.isAfter(checkOut))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Room> find(Predicate<Room> filter) {
+        List<Room> result = new ArrayList<>();
+        for (Room room : store.rooms.values()) {
+            if (filter.test(room)) {
+                result.add(InMemoryStore.copy(room));
+            }
+        }
+        result.sort(BY_NUMBER);
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotelreservation.repository.memory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hotelreservation.model.Settings;
+import com.hotelreservation.repository.SettingsRepository;
+
+/**
+ * Settings kept in an {@link InMemoryStore}. There is no older format to fall back to.
+ */
+public class InMemorySettingsRepository implements SettingsRepository {
+    private final InMemoryStore store;
+
+    public InMemorySettingsRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Map<String, String> load(String userId) {
+        return new HashMap<>(store.settings.getOrDefault(userId, Map.of()));
+    }
+
+    @Override
+    public void save(String userId, Map<String, String> values) {
+        synchronized (store) {
+            Map<String, String> updated = new HashMap<>(store.settings.getOrDefault(userId, Map.of()));
+            updated.putAll(values);
+            store.settings.put(userId, updated);
+        }
+    }
+
+    @Override
+    public Settings loadLegacy(String userId) {
+        return null;
+    }
+}
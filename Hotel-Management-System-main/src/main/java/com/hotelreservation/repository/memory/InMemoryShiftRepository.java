@@ -0,0 +1,132 @@
+package com.hotelreservation.repository.memory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.repository.ShiftRepository;
+
+/**
+ * Shifts kept in an {@link InMemoryStore}. Every lookup goes through the by-date index; since a shift
+ * lasts less than a day, a time range only needs the dates it spans and the day before.
+ */
+public class InMemoryShiftRepository implements ShiftRepository {
+    private static final Comparator<StaffShift> BY_START =
+            Comparator.comparing(StaffShift::getDate).thenComparing(StaffShift::getStartTime);
+
+    private final InMemoryStore store;
+
+    public InMemoryShiftRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<StaffShift> findByDate(LocalDate date) {
+        return find(date, date, shift -> true, true);
+    }
+
+    @Override
+    public List<StaffShift> findBetween(LocalDateTime from, LocalDateTime to) {
+        return find(from.toLocalDate().minusDays(1), to.toLocalDate(),
+                shift -> shift.getStartDateTime().isBefore(to) && shift.getEndDateTime().isAfter(from), true);
+    }
+
+    @Override
+    public StaffShift findCurrent(String staffId, LocalDateTime at) {
+        List<StaffShift> current = find(at.toLocalDate().minusDays(1), at.toLocalDate(),
+                shift -> staffId.equals(shift.getStaffId()) && !shift.getStartDateTime().isAfter(at)
+                        && shift.getEndDateTime().isAfter(at), false);
+        return current.isEmpty() ? null : current.get(0);
+    }
+
+    @Override
+    public List<StaffShift> findOverlapping(List<StaffShift> shifts) {
+        LocalDate first = shifts.stream().map(StaffShift::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate last = shifts.stream().map(StaffShift::getDate).max(LocalDate::compareTo).orElseThrow();
+        Set<String> staffIds = shifts.stream().map(StaffShift::getStaffId).collect(Collectors.toSet());
+
+        return find(first.minusDays(1), last.plusDays(1), existing -> staffIds.contains(existing.getStaffId())
+                && shifts.stream().anyMatch(shift -> shift.getStaffId().equals(existing.getStaffId())
+                        && shift.overlaps(existing)), false);
+    }
+
+    /**
+     * Checks and inserts while holding the store's lock, so no other assignment can slip in between.
+     */
+    @Override
+    public List<StaffShift> insertUnlessOverlapping(List<StaffShift> shifts) {
+        synchronized (store) {
+            List<StaffShift> existing = findOverlapping(shifts);
+            if (!existing.isEmpty()) {
+                return existing;
+            }
+            for (StaffShift shift : shifts) {
+                StaffShift stored = InMemoryStore.copy(shift);
+                stored.setShiftId(store.nextId());
+                store.putShift(stored);
+            }
+            return List.of();
+        }
+    }
+
+    /**
+     * Checks and moves while holding the store's lock, like {@link #insertUnlessOverlapping}.
+     */
+    @Override
+    public boolean update(StaffShift shift) {
+        synchronized (store) {
+            StaffShift stored = store.shifts.get(shift.getShiftId());
+            if (stored == null) {
+                return false;
+            }
+            StaffShift updated = InMemoryStore.copy(stored);
+            updated.setStartTime(shift.getStartTime());
+            updated.setEndTime(shift.getEndTime());
+            updated.setDate(shift.getDate());
+            if (findOverlapping(List.of(updated)).stream()
+                    .anyMatch(existing -> !existing.getShiftId().equals(updated.getShiftId()))) {
+                return false;
+            }
+            store.putShift(updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean delete(String shiftId) {
+        synchronized (store) {
+            return store.removeShift(shiftId);
+        }
+    }
+
+    /**
+     * Collects the shifts dated between two days that match a filter, ordered by start.
+     */
+    private List<StaffShift> find(LocalDate firstDate, LocalDate lastDate, Predicate<StaffShift> filter,
+            boolean withNames) {
+        List<StaffShift> result = new ArrayList<>();
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            for (String shiftId : store.shiftIdsByDate(date)) {
+                StaffShift stored = store.shifts.get(shiftId);
+                if (stored == null || !date.equals(stored.getDate()) || !filter.test(stored)) {
+                    continue;
+                }
+                StaffShift shift = InMemoryStore.copy(stored);
+                if (withNames) {
+                    Staff staff = store.staff.get(shift.getStaffId());
+                    shift.setStaffName(staff != null ? staff.getFirstName() + " " + staff.getLastName() : null);
+                }
+                result.add(shift);
+            }
+        }
+        result.sort(BY_START);
+        return result;
+    }
+}
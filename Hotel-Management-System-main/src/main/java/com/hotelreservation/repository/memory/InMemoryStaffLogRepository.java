@@ -0,0 +1,62 @@
+package com.hotelreservation.repository.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.repository.StaffLogRepository;
+
+/**
+ * Staff log entries kept in an {@link InMemoryStore}.
+ */
+public class InMemoryStaffLogRepository implements StaffLogRepository {
+    private final InMemoryStore store;
+
+    public InMemoryStaffLogRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<StaffLog> findAll() {
+        return find(log -> true);
+    }
+
+    @Override
+    public List<StaffLog> findByStaff(String staffId) {
+        return find(log -> staffId.equals(log.getStaffId()));
+    }
+
+    @Override
+    public boolean insert(StaffLog log) {
+        synchronized (store) {
+            StaffLog stored = InMemoryStore.copy(log);
+            stored.setLogId(store.nextId());
+            store.staffLogs.put(stored.getLogId(), stored);
+            return true;
+        }
+    }
+
+    @Override
+    public int deleteOlderThan(int daysToKeep) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(daysToKeep);
+        synchronized (store) {
+            int before = store.staffLogs.size();
+            store.staffLogs.values().removeIf(log -> log.getTimestamp().isBefore(cutoff));
+            return before - store.staffLogs.size();
+        }
+    }
+
+    private List<StaffLog> find(Predicate<StaffLog> filter) {
+        List<StaffLog> result = new ArrayList<>();
+        for (StaffLog log : store.staffLogs.values()) {
+            if (filter.test(log)) {
+                result.add(InMemoryStore.copy(log));
+            }
+        }
+        result.sort(Comparator.comparing(StaffLog::getTimestamp).reversed());
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.repository.StaffRepository;
+
+/**
+ * Staff members kept in an {@link InMemoryStore}.
+ */
+public class InMemoryStaffRepository implements StaffRepository {
+    private final InMemoryStore store;
+
+    public InMemoryStaffRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Staff> findAll() {
+        List<Staff> result = new ArrayList<>();
+        for (Staff staff : store.staff.values()) {
+            result.add(withoutPassword(staff));
+        }
+        return result;
+    }
+
+    @Override
+    public Staff findById(String staffId) {
+        Staff staff = store.staff.get(staffId);
+        return staff != null ? withoutPassword(staff) : null;
+    }
+
+    @Override
+    public Credentials findCredentials(String staffId) {
+        Staff staff = store.staff.get(staffId);
+        return staff != null ? new Credentials(withoutPassword(staff), staff.getPassword()) : null;
+    }
+
+    @Override
+    public boolean insert(Staff staff, String passwordHash) throws SQLException {
+        synchronized (store) {
+            if (store.staff.containsKey(staff.getStaffId())) {
+                throw InMemoryStore.duplicateKey("Staffs", staff.getStaffId());
+            }
+            Staff stored = InMemoryStore.copy(staff);
+            stored.setPassword(passwordHash);
+            store.staff.put(staff.getStaffId(), stored);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean update(Staff staff) {
+        synchronized (store) {
+            Staff stored = store.staff.get(staff.getStaffId());
+            if (stored == null) {
+                return false;
+            }
+            Staff updated = InMemoryStore.copy(staff);
+            updated.setPassword(stored.getPassword());
+            store.staff.put(staff.getStaffId(), updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updatePassword(String staffId, String passwordHash) {
+        synchronized (store) {
+            Staff stored = store.staff.get(staffId);
+            if (stored == null) {
+                return false;
+            }
+            Staff updated = InMemoryStore.copy(stored);
+            updated.setPassword(passwordHash);
+            store.staff.put(staffId, updated);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean delete(String staffId) {
+        synchronized (store) {
+            return store.staff.remove(staffId) != null;
+        }
+    }
+
+    private static Staff withoutPassword(Staff staff) {
+        Staff copy = InMemoryStore.copy(staff);
+        copy.setPassword(null);
+        return copy;
+    }
+}
@@ -0,0 +1,225 @@
+package com.hotelreservation.repository.memory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Notification;
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.model.StaffShift;
+
+/**
+ * The tables of the in-memory storage engine, shared by its repositories.
+ * Each table is a concurrent map by ID, so reads never block. Writes, including the upkeep of the
+ * secondary indexes, run while holding the store's lock, which keeps changes spanning several tables,
+ * such as a guest merge, atomic. Readers look rows up through an index and then re-check them, so a
+ * read racing a write sees each row either before or after it. Model objects are copied on the way in
+ * and out, so callers never share mutable state with the store.
+ */
+public final class InMemoryStore {
+    final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    final Map<String, Guest> guests = new ConcurrentHashMap<>();
+    final Map<String, Booking> bookings = new ConcurrentHashMap<>();
+    // Staff rows keep the password hash in the password field; it is cleared on the way out
+    final Map<String, Staff> staff = new ConcurrentHashMap<>();
+    final Map<String, StaffShift> shifts = new ConcurrentHashMap<>();
+    final Map<String, Promo> promos = new ConcurrentHashMap<>();
+    final Map<String, Notification> notifications = new ConcurrentHashMap<>();
+    final Map<String, StaffLog> staffLogs = new ConcurrentHashMap<>();
+    // Each user's settings are replaced as a whole, so a reader never sees half of a save
+    final Map<String, Map<String, String>> settings = new ConcurrentHashMap<>();
+
+    // Secondary indexes, the in-memory counterpart of the indexes the SQL queries rely on
+    private final Map<String, Set<String>> bookingIdsByRoom = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> bookingIdsByGuest = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> promoIdsByCode = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Set<String>> shiftIdsByDate = new ConcurrentHashMap<>();
+
+    // Generated keys for the tables the database numbers itself
+    private final AtomicLong sequence = new AtomicLong();
+
+    String nextId() {
+        return String.valueOf(sequence.incrementAndGet());
+    }
+
+    Set<String> bookingIdsByRoom(String roomId) {
+        return bookingIdsByRoom.getOrDefault(roomId, Set.of());
+    }
+
+    Set<String> bookingIdsByGuest(String guestId) {
+        return bookingIdsByGuest.getOrDefault(guestId, Set.of());
+    }
+
+    Set<String> promoIdsByCode(String code) {
+        return promoIdsByCode.getOrDefault(code, Set.of());
+    }
+
+    Set<String> shiftIdsByDate(LocalDate date) {
+        return shiftIdsByDate.getOrDefault(date, Set.of());
+    }
+
+    /**
+     * Stores a booking and indexes it by room and guest. Must be called while holding the store's lock.
+     */
+    void putBooking(Booking booking) {
+        Booking stored = copy(booking);
+        Booking previous = bookings.put(stored.getBookingId(), stored);
+        if (previous != null) {
+            unindex(bookingIdsByRoom, previous.getRoomId(), previous.getBookingId());
+            unindex(bookingIdsByGuest, previous.getGuestId(), previous.getBookingId());
+        }
+        index(bookingIdsByRoom, stored.getRoomId(), stored.getBookingId());
+        index(bookingIdsByGuest, stored.getGuestId(), stored.getBookingId());
+    }
+
+    /**
+     * Stores a promo and indexes it by code. Must be called while holding the store's lock.
+     */
+    void putPromo(Promo promo) {
+        Promo stored = copy(promo);
+        Promo previous = promos.put(stored.getPromoId(), stored);
+        if (previous != null) {
+            unindex(promoIdsByCode, previous.getCode(), previous.getPromoId());
+        }
+        index(promoIdsByCode, stored.getCode(), stored.getPromoId());
+    }
+
+    /**
+     * Removes a promo and its index entry. Must be called while holding the store's lock.
+     */
+    boolean removePromo(String promoId) {
+        Promo previous = promos.remove(promoId);
+        if (previous == null) {
+            return false;
+        }
+        unindex(promoIdsByCode, previous.getCode(), promoId);
+        return true;
+    }
+
+    /**
+     * Stores a shift and indexes it by date. Must be called while holding the store's lock.
+     */
+    void putShift(StaffShift shift) {
+        StaffShift stored = copy(shift);
+        stored.setStaffName(null);
+        StaffShift previous = shifts.put(stored.getShiftId(), stored);
+        if (previous != null) {
+            unindex(shiftIdsByDate, previous.getDate(), previous.getShiftId());
+        }
+        index(shiftIdsByDate, stored.getDate(), stored.getShiftId());
+    }
+
+    /**
+     * Removes a shift and its index entry. Must be called while holding the store's lock.
+     */
+    boolean removeShift(String shiftId) {
+        StaffShift previous = shifts.remove(shiftId);
+        if (previous == null) {
+            return false;
+        }
+        unindex(shiftIdsByDate, previous.getDate(), shiftId);
+        return true;
+    }
+
+    /**
+     * Builds the error the database reports for a duplicate primary key.
+     */
+    static SQLException duplicateKey(String table, String id) {
+        return new SQLException("duplicate key value violates unique constraint on " + table + ": " + id, "23505");
+    }
+
+    /**
+     * Compiles a SQL LIKE pattern, with % and _ as wildcards and a backslash escaping the next character.
+     *
+     * @param pattern the LIKE pattern
+     * @return a test matching whole values against the pattern; null values never match
+     */
+    static Predicate<String> like(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return value -> value != null && compiled.matcher(value).matches();
+    }
+
+    static Room copy(Room room) {
+        return new Room(room.getRoomId(), room.getRoomNumber(), room.getType(), room.getRate(), room.getCapacity(),
+                room.getStatus(), room.getDescription(), room.getAmenities(), room.getFloor());
+    }
+
+    static Guest copy(Guest guest) {
+        return new Guest(guest.getGuestId(), guest.getFirstName(), guest.getLastName(), guest.getMiddleName(),
+                guest.getPassword(), guest.getContactNumber());
+    }
+
+    static Booking copy(Booking booking) {
+        Booking copy = new Booking(booking.getBookingId(), booking.getGuestId(), booking.getRoomId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalAmount(), booking.getStatus(),
+                booking.getPromoCode(), booking.getDiscountAmount(), booking.getNotes());
+        copy.setGuestName(booking.getGuestName());
+        copy.setRoomNumber(booking.getRoomNumber());
+        return copy;
+    }
+
+    static Staff copy(Staff staff) {
+        return new Staff(staff.getStaffId(), staff.getFirstName(), staff.getLastName(), staff.getMiddleName(),
+                staff.getPassword(), staff.getPosition());
+    }
+
+    static StaffShift copy(StaffShift shift) {
+        StaffShift copy = new StaffShift(shift.getShiftId(), shift.getStaffId(), shift.getStartTime(),
+                shift.getEndTime(), shift.getDate());
+        copy.setStaffName(shift.getStaffName());
+        return copy;
+    }
+
+    static Promo copy(Promo promo) {
+        return new Promo(promo.getPromoId(), promo.getCode(), promo.getDescription(), promo.getDiscountAmount(),
+                promo.getValidFrom(), promo.getValidUntil(), promo.isActive());
+    }
+
+    static Notification copy(Notification notification) {
+        return new Notification(notification.getNotificationId(), notification.getStaffId(),
+                notification.getMessage(), notification.getCreatedAt(), notification.isRead());
+    }
+
+    static StaffLog copy(StaffLog log) {
+        return new StaffLog(log.getLogId(), log.getStaffId(), log.getAction(), log.getDetails(), log.getTimestamp());
+    }
+
+    private static <K> void index(Map<K, Set<String>> index, K key, String id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static <K> void unindex(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotelreservation.repository.offline;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A change made while the database was unreachable, waiting in the {@link WriteAheadJournal} to be
+ * replayed against the database.
+ *
+ * @param sequence the position of the change in the journal, starting at 1
+ * @param recordedAt when the change was made
+ * @param type what kind of change it is
+ * @param fields the data of the change: the booking for a new booking, otherwise the ID of the booking
+ *        or room, the status it had when the change was made ({@code expected}) and the new {@code status}
+ */
+public record JournalEntry(long sequence, LocalDateTime recordedAt, Type type, Map<String, String> fields) {
+
+    /**
+     * The changes that can be made offline.
+     */
+    public enum Type {
+        CREATE_BOOKING,
+        BOOKING_STATUS,
+        ROOM_STATUS
+    }
+
+    public JournalEntry {
+        // Null fields are left out, as they are on disk
+        Map<String, String> present = new LinkedHashMap<>();
+        fields.forEach((name, value) -> {
+            if (value != null) {
+                present.put(name, value);
+            }
+        });
+        fields = Collections.unmodifiableMap(present);
+    }
+
+    /**
+     * Describes the change for logs and the conflict list.
+     *
+     * @return a short description
+     */
+    public String describe() {
+        switch (type) {
+            case CREATE_BOOKING:
+                return "new booking " + fields.get("bookingId") + " for room " + fields.get("roomId");
+            case BOOKING_STATUS:
+                return "booking " + fields.get("bookingId") + " set to " + fields.get("status");
+            default:
+                return "room " + fields.get("roomId") + " set to " + fields.get("status");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hotelreservation.repository.offline;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.repository.BookingRepository;
+
+/**
+ * Bookings read from and written to the database, falling back to the offline copy when the database
+ * is unreachable. New bookings and status changes are journaled offline; other changes need the database.
+ */
+class OfflineBookingRepository implements BookingRepository {
+    private final OfflineSync sync;
+    private final BookingRepository remote;
+
+    OfflineBookingRepository(OfflineSync sync, BookingRepository remote) {
+        this.sync = sync;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Booking> findAll() throws SQLException {
+        return sync.read(remote::findAll, mirror -> mirror.bookings().findAll());
+    }
+
+    @Override
+    public List<Booking> search(String searchText, String status, LocalDate date) throws SQLException {
+        return sync.read(() -> remote.search(searchText, status, date),
+                mirror -> mirror.bookings().search(searchText, status, date));
+    }
+
+    @Override
+    public List<Booking> findInRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return sync.read(() -> remote.findInRange(startDate, endDate),
+                mirror -> mirror.bookings().findInRange(startDate, endDate));
+    }
+
+    @Override
+    public List<Booking> findActiveOverlapping(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return sync.read(() -> remote.findActiveOverlapping(startDate, endDate),
+                mirror -> mirror.bookings().findActiveOverlapping(startDate, endDate));
+    }
+
+    @Override
+    public Booking findById(String bookingId) throws SQLException {
+        return sync.read(() -> remote.findById(bookingId), mirror -> mirror.bookings().findById(bookingId));
+    }
+
+    @Override
+    public int[] countStats(LocalDate today) throws SQLException {
+        return sync.read(() -> remote.countStats(today), mirror -> mirror.bookings().countStats(today));
+    }
+
+    @Override
+    public boolean insert(Booking booking) throws SQLException {
+        return sync.write(() -> remote.insert(booking), mirror -> mirror.bookings().insert(booking),
+                () -> sync.recordNewBooking(booking));
+    }
+
+    @Override
+    public Booking insertIfRoomFree(Booking booking) throws SQLException {
+        // Offline the room is checked against the mirror; the replay checks it again under the room lock
+        return sync.write(() -> remote.insertIfRoomFree(booking), clash -> clash == null,
+                mirror -> mirror.bookings().insert(booking), () -> sync.recordNewBookingIfRoomFree(booking));
+    }
+
+    @Override
+    public boolean update(Booking booking) throws SQLException {
+        return sync.onlineOnly(() -> remote.update(booking), mirror -> mirror.bookings().update(booking));
+    }
+
+    @Override
+    public boolean updateIfRoomFree(Booking booking) throws SQLException {
+        return sync.onlineOnly(() -> remote.updateIfRoomFree(booking), updated -> updated,
+                mirror -> mirror.bookings().update(booking));
+    }
+
+    @Override
+    public boolean updateStatus(String bookingId, String status) throws SQLException {
+        return sync.write(() -> remote.updateStatus(bookingId, status),
+                mirror -> mirror.bookings().updateStatus(bookingId, status),
+                () -> sync.recordBookingStatus(bookingId, status));
+    }
+
+    @Override
+    public boolean updateStatusIf(String bookingId, String expected, String status) throws SQLException {
+        return sync.onlineOnly(() -> remote.updateStatusIf(bookingId, expected, status),
+                mirror -> mirror.bookings().updateStatusIf(bookingId, expected, status));
+    }
+
+    @Override
+    public boolean moveRooms(List<RoomMove> moves) throws SQLException {
+        return sync.onlineOnly(() -> remote.moveRooms(moves), mirror -> mirror.bookings().moveRooms(moves));
+    }
+}
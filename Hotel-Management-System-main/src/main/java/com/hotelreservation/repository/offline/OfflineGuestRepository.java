@@ -0,0 +1,74 @@
+package com.hotelreservation.repository.offline;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.GuestRepository;
+
+/**
+ * Guests read from the database, falling back to the offline copy when the database is unreachable.
+ * The copy holds no passwords. Changes to guests need the database.
+ */
+class OfflineGuestRepository implements GuestRepository {
+    private final OfflineSync sync;
+    private final GuestRepository remote;
+
+    OfflineGuestRepository(OfflineSync sync, GuestRepository remote) {
+        this.sync = sync;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Guest> findAll() throws SQLException {
+        return sync.read(remote::findAll, mirror -> mirror.guests().findAll());
+    }
+
+    @Override
+    public List<Guest> findAllSummaries() throws SQLException {
+        return sync.read(remote::findAllSummaries, mirror -> mirror.guests().findAllSummaries());
+    }
+
+    @Override
+    public Guest findById(String guestId) throws SQLException {
+        return sync.read(() -> remote.findById(guestId), mirror -> mirror.guests().findById(guestId));
+    }
+
+    @Override
+    public List<Guest> findPage(String filter, GuestSortField sortField, Guest after, int limit) throws SQLException {
+        return sync.read(() -> remote.findPage(filter, sortField, after, limit),
+                mirror -> mirror.guests().findPage(filter, sortField, after, limit));
+    }
+
+    @Override
+    public List<Guest> search(String query) throws SQLException {
+        return sync.read(() -> remote.search(query), mirror -> mirror.guests().search(query));
+    }
+
+    @Override
+    public boolean insert(Guest guest) throws SQLException {
+        return sync.onlineOnly(() -> remote.insert(guest), mirror -> mirror.guests().insert(withoutPassword(guest)));
+    }
+
+    @Override
+    public boolean update(Guest guest) throws SQLException {
+        return sync.onlineOnly(() -> remote.update(guest), mirror -> mirror.guests().update(withoutPassword(guest)));
+    }
+
+    @Override
+    public boolean delete(String guestId) throws SQLException {
+        return sync.onlineOnly(() -> remote.delete(guestId), mirror -> mirror.guests().delete(guestId));
+    }
+
+    @Override
+    public int merge(String survivingGuestId, String duplicateGuestId) throws SQLException {
+        return sync.onlineOnly(() -> remote.merge(survivingGuestId, duplicateGuestId),
+                mirror -> mirror.guests().merge(survivingGuestId, duplicateGuestId));
+    }
+
+    private static Guest withoutPassword(Guest guest) {
+        return new Guest(guest.getGuestId(), guest.getFirstName(), guest.getLastName(), guest.getMiddleName(), null,
+                guest.getContactNumber());
+    }
+}
@@ -0,0 +1,186 @@
+package com.hotelreservation.repository.offline;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.BookingRepository;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.memory.InMemoryBookingRepository;
+import com.hotelreservation.repository.memory.InMemoryGuestRepository;
+import com.hotelreservation.repository.memory.InMemoryRoomRepository;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Local copy of the data the front desk needs while the database is unreachable: every room, every
+ * guest without the password, and the bookings in the house, arriving or leaving today.
+ * The copy lives in an {@link InMemoryStore} and is replaced as a whole on each refresh, so readers
+ * never see half of one. Each refresh is also saved to a snapshot file, which lets the application
+ * start with the last known state when the database is down.
+ */
+public final class OfflineMirror {
+    private static final String SNAPSHOT_FILE = "mirror.snapshot";
+
+    private final Path snapshotFile;
+    private volatile Copy current;
+
+    /**
+     * Rows read from the database for one refresh.
+     *
+     * @param rooms every room
+     * @param guests every guest, without the password
+     * @param bookings the bookings touching the day of the refresh
+     * @param takenAt when the rows were read
+     */
+    record Snapshot(List<Room> rooms, List<Guest> guests, List<Booking> bookings, LocalDateTime takenAt) {
+    }
+
+    /**
+     * The repositories over one generation of the copy.
+     */
+    private record Copy(BookingRepository bookings, RoomRepository rooms, GuestRepository guests,
+            LocalDateTime refreshedAt) {
+    }
+
+    OfflineMirror(Path directory) throws SQLException {
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.current = build(new Snapshot(List.of(), List.of(), List.of(), null));
+    }
+
+    BookingRepository bookings() {
+        return current.bookings();
+    }
+
+    RoomRepository rooms() {
+        return current.rooms();
+    }
+
+    GuestRepository guests() {
+        return current.guests();
+    }
+
+    /**
+     * Gets the time the copy was last read from the database.
+     *
+     * @return the time of the last refresh, or null if the copy was never filled
+     */
+    public LocalDateTime getRefreshedAt() {
+        return current.refreshedAt();
+    }
+
+    /**
+     * Reads the rows of a refresh from the database.
+     *
+     * @param rooms the database's rooms
+     * @param bookings the database's bookings
+     * @param guests the database's guests
+     * @return the rows
+     * @throws SQLException if the rows cannot be read
+     */
+    static Snapshot fetch(RoomRepository rooms, BookingRepository bookings, GuestRepository guests)
+            throws SQLException {
+        LocalDate today = LocalDate.now();
+        return new Snapshot(rooms.findAll(), guests.findAllSummaries(), bookings.findInRange(today, today),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Replaces the copy with fetched rows and saves them to the snapshot file.
+     *
+     * @param snapshot the rows
+     * @throws SQLException if the rows cannot be stored
+     * @throws IOException if the snapshot file cannot be written; the copy in memory is replaced regardless
+     */
+    void install(Snapshot snapshot) throws SQLException, IOException {
+        current = build(snapshot);
+        save(snapshot);
+    }
+
+    /**
+     * Replaces the copy with the last snapshot saved to disk.
+     *
+     * @return true if a snapshot was found
+     * @throws SQLException if the rows cannot be stored
+     * @throws IOException if the snapshot file cannot be read
+     */
+    boolean load() throws SQLException, IOException {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        List<Room> rooms = new ArrayList<>();
+        List<Guest> guests = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        LocalDateTime takenAt = null;
+        try {
+            for (String line : Files.readAllLines(snapshotFile, StandardCharsets.UTF_8)) {
+                RecordCodec.Line record = RecordCodec.decode(line);
+                Map<String, String> fields = record.fields();
+                switch (record.kind()) {
+                    case "MIRROR" -> takenAt = LocalDateTime.parse(fields.get("takenAt"));
+                    case "ROOM" -> rooms.add(RecordCodec.room(fields));
+                    case "GUEST" -> guests.add(RecordCodec.guest(fields));
+                    case "BOOKING" -> bookings.add(RecordCodec.booking(fields));
+                    default -> throw new IllegalArgumentException("Unknown record " + record.kind());
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Unreadable offline snapshot " + snapshotFile, e);
+        }
+        current = build(new Snapshot(rooms, guests, bookings, takenAt));
+        return true;
+    }
+
+    private static Copy build(Snapshot snapshot) throws SQLException {
+        InMemoryStore store = new InMemoryStore();
+        Copy copy = new Copy(new InMemoryBookingRepository(store), new InMemoryRoomRepository(store),
+                new InMemoryGuestRepository(store), snapshot.takenAt());
+        for (Room room : snapshot.rooms()) {
+            copy.rooms().insert(room);
+        }
+        for (Guest guest : snapshot.guests()) {
+            copy.guests().insert(guest);
+        }
+        for (Booking booking : snapshot.bookings()) {
+            copy.bookings().insert(booking);
+        }
+        return copy;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it over the old one, so a crash never leaves a
+     * partial snapshot behind.
+     */
+    private void save(Snapshot snapshot) throws IOException {
+        Path temp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write(RecordCodec.encode("MIRROR", Map.of("takenAt", snapshot.takenAt().toString())));
+            out.newLine();
+            for (Room room : snapshot.rooms()) {
+                out.write(RecordCodec.encode("ROOM", RecordCodec.fields(room)));
+                out.newLine();
+            }
+            for (Guest guest : snapshot.guests()) {
+                out.write(RecordCodec.encode("GUEST", RecordCodec.fields(guest)));
+                out.newLine();
+            }
+            for (Booking booking : snapshot.bookings()) {
+                out.write(RecordCodec.encode("BOOKING", RecordCodec.fields(booking)));
+                out.newLine();
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
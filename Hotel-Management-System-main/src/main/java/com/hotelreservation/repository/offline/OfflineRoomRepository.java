@@ -0,0 +1,72 @@
+package com.hotelreservation.repository.offline;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.RoomRepository;
+
+/**
+ * Rooms read from and written to the database, falling back to the offline copy when the database
+ * is unreachable. Status changes are journaled offline; other changes need the database.
+ */
+class OfflineRoomRepository implements RoomRepository {
+    private final OfflineSync sync;
+    private final RoomRepository remote;
+
+    OfflineRoomRepository(OfflineSync sync, RoomRepository remote) {
+        this.sync = sync;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        return sync.read(remote::findAll, mirror -> mirror.rooms().findAll());
+    }
+
+    @Override
+    public List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        return sync.read(() -> remote.findAvailable(checkIn, checkOut),
+                mirror -> mirror.rooms().findAvailable(checkIn, checkOut));
+    }
+
+    @Override
+    public List<Room> findBookable(String roomType, int minCapacity) throws SQLException {
+        return sync.read(() -> remote.findBookable(roomType, minCapacity),
+                mirror -> mirror.rooms().findBookable(roomType, minCapacity));
+    }
+
+    @Override
+    public Room findById(String roomId) throws SQLException {
+        return sync.read(() -> remote.findById(roomId), mirror -> mirror.rooms().findById(roomId));
+    }
+
+    @Override
+    public Room findByNumber(String roomNumber) throws SQLException {
+        return sync.read(() -> remote.findByNumber(roomNumber), mirror -> mirror.rooms().findByNumber(roomNumber));
+    }
+
+    @Override
+    public boolean insert(Room room) throws SQLException {
+        return sync.onlineOnly(() -> remote.insert(room), mirror -> mirror.rooms().insert(room));
+    }
+
+    @Override
+    public boolean update(Room room) throws SQLException {
+        return sync.onlineOnly(() -> remote.update(room), mirror -> mirror.rooms().update(room));
+    }
+
+    @Override
+    public boolean updateStatus(String roomId, String status) throws SQLException {
+        return sync.write(() -> remote.updateStatus(roomId, status),
+                mirror -> mirror.rooms().updateStatus(roomId, status),
+                () -> sync.recordRoomStatus(roomId, status));
+    }
+
+    @Override
+    public boolean updateStatusIf(String roomId, String expected, String status) throws SQLException {
+        return sync.onlineOnly(() -> remote.updateStatusIf(roomId, expected, status),
+                mirror -> mirror.rooms().updateStatusIf(roomId, expected, status));
+    }
+}
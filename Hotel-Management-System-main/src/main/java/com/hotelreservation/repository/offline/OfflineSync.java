@@ -0,0 +1,727 @@
+package com.hotelreservation.repository.offline;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.MetricsRegistry;
+
+/**
+ * Keeps the front desk working while the database is unreachable, and brings the database up to date
+ * once it is back.
+ * Booking, room and guest calls go to the database as usual. When one fails because the database
+ * cannot be reached, the engine switches to offline mode: reads are served from the {@link OfflineMirror},
+ * and new bookings, check-ins, check-outs and room status changes are recorded in the
+ * {@link WriteAheadJournal} and applied to the mirror. Other changes are refused until the database is back.
+ * A background thread checks the connection every few seconds while offline. Once the database answers,
+ * it replays the journal in order. Each change is checked against the database first: a new booking must
+ * not clash with another booking of the room, and a status change only applies if the booking or room
+ * still has the status it had offline. A change that no longer fits is recorded as a {@link SyncConflict},
+ * logged and skipped. While online, the same thread refreshes the mirror every few minutes.
+ * Enabled with {@code -Dhotel.offline=true}; the files live in {@code -Dhotel.offline.dir}.
+ */
+public final class OfflineSync {
+    private static final Logger logger = LoggerFactory.getLogger(OfflineSync.class);
+    private static final String DIRECTORY_PROPERTY = "hotel.offline.dir";
+    private static final long SYNC_INTERVAL_SECONDS = Long.getLong("hotel.offline.syncSeconds", 10);
+    private static final long REFRESH_INTERVAL_MILLIS =
+            TimeUnit.MINUTES.toMillis(Long.getLong("hotel.offline.refreshMinutes", 5));
+    private static final String CONFLICTS_FILE = "conflicts.log";
+    private static final Set<String> ACTIVE_STATUSES = Set.of("CONFIRMED", "CHECKED_IN");
+
+    private static final List<StatusListener> listeners = new CopyOnWriteArrayList<>();
+    private static volatile OfflineSync active;
+
+    // Replays and mirror refreshes bypass any read replica in front of the database, which may lag behind it
+    private final Repositories database;
+    private final WriteAheadJournal journal;
+    private final OfflineMirror mirror;
+    private final BooleanSupplier probe;
+    private final Path conflictsFile;
+    private final List<SyncConflict> conflicts = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "offline-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guards mode changes, journal appends and offline writes to the mirror, so no change is
+    // journaled after the replay has decided the journal is empty
+    private final Object lock = new Object();
+    private volatile Mode mode = Mode.ONLINE;
+    private volatile long nextRefreshAt;
+
+    /**
+     * Where reads and writes go.
+     */
+    public enum Mode {
+        /** The database is used directly. */
+        ONLINE,
+        /** The database is unreachable; the mirror and the journal are used. */
+        OFFLINE,
+        /** The database is back and the journal is being replayed; the mirror and the journal are still used. */
+        SYNCING
+    }
+
+    /**
+     * The state of the offline support, for display.
+     *
+     * @param mode where reads and writes go
+     * @param pendingChanges changes in the journal waiting to be replayed
+     * @param conflicts offline changes that could not be replayed and have not been acknowledged
+     * @param mirrorRefreshedAt when the mirror was last read from the database, or null if never
+     */
+    public record Status(Mode mode, int pendingChanges, List<SyncConflict> conflicts,
+            LocalDateTime mirrorRefreshedAt) {
+    }
+
+    /**
+     * An offline change the database no longer accepted.
+     *
+     * @param entry the change
+     * @param reason why it was not applied
+     * @param detectedAt when the replay found the conflict
+     */
+    public record SyncConflict(JournalEntry entry, String reason, LocalDateTime detectedAt) {
+    }
+
+    /**
+     * Listener notified when the mode, the journal or the conflicts change.
+     * Called on the thread that made the change, which is usually not the JavaFX thread.
+     */
+    @FunctionalInterface
+    public interface StatusListener {
+        /**
+         * Called after the status changed.
+         *
+         * @param status the new status
+         */
+        void statusChanged(Status status);
+    }
+
+    /**
+     * A call to a repository.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * A call to the mirror's repositories.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface MirrorCall<T> {
+        T call(OfflineMirror mirror) throws SQLException;
+    }
+
+    private OfflineSync(Repositories database, Path directory, BooleanSupplier probe)
+            throws IOException, SQLException {
+        this.database = database;
+        this.probe = probe;
+        this.journal = WriteAheadJournal.open(directory);
+        this.mirror = new OfflineMirror(directory);
+        this.conflictsFile = directory.resolve(CONFLICTS_FILE);
+        try {
+            mirror.load();
+        } catch (IOException e) {
+            logger.warn("Starting with an empty offline copy: {}", e.getMessage());
+        }
+        // Changes not replayed before the last exit are shown again, and replayed before going online
+        List<JournalEntry> pending = journal.pending();
+        for (JournalEntry entry : pending) {
+            applyToMirror(entry);
+        }
+        if (!pending.isEmpty()) {
+            mode = Mode.OFFLINE;
+        }
+    }
+
+    /**
+     * Adds offline support to the database repositories and starts the sync engine.
+     * The files are kept in {@code -Dhotel.offline.dir}, by default {@code .hotel-reservation/offline}
+     * in the user's home directory.
+     *
+     * @param remote the repositories the application uses while online, possibly behind a read replica
+     * @param database the database repositories themselves, which the journal is replayed against
+     * @return repositories that fall back to the offline copy, or the given ones if the offline files
+     *         cannot be opened
+     */
+    public static Repositories enable(Repositories remote, Repositories database) {
+        Path defaultDirectory = Path.of(System.getProperty("user.home"), ".hotel-reservation", "offline");
+        Path directory = Path.of(System.getProperty(DIRECTORY_PROPERTY, defaultDirectory.toString()));
+        return enable(remote, database, directory, OfflineSync::databaseReachable);
+    }
+
+    /**
+     * Adds offline support to a set of repositories, for tools that bring their own database.
+     *
+     * @param remote the repositories to protect
+     * @param database the repositories the journal is replayed against and the offline copy is read from
+     * @param directory the directory for the journal and the mirror snapshot
+     * @param probe tells whether the repositories can be reached again
+     * @return repositories that fall back to the offline copy, or the given ones if the offline files
+     *         cannot be opened
+     */
+    public static Repositories enable(Repositories remote, Repositories database, Path directory,
+            BooleanSupplier probe) {
+        try {
+            OfflineSync sync = new OfflineSync(database, directory, probe);
+            active = sync;
+            sync.start();
+            logger.info("Offline support enabled, files in {}", directory);
+            return new Repositories(new OfflineBookingRepository(sync, remote.bookings()),
+                    new OfflineRoomRepository(sync, remote.rooms()), new OfflineGuestRepository(sync, remote.guests()),
+                    remote.staff(), remote.shifts(), remote.promos(), remote.notifications(), remote.staffLogs(),
+                    remote.settings(), remote.inMemory());
+        } catch (IOException | SQLException e) {
+            logger.error("Offline support unavailable, could not open {}", directory, e);
+            return remote;
+        }
+    }
+
+    /**
+     * Gets the state of the offline support.
+     *
+     * @return the status, or null if offline support is not enabled
+     */
+    public static Status currentStatus() {
+        OfflineSync sync = active;
+        return sync != null ? sync.status() : null;
+    }
+
+    /**
+     * Clears the list of conflicts once a user has seen them. They stay in the conflicts file.
+     */
+    public static void acknowledgeConflicts() {
+        OfflineSync sync = active;
+        if (sync != null) {
+            sync.conflicts.clear();
+            sync.publish();
+        }
+    }
+
+    /**
+     * Registers a listener for status changes.
+     *
+     * @param listener the listener to add
+     */
+    public static void addStatusListener(StatusListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener for status changes.
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeStatusListener(StatusListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reads from the database, or from the mirror while offline.
+     *
+     * @param remoteCall the read against the database
+     * @param mirrorCall the same read against the mirror
+     * @param <T> the result type
+     * @return the result
+     * @throws SQLException if the read fails for a reason other than the database being unreachable
+     */
+    <T> T read(SqlCall<T> remoteCall, MirrorCall<T> mirrorCall) throws SQLException {
+        if (mode == Mode.ONLINE) {
+            try {
+                return remoteCall.call();
+            } catch (SQLException e) {
+                goOfflineOrRethrow(e);
+            }
+        }
+        return mirrorCall.call(mirror);
+    }
+
+    /**
+     * Writes to the database, or records the change in the journal while offline.
+     *
+     * @param remoteCall the write against the database
+     * @param mirrorCall the same write against the mirror, applied after the database accepted it
+     * @param offlineCall journals the change and applies it to the mirror; called while holding the lock
+     * @return the result of the write
+     * @throws SQLException if the write fails for a reason other than the database being unreachable
+     */
+    boolean write(SqlCall<Boolean> remoteCall, MirrorCall<?> mirrorCall, SqlCall<Boolean> offlineCall)
+            throws SQLException {
+        return write(remoteCall, written -> written, mirrorCall, offlineCall);
+    }
+
+    /**
+     * Writes to the database, or records the change in the journal while offline, for writes whose result
+     * says more than whether they were applied.
+     *
+     * @param remoteCall the write against the database
+     * @param applied tells from the result whether the database accepted the write
+     * @param mirrorCall the same write against the mirror, applied after the database accepted it
+     * @param offlineCall journals the change and applies it to the mirror; called while holding the lock
+     * @param <T> the result type
+     * @return the result of the write
+     * @throws SQLException if the write fails for a reason other than the database being unreachable
+     */
+    <T> T write(SqlCall<T> remoteCall, Predicate<T> applied, MirrorCall<?> mirrorCall, SqlCall<T> offlineCall)
+            throws SQLException {
+        while (true) {
+            if (mode == Mode.ONLINE) {
+                try {
+                    T written = remoteCall.call();
+                    if (applied.test(written)) {
+                        updateMirror(mirrorCall);
+                    }
+                    return written;
+                } catch (SQLException e) {
+                    goOfflineOrRethrow(e);
+                }
+            }
+            T written;
+            synchronized (lock) {
+                // The replay may have finished since the mode was read; then the database takes the write
+                if (mode == Mode.ONLINE) {
+                    continue;
+                }
+                written = offlineCall.call();
+            }
+            publish();
+            return written;
+        }
+    }
+
+    /**
+     * Writes to the database, refusing the change while offline.
+     *
+     * @param remoteCall the write against the database
+     * @param mirrorCall the same write against the mirror, applied after the database accepted it, or null
+     * @param <T> the result type
+     * @return the result of the write
+     * @throws SQLException if the write fails, or the database is unreachable
+     */
+    <T> T onlineOnly(SqlCall<T> remoteCall, MirrorCall<?> mirrorCall) throws SQLException {
+        return onlineOnly(remoteCall, result -> true, mirrorCall);
+    }
+
+    /**
+     * Writes to the database, refusing the change while offline, and updates the mirror only if the
+     * database accepted the write.
+     *
+     * @param remoteCall the write against the database
+     * @param applied tells from the result whether the database accepted the write
+     * @param mirrorCall the same write against the mirror, or null
+     * @param <T> the result type
+     * @return the result of the write
+     * @throws SQLException if the write fails, or the database is unreachable
+     */
+    <T> T onlineOnly(SqlCall<T> remoteCall, Predicate<T> applied, MirrorCall<?> mirrorCall) throws SQLException {
+        if (mode == Mode.ONLINE) {
+            try {
+                T result = remoteCall.call();
+                if (mirrorCall != null && applied.test(result)) {
+                    updateMirror(mirrorCall);
+                }
+                return result;
+            } catch (SQLException e) {
+                goOfflineOrRethrow(e);
+            }
+        }
+        throw new SQLException("Only new bookings, check-ins, check-outs and room status changes can be saved "
+                + "while the database is unreachable");
+    }
+
+    /**
+     * Journals a new booking unless the mirror shows its room taken for an overlapping night, and adds it
+     * to the mirror. Must be called while holding the lock.
+     *
+     * @return the booking holding the room, or null if the booking was journalled
+     */
+    Booking recordNewBookingIfRoomFree(Booking booking) throws SQLException {
+        if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+            for (Booking other : mirror.bookings().findActiveOverlapping(booking.getCheckInDate(),
+                    booking.getCheckOutDate())) {
+                if (other.getRoomId().equals(booking.getRoomId())) {
+                    return other;
+                }
+            }
+        }
+        recordNewBooking(booking);
+        return null;
+    }
+
+    /**
+     * Journals a new booking and adds it to the mirror. Must be called while holding the lock.
+     */
+    boolean recordNewBooking(Booking booking) throws SQLException {
+        if (mirror.bookings().findById(booking.getBookingId()) != null) {
+            throw new SQLException("duplicate key value violates unique constraint on Bookings: "
+                    + booking.getBookingId(), "23505");
+        }
+        record(JournalEntry.Type.CREATE_BOOKING, RecordCodec.fields(booking));
+        return mirror.bookings().insert(booking);
+    }
+
+    /**
+     * Journals a booking status change and applies it to the mirror. Must be called while holding the lock.
+     */
+    boolean recordBookingStatus(String bookingId, String status) throws SQLException {
+        Booking current = mirror.bookings().findById(bookingId);
+        if (current == null) {
+            logger.warn("Booking {} is not in the offline copy, its status cannot be changed offline", bookingId);
+            return false;
+        }
+        record(JournalEntry.Type.BOOKING_STATUS, statusChange("bookingId", bookingId, current.getStatus(), status));
+        return mirror.bookings().updateStatus(bookingId, status);
+    }
+
+    /**
+     * Journals a room status change and applies it to the mirror. Must be called while holding the lock.
+     */
+    boolean recordRoomStatus(String roomId, String status) throws SQLException {
+        Room current = mirror.rooms().findById(roomId);
+        if (current == null) {
+            logger.warn("Room {} is not in the offline copy, its status cannot be changed offline", roomId);
+            return false;
+        }
+        record(JournalEntry.Type.ROOM_STATUS, statusChange("roomId", roomId, current.getStatus(), status));
+        return mirror.rooms().updateStatus(roomId, status);
+    }
+
+    /**
+     * Checks whether a failure means the database could not be reached, as opposed to it rejecting the
+     * statement: SQL states of class 08 (connection exception), the JDBC connection exception types, or a
+     * network error underneath.
+     *
+     * @param e the failure
+     * @return true if the database was unreachable
+     */
+    static boolean isConnectivityFailure(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SocketException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void start() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("hotel_offline_mode", "Offline mode: 0 online, 1 offline, 2 replaying the journal",
+                () -> mode.ordinal());
+        metrics.gauge("hotel_offline_pending_changes", "Offline changes waiting to be replayed", journal::size);
+        metrics.gauge("hotel_offline_conflicts", "Offline changes that could not be replayed", conflicts::size);
+        worker.scheduleWithFixedDelay(this::tick, 0, SYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void tick() {
+        try {
+            if (mode == Mode.ONLINE) {
+                if (System.currentTimeMillis() >= nextRefreshAt) {
+                    refreshMirror();
+                }
+            } else if (probe.getAsBoolean()) {
+                synchronize();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Offline sync failed", e);
+        }
+    }
+
+    /**
+     * Reads a fresh copy from the database and installs it, unless offline changes were made meanwhile.
+     */
+    private void refreshMirror() {
+        nextRefreshAt = System.currentTimeMillis() + REFRESH_INTERVAL_MILLIS;
+        try {
+            OfflineMirror.Snapshot snapshot = OfflineMirror.fetch(database.rooms(), database.bookings(), database.guests());
+            synchronized (lock) {
+                if (mode != Mode.ONLINE) {
+                    return;
+                }
+                mirror.install(snapshot);
+            }
+            logger.debug("Refreshed offline copy: {} rooms, {} guests, {} bookings", snapshot.rooms().size(),
+                    snapshot.guests().size(), snapshot.bookings().size());
+            publish();
+        } catch (SQLException e) {
+            if (isConnectivityFailure(e)) {
+                goOffline(e);
+            } else {
+                logger.error("Failed to refresh the offline copy", e);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to save the offline snapshot", e);
+        }
+    }
+
+    /**
+     * Replays the journal against the database and goes back online once it is empty.
+     */
+    private void synchronize() {
+        synchronized (lock) {
+            if (mode != Mode.OFFLINE) {
+                return;
+            }
+            mode = Mode.SYNCING;
+        }
+        logger.info("Database reachable again, replaying {} offline changes", journal.size());
+        publish();
+        try {
+            while (true) {
+                List<JournalEntry> pending = journal.pending();
+                if (pending.isEmpty()) {
+                    synchronized (lock) {
+                        if (journal.size() == 0) {
+                            mode = Mode.ONLINE;
+                            break;
+                        }
+                    }
+                    continue;
+                }
+                for (JournalEntry entry : pending) {
+                    replay(entry);
+                    journal.markApplied(entry.sequence());
+                    publish();
+                }
+            }
+        } catch (SQLException e) {
+            goOffline(e);
+            return;
+        } catch (IOException e) {
+            logger.error("Failed to record replay progress, retrying later", e);
+            setMode(Mode.OFFLINE);
+            return;
+        }
+        logger.info("Offline changes replayed, back online");
+        refreshMirror();
+        publish();
+    }
+
+    /**
+     * Applies one journaled change to the database, or records why it cannot be applied.
+     *
+     * @throws SQLException if the database became unreachable
+     */
+    private void replay(JournalEntry entry) throws SQLException {
+        String conflict;
+        try {
+            conflict = switch (entry.type()) {
+                case CREATE_BOOKING -> replayNewBooking(RecordCodec.booking(entry.fields()));
+                case BOOKING_STATUS -> replayStatus("Booking", entry.fields(),
+                    () -> database.bookings().updateStatusIf(entry.fields().get("bookingId"),
+                            entry.fields().get("expected"), entry.fields().get("status")),
+                    () -> {
+                        Booking current = database.bookings().findById(entry.fields().get("bookingId"));
+                        return current != null ? current.getStatus() : null;
+                    });
+                case ROOM_STATUS -> replayStatus("Room", entry.fields(),
+                    () -> database.rooms().updateStatusIf(entry.fields().get("roomId"),
+                            entry.fields().get("expected"), entry.fields().get("status")),
+                    () -> {
+                        Room current = database.rooms().findById(entry.fields().get("roomId"));
+                        return current != null ? current.getStatus() : null;
+                    });
+            };
+        } catch (SQLException e) {
+            if (isConnectivityFailure(e)) {
+                throw e;
+            }
+            conflict = "The database rejected it: " + e.getMessage();
+        }
+        if (conflict == null) {
+            logger.info("Replayed offline change {}: {}", entry.sequence(), entry.describe());
+        } else {
+            recordConflict(entry, conflict);
+        }
+    }
+
+    /**
+     * Inserts a booking made offline unless its room was taken for the same nights meanwhile.
+     *
+     * @return the conflict, or null if the booking is in the database
+     */
+    private String replayNewBooking(Booking booking) throws SQLException {
+        Booking existing = database.bookings().findById(booking.getBookingId());
+        if (existing != null) {
+            // The insert may have reached the database just before the connection dropped
+            boolean sameStay = existing.getGuestId().equals(booking.getGuestId())
+                    && existing.getRoomId().equals(booking.getRoomId())
+                    && existing.getCheckInDate().equals(booking.getCheckInDate())
+                    && existing.getCheckOutDate().equals(booking.getCheckOutDate());
+            return sameStay ? null : "Another booking with ID " + booking.getBookingId() + " exists";
+        }
+        // Checked and inserted under the room's lock, so another replay or a room move cannot take the room meanwhile
+        Booking other = database.bookings().insertIfRoomFree(booking);
+        return other == null ? null : "The room was booked for overlapping nights by booking " + other.getBookingId();
+    }
+
+    /**
+     * Applies a status change if the row still has the status it had offline.
+     *
+     * @return the conflict, or null if the row has the new status
+     */
+    private static String replayStatus(String subject, Map<String, String> fields, SqlCall<Boolean> compareAndSet,
+            SqlCall<String> currentStatus) throws SQLException {
+        if (compareAndSet.call()) {
+            return null;
+        }
+        String current = currentStatus.call();
+        if (current == null) {
+            return subject + " no longer exists";
+        }
+        if (current.equals(fields.get("status"))) {
+            // Already applied, either by someone else or before the connection dropped
+            return null;
+        }
+        return subject + " was changed to " + current + " meanwhile, expected " + fields.get("expected");
+    }
+
+    private void recordConflict(JournalEntry entry, String reason) {
+        SyncConflict conflict = new SyncConflict(entry, reason, LocalDateTime.now());
+        conflicts.add(conflict);
+        logger.warn("Offline change {} not applied ({}): {}", entry.sequence(), entry.describe(), reason);
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("detectedAt", conflict.detectedAt().toString());
+        fields.put("recordedAt", entry.recordedAt().toString());
+        fields.put("reason", reason);
+        fields.putAll(entry.fields());
+        try {
+            Files.writeString(conflictsFile, RecordCodec.encode(entry.type().name(), fields) + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Failed to write the conflict to {}", conflictsFile, e);
+        }
+    }
+
+    /**
+     * Re-applies a journaled change to the mirror after a restart.
+     */
+    private void applyToMirror(JournalEntry entry) throws SQLException {
+        Map<String, String> fields = entry.fields();
+        switch (entry.type()) {
+            case CREATE_BOOKING -> {
+                if (mirror.bookings().findById(fields.get("bookingId")) == null) {
+                    mirror.bookings().insert(RecordCodec.booking(fields));
+                }
+            }
+            case BOOKING_STATUS -> mirror.bookings().updateStatus(fields.get("bookingId"), fields.get("status"));
+            case ROOM_STATUS -> mirror.rooms().updateStatus(fields.get("roomId"), fields.get("status"));
+        }
+    }
+
+    private void record(JournalEntry.Type type, Map<String, String> fields) throws SQLException {
+        try {
+            JournalEntry entry = journal.append(type, fields);
+            logger.info("Recorded offline change {}: {}", entry.sequence(), entry.describe());
+        } catch (IOException e) {
+            throw new SQLException("Failed to record the change in the offline journal", e);
+        }
+    }
+
+    private void updateMirror(MirrorCall<?> mirrorCall) {
+        try {
+            mirrorCall.call(mirror);
+        } catch (SQLException e) {
+            // The next refresh brings the mirror up to date
+            logger.debug("Could not apply a change to the offline copy: {}", e.getMessage());
+        }
+    }
+
+    private void goOfflineOrRethrow(SQLException e) throws SQLException {
+        if (!isConnectivityFailure(e)) {
+            throw e;
+        }
+        goOffline(e);
+    }
+
+    private void goOffline(SQLException cause) {
+        synchronized (lock) {
+            if (mode == Mode.OFFLINE) {
+                return;
+            }
+            mode = Mode.OFFLINE;
+        }
+        logger.warn("Database unreachable, using the offline copy from {}: {}", mirror.getRefreshedAt(),
+                cause.getMessage());
+        publish();
+    }
+
+    private void setMode(Mode newMode) {
+        synchronized (lock) {
+            mode = newMode;
+        }
+        publish();
+    }
+
+    private Status status() {
+        return new Status(mode, journal.size(), List.copyOf(conflicts), mirror.getRefreshedAt());
+    }
+
+    private void publish() {
+        Status status = status();
+        for (StatusListener listener : listeners) {
+            try {
+                listener.statusChanged(status);
+            } catch (RuntimeException e) {
+                logger.error("Offline status listener failed", e);
+            }
+        }
+    }
+
+    private static Map<String, String> statusChange(String idField, String id, String expected, String status) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(idField, id);
+        fields.put("expected", expected);
+        fields.put("status", status);
+        return fields;
+    }
+
+    private static boolean databaseReachable() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return conn.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
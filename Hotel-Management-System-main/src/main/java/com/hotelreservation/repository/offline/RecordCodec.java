@@ -0,0 +1,163 @@
+package com.hotelreservation.repository.offline;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Room;
+
+/**
+ * Writes records of the offline files as single lines of text, and reads them back.
+ * A line is a kind followed by tab-separated {@code name=value} fields; backslashes, tabs and line
+ * breaks in values are escaped, so any value fits on one line. Fields holding null are left out.
+ */
+final class RecordCodec {
+
+    /**
+     * A decoded line.
+     *
+     * @param kind what the record describes
+     * @param fields the fields by name, in line order
+     */
+    record Line(String kind, Map<String, String> fields) {
+    }
+
+    private RecordCodec() {
+    }
+
+    /**
+     * Encodes a record as a line, without the line break.
+     *
+     * @param kind what the record describes
+     * @param fields the fields; null values are left out
+     * @return the line
+     */
+    static String encode(String kind, Map<String, String> fields) {
+        StringBuilder line = new StringBuilder(kind);
+        fields.forEach((name, value) -> {
+            if (value != null) {
+                line.append('\t').append(name).append('=');
+                escape(line, value);
+            }
+        });
+        return line.toString();
+    }
+
+    /**
+     * Decodes a line written by {@link #encode}.
+     *
+     * @param line the line, without the line break
+     * @return the record
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static Line decode(String line) {
+        String[] parts = line.split("\t", -1);
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 1; i < parts.length; i++) {
+            int separator = parts[i].indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed field: " + parts[i]);
+            }
+            fields.put(parts[i].substring(0, separator), unescape(parts[i].substring(separator + 1)));
+        }
+        return new Line(parts[0], fields);
+    }
+
+    static Map<String, String> fields(Room room) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("roomId", room.getRoomId());
+        fields.put("roomNumber", room.getRoomNumber());
+        fields.put("type", room.getType());
+        fields.put("rate", String.valueOf(room.getRate()));
+        fields.put("capacity", String.valueOf(room.getCapacity()));
+        fields.put("status", room.getStatus());
+        fields.put("description", room.getDescription());
+        fields.put("amenities", room.getAmenities());
+        fields.put("floor", String.valueOf(room.getFloor()));
+        return fields;
+    }
+
+    static Room room(Map<String, String> fields) {
+        return new Room(fields.get("roomId"), fields.get("roomNumber"), fields.get("type"),
+                Double.parseDouble(fields.get("rate")), Integer.parseInt(fields.get("capacity")),
+                fields.get("status"), fields.get("description"), fields.get("amenities"),
+                Integer.parseInt(fields.get("floor")));
+    }
+
+    /**
+     * Gets the fields of a guest, leaving the password out so it is never written to disk.
+     */
+    static Map<String, String> fields(Guest guest) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("guestId", guest.getGuestId());
+        fields.put("firstName", guest.getFirstName());
+        fields.put("lastName", guest.getLastName());
+        fields.put("middleName", guest.getMiddleName());
+        fields.put("contactNumber", guest.getContactNumber());
+        return fields;
+    }
+
+    static Guest guest(Map<String, String> fields) {
+        return new Guest(fields.get("guestId"), fields.get("firstName"), fields.get("lastName"),
+                fields.get("middleName"), null, fields.get("contactNumber"));
+    }
+
+    static Map<String, String> fields(Booking booking) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("bookingId", booking.getBookingId());
+        fields.put("guestId", booking.getGuestId());
+        fields.put("roomId", booking.getRoomId());
+        fields.put("checkInDate", booking.getCheckInDate().toString());
+        fields.put("checkOutDate", booking.getCheckOutDate().toString());
+        fields.put("totalAmount", String.valueOf(booking.getTotalAmount()));
+        fields.put("status", booking.getStatus());
+        fields.put("promoCode", booking.getPromoCode());
+        fields.put("discountAmount", String.valueOf(booking.getDiscountAmount()));
+        fields.put("notes", booking.getNotes());
+        return fields;
+    }
+
+    static Booking booking(Map<String, String> fields) {
+        return new Booking(fields.get("bookingId"), fields.get("guestId"), fields.get("roomId"),
+                LocalDate.parse(fields.get("checkInDate")), LocalDate.parse(fields.get("checkOutDate")),
+                Double.parseDouble(fields.get("totalAmount")), fields.get("status"), fields.get("promoCode"),
+                Double.parseDouble(fields.get("discountAmount")), fields.get("notes"));
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                out.append(c);
+                continue;
+            }
+            char escaped = value.charAt(++i);
+            out.append(switch (escaped) {
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                default -> escaped;
+            });
+        }
+        return out.toString();
+    }
+}
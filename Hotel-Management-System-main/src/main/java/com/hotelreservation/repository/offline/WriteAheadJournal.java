@@ -0,0 +1,241 @@
+package com.hotelreservation.repository.offline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of the changes made while the database was unreachable.
+ * Every entry is one line carrying a CRC32 of its content, and is forced to disk before
+ * {@link #append} returns, so a change the user saw succeed survives a crash or power cut. A line
+ * left incomplete by a crash fails its check and is cut off when the journal is next opened.
+ * Replayed entries are recorded in a separate checkpoint file, replaced atomically; once every entry
+ * is replayed the journal is emptied, and sequence numbers carry on from the checkpoint.
+ */
+public final class WriteAheadJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadJournal.class);
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String CHECKPOINT_FILE = "journal.checkpoint";
+
+    private final Path checkpointFile;
+    private final FileChannel channel;
+    private final List<JournalEntry> pending = new ArrayList<>();
+    private long checkpoint;
+    private long lastSequence;
+
+    private WriteAheadJournal(Path file, Path checkpointFile) throws IOException {
+        this.checkpointFile = checkpointFile;
+        this.checkpoint = readCheckpoint();
+        this.lastSequence = checkpoint;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        recover(file);
+    }
+
+    /**
+     * Opens the journal in a directory, creating it if needed, and reads the entries not yet replayed.
+     *
+     * @param directory the directory holding the journal files
+     * @return the journal
+     * @throws IOException if the journal cannot be opened
+     */
+    public static WriteAheadJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new WriteAheadJournal(directory.resolve(JOURNAL_FILE), directory.resolve(CHECKPOINT_FILE));
+    }
+
+    /**
+     * Appends a change and forces it to disk.
+     *
+     * @param type the kind of change
+     * @param fields the data of the change
+     * @return the recorded entry
+     * @throws IOException if the change cannot be written; the journal is left as it was
+     */
+    public synchronized JournalEntry append(JournalEntry.Type type, Map<String, String> fields) throws IOException {
+        JournalEntry entry = new JournalEntry(lastSequence + 1, LocalDateTime.now(), type, fields);
+        ByteBuffer line = StandardCharsets.UTF_8.encode(format(entry) + "\n");
+        long start = channel.position();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Cut off the partial line, so entries appended later are not lost behind it on recovery
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        lastSequence = entry.sequence();
+        pending.add(entry);
+        return entry;
+    }
+
+    /**
+     * Gets the entries not yet replayed.
+     *
+     * @return the entries, oldest first
+     */
+    public synchronized List<JournalEntry> pending() {
+        return List.copyOf(pending);
+    }
+
+    /**
+     * Counts the entries not yet replayed.
+     *
+     * @return the number of pending entries
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Records that every entry up to a sequence number has been replayed, and empties the journal when
+     * nothing is left to replay.
+     *
+     * @param sequence the sequence number of the last replayed entry
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public synchronized void markApplied(long sequence) throws IOException {
+        writeCheckpoint(sequence);
+        checkpoint = sequence;
+        pending.removeIf(entry -> entry.sequence() <= sequence);
+        if (pending.isEmpty()) {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the entries after the checkpoint, and cuts the file off after the last intact line.
+     */
+    private void recover(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int validEnd = 0;
+        while (validEnd < bytes.length) {
+            int lineEnd = indexOf(bytes, (byte) '\n', validEnd);
+            if (lineEnd < 0) {
+                break;
+            }
+            JournalEntry entry = parse(new String(bytes, validEnd, lineEnd - validEnd, StandardCharsets.UTF_8));
+            if (entry == null || (entry.sequence() > checkpoint && entry.sequence() <= lastSequence)) {
+                break;
+            }
+            if (entry.sequence() > checkpoint) {
+                pending.add(entry);
+                lastSequence = entry.sequence();
+            }
+            validEnd = lineEnd + 1;
+        }
+        if (validEnd < bytes.length) {
+            logger.warn("Discarding {} bytes of damaged or incomplete records at the end of {}",
+                    bytes.length - validEnd, file);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        if (!pending.isEmpty()) {
+            logger.info("Offline journal holds {} changes waiting to be replayed", pending.size());
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        String content = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(content);
+        } catch (NumberFormatException e) {
+            // Replaying from the start is safe: every replay checks whether its change is already applied
+            logger.warn("Ignoring unreadable journal checkpoint '{}'", content);
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = StandardCharsets.UTF_8.encode(Long.toString(sequence));
+            while (content.hasRemaining()) {
+                out.write(content);
+            }
+            out.force(true);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String format(JournalEntry entry) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("seq", Long.toString(entry.sequence()));
+        fields.put("at", entry.recordedAt().toString());
+        fields.putAll(entry.fields());
+        String content = RecordCodec.encode(entry.type().name(), fields);
+        return Long.toHexString(checksum(content)) + "\t" + content;
+    }
+
+    /**
+     * Parses a journal line, or returns null if it is damaged.
+     */
+    private static JournalEntry parse(String line) {
+        int separator = line.indexOf('\t');
+        if (separator < 0) {
+            return null;
+        }
+        String content = line.substring(separator + 1);
+        try {
+            if (Long.parseLong(line.substring(0, separator), 16) != checksum(content)) {
+                return null;
+            }
+            RecordCodec.Line record = RecordCodec.decode(content);
+            Map<String, String> fields = new LinkedHashMap<>(record.fields());
+            long sequence = Long.parseLong(fields.remove("seq"));
+            LocalDateTime recordedAt = LocalDateTime.parse(fields.remove("at"));
+            return new JournalEntry(sequence, recordedAt, JournalEntry.Type.valueOf(record.kind()), fields);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
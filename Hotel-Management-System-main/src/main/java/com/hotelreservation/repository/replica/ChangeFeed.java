@@ -0,0 +1,80 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.model.Room;
+
+/**
+ * Source of the rows a {@link ReadReplica} keeps: a full load to start from, then the rows changed or
+ * deleted since a point in time. Times are taken from the source's own clock, so the replica never
+ * compares them with the local one.
+ */
+public interface ChangeFeed {
+
+    /** Table name used in a {@link Deletion} of a room. */
+    String ROOMS = "rooms";
+    /** Table name used in a {@link Deletion} of a guest. */
+    String GUESTS = "guests";
+    /** Table name used in a {@link Deletion} of a booking. */
+    String BOOKINGS = "bookings";
+    /** Table name used in a {@link Deletion} of a promo. */
+    String PROMOS = "promos";
+
+    /**
+     * Rows read from the source in one consistent snapshot.
+     *
+     * @param readAt the source's clock when the snapshot was taken; the next batch starts from here
+     * @param full whether the batch holds every row rather than only the changed ones
+     * @param rooms the rooms
+     * @param guests the guests
+     * @param bookings the bookings
+     * @param promos the promos
+     * @param deletions the rows deleted since the previous batch; always empty in a full batch
+     */
+    record ChangeBatch(Instant readAt, boolean full, List<Room> rooms, List<Guest> guests, List<Booking> bookings,
+            List<Promo> promos, List<Deletion> deletions) {
+
+        /**
+         * Counts the rows and deletions in the batch.
+         *
+         * @return the number of changes
+         */
+        public int size() {
+            return rooms.size() + guests.size() + bookings.size() + promos.size() + deletions.size();
+        }
+    }
+
+    /**
+     * A deleted row.
+     *
+     * @param table the table, one of the table name constants
+     * @param id the primary key of the row
+     * @param deletedAt the source's clock when the row was deleted
+     */
+    record Deletion(String table, String id, Instant deletedAt) {
+    }
+
+    /**
+     * Reads every room, guest and promo, and the bookings that end on or after a day.
+     *
+     * @param bookingsFrom the earliest check-out date of the bookings to read
+     * @return the full batch
+     * @throws SQLException if the rows cannot be read
+     */
+    ChangeBatch load(LocalDate bookingsFrom) throws SQLException;
+
+    /**
+     * Reads the rows changed or deleted after a point in time, whatever their dates.
+     *
+     * @param since the source's clock at the start of the window
+     * @return the changes
+     * @throws SQLException if the changes cannot be read
+     */
+    ChangeBatch changesSince(Instant since) throws SQLException;
+}
@@ -0,0 +1,374 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.BookingRepository;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.PromoRepository;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.memory.InMemoryBookingRepository;
+import com.hotelreservation.repository.memory.InMemoryGuestRepository;
+import com.hotelreservation.repository.memory.InMemoryPromoRepository;
+import com.hotelreservation.repository.memory.InMemoryRoomRepository;
+import com.hotelreservation.repository.memory.InMemoryStore;
+import com.hotelreservation.util.MetricsRegistry;
+
+/**
+ * In-process read model of rooms, guests, promos and recent bookings, kept up to date from a
+ * {@link ChangeFeed}.
+ * The replica is loaded in full once, then a background thread asks the feed every two seconds for the
+ * rows changed since the previous poll and applies them. Reads are served from an {@link InMemoryStore}
+ * without a database round trip. Bookings are kept from 30 days back onwards; booking queries reaching
+ * further back, and those spanning every booking, still go to the database. Writes go to the database
+ * first and are then applied locally, so a user always sees their own changes at once.
+ * The data is at most as old as the start of the last successful poll, which {@link #currentStatus()}
+ * reports for display. Enabled with {@code -Dhotel.replica=true}.
+ */
+public final class ReadReplica {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplica.class);
+    private static final long POLL_MILLIS = Long.getLong("hotel.replica.pollMillis", 2000);
+    private static final int BOOKING_DAYS_BACK = Integer.getInteger("hotel.replica.bookingDaysBack", 30);
+    private static final long STALE_AFTER_MILLIS =
+            TimeUnit.SECONDS.toMillis(Long.getLong("hotel.replica.staleAfterSeconds", 30));
+    // Each poll re-reads this much before the previous one, to catch rows stamped before that poll
+    // by transactions that only committed after it
+    private static final Duration OVERLAP = Duration.ofSeconds(Long.getLong("hotel.replica.overlapSeconds", 30));
+    // A replica further behind than this may have missed pruned deletions, so it reloads in full
+    private static final long RELOAD_AFTER_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static volatile ReadReplica active;
+
+    private final ChangeFeed feed;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // When each row was last written through this replica, so an older poll does not undo the write
+    private final Map<String, Long> localWrites = new ConcurrentHashMap<>();
+    private final LongAdder polls;
+    private final LongAdder failures;
+    private final LongAdder rowsApplied;
+
+    private volatile Tables tables;
+    private volatile long dataAsOf;
+
+    // Only touched by the poller thread
+    private Instant watermark;
+    private Instant loadedAt;
+    private int consecutiveFailures;
+
+    /**
+     * The state of the replica, for display.
+     *
+     * @param ready whether the first load has finished; until then reads go to the database
+     * @param dataAsOf the time up to which changes are included, or null before the first load
+     * @param stale whether the last successful poll is older than the staleness limit
+     */
+    public record Status(boolean ready, LocalDateTime dataAsOf, boolean stale) {
+    }
+
+    /**
+     * One generation of the replicated tables.
+     *
+     * @param store the store holding the rows
+     * @param rooms the rooms
+     * @param guests the guests
+     * @param bookings the bookings checking out on or after {@code bookingsFrom}
+     * @param promos the promos
+     * @param bookingsFrom the earliest check-out date of the replicated bookings
+     */
+    record Tables(InMemoryStore store, RoomRepository rooms, GuestRepository guests, BookingRepository bookings,
+            PromoRepository promos, LocalDate bookingsFrom) {
+    }
+
+    /**
+     * A call to the database's repositories.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * A read from the replicated tables.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface LocalRead<T> {
+        T read(Tables tables) throws SQLException;
+    }
+
+    /**
+     * Applies a write the database accepted to the replicated tables.
+     *
+     * @param <T> the result type of the write
+     */
+    @FunctionalInterface
+    interface LocalWrite<T> {
+        void apply(Tables tables, T result) throws SQLException;
+    }
+
+    private ReadReplica(ChangeFeed feed) {
+        this.feed = feed;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        polls = metrics.counter("hotel_replica_polls_total", "Successful read replica polls");
+        failures = metrics.counter("hotel_replica_poll_failures_total", "Failed read replica polls");
+        rowsApplied = metrics.counter("hotel_replica_rows_applied_total", "Rows and deletions applied to the replica");
+        metrics.gauge("hotel_replica_staleness_seconds", "Age of the replica's data, NaN before the first load",
+                () -> tables == null ? Double.NaN : (System.currentTimeMillis() - dataAsOf) / 1000.0);
+    }
+
+    /**
+     * Serves room, guest, promo and recent booking reads from a replica of the given repositories, and
+     * starts keeping it up to date.
+     *
+     * @param remote the database repositories
+     * @param feed the change feed of the same database
+     * @return repositories reading from the replica and writing through to the database
+     */
+    public static Repositories enable(Repositories remote, ChangeFeed feed) {
+        ReadReplica replica = new ReadReplica(feed);
+        active = replica;
+        replica.poller.scheduleWithFixedDelay(replica::poll, 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+        logger.info("Read replica enabled, polling every {} ms", POLL_MILLIS);
+        return new Repositories(new ReplicaBookingRepository(replica, remote.bookings()),
+                new ReplicaRoomRepository(replica, remote.rooms()), new ReplicaGuestRepository(replica, remote.guests()),
+                remote.staff(), remote.shifts(), new ReplicaPromoRepository(replica, remote.promos()),
+                remote.notifications(), remote.staffLogs(), remote.settings(), remote.inMemory());
+    }
+
+    /**
+     * Gets the state of the replica.
+     *
+     * @return the status, or null if the replica is not enabled
+     */
+    public static Status currentStatus() {
+        ReadReplica replica = active;
+        return replica != null ? replica.status() : null;
+    }
+
+    /**
+     * Reads from the replica once it is loaded, otherwise from the database.
+     */
+    <T> T read(SqlCall<T> remoteCall, LocalRead<T> localRead) throws SQLException {
+        Tables current = tables;
+        return current != null ? localRead.read(current) : remoteCall.call();
+    }
+
+    /**
+     * Reads bookings from the replica if it holds every booking the read can return, that is if the
+     * read only concerns bookings checking out on or after {@code from}.
+     */
+    <T> T readBookings(LocalDate from, SqlCall<T> remoteCall, LocalRead<T> localRead) throws SQLException {
+        Tables current = tables;
+        return current != null && !from.isBefore(current.bookingsFrom()) ? localRead.read(current) : remoteCall.call();
+    }
+
+    /**
+     * Writes to the database, then applies the write to the replica.
+     *
+     * @param remoteCall the write against the database
+     * @param localWrite applies the accepted write locally
+     * @param keys the rows written, as {@code table:id}
+     * @param <T> the result type
+     * @return the result of the database write
+     * @throws SQLException if the database write fails
+     */
+    <T> T write(SqlCall<T> remoteCall, LocalWrite<T> localWrite, String... keys) throws SQLException {
+        T result = remoteCall.call();
+        long writtenAt = System.currentTimeMillis();
+        for (String key : keys) {
+            localWrites.put(key, writtenAt);
+        }
+        Tables current = tables;
+        if (current != null) {
+            synchronized (current.store()) {
+                try {
+                    localWrite.apply(current, result);
+                } catch (SQLException e) {
+                    // The next poll brings the row in
+                    logger.debug("Could not apply a write to the replica: {}", e.getMessage());
+                }
+            }
+        }
+        return result;
+    }
+
+    static String key(String table, String id) {
+        return table + ":" + id;
+    }
+
+    static void putRoom(Tables tables, Room room) throws SQLException {
+        if (!tables.rooms().update(room)) {
+            tables.rooms().insert(room);
+        }
+    }
+
+    static void putGuest(Tables tables, Guest guest) throws SQLException {
+        // The copy holds no passwords, even for guests this app saved itself
+        Guest listed = new Guest(guest.getGuestId(), guest.getFirstName(), guest.getLastName(), guest.getMiddleName(),
+                null, guest.getContactNumber());
+        if (!tables.guests().update(listed)) {
+            tables.guests().insert(listed);
+        }
+    }
+
+    static void putBooking(Tables tables, Booking booking) throws SQLException {
+        if (!tables.bookings().update(booking)) {
+            tables.bookings().insert(booking);
+        }
+    }
+
+    static void putPromo(Tables tables, Promo promo) throws SQLException {
+        if (!tables.promos().update(promo)) {
+            tables.promos().insert(promo);
+        }
+    }
+
+    private void poll() {
+        long startedAt = System.currentTimeMillis();
+        LocalDate bookingsFrom = LocalDate.now().minusDays(BOOKING_DAYS_BACK);
+        try {
+            Tables current = tables;
+            // The booking window moves at midnight; dropping the bookings that left it is a reload
+            boolean reload = current == null || !bookingsFrom.equals(current.bookingsFrom())
+                    || startedAt - dataAsOf > RELOAD_AFTER_MILLIS;
+            ChangeFeed.ChangeBatch batch = null;
+            if (!reload) {
+                batch = feed.changesSince(watermark.minus(OVERLAP));
+                reload = !applyChanges(current, batch, startedAt);
+            }
+            if (reload) {
+                batch = feed.load(bookingsFrom);
+                Tables loaded = load(batch, bookingsFrom);
+                dataAsOf = startedAt;
+                tables = loaded;
+                loadedAt = batch.readAt();
+                logger.info("Read replica loaded: {} rooms, {} guests, {} bookings, {} promos",
+                        batch.rooms().size(), batch.guests().size(), batch.bookings().size(), batch.promos().size());
+            }
+            rowsApplied.add(batch.size());
+            watermark = batch.readAt();
+            dataAsOf = startedAt;
+            localWrites.values().removeIf(writtenAt -> writtenAt < startedAt);
+            polls.increment();
+            if (consecutiveFailures > 0) {
+                logger.info("Read replica caught up after {} failed polls", consecutiveFailures);
+                consecutiveFailures = 0;
+            }
+        } catch (SQLException | RuntimeException e) {
+            failures.increment();
+            if (consecutiveFailures++ == 0) {
+                logger.warn("Read replica poll failed, serving data as of {}: {}", status().dataAsOf(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applies changed and deleted rows.
+     *
+     * @return false if a change can only be applied by reloading
+     */
+    private boolean applyChanges(Tables current, ChangeFeed.ChangeBatch batch, long pollStartedAt)
+            throws SQLException {
+        synchronized (current.store()) {
+            for (ChangeFeed.Deletion deletion : batch.deletions()) {
+                if (isNewerLocally(deletion.table(), deletion.id(), pollStartedAt)) {
+                    continue;
+                }
+                switch (deletion.table()) {
+                    case ChangeFeed.GUESTS -> current.guests().delete(deletion.id());
+                    case ChangeFeed.PROMOS -> current.promos().delete(deletion.id());
+                    default -> {
+                        // Rooms and bookings have no delete of their own; the app never deletes them
+                        if (deletion.deletedAt().isAfter(loadedAt)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            for (Room room : batch.rooms()) {
+                if (!isNewerLocally(ChangeFeed.ROOMS, room.getRoomId(), pollStartedAt)) {
+                    putRoom(current, room);
+                }
+            }
+            for (Guest guest : batch.guests()) {
+                if (!isNewerLocally(ChangeFeed.GUESTS, guest.getGuestId(), pollStartedAt)) {
+                    putGuest(current, guest);
+                }
+            }
+            for (Booking booking : batch.bookings()) {
+                if (!isNewerLocally(ChangeFeed.BOOKINGS, booking.getBookingId(), pollStartedAt)) {
+                    putBooking(current, booking);
+                }
+            }
+            for (Promo promo : batch.promos()) {
+                if (!isNewerLocally(ChangeFeed.PROMOS, promo.getPromoId(), pollStartedAt)) {
+                    putPromo(current, promo);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a row was written through this replica after a poll started, in which case the
+     * poll may hold an older version.
+     */
+    private boolean isNewerLocally(String table, String id, long pollStartedAt) {
+        Long writtenAt = localWrites.get(key(table, id));
+        return writtenAt != null && writtenAt >= pollStartedAt;
+    }
+
+    private static Tables load(ChangeFeed.ChangeBatch batch, LocalDate bookingsFrom) throws SQLException {
+        InMemoryStore store = new InMemoryStore();
+        Tables loaded = new Tables(store, new InMemoryRoomRepository(store), new InMemoryGuestRepository(store),
+                new InMemoryBookingRepository(store), new InMemoryPromoRepository(store), bookingsFrom);
+        for (Room room : batch.rooms()) {
+            loaded.rooms().insert(room);
+        }
+        for (Guest guest : batch.guests()) {
+            loaded.guests().insert(guest);
+        }
+        for (Booking booking : batch.bookings()) {
+            loaded.bookings().insert(booking);
+        }
+        for (Promo promo : batch.promos()) {
+            loaded.promos().insert(promo);
+        }
+        return loaded;
+    }
+
+    private Status status() {
+        if (tables == null) {
+            return new Status(false, null, false);
+        }
+        long asOf = dataAsOf;
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(asOf), ZoneId.systemDefault());
+        return new Status(true, time, System.currentTimeMillis() - asOf > STALE_AFTER_MILLIS);
+    }
+}
@@ -0,0 +1,123 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.repository.BookingRepository;
+
+/**
+ * Bookings read from the {@link ReadReplica} where it holds every booking a query can return, and
+ * written to the database. Listings, searches and counts over every booking read the database, and so
+ * do the overlap queries that decide which rooms can be booked, since the replica may lag behind.
+ */
+class ReplicaBookingRepository implements BookingRepository {
+    private final ReadReplica replica;
+    private final BookingRepository remote;
+
+    ReplicaBookingRepository(ReadReplica replica, BookingRepository remote) {
+        this.replica = replica;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Booking> findAll() throws SQLException {
+        return remote.findAll();
+    }
+
+    @Override
+    public List<Booking> search(String searchText, String status, LocalDate date) throws SQLException {
+        return remote.search(searchText, status, date);
+    }
+
+    @Override
+    public List<Booking> findInRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return replica.readBookings(startDate, () -> remote.findInRange(startDate, endDate),
+                tables -> tables.bookings().findInRange(startDate, endDate));
+    }
+
+    @Override
+    public List<Booking> findActiveOverlapping(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return remote.findActiveOverlapping(startDate, endDate);
+    }
+
+    @Override
+    public Booking findById(String bookingId) throws SQLException {
+        // Older bookings are not replicated, so a miss is looked up in the database
+        Booking booking = replica.read(() -> null, tables -> tables.bookings().findById(bookingId));
+        return booking != null ? booking : remote.findById(bookingId);
+    }
+
+    @Override
+    public int[] countStats(LocalDate today) throws SQLException {
+        return remote.countStats(today);
+    }
+
+    @Override
+    public boolean insert(Booking booking) throws SQLException {
+        return replica.write(() -> remote.insert(booking),
+                (tables, inserted) -> ReadReplica.putBooking(tables, booking), key(booking.getBookingId()));
+    }
+
+    @Override
+    public Booking insertIfRoomFree(Booking booking) throws SQLException {
+        return replica.write(() -> remote.insertIfRoomFree(booking), (tables, clash) -> {
+            if (clash == null) {
+                ReadReplica.putBooking(tables, booking);
+            }
+        }, key(booking.getBookingId()));
+    }
+
+    @Override
+    public boolean update(Booking booking) throws SQLException {
+        return replica.write(() -> remote.update(booking), (tables, updated) -> {
+            if (updated) {
+                ReadReplica.putBooking(tables, booking);
+            }
+        }, key(booking.getBookingId()));
+    }
+
+    @Override
+    public boolean updateIfRoomFree(Booking booking) throws SQLException {
+        return replica.write(() -> remote.updateIfRoomFree(booking), (tables, updated) -> {
+            if (updated) {
+                ReadReplica.putBooking(tables, booking);
+            }
+        }, key(booking.getBookingId()));
+    }
+
+    @Override
+    public boolean updateStatus(String bookingId, String status) throws SQLException {
+        return replica.write(() -> remote.updateStatus(bookingId, status),
+                (tables, updated) -> tables.bookings().updateStatus(bookingId, status), key(bookingId));
+    }
+
+    @Override
+    public boolean updateStatusIf(String bookingId, String expected, String status) throws SQLException {
+        return replica.write(() -> remote.updateStatusIf(bookingId, expected, status), (tables, updated) -> {
+            if (updated) {
+                tables.bookings().updateStatus(bookingId, status);
+            }
+        }, key(bookingId));
+    }
+
+    @Override
+    public boolean moveRooms(List<RoomMove> moves) throws SQLException {
+        return replica.write(() -> remote.moveRooms(moves), (tables, moved) -> {
+            if (moved) {
+                for (RoomMove move : moves) {
+                    Booking booking = tables.bookings().findById(move.bookingId());
+                    if (booking != null) {
+                        booking.setRoomId(move.toRoomId());
+                        tables.bookings().update(booking);
+                    }
+                }
+            }
+        }, moves.stream().map(move -> key(move.bookingId())).toArray(String[]::new));
+    }
+
+    private static String key(String bookingId) {
+        return ReadReplica.key(ChangeFeed.BOOKINGS, bookingId);
+    }
+}
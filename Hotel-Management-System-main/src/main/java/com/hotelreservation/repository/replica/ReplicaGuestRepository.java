@@ -0,0 +1,81 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.GuestRepository;
+
+/**
+ * Guests read from the {@link ReadReplica} and written to the database.
+ */
+class ReplicaGuestRepository implements GuestRepository {
+    private final ReadReplica replica;
+    private final GuestRepository remote;
+
+    ReplicaGuestRepository(ReadReplica replica, GuestRepository remote) {
+        this.replica = replica;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Guest> findAll() throws SQLException {
+        return replica.read(remote::findAll, tables -> tables.guests().findAll());
+    }
+
+    @Override
+    public List<Guest> findAllSummaries() throws SQLException {
+        return replica.read(remote::findAllSummaries, tables -> tables.guests().findAllSummaries());
+    }
+
+    @Override
+    public Guest findById(String guestId) throws SQLException {
+        return replica.read(() -> remote.findById(guestId), tables -> tables.guests().findById(guestId));
+    }
+
+    @Override
+    public List<Guest> findPage(String filter, GuestSortField sortField, Guest after, int limit) throws SQLException {
+        return replica.read(() -> remote.findPage(filter, sortField, after, limit),
+                tables -> tables.guests().findPage(filter, sortField, after, limit));
+    }
+
+    @Override
+    public List<Guest> search(String query) throws SQLException {
+        return replica.read(() -> remote.search(query), tables -> tables.guests().search(query));
+    }
+
+    @Override
+    public boolean insert(Guest guest) throws SQLException {
+        return replica.write(() -> remote.insert(guest), (tables, inserted) -> ReadReplica.putGuest(tables, guest),
+                key(guest.getGuestId()));
+    }
+
+    @Override
+    public boolean update(Guest guest) throws SQLException {
+        return replica.write(() -> remote.update(guest), (tables, updated) -> {
+            if (updated) {
+                ReadReplica.putGuest(tables, guest);
+            }
+        }, key(guest.getGuestId()));
+    }
+
+    @Override
+    public boolean delete(String guestId) throws SQLException {
+        return replica.write(() -> remote.delete(guestId), (tables, deleted) -> tables.guests().delete(guestId),
+                key(guestId));
+    }
+
+    @Override
+    public int merge(String survivingGuestId, String duplicateGuestId) throws SQLException {
+        return replica.write(() -> remote.merge(survivingGuestId, duplicateGuestId), (tables, moved) -> {
+            if (moved >= 0) {
+                tables.guests().merge(survivingGuestId, duplicateGuestId);
+            }
+        }, key(survivingGuestId), key(duplicateGuestId));
+    }
+
+    private static String key(String guestId) {
+        return ReadReplica.key(ChangeFeed.GUESTS, guestId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.hotelreservation.model.Promo;
+import com.hotelreservation.repository.PromoRepository;
+
+/**
+ * Promos read from the {@link ReadReplica} and written to the database.
+ */
+class ReplicaPromoRepository implements PromoRepository {
+    private final ReadReplica replica;
+    private final PromoRepository remote;
+
+    ReplicaPromoRepository(ReadReplica replica, PromoRepository remote) {
+        this.replica = replica;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Promo> findAll() throws SQLException {
+        return replica.read(remote::findAll, tables -> tables.promos().findAll());
+    }
+
+    @Override
+    public Promo findValidByCode(String code) throws SQLException {
+        return replica.read(() -> remote.findValidByCode(code), tables -> tables.promos().findValidByCode(code));
+    }
+
+    @Override
+    public boolean insert(Promo promo) throws SQLException {
+        return replica.write(() -> remote.insert(promo), (tables, inserted) -> ReadReplica.putPromo(tables, promo),
+                key(promo.getPromoId()));
+    }
+
+    @Override
+    public boolean update(Promo promo) throws SQLException {
+        return replica.write(() -> remote.update(promo), (tables, updated) -> {
+            if (updated) {
+                ReadReplica.putPromo(tables, promo);
+            }
+        }, key(promo.getPromoId()));
+    }
+
+    @Override
+    public boolean setActive(String promoId, boolean active) throws SQLException {
+        return replica.write(() -> remote.setActive(promoId, active),
+                (tables, updated) -> tables.promos().setActive(promoId, active), key(promoId));
+    }
+
+    @Override
+    public boolean delete(String promoId) throws SQLException {
+        return replica.write(() -> remote.delete(promoId), (tables, deleted) -> tables.promos().delete(promoId),
+                key(promoId));
+    }
+
+    private static String key(String promoId) {
+        return ReadReplica.key(ChangeFeed.PROMOS, promoId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hotelreservation.repository.replica;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.RoomRepository;
+
+/**
+ * Rooms read from the {@link ReadReplica} and written to the database. The searches that decide which
+ * rooms can be booked read the database, since the replica may lag behind.
+ */
+class ReplicaRoomRepository implements RoomRepository {
+    private final ReadReplica replica;
+    private final RoomRepository remote;
+
+    ReplicaRoomRepository(ReadReplica replica, RoomRepository remote) {
+        this.replica = replica;
+        this.remote = remote;
+    }
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        return replica.read(remote::findAll, tables -> tables.rooms().findAll());
+    }
+
+    @Override
+    public List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        return remote.findAvailable(checkIn, checkOut);
+    }
+
+    @Override
+    public List<Room> findBookable(String roomType, int minCapacity) throws SQLException {
+        return remote.findBookable(roomType, minCapacity);
+    }
+
+    @Override
+    public Room findById(String roomId) throws SQLException {
+        return replica.read(() -> remote.findById(roomId), tables -> tables.rooms().findById(roomId));
+    }
+
+    @Override
+    public Room findByNumber(String roomNumber) throws SQLException {
+        return replica.read(() -> remote.findByNumber(roomNumber), tables -> tables.rooms().findByNumber(roomNumber));
+    }
+
+    @Override
+    public boolean insert(Room room) throws SQLException {
+        return replica.write(() -> remote.insert(room), (tables, inserted) -> ReadReplica.putRoom(tables, room),
+                key(room.getRoomId()));
+    }
+
+    @Override
+    public boolean update(Room room) throws SQLException {
+        return replica.write(() -> remote.update(room), (tables, updated) -> {
+            if (updated) {
+                ReadReplica.putRoom(tables, room);
+            }
+        }, key(room.getRoomId()));
+    }
+
+    @Override
+    public boolean updateStatus(String roomId, String status) throws SQLException {
+        return replica.write(() -> remote.updateStatus(roomId, status),
+                (tables, updated) -> tables.rooms().updateStatus(roomId, status), key(roomId));
+    }
+
+    @Override
+    public boolean updateStatusIf(String roomId, String expected, String status) throws SQLException {
+        return replica.write(() -> remote.updateStatusIf(roomId, expected, status), (tables, updated) -> {
+            if (updated) {
+                tables.rooms().updateStatus(roomId, status);
+            }
+        }, key(roomId));
+    }
+
+    private static String key(String roomId) {
+        return ReadReplica.key(ChangeFeed.ROOMS, roomId);
+    }
+}
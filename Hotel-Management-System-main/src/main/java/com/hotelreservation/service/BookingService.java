@@ -1,27 +1,79 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.model.Booking;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.model.RoomReassignment;
+import com.hotelreservation.repository.BookingRepository;
+import com.hotelreservation.repository.Repositories;
 
 /**
  * Service for managing bookings/reservations.
  */
 public class BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+    private static final List<BookingChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listener notified after a booking has been written successfully.
+     */
+    public interface BookingChangeListener {
+        /**
+         * Called after a booking was created or fully updated.
+         *
+         * @param booking The booking as written
+         */
+        void bookingSaved(Booking booking);
+
+        /**
+         * Called after only the status of a booking was updated.
+         *
+         * @param bookingId The ID of the booking
+         * @param status The new status
+         */
+        void bookingStatusChanged(String bookingId, String status);
+
+        /**
+         * Called after every booking of one guest was moved to another, when duplicate guests are merged.
+         *
+         * @param previousGuestId The ID of the guest the bookings belonged to, which no longer exists
+         * @param guestId The ID of the guest the bookings now belong to
+         */
+        void guestBookingsMoved(String previousGuestId, String guestId);
+    }
+
+    /**
+     * Registers a listener for booking changes made through any BookingService instance.
+     *
+     * @param listener The listener to add
+     */
+    public static void addChangeListener(BookingChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered booking change listener.
+     *
+     * @param listener The listener to remove
+     */
+    public static void removeChangeListener(BookingChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Tells the booking listeners that a guest merge moved bookings from one guest to another.
+     */
+    static void notifyGuestBookingsMoved(String previousGuestId, String guestId) {
+        changeListeners.forEach(listener -> listener.guestBookingsMoved(previousGuestId, guestId));
+    }
 
     /**
      * Retrieves all bookings with guest and room details.
@@ -29,61 +81,35 @@ public class BookingService {
      * @return List of bookings
      */
     public List<Booking> getAllBookings() {
-        List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT b.*, g.firstName || ' ' || g.lastName as guestName, r.roomNumber " +
-                    "FROM Bookings b " +
-                    "JOIN Guests g ON b.guestId = g.guestId " +
-                    "JOIN Rooms r ON b.roomId = r.roomId " +
-                    "ORDER BY b.checkInDate DESC";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Booking booking = createBookingFromResultSet(rs);
-                booking.setGuestName(rs.getString("guestName"));
-                booking.setRoomNumber(rs.getString("roomNumber"));
-                bookings.add(booking);
-            }
+        try {
+            return bookings().findAll();
         } catch (SQLException e) {
             logger.error("Error retrieving bookings", e);
+            return new ArrayList<>();
         }
-
-        return bookings;
     }
 
     /**
-     * Creates a new booking.
+     * Creates a new booking, unless another confirmed or checked-in booking holds its room for one of its nights.
      *
      * @param booking The booking to create
      * @return true if successful, false otherwise
      */
     public boolean createBooking(Booking booking) {
-        String sql = "INSERT INTO Bookings (bookingId, guestId, roomId, checkInDate, checkOutDate, " +
-                    "totalAmount, status, promoCode, discountAmount, notes) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        // Generate a new UUID for the booking if not provided
+        if (booking.getBookingId() == null || booking.getBookingId().isEmpty()) {
+            booking.setBookingId(UUID.randomUUID().toString());
+        }
 
-            // Generate a new UUID for the booking if not provided
-            if (booking.getBookingId() == null || booking.getBookingId().isEmpty()) {
-                booking.setBookingId(UUID.randomUUID().toString());
+        try {
+            Booking clash = bookings().insertIfRoomFree(booking);
+            if (clash != null) {
+                logger.warn("Room {} is already booked by {} for {} to {}", booking.getRoomId(),
+                        clash.getBookingId(), booking.getCheckInDate(), booking.getCheckOutDate());
+                return false;
             }
-
-            pstmt.setString(1, booking.getBookingId());
-            pstmt.setString(2, booking.getGuestId());
-            pstmt.setString(3, booking.getRoomId());
-            pstmt.setDate(4, Date.valueOf(booking.getCheckInDate()));
-            pstmt.setDate(5, Date.valueOf(booking.getCheckOutDate()));
-            pstmt.setDouble(6, booking.getTotalAmount());
-            pstmt.setString(7, booking.getStatus());
-            pstmt.setString(8, booking.getPromoCode());
-            pstmt.setDouble(9, booking.getDiscountAmount());
-            pstmt.setString(10, booking.getNotes());
-
-            return pstmt.executeUpdate() > 0;
+            changeListeners.forEach(listener -> listener.bookingSaved(booking));
+            return true;
         } catch (SQLException e) {
             logger.error("Error creating booking", e);
             return false;
@@ -91,37 +117,56 @@ public class BookingService {
     }
 
     /**
-     * Updates an existing booking.
+     * Updates an existing booking, unless another confirmed or checked-in booking holds its room for one of its
+     * nights.
      *
      * @param booking The booking to update
      * @return true if successful, false otherwise
      */
     public boolean updateBooking(Booking booking) {
-        String sql = "UPDATE Bookings SET guestId = ?, roomId = ?, checkInDate = ?, checkOutDate = ?, " +
-                    "totalAmount = ?, status = ?, promoCode = ?, discountAmount = ?, notes = ? " +
-                    "WHERE bookingId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, booking.getGuestId());
-            pstmt.setString(2, booking.getRoomId());
-            pstmt.setDate(3, Date.valueOf(booking.getCheckInDate()));
-            pstmt.setDate(4, Date.valueOf(booking.getCheckOutDate()));
-            pstmt.setDouble(5, booking.getTotalAmount());
-            pstmt.setString(6, booking.getStatus());
-            pstmt.setString(7, booking.getPromoCode());
-            pstmt.setDouble(8, booking.getDiscountAmount());
-            pstmt.setString(9, booking.getNotes());
-            pstmt.setString(10, booking.getBookingId());
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            boolean updated = bookings().updateIfRoomFree(booking);
+            if (updated) {
+                changeListeners.forEach(listener -> listener.bookingSaved(booking));
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating booking", e);
             return false;
         }
     }
 
+    /**
+     * Moves bookings to other rooms, all or none. Only the rooms change, and only while every booking is
+     * still in the room and has the status it had when the moves were planned.
+     *
+     * @param reassignments The moves; their bookings get the new room when all were applied
+     * @return true if every booking was moved, false if none was
+     */
+    public boolean moveBookings(List<RoomReassignment> reassignments) {
+        List<BookingRepository.RoomMove> moves = new ArrayList<>();
+        for (RoomReassignment reassignment : reassignments) {
+            Booking booking = reassignment.getBooking();
+            moves.add(new BookingRepository.RoomMove(booking.getBookingId(), reassignment.getFromRoom().getRoomId(),
+                    reassignment.getToRoom().getRoomId(), booking.getStatus()));
+        }
+        try {
+            if (!bookings().moveRooms(moves)) {
+                return false;
+            }
+        } catch (SQLException e) {
+            logger.error("Error moving bookings", e);
+            return false;
+        }
+        for (RoomReassignment reassignment : reassignments) {
+            Booking booking = reassignment.getBooking();
+            booking.setRoomId(reassignment.getToRoom().getRoomId());
+            booking.setRoomNumber(reassignment.getToRoom().getRoomNumber());
+            changeListeners.forEach(listener -> listener.bookingSaved(booking));
+        }
+        return true;
+    }
+
     /**
      * Updates the status of a booking.
      *
@@ -130,15 +175,12 @@ public class BookingService {
      * @return true if successful, false otherwise
      */
     public boolean updateBookingStatus(String bookingId, String status) {
-        String sql = "UPDATE Bookings SET status = ? WHERE bookingId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, status);
-            pstmt.setString(2, bookingId);
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            boolean updated = bookings().updateStatus(bookingId, status);
+            if (updated) {
+                changeListeners.forEach(listener -> listener.bookingStatusChanged(bookingId, status));
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating booking status", e);
             return false;
@@ -154,58 +196,41 @@ public class BookingService {
      * @return List of matching bookings
      */
     public List<Booking> searchBookings(String searchText, String status, LocalDate date) {
-        List<Booking> bookings = new ArrayList<>();
-        StringBuilder sql = new StringBuilder(
-            "SELECT b.*, g.firstName || ' ' || g.lastName as guestName, r.roomNumber " +
-            "FROM Bookings b " +
-            "JOIN Guests g ON b.guestId = g.guestId " +
-            "JOIN Rooms r ON b.roomId = r.roomId " +
-            "WHERE 1=1"
-        );
-
-        List<Object> params = new ArrayList<>();
-
-        if (searchText != null && !searchText.isEmpty()) {
-            sql.append(" AND (LOWER(g.firstName || ' ' || g.lastName) LIKE ? OR LOWER(b.bookingId) LIKE ?)");
-            String searchPattern = "%" + searchText.toLowerCase() + "%";
-            params.add(searchPattern);
-            params.add(searchPattern);
-        }
-
-        if (status != null && !status.isEmpty()) {
-            sql.append(" AND b.status = ?");
-            params.add(status);
-        }
-
-        if (date != null) {
-            sql.append(" AND (b.checkInDate = ? OR b.checkOutDate = ?)");
-            params.add(Date.valueOf(date));
-            params.add(Date.valueOf(date));
+        try {
+            return bookings().search(searchText, status, date);
+        } catch (SQLException e) {
+            logger.error("Error searching bookings", e);
+            return new ArrayList<>();
         }
+    }
 
-        sql.append(" ORDER BY b.checkInDate DESC");
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
-
-            // Set parameters
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
-            }
+    /**
+     * Retrieves all bookings overlapping a date range, including the stay's check-out day, and lets a
+     * database error through so a caller that caches the result can tell a failed load from an empty range.
+     *
+     * @param startDate First day of the range (inclusive)
+     * @param endDate Last day of the range (inclusive)
+     * @return List of bookings whose stay touches the range
+     * @throws SQLException if the bookings cannot be read
+     */
+    public List<Booking> findBookingsInRange(LocalDate startDate, LocalDate endDate) throws SQLException {
+        return bookings().findInRange(startDate, endDate);
+    }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Booking booking = createBookingFromResultSet(rs);
-                    booking.setGuestName(rs.getString("guestName"));
-                    booking.setRoomNumber(rs.getString("roomNumber"));
-                    bookings.add(booking);
-                }
-            }
+    /**
+     * Retrieves all bookings overlapping a date range, including the stay's check-out day.
+     *
+     * @param startDate First day of the range (inclusive)
+     * @param endDate Last day of the range (inclusive)
+     * @return List of bookings whose stay touches the range
+     */
+    public List<Booking> getBookingsInRange(LocalDate startDate, LocalDate endDate) {
+        try {
+            return findBookingsInRange(startDate, endDate);
         } catch (SQLException e) {
-            logger.error("Error searching bookings", e);
+            logger.error("Error retrieving bookings between {} and {}", startDate, endDate, e);
+            return new ArrayList<>();
         }
-
-        return bookings;
     }
 
     /**
@@ -214,40 +239,15 @@ public class BookingService {
      * @return Array containing [total bookings, active bookings, today's check-ins]
      */
     public int[] getBookingStats() {
-        int[] stats = new int[3];
-        String sql = "SELECT " +
-                    "(SELECT COUNT(*) FROM Bookings) as total, " +
-                    "(SELECT COUNT(*) FROM Bookings WHERE status IN ('CONFIRMED', 'CHECKED_IN')) as active, " +
-                    "(SELECT COUNT(*) FROM Bookings WHERE checkInDate = CURRENT_DATE) as todayCheckins";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                stats[0] = rs.getInt("total");
-                stats[1] = rs.getInt("active");
-                stats[2] = rs.getInt("todayCheckins");
-            }
+        try {
+            return bookings().countStats(LocalDate.now());
         } catch (SQLException e) {
             logger.error("Error getting booking stats", e);
+            return new int[3];
         }
-
-        return stats;
     }
 
-    private Booking createBookingFromResultSet(ResultSet rs) throws SQLException {
-        return new Booking(
-            rs.getString("bookingId"),
-            rs.getString("guestId"),
-            rs.getString("roomId"),
-            rs.getDate("checkInDate").toLocalDate(),
-            rs.getDate("checkOutDate").toLocalDate(),
-            rs.getDouble("totalAmount"),
-            rs.getString("status"),
-            rs.getString("promoCode"),
-            rs.getDouble("discountAmount"),
-            rs.getString("notes")
-        );
+    private static BookingRepository bookings() {
+        return Repositories.get().bookings();
     }
 }
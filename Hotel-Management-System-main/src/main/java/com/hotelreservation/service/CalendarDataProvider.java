@@ -0,0 +1,266 @@
+package com.hotelreservation.service;
+
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+
+/**
+ * Supplies bookings for the availability calendar.
+ * Bookings are cached per week (Monday to Sunday). A request for a date range loads all missing weeks
+ * with a single range query, then prefetches the weeks on either side in the background so paging
+ * forwards or backwards is served from memory. Booking changes made through {@link BookingService}
+ * are applied to the cached weeks instead of invalidating them; a changed booking replaces the cached one,
+ * which is never modified, since the calendar may be drawing it. Changes made elsewhere, by other
+ * terminals or by an offline replay, show up once a week expires after {@code hotel.calendar.cacheSeconds}
+ * (60 by default) or when the view is refreshed. A failed load is never cached.
+ */
+public class CalendarDataProvider implements BookingService.BookingChangeListener, GuestService.GuestChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarDataProvider.class);
+    private static final int PREFETCH_WEEKS = 1;
+    private static final int MAX_CACHED_WEEKS = 26;
+    private static final long TTL_MILLIS = Long.getLong("hotel.calendar.cacheSeconds", 60) * 1000;
+
+    private static final CalendarDataProvider instance = new CalendarDataProvider(new BookingService());
+
+    private final BookingService bookingService;
+    private final Map<LocalDate, CachedWeek> weeks = new ConcurrentHashMap<>();
+    // Bumped by every change event, so a load that started before a change does not store what it read
+    private final AtomicLong generation = new AtomicLong();
+    // Held while a change is applied and while a load checks the generation and stores its weeks
+    private final Object lock = new Object();
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "calendar-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The bookings of one week and when they were read.
+     */
+    private record CachedWeek(long loadedAt, Map<String, Booking> bookings) {
+        boolean isExpired(long now) {
+            return now - loadedAt > TTL_MILLIS;
+        }
+    }
+
+    CalendarDataProvider(BookingService bookingService) {
+        this.bookingService = bookingService;
+        BookingService.addChangeListener(this);
+        GuestService.addChangeListener(this);
+    }
+
+    /**
+     * Gets the shared provider, so every calendar view reuses the same cached weeks.
+     *
+     * @return the application-wide calendar data provider
+     */
+    public static CalendarDataProvider getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets all bookings overlapping a date range, grouped by room ID.
+     *
+     * @param startDate First day of the range (inclusive)
+     * @param endDate Last day of the range (inclusive)
+     * @return Bookings per room ID, each list ordered by check-in date
+     * @throws SQLException if the bookings of an uncached week cannot be loaded
+     */
+    public Map<String, List<Booking>> getBookingsByRoom(LocalDate startDate, LocalDate endDate) throws SQLException {
+        LocalDate firstWeek = weekOf(startDate);
+        LocalDate lastWeek = weekOf(endDate);
+        Map<LocalDate, Map<String, Booking>> loaded = loadWeeks(firstWeek, lastWeek);
+        prefetch(firstWeek.minusWeeks(PREFETCH_WEEKS), firstWeek.minusWeeks(1));
+        prefetch(lastWeek.plusWeeks(1), lastWeek.plusWeeks(PREFETCH_WEEKS));
+        evictFarFrom(firstWeek);
+
+        // A stay spanning several weeks is cached in each of them; collect it once
+        Map<String, Booking> unique = new LinkedHashMap<>();
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            // Weeks just loaded are used even if they were not cached
+            CachedWeek cached = weeks.get(week);
+            Map<String, Booking> bookingsOfWeek = loaded.containsKey(week) ? loaded.get(week)
+                    : cached != null ? cached.bookings() : null;
+            if (bookingsOfWeek != null) {
+                for (Booking booking : bookingsOfWeek.values()) {
+                    if (overlaps(booking, startDate, endDate)) {
+                        unique.putIfAbsent(booking.getBookingId(), booking);
+                    }
+                }
+            }
+        }
+
+        Map<String, List<Booking>> byRoom = new LinkedHashMap<>();
+        unique.values().stream()
+                .sorted(Comparator.comparing(Booking::getCheckInDate))
+                .forEach(booking -> byRoom.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>()).add(booking));
+        return byRoom;
+    }
+
+    /**
+     * Drops every cached week, forcing the next request to reload from the database.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            weeks.clear();
+        }
+    }
+
+    @Override
+    public void bookingSaved(Booking booking) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            // Remove the previous version first, its dates may have moved to other weeks
+            weeks.values().forEach(week -> week.bookings().remove(booking.getBookingId()));
+            LocalDate week = weekOf(booking.getCheckInDate());
+            LocalDate lastWeek = weekOf(booking.getCheckOutDate());
+            for (; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+                CachedWeek cached = weeks.get(week);
+                if (cached != null) {
+                    cached.bookings().put(booking.getBookingId(), booking);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bookingStatusChanged(String bookingId, String status) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            for (CachedWeek week : weeks.values()) {
+                week.bookings().computeIfPresent(bookingId, (id, booking) -> withStatus(booking, status));
+            }
+        }
+    }
+
+    @Override
+    public void guestBookingsMoved(String previousGuestId, String guestId) {
+        // Cached bookings of the merged guest carry its ID and name
+        invalidate();
+    }
+
+    @Override
+    public void guestSaved(Guest guest) {
+        // Cached bookings carry the guest name as it was when they were read; renames are rare
+        invalidate();
+    }
+
+    @Override
+    public void guestDeleted(String guestId) {
+        invalidate();
+    }
+
+    /**
+     * Loads the weeks of a range that are not cached or have expired.
+     *
+     * @return the weeks loaded by this call
+     */
+    private Map<LocalDate, Map<String, Booking>> loadWeeks(LocalDate firstWeek, LocalDate lastWeek) throws SQLException {
+        Map<LocalDate, Map<String, Booking>> loaded = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        LocalDate missingStart = null;
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek.plusWeeks(1)); week = week.plusWeeks(1)) {
+            CachedWeek cached = weeks.get(week);
+            boolean missing = !week.isAfter(lastWeek) && (cached == null || cached.isExpired(now));
+            if (missing && missingStart == null) {
+                missingStart = week;
+            } else if (!missing && missingStart != null) {
+                loaded.putAll(loadRange(missingStart, week.minusWeeks(1)));
+                missingStart = null;
+            }
+        }
+        return loaded;
+    }
+
+    private void prefetch(LocalDate firstWeek, LocalDate lastWeek) {
+        if (firstWeek.isAfter(lastWeek)) {
+            return;
+        }
+        prefetchExecutor.execute(() -> {
+            try {
+                loadWeeks(firstWeek, lastWeek);
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("Calendar prefetch failed for weeks {} to {}", firstWeek, lastWeek, e);
+            }
+        });
+    }
+
+    /**
+     * Loads a contiguous run of weeks with one query and splits the result into per-week buckets.
+     */
+    private Map<LocalDate, Map<String, Booking>> loadRange(LocalDate firstWeek, LocalDate lastWeek) throws SQLException {
+        LocalDate rangeEnd = lastWeek.plusDays(6);
+        long loadedAt = System.currentTimeMillis();
+        long startGeneration = generation.get();
+        List<Booking> bookings = bookingService.findBookingsInRange(firstWeek, rangeEnd);
+
+        Map<LocalDate, Map<String, Booking>> loaded = new LinkedHashMap<>();
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            loaded.put(week, new ConcurrentHashMap<>());
+        }
+        for (Booking booking : bookings) {
+            for (Map.Entry<LocalDate, Map<String, Booking>> entry : loaded.entrySet()) {
+                if (overlaps(booking, entry.getKey(), entry.getKey().plusDays(6))) {
+                    entry.getValue().put(booking.getBookingId(), booking);
+                }
+            }
+        }
+        synchronized (lock) {
+            if (generation.get() != startGeneration) {
+                // A change arrived while the query ran; what it read may predate it, so leave the weeks
+                // for the next request
+                logger.debug("Not caching bookings for weeks {} to {} loaded across a change", firstWeek, lastWeek);
+                return loaded;
+            }
+            loaded.forEach((week, bookingsOfWeek) -> weeks.put(week, new CachedWeek(loadedAt, bookingsOfWeek)));
+        }
+        logger.debug("Loaded {} bookings for weeks {} to {}", bookings.size(), firstWeek, lastWeek);
+        return loaded;
+    }
+
+    private void evictFarFrom(LocalDate anchorWeek) {
+        if (weeks.size() <= MAX_CACHED_WEEKS) {
+            return;
+        }
+        weeks.keySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (LocalDate week) -> Math.abs(ChronoUnit.WEEKS.between(anchorWeek, week))).reversed())
+                .limit(weeks.size() - MAX_CACHED_WEEKS)
+                .forEach(weeks::remove);
+    }
+
+    private static Booking withStatus(Booking booking, String status) {
+        Booking copy = new Booking(booking.getBookingId(), booking.getGuestId(), booking.getRoomId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalAmount(), status,
+                booking.getPromoCode(), booking.getDiscountAmount(), booking.getNotes());
+        copy.setGuestName(booking.getGuestName());
+        copy.setRoomNumber(booking.getRoomNumber());
+        return copy;
+    }
+
+    private static boolean overlaps(Booking booking, LocalDate startDate, LocalDate endDate) {
+        return !booking.getCheckInDate().isAfter(endDate) && !booking.getCheckOutDate().isBefore(startDate);
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,293 @@
+package com.hotelreservation.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.DuplicateGuestCandidate;
+import com.hotelreservation.model.Guest;
+
+/**
+ * Service for finding and merging duplicate guest records.
+ * Guests are first grouped into blocks that share a cheap key (Soundex of the last name plus first
+ * initial, or the trailing digits of the contact number); only pairs inside the same block are
+ * scored, which keeps the work close to linear in the number of guests. Blocks are scored in parallel.
+ * A block too large to score pair by pair, such as a very common surname, is split further by the
+ * name key and then by the start of the first name; pairs that differ in those keys are then no longer
+ * compared. Name blocks already share the name key, so they are only split by first name. Whatever is
+ * still too large after the last split is skipped and reported in the {@link DuplicateScan}.
+ */
+public class GuestDeduplicationService {
+    private static final Logger logger = LoggerFactory.getLogger(GuestDeduplicationService.class);
+    private static final int MAX_BLOCK_SIZE = 1000;
+    private static final int PHONE_KEY_DIGITS = 7;
+    private static final String NAME_BLOCK = "n:";
+    private static final String PHONE_BLOCK = "p:";
+    /** Keys that split an oversized block, applied in turn until every part is small enough. */
+    private static final List<Function<Guest, String>> BLOCK_REFINEMENTS = List.of(
+            GuestDeduplicationService::nameKey,
+            guest -> prefix(GuestSearchIndex.normalizeName(guest.getFirstName()), 3));
+
+    /**
+     * Result of a duplicate search.
+     *
+     * @param candidates candidate pairs, most similar first
+     * @param skippedBlocks blocks that were still too large to score after splitting, by block key with
+     *        their number of guests; pairs inside them were not compared
+     */
+    public record DuplicateScan(List<DuplicateGuestCandidate> candidates, Map<String, Integer> skippedBlocks) {
+    }
+
+    private final GuestService guestService;
+
+    public GuestDeduplicationService() {
+        this(new GuestService());
+    }
+
+    public GuestDeduplicationService(GuestService guestService) {
+        this.guestService = guestService;
+    }
+
+    /**
+     * Finds pairs of guests that are likely duplicates.
+     *
+     * @param threshold Minimum similarity (0 to 1) for a pair to be reported, e.g. 0.9
+     * @return Candidate pairs, most similar first, and the blocks that could not be scored
+     */
+    public DuplicateScan findDuplicates(double threshold) {
+        List<Guest> guests;
+        try {
+            guests = guestService.getAllGuestSummaries();
+        } catch (SQLException e) {
+            logger.error("Error retrieving guests for duplicate detection", e);
+            return new DuplicateScan(new ArrayList<>(), Map.of());
+        }
+
+        Map<String, List<Guest>> keyed = new HashMap<>();
+        for (Guest guest : guests) {
+            for (String key : blockingKeys(guest)) {
+                keyed.computeIfAbsent(key, k -> new ArrayList<>()).add(guest);
+            }
+        }
+        Map<String, List<Guest>> blocks = new HashMap<>();
+        Map<String, Integer> skipped = new TreeMap<>();
+        // A name block is keyed by the first refinement already
+        keyed.forEach((key, block) -> split(key, block, key.startsWith(NAME_BLOCK) ? 1 : 0, blocks, skipped));
+        if (!skipped.isEmpty()) {
+            logger.warn("Skipped {} duplicate blocks still over {} guests after splitting: {}",
+                    skipped.size(), MAX_BLOCK_SIZE, skipped);
+        }
+
+        // A pair can share more than one block; keep it once
+        Map<String, DuplicateGuestCandidate> candidates = new ConcurrentHashMap<>();
+        blocks.entrySet().parallelStream()
+                .forEach(entry -> {
+                    List<Guest> block = entry.getValue();
+                    for (int i = 0; i < block.size(); i++) {
+                        for (int j = i + 1; j < block.size(); j++) {
+                            Guest a = block.get(i);
+                            Guest b = block.get(j);
+                            double score = similarity(a, b);
+                            if (score >= threshold) {
+                                String pairKey = a.getGuestId().compareTo(b.getGuestId()) < 0
+                                        ? a.getGuestId() + "|" + b.getGuestId()
+                                        : b.getGuestId() + "|" + a.getGuestId();
+                                candidates.putIfAbsent(pairKey, new DuplicateGuestCandidate(a, b, score));
+                            }
+                        }
+                    }
+                });
+
+        logger.info("Found {} duplicate guest candidates among {} guests in {} blocks",
+                candidates.size(), guests.size(), blocks.size());
+        List<DuplicateGuestCandidate> sorted = candidates.values().stream()
+                .sorted(Comparator.comparingDouble(DuplicateGuestCandidate::getScore).reversed())
+                .collect(Collectors.toList());
+        return new DuplicateScan(sorted, skipped);
+    }
+
+    /**
+     * Adds a block with at least two guests to the blocks to score, first splitting it by the next
+     * refinement key while it is larger than {@link #MAX_BLOCK_SIZE}. A part still too large once the
+     * refinements run out goes to the skipped blocks instead.
+     */
+    private static void split(String key, List<Guest> block, int depth, Map<String, List<Guest>> blocks,
+            Map<String, Integer> skipped) {
+        if (block.size() < 2) {
+            return;
+        }
+        if (block.size() <= MAX_BLOCK_SIZE) {
+            blocks.put(key, block);
+            return;
+        }
+        if (depth == BLOCK_REFINEMENTS.size()) {
+            skipped.put(key, block.size());
+            return;
+        }
+        Function<Guest, String> refinement = BLOCK_REFINEMENTS.get(depth);
+        Map<String, List<Guest>> parts = new HashMap<>();
+        for (Guest guest : block) {
+            parts.computeIfAbsent(refinement.apply(guest), k -> new ArrayList<>()).add(guest);
+        }
+        parts.forEach((part, guests) -> split(key + "/" + part, guests, depth + 1, blocks, skipped));
+    }
+
+    private static String prefix(String value, int length) {
+        return value.substring(0, Math.min(length, value.length()));
+    }
+
+    /**
+     * Merges a duplicate guest into the surviving record; see {@link GuestService#mergeGuests}.
+     *
+     * @param survivingGuestId The guest to keep
+     * @param duplicateGuestId The guest to remove
+     * @return true if the merge was committed, false otherwise
+     */
+    public boolean merge(String survivingGuestId, String duplicateGuestId) {
+        return guestService.mergeGuests(survivingGuestId, duplicateGuestId);
+    }
+
+    /**
+     * Scores two guests between 0 and 1 from name similarity, adjusted by whether contact numbers agree.
+     */
+    static double similarity(Guest a, Guest b) {
+        String firstA = GuestSearchIndex.normalizeName(a.getFirstName());
+        String lastA = GuestSearchIndex.normalizeName(a.getLastName());
+        String firstB = GuestSearchIndex.normalizeName(b.getFirstName());
+        String lastB = GuestSearchIndex.normalizeName(b.getLastName());
+
+        double straight = (jaroWinkler(firstA, firstB) + jaroWinkler(lastA, lastB)) / 2;
+        // Catch first and last name entered the wrong way round
+        double swapped = (jaroWinkler(firstA, lastB) + jaroWinkler(lastA, firstB)) / 2;
+        double score = Math.max(straight, swapped);
+
+        String phoneA = digits(a.getContactNumber());
+        String phoneB = digits(b.getContactNumber());
+        if (phoneA.length() >= PHONE_KEY_DIGITS && phoneB.length() >= PHONE_KEY_DIGITS) {
+            // Compare trailing digits so country and area prefixes do not matter
+            boolean samePhone = phoneA.endsWith(phoneB.substring(phoneB.length() - PHONE_KEY_DIGITS))
+                    && phoneB.endsWith(phoneA.substring(phoneA.length() - PHONE_KEY_DIGITS));
+            score += samePhone ? 0.15 : -0.1;
+        }
+        return Math.max(0, Math.min(1, score));
+    }
+
+    private static List<String> blockingKeys(Guest guest) {
+        List<String> keys = new ArrayList<>(2);
+        String name = nameKey(guest);
+        if (!name.isEmpty()) {
+            keys.add(NAME_BLOCK + name);
+        }
+        String phone = digits(guest.getContactNumber());
+        if (phone.length() >= PHONE_KEY_DIGITS) {
+            keys.add(PHONE_BLOCK + phone.substring(phone.length() - PHONE_KEY_DIGITS));
+        }
+        return keys;
+    }
+
+    /**
+     * Soundex of the last name plus the first initial, or empty for a guest without a last name.
+     */
+    private static String nameKey(Guest guest) {
+        String last = GuestSearchIndex.normalizeName(guest.getLastName());
+        if (last.isEmpty()) {
+            return "";
+        }
+        return soundex(last) + prefix(GuestSearchIndex.normalizeName(guest.getFirstName()), 1);
+    }
+
+    private static String digits(String value) {
+        return value == null ? "" : value.replaceAll("\\D+", "");
+    }
+
+    /**
+     * American Soundex code of a lower-case name, e.g. "robert" and "rupert" both give R163.
+     */
+    static String soundex(String name) {
+        String codes = "01230120022455012623010202";
+        StringBuilder result = new StringBuilder(4);
+        char previous = 0;
+        for (int i = 0; i < name.length() && result.length() < 4; i++) {
+            char c = name.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char code = codes.charAt(c - 'a');
+            if (result.length() == 0) {
+                result.append(Character.toUpperCase(c));
+            } else if (code != '0' && code != previous) {
+                result.append(code);
+            }
+            // h and w do not separate letters with the same code, vowels do
+            if (c != 'h' && c != 'w') {
+                previous = code;
+            }
+        }
+        while (result.length() > 0 && result.length() < 4) {
+            result.append('0');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Jaro-Winkler similarity between 0 (nothing in common) and 1 (identical).
+     */
+    static double jaroWinkler(String s1, String s2) {
+        if (s1.isEmpty() && s2.isEmpty()) {
+            return 1;
+        }
+        if (s1.isEmpty() || s2.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(s1.length(), s2.length()) / 2 - 1);
+        boolean[] matched1 = new boolean[s1.length()];
+        boolean[] matched2 = new boolean[s2.length()];
+        int matches = 0;
+        for (int i = 0; i < s1.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(s2.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matched2[j] && s1.charAt(i) == s2.charAt(j)) {
+                    matched1[i] = true;
+                    matched2[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < s1.length(); i++) {
+            if (matched1[i]) {
+                while (!matched2[j]) {
+                    j++;
+                }
+                if (s1.charAt(i) != s2.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+
+        double m = matches;
+        double jaro = (m / s1.length() + m / s2.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(s1.length(), s2.length())) && s1.charAt(prefix) == s2.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
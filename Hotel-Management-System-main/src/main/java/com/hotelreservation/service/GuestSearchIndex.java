@@ -0,0 +1,245 @@
+package com.hotelreservation.service;
+
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Guest;
+
+/**
+ * Shared in-memory prefix index over guest names and contact numbers, used by type-ahead pickers.
+ * Each guest contributes sorted keys ("first last", "last first" and contact digits)
+ * to a skip list, so a prefix lookup is a range scan over the keys sharing the prefix. The index is
+ * loaded once from a password-free projection and then kept current through
+ * {@link GuestService.GuestChangeListener} events. Events arriving while the load runs are applied at
+ * once, and the loaded rows of the guests they name are then skipped, since those rows may be older.
+ */
+public class GuestSearchIndex implements GuestService.GuestChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(GuestSearchIndex.class);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final char NAME_KEY = 'n';
+    private static final char PHONE_KEY = 'p';
+    private static final char SEPARATOR = '\u0000';
+
+    private static final GuestSearchIndex instance = new GuestSearchIndex(new GuestService());
+
+    /**
+     * A search hit carrying just enough to render a suggestion.
+     */
+    public static class Match {
+        private final String guestId;
+        private final String displayName;
+        private final String contactNumber;
+
+        Match(String guestId, String displayName, String contactNumber) {
+            this.guestId = guestId;
+            this.displayName = displayName;
+            this.contactNumber = contactNumber;
+        }
+
+        public String getGuestId() {
+            return guestId;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public String getContactNumber() {
+            return contactNumber;
+        }
+
+        @Override
+        public String toString() {
+            return contactNumber == null || contactNumber.isEmpty()
+                    ? displayName : displayName + " (" + contactNumber + ")";
+        }
+    }
+
+    private final GuestService guestService;
+    private final ConcurrentSkipListMap<String, String> keys = new ConcurrentSkipListMap<>();
+    private final Map<String, Match> guests = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile CompletableFuture<Void> loaded;
+    // Guests saved or deleted since the running load started; null while no load runs
+    private Set<String> changedDuringLoad;
+
+    GuestSearchIndex(GuestService guestService) {
+        this.guestService = guestService;
+        GuestService.addChangeListener(this);
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the application-wide guest search index
+     */
+    public static GuestSearchIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts loading the index in the background if it has not been loaded yet, or if the last load failed.
+     *
+     * @return a future completing once the index is ready, or exceptionally if the guests cannot be read
+     */
+    public synchronized CompletableFuture<Void> ensureLoaded() {
+        if (loaded == null || loaded.isCompletedExceptionally()) {
+            loaded = CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                List<Guest> all;
+                synchronized (lock) {
+                    changedDuringLoad = new HashSet<>();
+                }
+                try {
+                    all = guestService.getAllGuestSummaries();
+                    for (Guest guest : all) {
+                        synchronized (lock) {
+                            if (!changedDuringLoad.contains(guest.getGuestId())) {
+                                index(guest);
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    logger.error("Could not load the guest search index; it is retried on next use", e);
+                    throw new CompletionException(e);
+                } finally {
+                    synchronized (lock) {
+                        changedDuringLoad = null;
+                    }
+                }
+                logger.info("Indexed {} guests in {} ms", all.size(), (System.nanoTime() - start) / 1_000_000);
+            });
+        }
+        return loaded;
+    }
+
+    /**
+     * Checks whether the initial load has finished.
+     *
+     * @return true if searches see every guest
+     */
+    public boolean isReady() {
+        CompletableFuture<Void> current = loaded;
+        return current != null && current.isDone() && !current.isCompletedExceptionally();
+    }
+
+    /**
+     * Finds guests whose name or contact number starts with the query.
+     * Queries made only of digits and phone punctuation match contact numbers; anything else
+     * matches names, ignoring case and accents.
+     *
+     * @param query The text typed so far
+     * @param limit Maximum number of guests to return
+     * @return Up to {@code limit} distinct guests in key order
+     */
+    public List<Match> search(String query, int limit) {
+        List<Match> results = new ArrayList<>();
+        if (query == null || query.isBlank()) {
+            return results;
+        }
+        String digits = NON_DIGITS.matcher(query).replaceAll("");
+        boolean phoneQuery = !digits.isEmpty() && query.matches("[\\d\\s()+\\-.]+");
+        String prefix = phoneQuery ? PHONE_KEY + digits : NAME_KEY + normalizeName(query);
+
+        ConcurrentNavigableMap<String, String> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Set<String> seen = new LinkedHashSet<>();
+        for (String guestId : range.values()) {
+            if (seen.add(guestId)) {
+                Match match = guests.get(guestId);
+                if (match != null) {
+                    results.add(match);
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void guestSaved(Guest guest) {
+        synchronized (lock) {
+            markChanged(guest.getGuestId());
+            index(guest);
+        }
+    }
+
+    @Override
+    public void guestDeleted(String guestId) {
+        synchronized (lock) {
+            markChanged(guestId);
+            removeKeys(guestId, guests.remove(guestId));
+        }
+    }
+
+    private void markChanged(String guestId) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(guestId);
+        }
+    }
+
+    /**
+     * Indexes a guest under its current keys, dropping the keys of the version indexed before.
+     */
+    private void index(Guest guest) {
+        String displayName = (nullToEmpty(guest.getFirstName()) + " " + nullToEmpty(guest.getLastName())).trim();
+        Match match = new Match(guest.getGuestId(), displayName, guest.getContactNumber());
+        removeKeys(guest.getGuestId(), guests.put(guest.getGuestId(), match));
+        for (String key : keysFor(match)) {
+            keys.put(key + SEPARATOR + guest.getGuestId(), guest.getGuestId());
+        }
+    }
+
+    private void removeKeys(String guestId, Match previous) {
+        if (previous != null) {
+            for (String key : keysFor(previous)) {
+                keys.remove(key + SEPARATOR + guestId);
+            }
+        }
+    }
+
+    private static List<String> keysFor(Match match) {
+        List<String> result = new ArrayList<>();
+        String fullName = normalizeName(match.getDisplayName());
+        if (!fullName.isEmpty()) {
+            result.add(NAME_KEY + fullName);
+            int space = fullName.lastIndexOf(' ');
+            if (space > 0) {
+                String first = fullName.substring(0, space);
+                String last = fullName.substring(space + 1);
+                result.add(NAME_KEY + last + " " + first);
+            }
+        }
+        String digits = NON_DIGITS.matcher(nullToEmpty(match.getContactNumber())).replaceAll("");
+        if (!digits.isEmpty()) {
+            result.add(PHONE_KEY + digits);
+        }
+        return result;
+    }
+
+    static String normalizeName(String name) {
+        String decomposed = Normalizer.normalize(nullToEmpty(name), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase().trim().replaceAll("\\s+", " ");
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
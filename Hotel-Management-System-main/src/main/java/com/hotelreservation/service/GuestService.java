@@ -1,25 +1,62 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.model.Guest;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.Repositories;
 
 /**
  * Service for managing guest operations.
  */
 public class GuestService {
     private static final Logger logger = LoggerFactory.getLogger(GuestService.class);
+    private static final List<GuestChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listener notified after a guest has been written successfully.
+     */
+    public interface GuestChangeListener {
+        /**
+         * Called after a guest was added or updated.
+         *
+         * @param guest The guest as written
+         */
+        void guestSaved(Guest guest);
+
+        /**
+         * Called after a guest was deleted.
+         *
+         * @param guestId The ID of the deleted guest
+         */
+        void guestDeleted(String guestId);
+    }
+
+    /**
+     * Registers a listener for guest changes made through any GuestService instance.
+     *
+     * @param listener The listener to add
+     */
+    public static void addChangeListener(GuestChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered guest change listener.
+     *
+     * @param listener The listener to remove
+     */
+    public static void removeChangeListener(GuestChangeListener listener) {
+        changeListeners.remove(listener);
+    }
 
     /**
      * Retrieves all guests from the database.
@@ -27,29 +64,55 @@ public class GuestService {
      * @return List of guests.
      */
     public List<Guest> getAllGuests() {
-        List<Guest> guests = new ArrayList<>();
-        String sql = "SELECT * FROM Guests";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Guest guest = new Guest(
-                        rs.getString("guestId"),
-                        rs.getString("firstName"),
-                        rs.getString("lastName"),
-                        rs.getString("middleName"),
-                        rs.getString("password"),
-                        rs.getString("contactNumber")
-                );
-                guests.add(guest);
-            }
+        try {
+            return guests().findAll();
         } catch (SQLException e) {
             logger.error("Error retrieving guests", e);
+            return new ArrayList<>();
         }
+    }
 
-        return guests;
+    /**
+     * Retrieves every guest without the password column, for building in-memory lookups.
+     *
+     * @return List of guests with a null password
+     * @throws SQLException if the guests cannot be read, so a lookup is never built from an empty list by mistake
+     */
+    public List<Guest> getAllGuestSummaries() throws SQLException {
+        return guests().findAllSummaries();
+    }
+
+    /**
+     * Retrieves a guest by their ID.
+     *
+     * @param guestId The ID of the guest.
+     * @return The guest if found, null otherwise.
+     */
+    public Guest getGuestById(String guestId) {
+        try {
+            return guests().findById(guestId);
+        } catch (SQLException e) {
+            logger.error("Error retrieving guest by ID", e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves one page of the guest directory, filtered and sorted by the repository.
+     * Pages are addressed by keyset: pass the last guest of the previous page to get the next one,
+     * so fetching a page costs the same no matter how deep into the list it is. Passwords are never
+     * selected; the returned guests have a null password.
+     *
+     * @param filter Case-insensitive prefix matched against names, contact number and guest ID; null or empty for all
+     * @param sortField Column to sort by
+     * @param after Last guest of the previous page, or null for the first page
+     * @param limit Maximum number of guests to return
+     * @return The next page of guests
+     * @throws SQLException if the page cannot be read; an empty page always means the end of the list
+     */
+    public List<Guest> getGuestPage(String filter, GuestSortField sortField, Guest after, int limit)
+            throws SQLException {
+        return guests().findPage(filter, sortField, after, limit);
     }
 
     /**
@@ -59,24 +122,17 @@ public class GuestService {
      * @return true if successful, false otherwise
      */
     public boolean addGuest(Guest guest) {
-        String sql = "INSERT INTO Guests (guestId, firstName, lastName, middleName, password, contactNumber) VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        // Generate a new UUID for the guest if not provided
+        if (guest.getGuestId() == null || guest.getGuestId().isEmpty()) {
+            guest.setGuestId(UUID.randomUUID().toString());
+        }
 
-            // Generate a new UUID for the guest if not provided
-            if (guest.getGuestId() == null || guest.getGuestId().isEmpty()) {
-                guest.setGuestId(UUID.randomUUID().toString());
+        try {
+            boolean added = guests().insert(guest);
+            if (added) {
+                changeListeners.forEach(listener -> listener.guestSaved(guest));
             }
-
-            pstmt.setString(1, guest.getGuestId());
-            pstmt.setString(2, guest.getFirstName());
-            pstmt.setString(3, guest.getLastName());
-            pstmt.setString(4, guest.getMiddleName());
-            pstmt.setString(5, guest.getPassword());
-            pstmt.setString(6, guest.getContactNumber());
-
-            return pstmt.executeUpdate() > 0;
+            return added;
         } catch (SQLException e) {
             logger.error("Error adding guest", e);
             return false;
@@ -90,18 +146,12 @@ public class GuestService {
      * @return true if successful, false otherwise.
      */
     public boolean updateGuest(Guest guest) {
-        String sql = "UPDATE Guests SET firstName = ?, lastName = ?, middleName = ?, contactNumber = ? WHERE guestId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, guest.getFirstName());
-            pstmt.setString(2, guest.getLastName());
-            pstmt.setString(3, guest.getMiddleName());
-            pstmt.setString(4, guest.getContactNumber());
-            pstmt.setString(5, guest.getGuestId());
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            boolean updated = guests().update(guest);
+            if (updated) {
+                changeListeners.forEach(listener -> listener.guestSaved(guest));
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating guest", e);
             return false;
@@ -115,19 +165,53 @@ public class GuestService {
      * @return true if successful, false otherwise.
      */
     public boolean deleteGuest(String guestId) {
-        String sql = "DELETE FROM Guests WHERE guestId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, guestId);
-            return pstmt.executeUpdate() > 0;
+        try {
+            boolean deleted = guests().delete(guestId);
+            if (deleted) {
+                changeListeners.forEach(listener -> listener.guestDeleted(guestId));
+            }
+            return deleted;
         } catch (SQLException e) {
             logger.error("Error deleting guest", e);
             return false;
         }
     }
 
+    /**
+     * Merges a duplicate guest into a surviving guest atomically.
+     * Every booking of the duplicate is re-pointed to the survivor, contact details missing on the
+     * survivor are copied over, and the duplicate is deleted. Guest listeners see the duplicate deleted
+     * and the survivor saved; booking listeners are told the bookings changed guest.
+     *
+     * @param survivingGuestId The ID of the guest to keep
+     * @param duplicateGuestId The ID of the guest to merge away
+     * @return true if the merge was committed, false otherwise
+     */
+    public boolean mergeGuests(String survivingGuestId, String duplicateGuestId) {
+        if (survivingGuestId.equals(duplicateGuestId)) {
+            return false;
+        }
+        try {
+            int movedBookings = guests().merge(survivingGuestId, duplicateGuestId);
+            if (movedBookings < 0) {
+                // One of the two guests does not exist
+                return false;
+            }
+            logger.info("Merged guest {} into {}, moved {} bookings", duplicateGuestId, survivingGuestId, movedBookings);
+        } catch (SQLException e) {
+            logger.error("Error merging guest {} into {}", duplicateGuestId, survivingGuestId, e);
+            return false;
+        }
+
+        changeListeners.forEach(listener -> listener.guestDeleted(duplicateGuestId));
+        Guest survivor = getGuestById(survivingGuestId);
+        if (survivor != null) {
+            changeListeners.forEach(listener -> listener.guestSaved(survivor));
+        }
+        BookingService.notifyGuestBookingsMoved(duplicateGuestId, survivingGuestId);
+        return true;
+    }
+
     /**
      * Searches for guests by a query (e.g., name or contact).
      *
@@ -135,34 +219,15 @@ public class GuestService {
      * @return List of guests matching the query.
      */
     public List<Guest> searchGuests(String query) {
-        List<Guest> guests = new ArrayList<>();
-        String sql = "SELECT * FROM Guests WHERE firstName LIKE ? OR lastName LIKE ? OR contactNumber LIKE ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            String searchPattern = "%" + query + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            pstmt.setString(3, searchPattern);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Guest guest = new Guest(
-                            rs.getString("guestId"),
-                            rs.getString("firstName"),
-                            rs.getString("lastName"),
-                            rs.getString("middleName"),
-                            rs.getString("password"),
-                            rs.getString("contactNumber")
-                    );
-                    guests.add(guest);
-                }
-            }
+        try {
+            return guests().search(query);
         } catch (SQLException e) {
             logger.error("Error searching guests", e);
+            return new ArrayList<>();
         }
+    }
 
-        return guests;
+    private static GuestRepository guests() {
+        return Repositories.get().guests();
     }
 }
@@ -1,73 +1,196 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.model.Staff;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.StaffRepository;
+import com.hotelreservation.util.LatencyHistogram;
+import com.hotelreservation.util.MetricsRegistry;
+import com.hotelreservation.util.PasswordHasher;
 
 /**
  * Service class for handling user login and password management.
+ * Passwords are stored as PBKDF2 hashes (see {@link PasswordHasher}); legacy plaintext passwords
+ * are accepted once and replaced by a hash on the next successful login.
  */
 public class LoginService {
     private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
 
+    // Hashing is deliberately slow, so it runs on a small bounded pool that a burst of logins cannot grow
+    private static final int AUTH_THREADS = 2;
+    private static final int AUTH_QUEUE_SIZE = 16;
+    private static final ThreadPoolExecutor authExecutor = createAuthExecutor();
+    // Checked when the staff ID is unknown, so that answer takes as long as a wrong password
+    private static final String UNKNOWN_STAFF_HASH = PasswordHasher.hash(UUID.randomUUID().toString());
+
+    private final LoginThrottle throttle = LoginThrottle.getInstance();
+
+    private static final LongAdder loginCount = new LongAdder();
+    private static final LongAdder loginNanos = new LongAdder();
+    private static final LongAccumulator maxLoginNanos = new LongAccumulator(Math::max, 0);
+    private static final LatencyHistogram loginTimer = MetricsRegistry.getInstance().timer("hotel_login_seconds",
+            "Time to check a login, including time queued for the authentication pool", "path", "password");
+
+    static {
+        MetricsRegistry.getInstance().gauge("hotel_login_max_seconds", "Slowest login check since startup",
+                () -> getMaxLoginMillis() / 1000.0);
+        MetricsRegistry.getInstance().gauge("hotel_login_pool_queued", "Logins waiting for an authentication thread",
+                () -> authExecutor.getQueue().size());
+    }
+
     /**
      * Verifies the login credentials of a user (by staffId).
      *
      * @param staffId The staff ID of the user.
      * @param password The password of the user.
      * @return true if the credentials are correct, false otherwise.
+     * @throws SQLException if the credentials cannot be read; the attempt then does not count as a failure
      */
-    public boolean verifyLogin(String staffId, String password) {
-        String sql = "SELECT * FROM Staffs WHERE staffId = ? AND password = ?";
+    public boolean verifyLogin(String staffId, String password) throws SQLException {
+        LoginThrottle.Decision decision = throttle.tryAcquire(staffId);
+        if (decision != LoginThrottle.Decision.ALLOWED) {
+            logger.warn("Login for {} rejected by throttle: {}", staffId, decision);
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            return checkCredentials(staffId, password) != null;
+        } finally {
+            recordLoginLatency(start);
+        }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Verifies credentials on the bounded authentication pool, keeping the hash work off the caller's thread.
+     * Attempts rejected by the {@link LoginThrottle} fail with a {@link LoginThrottle.ThrottledException}
+     * without touching the database or the pool. If the pool is saturated the returned future fails with a
+     * {@link java.util.concurrent.RejectedExecutionException}, and if the credentials cannot be read it
+     * fails with the {@link SQLException}.
+     *
+     * @param staffId The staff ID of the user.
+     * @param password The password of the user.
+     * @return A future with the authenticated staff member, or null if the credentials are wrong.
+     */
+    public CompletableFuture<Staff> authenticateAsync(String staffId, String password) {
+        LoginThrottle.Decision decision = throttle.tryAcquire(staffId);
+        if (decision != LoginThrottle.Decision.ALLOWED) {
+            logger.warn("Login for {} rejected by throttle: {}", staffId, decision);
+            return CompletableFuture.failedFuture(throttle.rejection(staffId, decision));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Staff> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return checkCredentials(staffId, password);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, authExecutor);
+        } catch (RuntimeException e) {
+            logger.warn("Login for {} rejected, authentication pool is busy", staffId);
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((staff, error) -> recordLoginLatency(start));
+    }
 
-            pstmt.setString(1, staffId);
-            pstmt.setString(2, password);
+    /**
+     * Verifies the credentials and returns the staff member without the password hash.
+     * A stored password using an outdated scheme is rehashed after a successful check.
+     *
+     * @param staffId The staff ID of the user.
+     * @param password The password of the user.
+     * @return The authenticated staff member, or null if the credentials are wrong or the attempt was throttled.
+     * @throws SQLException if the credentials cannot be read; the attempt then does not count as a failure
+     */
+    public Staff authenticate(String staffId, String password) throws SQLException {
+        LoginThrottle.Decision decision = throttle.tryAcquire(staffId);
+        if (decision != LoginThrottle.Decision.ALLOWED) {
+            logger.warn("Login for {} rejected by throttle: {}", staffId, decision);
+            return null;
+        }
+        return checkCredentials(staffId, password);
+    }
 
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next();
+    /**
+     * Checks the credentials against the stored hash and reports the outcome to the throttle. A database
+     * error says nothing about the password, so it is passed on without counting towards a lockout.
+     */
+    private Staff checkCredentials(String staffId, String password) throws SQLException {
+        StaffRepository.Credentials credentials;
+        try {
+            credentials = staff().findCredentials(staffId);
         } catch (SQLException e) {
             logger.error("Error verifying login", e);
-            return false;
+            throw e;
+        }
+        Staff staff = verifiedStaff(staffId, password, credentials);
+        if (staff != null) {
+            throttle.recordSuccess(staffId);
+        } else {
+            throttle.recordFailure(staffId, credentials != null);
+        }
+        return staff;
+    }
+
+    /**
+     * Checks a password against the stored credentials, which are null for an unknown staff ID.
+     */
+    private Staff verifiedStaff(String staffId, String password, StaffRepository.Credentials credentials) {
+        // The stored hash stays inside this class; only the profile is handed out
+        if (credentials == null) {
+            PasswordHasher.verify(password, UNKNOWN_STAFF_HASH);
+            return null;
+        }
+        if (!PasswordHasher.verify(password, credentials.passwordHash())) {
+            return null;
+        }
+        if (PasswordHasher.needsRehash(credentials.passwordHash())) {
+            rehash(staffId, password);
+        }
+        return credentials.staff();
+    }
+
+    /**
+     * Hashes a new password on the bounded authentication pool, keeping the hash work off the caller's thread.
+     * If the pool is saturated the returned future fails with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param password The plaintext password.
+     * @return A future with the encoded hash.
+     */
+    static CompletableFuture<String> hashAsync(String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> PasswordHasher.hash(password), authExecutor);
+        } catch (RuntimeException e) {
+            logger.warn("Password hashing rejected, authentication pool is busy");
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
-     * Retrieves a staff member by their ID.
+     * Retrieves a staff member by their ID. The returned object never carries the password hash.
      *
      * @param staffId The ID of the staff member to retrieve.
      * @return The Staff object if found, null otherwise.
      * @throws SQLException if a database error occurs
      */
     public Staff getStaffById(String staffId) throws SQLException {
-        String sql = "SELECT * FROM Staffs WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staffId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return new Staff(
-                    rs.getString("staffId"),
-                    rs.getString("firstName"),
-                    rs.getString("lastName"),
-                    rs.getString("middleName"),
-                    rs.getString("password"),
-                    rs.getString("position")
-                );
-            }
-            return null;
+        try {
+            return staff().findById(staffId);
         } catch (SQLException e) {
             logger.error("Error retrieving staff member", e);
             throw e;
@@ -82,15 +205,8 @@ public class LoginService {
      * @return true if the password was updated successfully, false otherwise.
      */
     public boolean changePassword(String staffId, String newPassword) {
-        String sql = "UPDATE Staff SET password = ? WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, newPassword);
-            pstmt.setString(2, staffId);
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            return staff().updatePassword(staffId, PasswordHasher.hash(newPassword));
         } catch (SQLException e) {
             logger.error("Error changing password", e);
             return false;
@@ -107,4 +223,67 @@ public class LoginService {
     public boolean resetPassword(String staffId, String newPassword) {
         return changePassword(staffId, newPassword);
     }
+
+    /**
+     * Gets the number of logins checked since startup.
+     *
+     * @return the login count
+     */
+    public static long getLoginCount() {
+        return loginCount.sum();
+    }
+
+    /**
+     * Gets the mean login latency, including time spent queued for the authentication pool.
+     *
+     * @return the average latency in milliseconds, or 0 if no login has been checked
+     */
+    public static double getAverageLoginMillis() {
+        long count = loginCount.sum();
+        return count == 0 ? 0 : loginNanos.sum() / 1_000_000.0 / count;
+    }
+
+    /**
+     * Gets the slowest login latency since startup.
+     *
+     * @return the maximum latency in milliseconds
+     */
+    public static double getMaxLoginMillis() {
+        return maxLoginNanos.get() / 1_000_000.0;
+    }
+
+    private void rehash(String staffId, String password) {
+        try {
+            staff().updatePassword(staffId, PasswordHasher.hash(password));
+            logger.info("Upgraded stored password hash for staff {}", staffId);
+        } catch (SQLException e) {
+            // The login itself succeeded; the upgrade is retried next time
+            logger.warn("Could not upgrade password hash for staff {}", staffId, e);
+        }
+    }
+
+    private static void recordLoginLatency(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        loginCount.increment();
+        loginNanos.add(elapsed);
+        maxLoginNanos.accumulate(elapsed);
+        loginTimer.record(elapsed);
+        logger.debug("Login checked in {} ms", elapsed / 1_000_000);
+    }
+
+    private static StaffRepository staff() {
+        return Repositories.get().staff();
+    }
+
+    private static ThreadPoolExecutor createAuthExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(AUTH_THREADS, AUTH_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(AUTH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "login-auth-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
@@ -0,0 +1,319 @@
+package com.hotelreservation.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.StaffLog;
+import com.hotelreservation.util.MetricsRegistry;
+
+/**
+ * In-memory throttle for login attempts, consulted before any database work is done.
+ * Attempts are limited by a token bucket per staff ID and one shared global bucket. Repeated
+ * failures for a staff ID lock it out for a period that doubles with every further failure.
+ * All state is updated with compare-and-set, so concurrent logins never block each other.
+ */
+public class LoginThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private static final int STAFF_BUCKET_CAPACITY = 5;
+    private static final long STAFF_REFILL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int GLOBAL_BUCKET_CAPACITY = 30;
+    private static final long GLOBAL_REFILL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final int LOCKOUT_THRESHOLD = 5;
+    private static final long BASE_LOCKOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MAX_LOCKOUT_NANOS = TimeUnit.MINUTES.toNanos(15);
+    private static final int MAX_TRACKED_STAFF = 10_000;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Outcome of asking for a login attempt.
+     */
+    public enum Decision {
+        ALLOWED,
+        RATE_LIMITED,
+        LOCKED_OUT
+    }
+
+    /**
+     * Thrown by asynchronous logins rejected by the throttle.
+     */
+    public static class ThrottledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final Decision decision;
+        private final long retryAfterSeconds;
+
+        ThrottledException(Decision decision, long retryAfterSeconds) {
+            super(decision == Decision.LOCKED_OUT
+                    ? "Account temporarily locked, try again in " + retryAfterSeconds + " seconds"
+                    : "Too many login attempts, try again in " + retryAfterSeconds + " seconds");
+            this.decision = decision;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public Decision getDecision() {
+            return decision;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Lock-free token bucket. Tokens are refilled lazily from the elapsed time on each request.
+     */
+    static class TokenBucket {
+        private record State(double tokens, long updatedNanos) { }
+
+        private final int capacity;
+        private final long refillNanos;
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = available(current, now);
+                if (tokens < 1) {
+                    return false;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return true;
+                }
+            }
+        }
+
+        /** Gives back a token taken by a request that was rejected further on. */
+        void release() {
+            state.updateAndGet(current -> new State(Math.min(capacity, current.tokens() + 1), current.updatedNanos()));
+        }
+
+        long nanosUntilToken(long now) {
+            double missing = 1 - available(state.get(), now);
+            return missing <= 0 ? 0 : (long) Math.ceil(missing * refillNanos);
+        }
+
+        boolean isFull(long now) {
+            return available(state.get(), now) >= capacity;
+        }
+
+        private double available(State current, long now) {
+            double refilled = (double) Math.max(0, now - current.updatedNanos()) / refillNanos;
+            return Math.min(capacity, current.tokens() + refilled);
+        }
+    }
+
+    private record Failures(int consecutive, long lockedUntilNanos) {
+        static final Failures NONE = new Failures(0, 0);
+
+        boolean isLocked(long now) {
+            // lockedUntilNanos is only set once the threshold is reached; nanoTime may be negative
+            return consecutive >= LOCKOUT_THRESHOLD && lockedUntilNanos - now > 0;
+        }
+    }
+
+    private static class StaffEntry {
+        final TokenBucket bucket;
+        final AtomicReference<Failures> failures = new AtomicReference<>(Failures.NONE);
+
+        StaffEntry(long now) {
+            bucket = new TokenBucket(STAFF_BUCKET_CAPACITY, STAFF_REFILL_NANOS, now);
+        }
+    }
+
+    private static final LoginThrottle instance = new LoginThrottle(new StaffLogService());
+
+    static {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.counter("hotel_login_throttle_allowed_total", "Login attempts let through by the throttle",
+                instance::getAllowedCount);
+        metrics.counter("hotel_login_throttle_rate_limited_total", "Login attempts rejected by a rate limit",
+                instance::getRateLimitedCount);
+        metrics.counter("hotel_login_throttle_locked_out_total", "Login attempts rejected during a lockout",
+                instance::getLockedOutCount);
+        metrics.counter("hotel_login_lockouts_total", "Lockouts started after repeated failures",
+                instance::getLockoutsStarted);
+        metrics.gauge("hotel_login_active_lockouts", "Staff IDs currently locked out", instance::getActiveLockouts);
+    }
+
+    private final StaffLogService staffLogService;
+    private final TokenBucket globalBucket = new TokenBucket(GLOBAL_BUCKET_CAPACITY, GLOBAL_REFILL_NANOS, System.nanoTime());
+    private final Map<String, StaffEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong nextPruneNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder allowedCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+    private final LongAdder lockedOutCount = new LongAdder();
+    private final LongAdder lockoutsStarted = new LongAdder();
+
+    LoginThrottle(StaffLogService staffLogService) {
+        this.staffLogService = staffLogService;
+    }
+
+    /**
+     * Gets the shared login throttle.
+     *
+     * @return the application-wide login throttle
+     */
+    public static LoginThrottle getInstance() {
+        return instance;
+    }
+
+    /**
+     * Asks for permission to check a login. Takes a token from the staff and global buckets when allowed.
+     *
+     * @param staffId the staff ID being logged into
+     * @return whether the attempt may proceed
+     */
+    public Decision tryAcquire(String staffId) {
+        long now = System.nanoTime();
+        StaffEntry entry = entryFor(staffId, now);
+
+        if (entry.failures.get().isLocked(now)) {
+            lockedOutCount.increment();
+            return Decision.LOCKED_OUT;
+        }
+        if (!entry.bucket.tryAcquire(now)) {
+            rateLimitedCount.increment();
+            return Decision.RATE_LIMITED;
+        }
+        if (!globalBucket.tryAcquire(now)) {
+            entry.bucket.release();
+            rateLimitedCount.increment();
+            return Decision.RATE_LIMITED;
+        }
+        allowedCount.increment();
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Creates the exception describing a rejected attempt, including how long to wait.
+     *
+     * @param staffId the staff ID that was rejected
+     * @param decision the rejection returned by {@link #tryAcquire}
+     * @return the exception to report to the caller
+     */
+    public ThrottledException rejection(String staffId, Decision decision) {
+        long now = System.nanoTime();
+        long waitNanos;
+        StaffEntry entry = entries.get(key(staffId));
+        if (decision == Decision.LOCKED_OUT && entry != null) {
+            waitNanos = entry.failures.get().lockedUntilNanos() - now;
+        } else {
+            waitNanos = Math.max(globalBucket.nanosUntilToken(now),
+                    entry != null ? entry.bucket.nanosUntilToken(now) : 0);
+        }
+        return new ThrottledException(decision, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+    }
+
+    /**
+     * Records a successful login, clearing the failure count for the staff ID.
+     *
+     * @param staffId the staff ID that logged in
+     */
+    public void recordSuccess(String staffId) {
+        StaffEntry entry = entries.get(key(staffId));
+        if (entry != null) {
+            entry.failures.set(Failures.NONE);
+        }
+    }
+
+    /**
+     * Records a failed login. Once the threshold is reached every failure starts a lockout twice as long
+     * as the previous one, up to a maximum. A typed ID that belongs to no staff member is locked out
+     * too, but only lockouts of real staff are written to the staff log.
+     *
+     * @param staffId the staff ID that failed to log in
+     * @param knownStaff whether the staff ID belongs to a staff member
+     */
+    public void recordFailure(String staffId, boolean knownStaff) {
+        long now = System.nanoTime();
+        StaffEntry entry = entryFor(staffId, now);
+        Failures updated = entry.failures.updateAndGet(current -> {
+            int consecutive = current.consecutive() + 1;
+            if (consecutive < LOCKOUT_THRESHOLD) {
+                return new Failures(consecutive, current.lockedUntilNanos());
+            }
+            int doublings = Math.min(consecutive - LOCKOUT_THRESHOLD, 20);
+            long lockout = Math.min(MAX_LOCKOUT_NANOS, BASE_LOCKOUT_NANOS << doublings);
+            return new Failures(consecutive, now + lockout);
+        });
+
+        if (updated.consecutive() >= LOCKOUT_THRESHOLD) {
+            lockoutsStarted.increment();
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(updated.lockedUntilNanos() - now);
+            logger.warn("Staff {} locked out for {} s after {} failed logins", staffId, seconds, updated.consecutive());
+            if (knownStaff) {
+                staffLogService.addLog(new StaffLog(null, staffId, "Lockout",
+                        "Locked out for " + seconds + " seconds after " + updated.consecutive() + " failed logins",
+                        LocalDateTime.now()));
+            }
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowedCount.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+
+    public long getLockedOutCount() {
+        return lockedOutCount.sum();
+    }
+
+    public long getLockoutsStarted() {
+        return lockoutsStarted.sum();
+    }
+
+    /**
+     * Gets the number of staff IDs currently locked out.
+     *
+     * @return the number of active lockouts
+     */
+    public int getActiveLockouts() {
+        long now = System.nanoTime();
+        return (int) entries.values().stream()
+                .filter(entry -> entry.failures.get().isLocked(now))
+                .count();
+    }
+
+    private StaffEntry entryFor(String staffId, long now) {
+        if (entries.size() > MAX_TRACKED_STAFF) {
+            prune(now);
+        }
+        return entries.computeIfAbsent(key(staffId), id -> new StaffEntry(now));
+    }
+
+    /**
+     * Forgets staff IDs with no failures and a full bucket, which behave like new entries anyway. The scan
+     * covers every entry, so at most one caller runs it per {@link #PRUNE_INTERVAL_NANOS}.
+     */
+    private void prune(long now) {
+        long due = nextPruneNanos.get();
+        if (now - due < 0 || !nextPruneNanos.compareAndSet(due, now + PRUNE_INTERVAL_NANOS)) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.failures.get().consecutive() == 0 && entry.bucket.isFull(now));
+    }
+
+    private static String key(String staffId) {
+        return staffId == null ? "" : staffId;
+    }
+}
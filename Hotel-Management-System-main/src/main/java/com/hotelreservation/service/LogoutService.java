@@ -32,7 +32,7 @@ public class LogoutService {
             logger.info("Staff member {} logged out successfully", staff.getStaffId());
             return true;
         } catch (Exception e) {
-            logger.error("Error during logout for staff: " + staff.getStaffId(), e);
+            logger.error("Error during logout for staff: {}", staff.getStaffId(), e);
             return false;
         }
     }
@@ -1,19 +1,17 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Notification;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.repository.NotificationRepository;
+import com.hotelreservation.repository.Repositories;
 
 /**
  * Service class for managing notifications.
@@ -21,34 +19,20 @@ import com.hotelreservation.util.DatabaseConnection;
 public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
+    private final SessionManager session = SessionManager.getInstance();
+
     /**
-     * Retrieves all notifications from the database.
+     * Retrieves all notifications.
      *
      * @return List of notifications.
      */
     public List<Notification> getAllNotifications() {
-        List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM Notifications ORDER BY createdAt DESC";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Notification notification = new Notification(
-                        rs.getString("notificationId"),
-                        rs.getString("staffId"),
-                        rs.getString("message"),
-                        rs.getTimestamp("createdAt").toLocalDateTime(),
-                        rs.getBoolean("read")
-                );
-                notifications.add(notification);
-            }
+        try {
+            return notifications().findAll();
         } catch (SQLException e) {
             logger.error("Error fetching notifications", e);
+            return new ArrayList<>();
         }
-
-        return notifications;
     }
 
     /**
@@ -59,21 +43,15 @@ public class NotificationService {
      * @return true if successful, false otherwise.
      */
     public boolean sendNotification(String message, String senderId) {
-        String sql = "INSERT INTO Notifications (notificationId, staffId, message, createdAt, read) VALUES (?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            String notificationId = java.util.UUID.randomUUID().toString();
-            Timestamp now = new Timestamp(System.currentTimeMillis());
-
-            pstmt.setString(1, notificationId);
-            pstmt.setString(2, senderId);
-            pstmt.setString(3, message);
-            pstmt.setTimestamp(4, now);
-            pstmt.setBoolean(5, false); // Initially unread
+        if (!session.checkPermission(Permission.SEND_NOTIFICATIONS, "send notification")) {
+            return false;
+        }
+        String notificationId = java.util.UUID.randomUUID().toString();
+        // Initially unread
+        Notification notification = new Notification(notificationId, senderId, message, LocalDateTime.now(), false);
 
-            return pstmt.executeUpdate() > 0;
+        try {
+            return notifications().insert(notification);
         } catch (SQLException e) {
             logger.error("Error sending notification", e);
             return false;
@@ -87,13 +65,8 @@ public class NotificationService {
      * @return true if successful, false otherwise.
      */
     public boolean markAsRead(String notificationId) {
-        String sql = "UPDATE Notifications SET read = true WHERE notificationId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, notificationId);
-            return pstmt.executeUpdate() > 0;
+        try {
+            return notifications().markRead(notificationId);
         } catch (SQLException e) {
             logger.error("Error marking notification as read", e);
             return false;
@@ -107,20 +80,15 @@ public class NotificationService {
      * @return The number of unread notifications.
      */
     public int getUnreadCount(String staffId) {
-        String sql = "SELECT COUNT(*) FROM Notifications WHERE read = false";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
+        try {
+            return notifications().countUnread();
         } catch (SQLException e) {
             logger.error("Error getting unread notifications count", e);
+            return 0;
         }
+    }
 
-        return 0;
+    private static NotificationRepository notifications() {
+        return Repositories.get().notifications();
     }
 }
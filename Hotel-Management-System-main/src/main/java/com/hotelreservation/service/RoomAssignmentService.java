@@ -0,0 +1,281 @@
+package com.hotelreservation.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.RoomReassignment;
+
+/**
+ * Service that reshuffles room assignments of confirmed bookings to reduce fragmentation.
+ * Stays are treated as intervals [check-in, check-out) and packed into rooms like an interval graph
+ * colouring: bookings are placed in start order, each into the room whose previous stay ends closest
+ * before it. Randomised re-orderings are tried until the time budget runs out, and the layout that
+ * leaves the longest free runs (sum of squared gap lengths) wins. Room types are optimised in parallel
+ * since a booking never changes type.
+ */
+public class RoomAssignmentService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomAssignmentService.class);
+
+    private final RoomService roomService;
+    private final BookingService bookingService;
+
+    public RoomAssignmentService() {
+        this(new RoomService(), new BookingService());
+    }
+
+    public RoomAssignmentService(RoomService roomService, BookingService bookingService) {
+        this.roomService = roomService;
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Computes room moves for a period without writing anything (dry run).
+     * Only CONFIRMED bookings that lie entirely inside the period and have not started yet are moved;
+     * checked-in stays and stays crossing the period boundaries stay where they are. A booking is only
+     * moved to a bookable room of the same type with at least the capacity of its current room; a room
+     * under maintenance is only ever the origin of a move.
+     *
+     * @param periodStart First day of the period
+     * @param periodEnd Day after the last night of the period
+     * @param timeBudget Wall-clock time allowed for the search of each room type
+     * @return The proposed moves, empty if the current layout cannot be improved
+     */
+    public List<RoomReassignment> planReassignments(LocalDate periodStart, LocalDate periodEnd, Duration timeBudget) {
+        Map<String, Room> rooms = roomService.getAllRooms().stream()
+                .collect(Collectors.toMap(Room::getRoomId, room -> room));
+        Set<String> bookable = roomService.getBookableRooms().stream()
+                .map(Room::getRoomId)
+                .collect(Collectors.toSet());
+        LocalDate today = LocalDate.now();
+
+        List<Booking> bookings = bookingService.getBookingsInRange(periodStart, periodEnd).stream()
+                .filter(Booking::isActive)
+                .filter(booking -> booking.getCheckOutDate().isAfter(periodStart)
+                        && booking.getCheckInDate().isBefore(periodEnd))
+                .filter(booking -> rooms.containsKey(booking.getRoomId()))
+                .collect(Collectors.toList());
+
+        Map<String, List<Room>> roomsByType = rooms.values().stream()
+                .sorted(Comparator.comparing(Room::getRoomNumber))
+                .collect(Collectors.groupingBy(Room::getType));
+        Map<String, List<Booking>> bookingsByType = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> rooms.get(booking.getRoomId()).getType()));
+
+        List<RoomReassignment> moves = roomsByType.entrySet().parallelStream()
+                .flatMap(entry -> {
+                    List<Room> targets = entry.getValue().stream()
+                            .filter(room -> bookable.contains(room.getRoomId()))
+                            .collect(Collectors.toList());
+                    TypeLayout layout = new TypeLayout(entry.getValue(), targets, periodStart, periodEnd);
+                    for (Booking booking : bookingsByType.getOrDefault(entry.getKey(), List.of())) {
+                        boolean movable = booking.getStatus().equals("CONFIRMED")
+                                && !booking.getCheckInDate().isBefore(periodStart)
+                                && !booking.getCheckInDate().isBefore(today)
+                                && !booking.getCheckOutDate().isAfter(periodEnd);
+                        layout.add(booking, rooms.get(booking.getRoomId()), movable);
+                    }
+                    return layout.optimise(timeBudget, entry.getKey().hashCode()).stream();
+                })
+                .collect(Collectors.toList());
+
+        logger.info("Planned {} room moves for {} to {}", moves.size(), periodStart, periodEnd);
+        return moves;
+    }
+
+    /**
+     * Applies previously planned moves through {@link BookingService#moveBookings}, as a whole. Only the
+     * rooms are written, so changes made to the bookings since planning are kept; if any booking has left
+     * its planned room or status, or a move would now clash, nothing is applied and the plan must be redone.
+     *
+     * @param moves The moves returned by {@link #planReassignments}
+     * @return The number of bookings that were moved: all of them, or zero
+     */
+    public int applyReassignments(List<RoomReassignment> moves) {
+        if (moves.isEmpty()) {
+            return 0;
+        }
+        if (!bookingService.moveBookings(moves)) {
+            logger.warn("Room plan of {} moves was not applied; the bookings changed since it was planned",
+                    moves.size());
+            return 0;
+        }
+        return moves.size();
+    }
+
+    /**
+     * Bookings and rooms of a single room type. Every room counts towards the score, but bookings are
+     * only placed in the target rooms.
+     */
+    private static final class TypeLayout {
+        private final List<Room> rooms;
+        private final List<Room> targets;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final List<Booking> fixed = new ArrayList<>();
+        private final List<Booking> movable = new ArrayList<>();
+        private final Map<String, Room> currentRooms = new HashMap<>();
+
+        TypeLayout(List<Room> rooms, List<Room> targets, LocalDate periodStart, LocalDate periodEnd) {
+            this.rooms = rooms;
+            this.targets = targets;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        }
+
+        void add(Booking booking, Room room, boolean isMovable) {
+            currentRooms.put(booking.getBookingId(), room);
+            (isMovable ? movable : fixed).add(booking);
+        }
+
+        List<RoomReassignment> optimise(Duration timeBudget, long seed) {
+            if (movable.isEmpty()) {
+                return List.of();
+            }
+            long deadline = System.nanoTime() + timeBudget.toNanos();
+            Random random = new Random(seed);
+
+            Map<String, Room> best = new HashMap<>(currentRooms);
+            long bestScore = score(best);
+            long initialScore = bestScore;
+
+            List<Booking> order = new ArrayList<>(movable);
+            order.sort(Comparator.comparing(Booking::getCheckInDate)
+                    .thenComparing(Comparator.comparingLong(Booking::getNumberOfNights).reversed()));
+            Map<String, Room> candidate = pack(order);
+            while (true) {
+                if (candidate != null) {
+                    long candidateScore = score(candidate);
+                    if (candidateScore > bestScore) {
+                        best = candidate;
+                        bestScore = candidateScore;
+                    }
+                }
+                if (order.size() < 2 || System.nanoTime() >= deadline) {
+                    break;
+                }
+                perturb(order, random);
+                candidate = pack(order);
+            }
+
+            List<RoomReassignment> moves = new ArrayList<>();
+            if (bestScore > initialScore) {
+                for (Booking booking : movable) {
+                    Room from = currentRooms.get(booking.getBookingId());
+                    Room to = best.get(booking.getBookingId());
+                    if (!from.equals(to)) {
+                        moves.add(new RoomReassignment(booking, from, to));
+                    }
+                }
+            }
+            return moves;
+        }
+
+        /**
+         * Swaps a few random pairs in the placement order.
+         */
+        private void perturb(List<Booking> order, Random random) {
+            int swaps = 1 + random.nextInt(Math.max(1, order.size() / 4));
+            for (int i = 0; i < swaps && order.size() > 1; i++) {
+                Collections.swap(order, random.nextInt(order.size()), random.nextInt(order.size()));
+            }
+        }
+
+        /**
+         * Greedy best-fit placement; returns null if some booking cannot be placed in this order.
+         */
+        private Map<String, Room> pack(List<Booking> order) {
+            Map<Room, TreeMap<LocalDate, LocalDate>> occupied = new HashMap<>();
+            targets.forEach(room -> occupied.put(room, new TreeMap<>()));
+            Map<String, Room> assignment = new HashMap<>();
+            for (Booking booking : fixed) {
+                Room room = currentRooms.get(booking.getBookingId());
+                // A fixed stay in a room under maintenance blocks no target
+                if (occupied.containsKey(room)) {
+                    occupied.get(room).put(booking.getCheckInDate(), booking.getCheckOutDate());
+                }
+                assignment.put(booking.getBookingId(), room);
+            }
+
+            for (Booking booking : order) {
+                int minCapacity = currentRooms.get(booking.getBookingId()).getCapacity();
+                Room bestRoom = null;
+                long bestGap = Long.MAX_VALUE;
+                for (Room room : targets) {
+                    if (room.getCapacity() < minCapacity) {
+                        continue;
+                    }
+                    TreeMap<LocalDate, LocalDate> stays = occupied.get(room);
+                    Map.Entry<LocalDate, LocalDate> before = stays.floorEntry(booking.getCheckInDate());
+                    Map.Entry<LocalDate, LocalDate> after = stays.ceilingEntry(booking.getCheckInDate());
+                    if ((before != null && before.getValue().isAfter(booking.getCheckInDate()))
+                            || (after != null && after.getKey().isBefore(booking.getCheckOutDate()))) {
+                        continue;
+                    }
+                    LocalDate freeFrom = before != null ? before.getValue() : periodStart;
+                    long gap = ChronoUnit.DAYS.between(freeFrom, booking.getCheckInDate());
+                    if (gap < bestGap) {
+                        bestGap = gap;
+                        bestRoom = room;
+                    }
+                }
+                if (bestRoom == null) {
+                    return null;
+                }
+                occupied.get(bestRoom).put(booking.getCheckInDate(), booking.getCheckOutDate());
+                assignment.put(booking.getBookingId(), bestRoom);
+            }
+            return assignment;
+        }
+
+        /**
+         * Sum of squared free-run lengths over all rooms; higher means fewer, longer sellable gaps.
+         */
+        private long score(Map<String, Room> assignment) {
+            Map<Room, List<Booking>> byRoom = new HashMap<>();
+            for (Booking booking : fixed) {
+                byRoom.computeIfAbsent(assignment.get(booking.getBookingId()), r -> new ArrayList<>()).add(booking);
+            }
+            for (Booking booking : movable) {
+                byRoom.computeIfAbsent(assignment.get(booking.getBookingId()), r -> new ArrayList<>()).add(booking);
+            }
+
+            long score = 0;
+            for (Room room : rooms) {
+                List<Booking> stays = byRoom.getOrDefault(room, List.of());
+                List<Booking> sorted = new ArrayList<>(stays);
+                sorted.sort(Comparator.comparing(Booking::getCheckInDate));
+                LocalDate freeFrom = periodStart;
+                for (Booking stay : sorted) {
+                    if (stay.getCheckInDate().isAfter(freeFrom)) {
+                        long gap = ChronoUnit.DAYS.between(freeFrom, stay.getCheckInDate());
+                        score += gap * gap;
+                    }
+                    if (stay.getCheckOutDate().isAfter(freeFrom)) {
+                        freeFrom = stay.getCheckOutDate();
+                    }
+                }
+                if (periodEnd.isAfter(freeFrom)) {
+                    long gap = ChronoUnit.DAYS.between(freeFrom, periodEnd);
+                    score += gap * gap;
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hotelreservation.model.Booking;
 import com.hotelreservation.model.Room;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.model.StayOption;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.Repositories;
 
 /**
  * Service for managing rooms.
@@ -29,22 +32,26 @@ public class RoomService {
      * @return List of rooms
      */
     public List<Room> getAllRooms() {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM Rooms ORDER BY roomNumber";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Room room = createRoomFromResultSet(rs);
-                rooms.add(room);
-            }
+        try {
+            return rooms().findAll();
         } catch (SQLException e) {
             logger.error("Error retrieving rooms", e);
+            return new ArrayList<>();
         }
+    }
 
-        return rooms;
+    /**
+     * Retrieves every room that can take a booking, i.e. every room not under maintenance.
+     *
+     * @return List of bookable rooms
+     */
+    public List<Room> getBookableRooms() {
+        try {
+            return rooms().findBookable(null, 0);
+        } catch (SQLException e) {
+            logger.error("Error retrieving bookable rooms", e);
+            return new ArrayList<>();
+        }
     }
 
     /**
@@ -55,41 +62,72 @@ public class RoomService {
      * @return List of available rooms
      */
     public List<Room> getAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT r.* FROM Rooms r " +
-                    "WHERE r.status = 'AVAILABLE' " +
-                    "AND r.roomId NOT IN (" +
-                    "    SELECT b.roomId FROM Bookings b " +
-                    "    WHERE b.status IN ('CONFIRMED', 'CHECKED_IN') " +
-                    "    AND (" +
-                    "        (b.checkInDate <= ? AND b.checkOutDate > ?) OR " +
-                    "        (b.checkInDate < ? AND b.checkOutDate >= ?) OR " +
-                    "        (b.checkInDate >= ? AND b.checkOutDate <= ?)" +
-                    "    )" +
-                    ") " +
-                    "ORDER BY r.roomNumber";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setDate(1, Date.valueOf(checkIn));
-            pstmt.setDate(2, Date.valueOf(checkIn));
-            pstmt.setDate(3, Date.valueOf(checkOut));
-            pstmt.setDate(4, Date.valueOf(checkOut));
-            pstmt.setDate(5, Date.valueOf(checkIn));
-            pstmt.setDate(6, Date.valueOf(checkOut));
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Room room = createRoomFromResultSet(rs);
-                    rooms.add(room);
+        try {
+            return rooms().findAvailable(checkIn, checkOut);
+        } catch (SQLException e) {
+            logger.error("Error getting available rooms", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds every room and start date offering a contiguous stay of the given length inside a date range.
+     * Rooms and overlapping bookings are each fetched with a single lookup; free nights are then scanned
+     * per room in memory. Rooms under maintenance are skipped, rooms that are occupied today are not,
+     * since they may well be free later in the range.
+     *
+     * @param rangeStart Earliest check-in date
+     * @param rangeEnd Latest check-out date
+     * @param nights Number of contiguous nights required
+     * @param roomType Room type to match, or null for any type
+     * @param minCapacity Minimum room capacity
+     * @return Matching stays ordered by total price, then room number and check-in date
+     */
+    public List<StayOption> findContiguousAvailability(LocalDate rangeStart, LocalDate rangeEnd, int nights,
+                                                       String roomType, int minCapacity) {
+        List<StayOption> options = new ArrayList<>();
+        int horizon = (int) ChronoUnit.DAYS.between(rangeStart, rangeEnd);
+        if (nights <= 0 || horizon < nights) {
+            return options;
+        }
+
+        try {
+            List<Room> rooms = rooms().findBookable(roomType, minCapacity);
+            Map<String, BitSet> occupancy = new HashMap<>();
+            rooms.forEach(room -> occupancy.put(room.getRoomId(), new BitSet(horizon)));
+
+            // Mark every booked night inside the range; night i is the night starting on rangeStart + i
+            List<Booking> stays = Repositories.get().bookings().findActiveOverlapping(rangeStart, rangeEnd);
+            for (Booking stay : stays) {
+                BitSet nightsTaken = occupancy.get(stay.getRoomId());
+                if (nightsTaken != null) {
+                    long from = ChronoUnit.DAYS.between(rangeStart, stay.getCheckInDate());
+                    long to = ChronoUnit.DAYS.between(rangeStart, stay.getCheckOutDate());
+                    nightsTaken.set((int) Math.max(0, from), (int) Math.min(horizon, to));
+                }
+            }
+
+            for (Room room : rooms) {
+                BitSet nightsTaken = occupancy.get(room.getRoomId());
+                int freeStart = nightsTaken.nextClearBit(0);
+                while (freeStart + nights <= horizon) {
+                    int nextTaken = nightsTaken.nextSetBit(freeStart);
+                    int freeEnd = nextTaken < 0 ? horizon : Math.min(horizon, nextTaken);
+                    for (int start = freeStart; start + nights <= freeEnd; start++) {
+                        LocalDate checkIn = rangeStart.plusDays(start);
+                        options.add(new StayOption(room, checkIn, checkIn.plusDays(nights)));
+                    }
+                    freeStart = nightsTaken.nextClearBit(freeEnd);
                 }
             }
         } catch (SQLException e) {
-            logger.error("Error getting available rooms", e);
+            logger.error("Error searching contiguous availability", e);
         }
 
-        return rooms;
+        options.sort(Comparator.comparingDouble(StayOption::getTotalPrice)
+                .thenComparing(option -> option.getRoom().getRoomNumber())
+                .thenComparing(StayOption::getCheckInDate));
+        return options;
     }
 
     /**
@@ -100,15 +138,8 @@ public class RoomService {
      * @return true if successful, false otherwise
      */
     public boolean updateRoomStatus(String roomId, String status) {
-        String sql = "UPDATE Rooms SET status = ? WHERE roomId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, status);
-            pstmt.setString(2, roomId);
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            return rooms().updateStatus(roomId, status);
         } catch (SQLException e) {
             logger.error("Error updating room status", e);
             return false;
@@ -122,22 +153,12 @@ public class RoomService {
      * @return Room if found, null otherwise
      */
     public Room getRoomById(String roomId) {
-        String sql = "SELECT * FROM Rooms WHERE roomId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, roomId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return createRoomFromResultSet(rs);
-                }
-            }
+        try {
+            return rooms().findById(roomId);
         } catch (SQLException e) {
             logger.error("Error getting room by ID", e);
+            return null;
         }
-
-        return null;
     }
 
     /**
@@ -147,22 +168,12 @@ public class RoomService {
      * @return Room if found, null otherwise
      */
     public Room getRoomByNumber(String roomNumber) {
-        String sql = "SELECT * FROM Rooms WHERE roomNumber = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, roomNumber);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return createRoomFromResultSet(rs);
-                }
-            }
+        try {
+            return rooms().findByNumber(roomNumber);
         } catch (SQLException e) {
             logger.error("Error getting room by number", e);
+            return null;
         }
-
-        return null;
     }
 
     /**
@@ -172,28 +183,13 @@ public class RoomService {
      * @return true if successful, false otherwise
      */
     public boolean createRoom(Room room) {
-        String sql = "INSERT INTO Rooms (roomId, roomNumber, type, rate, capacity, status, " +
-                    "description, amenities, floor) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            // Generate a new UUID for the room if not provided
-            if (room.getRoomId() == null || room.getRoomId().isEmpty()) {
-                room.setRoomId(UUID.randomUUID().toString());
-            }
+        // Generate a new UUID for the room if not provided
+        if (room.getRoomId() == null || room.getRoomId().isEmpty()) {
+            room.setRoomId(UUID.randomUUID().toString());
+        }
 
-            pstmt.setString(1, room.getRoomId());
-            pstmt.setString(2, room.getRoomNumber());
-            pstmt.setString(3, room.getType());
-            pstmt.setDouble(4, room.getRate());
-            pstmt.setInt(5, room.getCapacity());
-            pstmt.setString(6, room.getStatus());
-            pstmt.setString(7, room.getDescription());
-            pstmt.setString(8, room.getAmenities());
-            pstmt.setInt(9, room.getFloor());
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            return rooms().insert(room);
         } catch (SQLException e) {
             logger.error("Error creating room", e);
             return false;
@@ -207,40 +203,15 @@ public class RoomService {
      * @return true if successful, false otherwise
      */
     public boolean updateRoom(Room room) {
-        String sql = "UPDATE Rooms SET roomNumber = ?, type = ?, rate = ?, capacity = ?, " +
-                    "status = ?, description = ?, amenities = ?, floor = ? WHERE roomId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, room.getRoomNumber());
-            pstmt.setString(2, room.getType());
-            pstmt.setDouble(3, room.getRate());
-            pstmt.setInt(4, room.getCapacity());
-            pstmt.setString(5, room.getStatus());
-            pstmt.setString(6, room.getDescription());
-            pstmt.setString(7, room.getAmenities());
-            pstmt.setInt(8, room.getFloor());
-            pstmt.setString(9, room.getRoomId());
-
-            return pstmt.executeUpdate() > 0;
+        try {
+            return rooms().update(room);
         } catch (SQLException e) {
             logger.error("Error updating room", e);
             return false;
         }
     }
 
-    private Room createRoomFromResultSet(ResultSet rs) throws SQLException {
-        return new Room(
-            rs.getString("roomId"),
-            rs.getString("roomNumber"),
-            rs.getString("type"),
-            rs.getDouble("rate"),
-            rs.getInt("capacity"),
-            rs.getString("status"),
-            rs.getString("description"),
-            rs.getString("amenities"),
-            rs.getInt("floor")
-        );
+    private static RoomRepository rooms() {
+        return Repositories.get().rooms();
     }
 }
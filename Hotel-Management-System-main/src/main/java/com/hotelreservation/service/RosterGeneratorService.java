@@ -0,0 +1,446 @@
+package com.hotelreservation.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.RosterPlan;
+import com.hotelreservation.model.ShiftType;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffShift;
+
+/**
+ * Service that generates staff rosters from coverage requirements.
+ * Every day needs a number of staff of given positions on each {@link ShiftType}. Staff work at most
+ * one shift a day and need a minimum rest between shifts; both are hard constraints. The number of
+ * shifts per week is a soft limit: going over it costs far less than leaving a slot empty, so a staff
+ * member only works beyond it when nobody under the limit can fill the slot.
+ * A greedy pass builds a first roster, then a local search reassigns and swaps staff until the time
+ * budget runs out. Rest only links neighbouring days, so even days are improved while odd days are held
+ * fixed, then the other way round. The weekly limit links the days of a week, so within a phase the
+ * weeks are improved in parallel and the days of one week in turn, each seeing the others' changes.
+ */
+public class RosterGeneratorService {
+    private static final Logger logger = LoggerFactory.getLogger(RosterGeneratorService.class);
+
+    public static final int DEFAULT_MIN_REST_HOURS = 11;
+    public static final int DEFAULT_MAX_SHIFTS_PER_WEEK = 5;
+
+    private final StaffService staffService;
+    private final ShiftService shiftService;
+
+    public RosterGeneratorService() {
+        this(new StaffService(), new ShiftService());
+    }
+
+    public RosterGeneratorService(StaffService staffService, ShiftService shiftService) {
+        this.staffService = staffService;
+        this.shiftService = shiftService;
+    }
+
+    /**
+     * Generates a roster with the default rest and weekly limits; see
+     * {@link #generateRoster(LocalDate, int, Map, int, int, Duration)}.
+     */
+    public RosterPlan generateRoster(LocalDate startDate, int days, Map<ShiftType, Map<String, Integer>> coverage,
+                                     Duration timeBudget) {
+        return generateRoster(startDate, days, coverage, DEFAULT_MIN_REST_HOURS, DEFAULT_MAX_SHIFTS_PER_WEEK, timeBudget);
+    }
+
+    /**
+     * Generates a roster without saving it (dry run). Shifts already stored in the period are kept and
+     * count towards rest times and weekly limits.
+     *
+     * @param startDate First day of the roster
+     * @param days Number of days to plan, e.g. 7 for a week
+     * @param coverage Staff needed per shift type and position, e.g. NIGHT -> {"Receptionist": 1}
+     * @param minRestHours Minimum hours between the end of one shift and the start of the next
+     * @param maxShiftsPerWeek Shifts per Monday-to-Sunday week above which a staff member is only placed if
+     *        the slot would otherwise stay empty
+     * @param timeBudget Wall-clock time allowed for the search
+     * @return The generated roster
+     */
+    public RosterPlan generateRoster(LocalDate startDate, int days, Map<ShiftType, Map<String, Integer>> coverage,
+                                     int minRestHours, int maxShiftsPerWeek, Duration timeBudget) {
+        List<Staff> staff = staffService.getAllStaff();
+        List<StaffShift> existing = shiftService.getShiftsBetween(
+                startDate.minusDays(1).atStartOfDay(), startDate.plusDays(days + 1L).atStartOfDay());
+
+        Solver solver = new Solver(startDate, days, staff, coverage, existing, minRestHours, maxShiftsPerWeek);
+        solver.construct();
+        solver.improve(timeBudget);
+
+        RosterPlan plan = solver.toPlan();
+        logger.info("Generated roster {}", plan);
+        return plan;
+    }
+
+    /**
+     * Saves a generated roster in one transaction through {@link ShiftService#assignShifts}.
+     *
+     * @param plan The roster returned by {@link #generateRoster}
+     * @return true if every shift was saved, false if nothing was saved
+     */
+    public boolean applyRoster(RosterPlan plan) {
+        return shiftService.assignShifts(plan.getShifts());
+    }
+
+    /**
+     * Search state for one roster. Times are minutes from midnight of the first day.
+     * Occupancy arrays are indexed by day + 1 so the day before and after the period can hold stored shifts.
+     */
+    private static final class Solver {
+        private static final int FREE = Integer.MIN_VALUE;
+        private static final long UNFILLED_PENALTY = 1_000_000;
+        private static final long OVER_LIMIT_PENALTY = 1_000;
+
+        private final LocalDate startDate;
+        private final int days;
+        private final List<Staff> staff;
+        private final int minRestMinutes;
+        private final int maxShiftsPerWeek;
+
+        private final ShiftType[] slotTypes;
+        private final int[][] slotCandidates;
+        private final int[][] assignment;
+        private final int[][] occupiedStart;
+        private final int[][] occupiedEnd;
+        private final boolean[][] stored;
+        private final int[] weekOfDay;
+        private final int[][] weekLoad;
+        private final int[] totalLoad;
+
+        private int[][] best;
+        private long bestScore;
+
+        Solver(LocalDate startDate, int days, List<Staff> staff, Map<ShiftType, Map<String, Integer>> coverage,
+               List<StaffShift> existing, int minRestHours, int maxShiftsPerWeek) {
+            this.startDate = startDate;
+            this.days = days;
+            this.staff = staff;
+            this.minRestMinutes = minRestHours * 60;
+            this.maxShiftsPerWeek = maxShiftsPerWeek;
+
+            Map<String, List<Integer>> byPosition = new HashMap<>();
+            for (int s = 0; s < staff.size(); s++) {
+                String position = staff.get(s).getPosition();
+                if (position != null) {
+                    byPosition.computeIfAbsent(position.toUpperCase(), k -> new ArrayList<>()).add(s);
+                }
+            }
+            List<ShiftType> types = new ArrayList<>();
+            List<int[]> candidates = new ArrayList<>();
+            for (ShiftType type : ShiftType.values()) {
+                for (Map.Entry<String, Integer> need : coverage.getOrDefault(type, Map.of()).entrySet()) {
+                    int[] eligible = byPosition.getOrDefault(need.getKey().toUpperCase(), List.of()).stream()
+                            .mapToInt(Integer::intValue).toArray();
+                    for (int i = 0; i < need.getValue(); i++) {
+                        types.add(type);
+                        candidates.add(eligible);
+                    }
+                }
+            }
+            slotTypes = types.toArray(new ShiftType[0]);
+            slotCandidates = candidates.toArray(new int[0][]);
+
+            assignment = new int[days][slotTypes.length];
+            for (int[] day : assignment) {
+                Arrays.fill(day, -1);
+            }
+            occupiedStart = new int[days + 2][staff.size()];
+            occupiedEnd = new int[days + 2][staff.size()];
+            stored = new boolean[days + 2][staff.size()];
+            for (int[] day : occupiedStart) {
+                Arrays.fill(day, FREE);
+            }
+
+            LocalDate firstMonday = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            weekOfDay = new int[days];
+            for (int d = 0; d < days; d++) {
+                weekOfDay[d] = (int) ChronoUnit.WEEKS.between(firstMonday, startDate.plusDays(d));
+            }
+            weekLoad = new int[staff.size()][days == 0 ? 1 : weekOfDay[days - 1] + 1];
+            totalLoad = new int[staff.size()];
+
+            Map<String, Integer> indexById = new HashMap<>();
+            for (int s = 0; s < staff.size(); s++) {
+                indexById.put(staff.get(s).getStaffId(), s);
+            }
+            for (StaffShift shift : existing) {
+                Integer s = indexById.get(shift.getStaffId());
+                int d = (int) ChronoUnit.DAYS.between(startDate, shift.getDate());
+                if (s == null || d < -1 || d > days) {
+                    continue;
+                }
+                LocalDateTime origin = startDate.atStartOfDay();
+                occupiedStart[d + 1][s] = (int) ChronoUnit.MINUTES.between(origin, shift.getStartDateTime());
+                occupiedEnd[d + 1][s] = (int) ChronoUnit.MINUTES.between(origin, shift.getEndDateTime());
+                stored[d + 1][s] = true;
+                if (d >= 0 && d < days) {
+                    weekLoad[s][weekOfDay[d]]++;
+                    totalLoad[s]++;
+                }
+            }
+        }
+
+        /**
+         * Greedy start: fills each slot with the eligible staff member carrying the lowest load.
+         */
+        void construct() {
+            for (int d = 0; d < days; d++) {
+                for (int k = 0; k < slotTypes.length; k++) {
+                    int chosen = -1;
+                    long chosenCost = Long.MAX_VALUE;
+                    for (int s : slotCandidates[k]) {
+                        if (canWork(d, s, slotTypes[k])) {
+                            long cost = addCost(s, d, 0, 0);
+                            if (cost < chosenCost) {
+                                chosen = s;
+                                chosenCost = cost;
+                            }
+                        }
+                    }
+                    if (chosen >= 0) {
+                        place(d, k, chosen);
+                        weekLoad[chosen][weekOfDay[d]]++;
+                        totalLoad[chosen]++;
+                    }
+                }
+            }
+            best = copyAssignment();
+            bestScore = score();
+        }
+
+        /**
+         * Local search in rounds; each round improves even days, then odd days, with weeks in parallel.
+         */
+        void improve(Duration timeBudget) {
+            long deadline = System.nanoTime() + timeBudget.toNanos();
+            long slice = Math.max(timeBudget.toNanos() / 20, 1_000_000);
+            int weeks = days == 0 ? 0 : weekOfDay[days - 1] + 1;
+            int round = 0;
+            while (System.nanoTime() < deadline && slotTypes.length > 0 && days > 0) {
+                for (int parity = 0; parity < 2; parity++) {
+                    long phaseEnd = Math.min(deadline, System.nanoTime() + slice);
+                    int currentParity = parity;
+                    long seed = round * 2L + parity;
+                    int[][] deltas = IntStream.range(0, weeks)
+                            .parallel()
+                            .mapToObj(w -> improveWeek(w, currentParity, phaseEnd, seed))
+                            .toArray(int[][]::new);
+                    mergeLoads(deltas);
+                }
+                long current = score();
+                if (current < bestScore) {
+                    bestScore = current;
+                    best = copyAssignment();
+                }
+                round++;
+            }
+            logger.debug("Roster search ran {} rounds, best score {}", round, bestScore);
+        }
+
+        /**
+         * Improves the days of one week with the given parity one after the other, sharing the phase's time
+         * between them. Loads of other weeks are read as they were at the start of the phase, and this
+         * week's changes are returned as {week, staff, change, ...} triples.
+         */
+        private int[] improveWeek(int week, int parity, long phaseEnd, long seed) {
+            int[] localChange = new int[staff.size()];
+            int[] weekDays = IntStream.range(0, days)
+                    .filter(d -> weekOfDay[d] == week && d % 2 == parity)
+                    .toArray();
+            for (int i = 0; i < weekDays.length; i++) {
+                long now = System.nanoTime();
+                long dayEnd = now + Math.max(0, phaseEnd - now) / (weekDays.length - i);
+                improveDay(weekDays[i], dayEnd, localChange, new SplittableRandom(seed * 31 + weekDays[i]));
+            }
+
+            List<Integer> changes = new ArrayList<>();
+            for (int s = 0; s < localChange.length; s++) {
+                if (localChange[s] != 0) {
+                    changes.add(week);
+                    changes.add(s);
+                    changes.add(localChange[s]);
+                }
+            }
+            return changes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Improves one day with its neighbouring days fixed, adding the day's changes in load to localChange,
+         * which holds those already made this phase in the same week.
+         */
+        private void improveDay(int d, long dayEnd, int[] localChange, SplittableRandom random) {
+            int slots = slotTypes.length;
+            int iterations = 0;
+            while ((iterations++ & 63) != 0 || System.nanoTime() < dayEnd) {
+                int k = random.nextInt(slots);
+                if (random.nextInt(4) == 0) {
+                    trySwap(d, k, random.nextInt(slots));
+                    continue;
+                }
+                int[] eligible = slotCandidates[k];
+                if (eligible.length == 0) {
+                    continue;
+                }
+                int candidate = eligible[random.nextInt(eligible.length)];
+                int current = assignment[d][k];
+                if (candidate == current || !canWork(d, candidate, slotTypes[k])) {
+                    continue;
+                }
+                long delta = addCost(candidate, d, localChange[candidate], localChange[candidate]);
+                if (current >= 0) {
+                    delta -= addCost(current, d, localChange[current] - 1, localChange[current] - 1);
+                } else {
+                    delta -= UNFILLED_PENALTY;
+                }
+                if (delta <= 0) {
+                    if (current >= 0) {
+                        clear(d, current);
+                        localChange[current]--;
+                    }
+                    place(d, k, candidate);
+                    localChange[candidate]++;
+                }
+            }
+        }
+
+        /**
+         * Swaps the staff of two slots on the same day when both fit the other slot; neutral for the score
+         * but frees different neighbouring days for later moves.
+         */
+        private void trySwap(int d, int k1, int k2) {
+            int a = assignment[d][k1];
+            int b = assignment[d][k2];
+            if (k1 == k2 || a < 0 || b < 0 || slotTypes[k1] == slotTypes[k2]
+                    || !contains(slotCandidates[k1], b) || !contains(slotCandidates[k2], a)) {
+                return;
+            }
+            clear(d, a);
+            clear(d, b);
+            if (canWork(d, a, slotTypes[k2]) && canWork(d, b, slotTypes[k1])) {
+                place(d, k1, b);
+                place(d, k2, a);
+            } else {
+                place(d, k1, a);
+                place(d, k2, b);
+            }
+        }
+
+        /**
+         * Cost of giving a staff member one more shift on day d, given how many this phase already added.
+         */
+        private long addCost(int s, int d, int weekChange, int totalChange) {
+            int week = weekLoad[s][weekOfDay[d]] + weekChange;
+            int total = totalLoad[s] + totalChange;
+            long over = week + 1 > maxShiftsPerWeek ? OVER_LIMIT_PENALTY : 0;
+            return over + (long) (total + 1) * (total + 1) - (long) total * total;
+        }
+
+        private boolean canWork(int d, int s, ShiftType type) {
+            if (occupiedStart[d + 1][s] != FREE) {
+                return false;
+            }
+            int start = d * 1440 + type.getStartTime().toSecondOfDay() / 60;
+            int end = start + (int) type.getDuration().toMinutes();
+            if (occupiedStart[d][s] != FREE && start - occupiedEnd[d][s] < minRestMinutes) {
+                return false;
+            }
+            return occupiedStart[d + 2][s] == FREE || occupiedStart[d + 2][s] - end >= minRestMinutes;
+        }
+
+        private void place(int d, int k, int s) {
+            int start = d * 1440 + slotTypes[k].getStartTime().toSecondOfDay() / 60;
+            assignment[d][k] = s;
+            occupiedStart[d + 1][s] = start;
+            occupiedEnd[d + 1][s] = start + (int) slotTypes[k].getDuration().toMinutes();
+        }
+
+        private void clear(int d, int s) {
+            for (int k = 0; k < slotTypes.length; k++) {
+                if (assignment[d][k] == s) {
+                    assignment[d][k] = -1;
+                }
+            }
+            if (!stored[d + 1][s]) {
+                occupiedStart[d + 1][s] = FREE;
+            }
+        }
+
+        private void mergeLoads(int[][] deltas) {
+            for (int[] changes : deltas) {
+                for (int i = 0; i < changes.length; i += 3) {
+                    weekLoad[changes[i + 1]][changes[i]] += changes[i + 2];
+                    totalLoad[changes[i + 1]] += changes[i + 2];
+                }
+            }
+        }
+
+        private long score() {
+            long score = 0;
+            for (int[] day : assignment) {
+                for (int s : day) {
+                    if (s < 0) {
+                        score += UNFILLED_PENALTY;
+                    }
+                }
+            }
+            for (int s = 0; s < staff.size(); s++) {
+                for (int load : weekLoad[s]) {
+                    score += Math.max(0, load - maxShiftsPerWeek) * OVER_LIMIT_PENALTY;
+                }
+                score += (long) totalLoad[s] * totalLoad[s];
+            }
+            return score;
+        }
+
+        private int[][] copyAssignment() {
+            int[][] copy = new int[days][];
+            for (int d = 0; d < days; d++) {
+                copy[d] = assignment[d].clone();
+            }
+            return copy;
+        }
+
+        RosterPlan toPlan() {
+            List<StaffShift> shifts = new ArrayList<>();
+            int unfilled = 0;
+            for (int d = 0; d < days; d++) {
+                for (int k = 0; k < slotTypes.length; k++) {
+                    int s = best[d][k];
+                    if (s < 0) {
+                        unfilled++;
+                        continue;
+                    }
+                    StaffShift shift = slotTypes[k].toShift(staff.get(s).getStaffId(), startDate.plusDays(d));
+                    shift.setStaffName(staff.get(s).getFullName());
+                    shifts.add(shift);
+                }
+            }
+            return new RosterPlan(startDate, startDate.plusDays(days), shifts, unfilled);
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (int v : values) {
+                if (v == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hotelreservation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Permission;
+import com.hotelreservation.model.Principal;
+import com.hotelreservation.model.Staff;
+
+/**
+ * Holds the session of the logged-in staff member.
+ * The session is started after a successful login and stores an immutable {@link Principal} whose
+ * permissions are precomputed, so role checks are a single bit test. The principal is rebuilt when
+ * the logged-in staff member is updated and dropped when they are deleted.
+ */
+public class SessionManager implements StaffService.StaffChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
+    private static final SessionManager instance = new SessionManager();
+
+    private volatile Principal principal;
+
+    private SessionManager() {
+        StaffService.addChangeListener(this);
+    }
+
+    /**
+     * Gets the shared session manager.
+     *
+     * @return the application-wide session manager
+     */
+    public static SessionManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts a session for an authenticated staff member, replacing any previous session.
+     *
+     * @param staff the authenticated staff member
+     * @return the principal of the new session
+     */
+    public Principal startSession(Staff staff) {
+        Principal started = Principal.of(staff);
+        principal = started;
+        logger.info("Session started for {}", started);
+        return started;
+    }
+
+    /**
+     * Ends the current session.
+     */
+    public void endSession() {
+        Principal ended = principal;
+        principal = null;
+        if (ended != null) {
+            logger.info("Session ended for staff {}", ended.getStaffId());
+        }
+    }
+
+    /**
+     * Gets the principal of the current session.
+     *
+     * @return the principal, or null if nobody is logged in
+     */
+    public Principal getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * Checks whether the logged-in staff member holds a permission.
+     *
+     * @param permission the permission to check
+     * @return true if a session is active and grants the permission
+     */
+    public boolean hasPermission(Permission permission) {
+        Principal current = principal;
+        return current != null && current.has(permission);
+    }
+
+    /**
+     * Checks a permission on behalf of a service operation, logging the attempt when it is denied.
+     *
+     * @param permission the permission the operation needs
+     * @param operation short description of the operation, used in the log
+     * @return true if the operation may proceed
+     */
+    public boolean checkPermission(Permission permission, String operation) {
+        if (hasPermission(permission)) {
+            return true;
+        }
+        Principal current = principal;
+        logger.warn("Denied {} for staff {}: missing {}", operation,
+                current != null ? current.getStaffId() : "<none>", permission);
+        return false;
+    }
+
+    /**
+     * Checks on behalf of a service operation that the logged-in staff member ranks at least as high as a
+     * position, logging the attempt when they do not. Nobody may assign a position above their own or
+     * change staff who hold one, so a Manager cannot create, promote, demote or delete an Admin.
+     *
+     * @param position the position assigned or held by the staff member acted on
+     * @param operation short description of the operation, used in the log
+     * @return true if the operation may proceed
+     */
+    public boolean checkPosition(String position, String operation) {
+        Principal current = principal;
+        if (current != null && current.covers(position)) {
+            return true;
+        }
+        logger.warn("Denied {} for staff {}: position {} ranks above their own", operation,
+                current != null ? current.getStaffId() : "<none>", position);
+        return false;
+    }
+
+    /**
+     * Checks whether the given staff ID belongs to the logged-in staff member.
+     *
+     * @param staffId the staff ID to compare
+     * @return true if it is the current session's staff member
+     */
+    public boolean isCurrentStaff(String staffId) {
+        Principal current = principal;
+        return current != null && current.getStaffId().equals(staffId);
+    }
+
+    @Override
+    public void staffSaved(Staff staff) {
+        if (isCurrentStaff(staff.getStaffId())) {
+            principal = Principal.of(staff);
+            logger.info("Session refreshed after profile update: {}", principal);
+        }
+    }
+
+    @Override
+    public void staffDeleted(String staffId) {
+        if (isCurrentStaff(staffId)) {
+            principal = null;
+            logger.warn("Session revoked, staff {} was deleted", staffId);
+        }
+    }
+}
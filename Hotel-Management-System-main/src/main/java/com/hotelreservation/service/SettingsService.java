@@ -1,47 +1,90 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hotelreservation.model.SettingKey;
 import com.hotelreservation.model.Settings;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.SettingsRepository;
 
+/**
+ * Service for persisting user settings.
+ * Settings are stored as key-value pairs, so new preferences need no schema change.
+ * Users without stored pairs fall back to their settings in the older one-row-per-user format.
+ * Most callers should go through the cached {@link SettingsStore} instead.
+ */
 public class SettingsService {
     private static final Logger logger = LoggerFactory.getLogger(SettingsService.class);
 
     /**
-     * Loads settings for a specific user.
+     * Loads all stored settings of a user as raw key-value pairs.
      *
      * @param userId The ID of the user whose settings to load
-     * @return The user's settings, or null if not found
+     * @return The stored values by key name, empty if the user has none; keys stored without a value are left out
      */
-    public Settings loadSettings(String userId) {
-        String sql = "SELECT * FROM Settings WHERE userId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, userId);
+    public Map<String, String> loadValues(String userId) {
+        Map<String, String> values = new HashMap<>();
+        try {
+            settings().load(userId).forEach((key, value) -> {
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error loading settings for user: {}", userId, e);
+            return new HashMap<>();
+        }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Settings(
-                        rs.getBoolean("darkMode"),
-                        rs.getString("resolution"),
-                        rs.getString("userId")
-                    );
+        if (values.isEmpty()) {
+            Settings legacy = loadLegacySettings(userId);
+            if (legacy != null) {
+                values.put(SettingKey.DARK_MODE.getName(), SettingKey.DARK_MODE.encode(legacy.isDarkMode()));
+                if (legacy.getResolution() != null) {
+                    values.put(SettingKey.RESOLUTION.getName(), legacy.getResolution());
                 }
             }
+        }
+        return values;
+    }
+
+    /**
+     * Writes several settings of a user atomically; existing keys are overwritten.
+     *
+     * @param userId The ID of the user
+     * @param values The values to write by key name
+     * @return true if successful, false otherwise
+     */
+    public boolean saveValues(String userId, Map<String, String> values) {
+        try {
+            settings().save(userId, values);
+            return true;
         } catch (SQLException e) {
-            logger.error("Error loading settings for user: " + userId, e);
+            logger.error("Error saving settings for user: {}", userId, e);
+            return false;
         }
+    }
 
-        return null;
+    /**
+     * Loads settings for a specific user.
+     *
+     * @param userId The ID of the user whose settings to load
+     * @return The user's settings, or null if not found
+     */
+    public Settings loadSettings(String userId) {
+        Map<String, String> values = loadValues(userId);
+        if (values.isEmpty()) {
+            return null;
+        }
+        return new Settings(
+            SettingKey.DARK_MODE.decode(values.get(SettingKey.DARK_MODE.getName())),
+            SettingKey.RESOLUTION.decode(values.get(SettingKey.RESOLUTION.getName())),
+            userId
+        );
     }
 
     /**
@@ -51,24 +94,10 @@ public class SettingsService {
      * @return true if successful, false otherwise
      */
     public boolean saveSettings(Settings settings) {
-        String sql = "INSERT INTO Settings (userId, darkMode, resolution) " +
-                    "VALUES (?, ?, ?) " +
-                    "ON CONFLICT (userId) " +
-                    "DO UPDATE SET darkMode = EXCLUDED.darkMode, " +
-                    "resolution = EXCLUDED.resolution";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, settings.getUserId());
-            pstmt.setBoolean(2, settings.isDarkMode());
-            pstmt.setString(3, settings.getResolution());
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.error("Error saving settings", e);
-            return false;
-        }
+        return saveValues(settings.getUserId(), Map.of(
+            SettingKey.DARK_MODE.getName(), SettingKey.DARK_MODE.encode(settings.isDarkMode()),
+            SettingKey.RESOLUTION.getName(), SettingKey.RESOLUTION.encode(settings.getResolution())
+        ));
     }
 
     /**
@@ -79,12 +108,7 @@ public class SettingsService {
      * @return true if successful, false otherwise
      */
     public boolean applyDarkMode(boolean darkMode, String userId) {
-        Settings settings = loadSettings(userId);
-        if (settings != null) {
-            settings.setDarkMode(darkMode);
-            return saveSettings(settings);
-        }
-        return false;
+        return saveValues(userId, Map.of(SettingKey.DARK_MODE.getName(), SettingKey.DARK_MODE.encode(darkMode)));
     }
 
     /**
@@ -95,11 +119,19 @@ public class SettingsService {
      * @return true if successful, false otherwise
      */
     public boolean applyResolution(String resolution, String userId) {
-        Settings settings = loadSettings(userId);
-        if (settings != null) {
-            settings.setResolution(resolution);
-            return saveSettings(settings);
+        return saveValues(userId, Map.of(SettingKey.RESOLUTION.getName(), SettingKey.RESOLUTION.encode(resolution)));
+    }
+
+    private Settings loadLegacySettings(String userId) {
+        try {
+            return settings().loadLegacy(userId);
+        } catch (SQLException e) {
+            logger.warn("Could not read legacy settings for user: {}", userId, e);
+            return null;
         }
-        return false;
+    }
+
+    private static SettingsRepository settings() {
+        return Repositories.get().settings();
     }
 }
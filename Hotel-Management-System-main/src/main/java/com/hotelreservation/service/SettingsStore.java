@@ -0,0 +1,149 @@
+package com.hotelreservation.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.SettingKey;
+
+/**
+ * In-memory settings of the logged-in user with write-behind persistence.
+ * Settings are loaded once at login; reads never touch the database. Changes update the cache at once
+ * and are written in the background after a short quiet period, so a burst of changes costs one write.
+ * Only the latest value of each key is written. Pending changes are flushed on logout and on exit.
+ */
+public class SettingsStore {
+    private static final Logger logger = LoggerFactory.getLogger(SettingsStore.class);
+    private static final long WRITE_DELAY_MILLIS = 1500;
+    private static final SettingsStore instance = new SettingsStore(new SettingsService());
+
+    private final SettingsService settingsService;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "settings-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Serializes database writes so an older batch can never overwrite a newer one
+    private final Object writeLock = new Object();
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, String> dirty = new ConcurrentHashMap<>();
+    private volatile String userId;
+    private ScheduledFuture<?> pendingWrite;
+
+    SettingsStore(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
+
+    /**
+     * Gets the shared settings store.
+     *
+     * @return the application-wide settings store
+     */
+    public static SettingsStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the settings of a user, replacing those of the previous user after flushing them.
+     *
+     * @param userId the ID of the user who logged in
+     */
+    public void load(String userId) {
+        flush();
+        Map<String, String> loaded = settingsService.loadValues(userId);
+        synchronized (this) {
+            values.clear();
+            values.putAll(loaded);
+            dirty.clear();
+            this.userId = userId;
+        }
+        logger.debug("Loaded {} settings for user {}", loaded.size(), userId);
+    }
+
+    /**
+     * Gets a setting of the current user.
+     *
+     * @param key the setting to read
+     * @param <T> the type of the setting
+     * @return the stored value, or the key's default
+     */
+    public <T> T get(SettingKey<T> key) {
+        return key.decode(values.get(key.getName()));
+    }
+
+    /**
+     * Changes a setting of the current user and schedules it to be written.
+     *
+     * @param key the setting to change
+     * @param value the new value, or null for the key's default
+     * @param <T> the type of the setting
+     */
+    public synchronized <T> void set(SettingKey<T> key, T value) {
+        String encoded = key.encode(value);
+        values.put(key.getName(), encoded);
+        if (userId == null) {
+            return;
+        }
+        dirty.put(key.getName(), encoded);
+        if (pendingWrite != null) {
+            pendingWrite.cancel(false);
+        }
+        pendingWrite = writer.schedule(this::flush, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes pending changes now. Failed writes stay pending unless the key was changed again meanwhile.
+     *
+     * @return true if nothing is left pending
+     */
+    public boolean flush() {
+        synchronized (writeLock) {
+            String user;
+            Map<String, String> batch;
+            synchronized (this) {
+                if (pendingWrite != null) {
+                    pendingWrite.cancel(false);
+                    pendingWrite = null;
+                }
+                if (dirty.isEmpty() || userId == null) {
+                    return true;
+                }
+                user = userId;
+                batch = Map.copyOf(dirty);
+                dirty.clear();
+            }
+
+            if (settingsService.saveValues(user, batch)) {
+                logger.debug("Wrote {} settings for user {}", batch.size(), user);
+                return true;
+            }
+            synchronized (this) {
+                if (user.equals(userId)) {
+                    batch.forEach(dirty::putIfAbsent);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Flushes pending changes and forgets the current user's settings, e.g. on logout.
+     */
+    public void clear() {
+        if (!flush()) {
+            logger.warn("Discarding unsaved settings for user {}", userId);
+        }
+        synchronized (this) {
+            values.clear();
+            dirty.clear();
+            userId = null;
+        }
+    }
+}
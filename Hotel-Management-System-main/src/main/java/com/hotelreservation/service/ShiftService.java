@@ -1,82 +1,150 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Time;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hotelreservation.model.StaffShift;
-import com.hotelreservation.util.DatabaseConnection;
-
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.ShiftRepository;
+
+/**
+ * Service for the staff roster.
+ * Shifts are handled as time ranges: a shift runs from its date at the start time until the end
+ * time, on the next day when the shift crosses midnight.
+ */
 public class ShiftService {
     private static final Logger logger = LoggerFactory.getLogger(ShiftService.class);
 
     public List<StaffShift> getShifts(LocalDate date) {
-        List<StaffShift> shifts = new ArrayList<>();
-        String sql = "SELECT * FROM StaffShifts WHERE date = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setDate(1, Date.valueOf(date));
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    StaffShift shift = new StaffShift(
-                        rs.getString("shiftId"),
-                        rs.getString("staffId"),
-                        rs.getTime("startTime").toLocalTime(),
-                        rs.getTime("endTime").toLocalTime(),
-                        rs.getDate("date").toLocalDate()
-                    );
-                    shifts.add(shift);
-                }
-            }
+        try {
+            return shifts().findByDate(date);
         } catch (SQLException e) {
             logger.error("Error retrieving shifts", e);
+            return new ArrayList<>();
         }
+    }
 
-        return shifts;
+    /**
+     * Gets every shift that overlaps a time range, including shifts that started before it.
+     *
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @return The overlapping shifts ordered by start time
+     */
+    public List<StaffShift> getShiftsBetween(LocalDateTime from, LocalDateTime to) {
+        try {
+            return shifts().findBetween(from, to);
+        } catch (SQLException e) {
+            logger.error("Error retrieving shifts between {} and {}", from, to, e);
+            return new ArrayList<>();
+        }
     }
 
-    public boolean assignShift(StaffShift shift) {
-        String sql = "INSERT INTO StaffShifts (staffId, startTime, endTime, date) VALUES (?, ?, ?, ?)";
+    /**
+     * Gets the shifts overlapping the Monday-to-Sunday week containing a date.
+     *
+     * @param dayInWeek Any day of the week
+     * @return The week's shifts ordered by start time
+     */
+    public List<StaffShift> getShiftsForWeek(LocalDate dayInWeek) {
+        LocalDate monday = dayInWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getShiftsBetween(monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay());
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Gets the shifts of everyone on duty at a given moment.
+     *
+     * @param at The moment to check
+     * @return The shifts covering that moment
+     */
+    public List<StaffShift> getShiftsOnDuty(LocalDateTime at) {
+        return getShiftsBetween(at, at.plusNanos(1000));
+    }
 
-            pstmt.setString(1, shift.getStaffId());
-            pstmt.setTime(2, Time.valueOf(shift.getStartTime()));
-            pstmt.setTime(3, Time.valueOf(shift.getEndTime()));
-            pstmt.setDate(4, Date.valueOf(shift.getDate()));
+    /**
+     * Assigns a shift, unless it overlaps another shift of the same staff member.
+     *
+     * @param shift The shift to assign
+     * @return true if the shift was stored, false if it overlaps or a database error occurred
+     */
+    public boolean assignShift(StaffShift shift) {
+        return assignShifts(List.of(shift));
+    }
+
+    /**
+     * Assigns a batch of shifts, e.g. a weekly roster, in one transaction. The batch is rejected as a
+     * whole if any shift overlaps another shift in the batch or an existing shift of the same staff member.
+     * Concurrent assignments for the same staff members are serialized by the repository, so two overlapping
+     * shifts can never both be stored.
+     *
+     * @param shifts The shifts to assign
+     * @return true if every shift was stored, false otherwise
+     */
+    public boolean assignShifts(List<StaffShift> shifts) {
+        if (shifts.isEmpty()) {
+            return true;
+        }
+        StaffShift conflict = findOverlapWithinBatch(shifts);
+        if (conflict != null) {
+            logger.warn("Rejected roster: shift for {} on {} overlaps another shift in the batch",
+                    conflict.getStaffId(), conflict.getDate());
+            return false;
+        }
 
-            return pstmt.executeUpdate() > 0;
+        try {
+            List<StaffShift> existing = shifts().insertUnlessOverlapping(shifts);
+            if (!existing.isEmpty()) {
+                StaffShift clash = existing.get(0);
+                logger.warn("Rejected roster: {} existing shift(s) overlap, first for {} on {}",
+                        existing.size(), clash.getStaffId(), clash.getDate());
+                return false;
+            }
+            logger.info("Assigned {} shift(s)", shifts.size());
+            return true;
         } catch (SQLException e) {
-            logger.error("Error assigning shift", e);
+            logger.error("Error assigning shifts", e);
             return false;
         }
     }
 
-    public boolean updateShift(StaffShift shift) {
-        String sql = "UPDATE StaffShifts SET startTime = ?, endTime = ?, date = ? WHERE shiftId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setTime(1, Time.valueOf(shift.getStartTime()));
-            pstmt.setTime(2, Time.valueOf(shift.getEndTime()));
-            pstmt.setDate(3, Date.valueOf(shift.getDate()));
-            pstmt.setString(4, shift.getShiftId());
+    /**
+     * Finds existing shifts that would overlap a proposed shift for the same staff member.
+     *
+     * @param shift The proposed shift
+     * @return The overlapping shifts, empty if the shift fits
+     */
+    public List<StaffShift> findOverlappingShifts(StaffShift shift) {
+        try {
+            return shifts().findOverlapping(List.of(shift));
+        } catch (SQLException e) {
+            logger.error("Error checking shift overlap", e);
+            return new ArrayList<>();
+        }
+    }
 
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Moves a shift to new times, unless it would then overlap another shift of the same staff member.
+     *
+     * @param shift The shift with its new times and date
+     * @return true if the shift was moved, false if it does not exist, would overlap or cannot be saved
+     */
+    public boolean updateShift(StaffShift shift) {
+        try {
+            boolean updated = shifts().update(shift);
+            if (!updated) {
+                logger.warn("Shift {} was not moved: it no longer exists or would overlap another shift",
+                        shift.getShiftId());
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating shift", e);
             return false;
@@ -84,13 +152,8 @@ public class ShiftService {
     }
 
     public boolean deleteShift(String shiftId) {
-        String sql = "DELETE FROM StaffShifts WHERE shiftId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, shiftId);
-            return pstmt.executeUpdate() > 0;
+        try {
+            return shifts().delete(shiftId);
         } catch (SQLException e) {
             logger.error("Error deleting shift", e);
             return false;
@@ -98,37 +161,37 @@ public class ShiftService {
     }
 
     /**
-     * Gets the current shift for a staff member.
+     * Gets the current shift for a staff member, including a night shift that started yesterday.
      *
      * @param staffId The ID of the staff member
      * @return The current StaffShift if one exists, null otherwise
      */
     public StaffShift getCurrentShift(String staffId) {
-        String sql = "SELECT * FROM StaffShifts WHERE staffId = ? " +
-                    "AND date = CURRENT_DATE " +
-                    "AND startTime <= CURRENT_TIME " +
-                    "AND endTime >= CURRENT_TIME";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staffId);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new StaffShift(
-                        rs.getString("shiftId"),
-                        rs.getString("staffId"),
-                        rs.getTime("startTime").toLocalTime(),
-                        rs.getTime("endTime").toLocalTime(),
-                        rs.getDate("date").toLocalDate()
-                    );
-                }
-            }
+        try {
+            return shifts().findCurrent(staffId, LocalDateTime.now());
         } catch (SQLException e) {
-            logger.error("Error getting current shift for staff: " + staffId, e);
+            logger.error("Error getting current shift for staff: {}", staffId, e);
+            return null;
         }
+    }
 
+    /**
+     * Returns a shift from the batch that overlaps another shift of the same staff member, or null.
+     */
+    private static StaffShift findOverlapWithinBatch(List<StaffShift> shifts) {
+        List<StaffShift> sorted = new ArrayList<>(shifts);
+        sorted.sort(Comparator.comparing(StaffShift::getStaffId).thenComparing(StaffShift::getStartDateTime));
+        for (int i = 1; i < sorted.size(); i++) {
+            StaffShift previous = sorted.get(i - 1);
+            StaffShift current = sorted.get(i);
+            if (previous.getStaffId().equals(current.getStaffId()) && previous.overlaps(current)) {
+                return current;
+            }
+        }
         return null;
     }
+
+    private static ShiftRepository shifts() {
+        return Repositories.get().shifts();
+    }
 }
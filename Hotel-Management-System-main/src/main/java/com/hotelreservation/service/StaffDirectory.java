@@ -0,0 +1,90 @@
+package com.hotelreservation.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.repository.Repositories;
+
+/**
+ * Shared cache of staff display names keyed by staff ID, for tables that show who a row belongs to.
+ * All names are loaded at once on first use and kept current through
+ * {@link StaffService.StaffChangeListener} events.
+ */
+public class StaffDirectory implements StaffService.StaffChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(StaffDirectory.class);
+    private static final String UNKNOWN = "Unknown";
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+    private static final StaffDirectory instance = new StaffDirectory();
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile long nextAttemptMillis;
+
+    private StaffDirectory() {
+        StaffService.addChangeListener(this);
+    }
+
+    /**
+     * Gets the shared staff directory.
+     *
+     * @return the application-wide staff directory
+     */
+    public static StaffDirectory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the display name of a staff member, loading the directory on first use.
+     *
+     * @param staffId The ID of the staff member
+     * @return The staff member's full name, or "Unknown" if there is no such staff member
+     */
+    public String getDisplayName(String staffId) {
+        if (!loaded) {
+            load();
+        }
+        String name = staffId != null ? names.get(staffId) : null;
+        return name != null ? name : UNKNOWN;
+    }
+
+    /**
+     * Drops the cached names; they are reloaded on the next lookup.
+     */
+    public void invalidate() {
+        loaded = false;
+        nextAttemptMillis = 0;
+    }
+
+    @Override
+    public void staffSaved(Staff staff) {
+        names.put(staff.getStaffId(), staff.getFullName());
+    }
+
+    @Override
+    public void staffDeleted(String staffId) {
+        names.remove(staffId);
+    }
+
+    private synchronized void load() {
+        // After a failed load, do not hit the storage again for every rendered cell
+        if (loaded || System.currentTimeMillis() < nextAttemptMillis) {
+            return;
+        }
+        try {
+            List<Staff> staff = Repositories.get().staff().findAll();
+            names.clear();
+            staff.forEach(member -> names.put(member.getStaffId(), member.getFullName()));
+            loaded = true;
+            logger.debug("Loaded {} staff names", names.size());
+        } catch (SQLException e) {
+            logger.error("Error loading staff directory", e);
+            nextAttemptMillis = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        }
+    }
+}
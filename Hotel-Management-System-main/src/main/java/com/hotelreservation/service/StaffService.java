@@ -1,24 +1,65 @@
 package com.hotelreservation.service;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hotelreservation.model.Permission;
 import com.hotelreservation.model.Staff;
-import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.StaffRepository;
 
 /**
  * Service for managing staff operations.
  */
 public class StaffService {
     private static final Logger logger = LoggerFactory.getLogger(StaffService.class);
+    private static final List<StaffChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    private final SessionManager session = SessionManager.getInstance();
+
+    /**
+     * Listener notified after a staff member has been written successfully.
+     */
+    public interface StaffChangeListener {
+        /**
+         * Called after a staff member was added or updated.
+         *
+         * @param staff The staff member as written
+         */
+        void staffSaved(Staff staff);
+
+        /**
+         * Called after a staff member was deleted.
+         *
+         * @param staffId The ID of the deleted staff member
+         */
+        void staffDeleted(String staffId);
+    }
+
+    /**
+     * Registers a listener for staff changes.
+     *
+     * @param listener The listener to add
+     */
+    public static void addChangeListener(StaffChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered staff change listener.
+     *
+     * @param listener The listener to remove
+     */
+    public static void removeChangeListener(StaffChangeListener listener) {
+        changeListeners.remove(listener);
+    }
 
     /**
      * Retrieves all staff members from the database.
@@ -26,50 +67,37 @@ public class StaffService {
      * @return List of all staff members.
      */
     public List<Staff> getAllStaff() {
-        List<Staff> staffList = new ArrayList<>();
-        String sql = "SELECT * FROM Staffs";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Staff staff = new Staff(
-                        rs.getString("staffId"),
-                        rs.getString("firstName"),
-                        rs.getString("lastName"),
-                        rs.getString("middleName"),
-                        rs.getString("password"),
-                        rs.getString("position")
-                );
-                staffList.add(staff);
-            }
+        try {
+            return staff().findAll();
         } catch (SQLException e) {
             logger.error("Error retrieving staff list", e);
+            return new ArrayList<>();
         }
-
-        return staffList;
     }
 
     /**
      * Updates the details of a staff member.
+     * Both the staff member's stored position and the new one must rank no higher than the caller's.
      *
      * @param staff The updated Staff object.
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateStaff(Staff staff) {
-        String sql = "UPDATE Staff SET firstName = ?, lastName = ?, middleName = ?, position = ? WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staff.getFirstName());
-            pstmt.setString(2, staff.getLastName());
-            pstmt.setString(3, staff.getMiddleName());
-            pstmt.setString(4, staff.getPosition()); // This is position not role
-            pstmt.setString(5, staff.getStaffId());
-
-            return pstmt.executeUpdate() > 0;
+        if (!session.checkPermission(Permission.MANAGE_STAFF, "update staff")) {
+            return false;
+        }
+        try {
+            Staff stored = staff().findById(staff.getStaffId());
+            if (stored == null
+                    || !session.checkPosition(stored.getPosition(), "update staff " + staff.getStaffId())
+                    || !session.checkPosition(staff.getPosition(), "assign position to " + staff.getStaffId())) {
+                return false;
+            }
+            boolean updated = staff().update(staff);
+            if (updated) {
+                changeListeners.forEach(listener -> listener.staffSaved(staff));
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating staff", e);
             return false;
@@ -78,18 +106,25 @@ public class StaffService {
 
     /**
      * Deletes a staff member by their staffId.
+     * The staff member's position must rank no higher than the caller's.
      *
      * @param staffId The ID of the staff member to delete.
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteStaff(String staffId) {
-        String sql = "DELETE FROM Staffs WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staffId);
-            return pstmt.executeUpdate() > 0;
+        if (!session.checkPermission(Permission.MANAGE_STAFF, "delete staff")) {
+            return false;
+        }
+        try {
+            Staff stored = staff().findById(staffId);
+            if (stored == null || !session.checkPosition(stored.getPosition(), "delete staff " + staffId)) {
+                return false;
+            }
+            boolean deleted = staff().delete(staffId);
+            if (deleted) {
+                changeListeners.forEach(listener -> listener.staffDeleted(staffId));
+            }
+            return deleted;
         } catch (SQLException e) {
             logger.error("Error deleting staff", e);
             return false;
@@ -97,60 +132,42 @@ public class StaffService {
     }
 
     /**
-     * Authenticates a staff member by their staffId and password.
+     * Authenticates a staff member on the authentication pool; see {@link LoginService#authenticateAsync}.
      *
      * @param staffId  The staffId of the staff member.
      * @param password The password of the staff member.
-     * @return Staff object if authentication is successful, null otherwise.
+     * @return A future with the staff member (without the password hash), or null if the credentials are wrong.
      */
-    public Staff authenticateStaff(String staffId, String password) {
-        String sql = "SELECT * FROM Staffs WHERE staffId = ? AND password = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staffId);  // Use staffId here, not username
-            pstmt.setString(2, password);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Staff(
-                            rs.getString("staffId"),
-                            rs.getString("firstName"),
-                            rs.getString("lastName"),
-                            rs.getString("middleName"),
-                            rs.getString("password"),
-                            rs.getString("position")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Error authenticating staff", e);
-        }
-
-        return null;
+    public CompletableFuture<Staff> authenticateStaffAsync(String staffId, String password) {
+        return new LoginService().authenticateAsync(staffId, password);
     }
 
     /**
      * Changes the password for the staff member.
+     * Staff may change their own password; changing anyone else's requires the password reset permission.
+     * The permission is checked at once; the new password is hashed on the authentication pool.
      *
      * @param staffId   The staffId of the staff member.
      * @param newPassword The new password for the staff member.
-     * @return true if the password was updated successfully, false otherwise.
+     * @return A future completing with true if the password was updated successfully, false otherwise.
      */
-    public boolean resetStaffPassword(String staffId, String newPassword) {
-        String sql = "UPDATE Staff SET password = ? WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, newPassword);
-            pstmt.setString(2, staffId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.error("Error resetting staff password", e);
-            return false;
+    public CompletableFuture<Boolean> resetStaffPassword(String staffId, String newPassword) {
+        if (!session.isCurrentStaff(staffId)
+                && !session.checkPermission(Permission.RESET_PASSWORDS, "reset password of " + staffId)) {
+            return CompletableFuture.completedFuture(false);
         }
+        return LoginService.hashAsync(newPassword)
+                .thenApply(hash -> {
+                    try {
+                        return staff().updatePassword(staffId, hash);
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.error("Error resetting staff password", e);
+                    return false;
+                });
     }
 
     /**
@@ -172,39 +189,21 @@ public class StaffService {
      * @return Staff object if found, null otherwise.
      */
     public Staff getStaffById(String staffId) {
-        String sql = "SELECT * FROM Staffs WHERE staffId = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staffId);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Staff(
-                        rs.getString("staffId"),
-                        rs.getString("firstName"),
-                        rs.getString("lastName"),
-                        rs.getString("middleName"),
-                        rs.getString("password"),
-                        rs.getString("position")
-                    );
-                }
-            }
+        try {
+            return staff().findById(staffId);
         } catch (SQLException e) {
             logger.error("Error retrieving staff by ID", e);
+            return null;
         }
-
-        return null;
     }
 
     /**
      * Resets a staff member's password to the default value.
      *
      * @param staffId The ID of the staff member whose password should be reset
-     * @return true if the password was reset successfully, false otherwise
+     * @return A future completing with true if the password was reset successfully, false otherwise
      */
-    public boolean resetPassword(String staffId) {
+    public CompletableFuture<Boolean> resetPassword(String staffId) {
         // Default password is "password123"
         String defaultPassword = "password123";
         return resetStaffPassword(staffId, defaultPassword);
@@ -212,28 +211,36 @@ public class StaffService {
 
     /**
      * Adds a new staff member to the database.
+     * The new staff member's position must rank no higher than the caller's. The permission is checked
+     * at once; the password is hashed on the authentication pool.
      *
      * @param staff The Staff object containing the new staff member's details.
-     * @return true if the staff was added successfully, false otherwise.
+     * @return A future completing with true if the staff was added successfully, false otherwise.
      */
-    public boolean addStaff(Staff staff) {
-        String sql = "INSERT INTO Staffs (staffId, firstName, lastName, middleName, password, position) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, staff.getStaffId());
-            pstmt.setString(2, staff.getFirstName());
-            pstmt.setString(3, staff.getLastName());
-            pstmt.setString(4, staff.getMiddleName());
-            pstmt.setString(5, staff.getPassword());
-            pstmt.setString(6, staff.getPosition());
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            logger.error("Error adding new staff member", e);
-            return false;
+    public CompletableFuture<Boolean> addStaff(Staff staff) {
+        if (!session.checkPermission(Permission.MANAGE_STAFF, "add staff")
+                || !session.checkPosition(staff.getPosition(), "add staff with position")) {
+            return CompletableFuture.completedFuture(false);
         }
+        return LoginService.hashAsync(staff.getPassword())
+                .thenApply(hash -> {
+                    try {
+                        boolean added = staff().insert(staff, hash);
+                        if (added) {
+                            changeListeners.forEach(listener -> listener.staffSaved(staff));
+                        }
+                        return added;
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.error("Error adding new staff member", e);
+                    return false;
+                });
+    }
+
+    private static StaffRepository staff() {
+        return Repositories.get().staff();
     }
 }
@@ -0,0 +1,66 @@
+package com.hotelreservation.util;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column positions of one result set by label.
+ * Built once from the result set's metadata, so a {@link RowMapper} can turn its column names into
+ * positions before the first row instead of having the driver look each name up again on every row.
+ * Labels match case-insensitively, as with {@link ResultSet#findColumn(String)}, and the first column
+ * wins when a label occurs twice.
+ */
+public final class ColumnIndex {
+    private final Map<String, Integer> positions;
+
+    private ColumnIndex(Map<String, Integer> positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Reads the column labels of a result set.
+     *
+     * @param rs the result set
+     * @return the column positions of that result set
+     * @throws SQLException if the metadata cannot be read
+     */
+    public static ColumnIndex of(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int count = meta.getColumnCount();
+        Map<String, Integer> positions = new HashMap<>(count * 2);
+        for (int column = 1; column <= count; column++) {
+            positions.putIfAbsent(meta.getColumnLabel(column).toLowerCase(Locale.ROOT), column);
+        }
+        return new ColumnIndex(positions);
+    }
+
+    /**
+     * Gets the position of a column the query must return.
+     *
+     * @param label the column label
+     * @return the 1-based column position
+     * @throws SQLException if the result set has no such column
+     */
+    public int require(String label) throws SQLException {
+        Integer position = positions.get(label.toLowerCase(Locale.ROOT));
+        if (position == null) {
+            throw new SQLException("The result set has no column " + label);
+        }
+        return position;
+    }
+
+    /**
+     * Gets the position of a column only some queries return, such as a joined name.
+     *
+     * @param label the column label
+     * @return the 1-based column position, or 0 if the result set has no such column
+     */
+    public int find(String label) {
+        Integer position = positions.get(label.toLowerCase(Locale.ROOT));
+        return position == null ? 0 : position;
+    }
+}
@@ -1,8 +1,22 @@
 package com.hotelreservation.util;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,30 +25,300 @@ import io.github.cdimascio.dotenv.Dotenv;
 /**
  * Utility class for establishing a connection to the database.
  * Loads database connection details from environment variables and provides a method to get a connection to the PostgreSQL database.
+ * Connections are pooled: closing a connection returns it to the pool instead of closing the physical connection.
  */
 public class DatabaseConnection {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
 
-    // Load environment variables
-    private static final Dotenv dotenv = Dotenv.load();
+    // Load environment variables; a .env file is optional, the process environment is read either way
+    private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     private static final String URL = dotenv.get("SUPABASE_DB_URL");
     private static final String USER = dotenv.get("SUPABASE_DB_USER");
     private static final String PASSWORD = dotenv.get("SUPABASE_DB_PASSWORD");
 
+    private static final int POOL_SIZE = 8;
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 10;
+    // Idle connections older than this are checked before being handed out
+    private static final long VALIDATE_AFTER_MILLIS = 30_000;
+
+    private static final Semaphore permits = new Semaphore(POOL_SIZE, true);
+    private static final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final ThreadLocal<UnaryOperator<Connection>> threadWrapper = new ThreadLocal<>();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final LatencyHistogram acquireTimer = metrics.timer("hotel_db_pool_acquire_seconds",
+            "Time spent waiting for a pooled database connection", "pool", "main");
+    private static final LongAdder connectionsOpened = metrics.counter("hotel_db_connections_opened_total",
+            "Physical database connections opened");
+    private static final LongAdder acquireTimeouts = metrics.counter("hotel_db_pool_timeouts_total",
+            "Requests that gave up waiting for a pooled connection");
+
+    static {
+        metrics.gauge("hotel_db_pool_max", "Maximum number of pooled connections", () -> POOL_SIZE);
+        metrics.gauge("hotel_db_pool_active", "Connections currently handed out",
+                () -> POOL_SIZE - permits.availablePermits());
+        metrics.gauge("hotel_db_pool_idle", "Open connections waiting in the pool", idle::size);
+        metrics.gauge("hotel_db_pool_waiting", "Threads waiting for a connection", permits::getQueueLength);
+    }
+
+    /**
+     * A physical connection and the time it was last returned to the pool.
+     */
+    private record PooledConnection(Connection physical, long returnedAt) {
+    }
+
     /**
-     * Establishes a connection to the PostgreSQL database using credentials from environment variables.
+     * Checks whether a database URL is configured, in .env or in the environment.
+     *
+     * @return true if SUPABASE_DB_URL is set
+     */
+    public static boolean isConfigured() {
+        return URL != null && !URL.isBlank();
+    }
+
+    /**
+     * Gets a connection to the PostgreSQL database, reusing an idle one from the pool when possible.
      *
      * @return a {@link Connection} object to interact with the database
      * @throws SQLException if there is an error in establishing the database connection
      */
     public static Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection physical = takePhysical();
+            acquireTimer.recordSince(start);
+            Connection pooled = wrap(physical, callerName());
+            UnaryOperator<Connection> wrapper = threadWrapper.get();
+            return wrapper != null ? wrapper.apply(pooled) : pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private static Connection takePhysical() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            boolean stale = System.currentTimeMillis() - pooled.returnedAt() > VALIDATE_AFTER_MILLIS;
+            if (!stale || isUsable(pooled.physical())) {
+                return pooled.physical();
+            }
+            closeQuietly(pooled.physical());
+        }
+        return openPhysical();
+    }
+
+    private static Connection openPhysical() throws SQLException {
         try {
             Class.forName("org.postgresql.Driver");
-            logger.info("Connecting to database...");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            logger.atDebug()
+                    .addKeyValue("pool_active", POOL_SIZE - permits.availablePermits())
+                    .addKeyValue("pool_idle", idle.size())
+                    .log("Opening database connection");
+            Connection physical = DriverManager.getConnection(URL, USER, PASSWORD);
+            connectionsOpened.increment();
+            return physical;
         } catch (ClassNotFoundException e) {
             logger.error("PostgreSQL JDBC Driver not found", e);
             throw new SQLException("PostgreSQL JDBC Driver not found", e);
         }
     }
+
+    private static boolean isUsable(Connection physical) {
+        try {
+            return physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a physical connection to the pool, undoing any transaction state left behind.
+     */
+    private static void release(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            idle.offerFirst(new PooledConnection(physical, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            logger.warn("Discarding database connection that could not be reset", e);
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Gets the timer of a service method. Service methods hold one connection for their database work,
+     * so the time from checkout to close measures each method without wrapping every method by hand.
+     */
+    private static LatencyHistogram serviceTimer(String method) {
+        return metrics.timer("hotel_service_call_seconds",
+                "Time service methods hold a database connection", "method", method);
+    }
+
+    /**
+     * Names the method that asked for a connection, e.g. {@code BookingService.getAllBookings},
+     * looking through the {@link JdbcTemplate} to the service that called it.
+     */
+    private static String callerName() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(DatabaseConnection.class.getName())
+                        && !frame.getClassName().equals(JdbcTemplate.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                    String method = frame.getMethodName();
+                    // Lambdas are named lambda$enclosingMethod$N
+                    int lambdaEnd = method.startsWith("lambda$") ? method.indexOf('$', 7) : -1;
+                    if (lambdaEnd > 7) {
+                        method = method.substring(7, lambdaEnd);
+                    }
+                    return simpleName + "." + method;
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * Wraps every connection this thread takes from the pool, until called again with null. Lets a test in
+     * this package see the statements the repositories send without running them through extra code in
+     * production.
+     *
+     * @param wrapper wraps each pooled connection, or null to stop wrapping
+     */
+    static void wrapConnectionsOnThisThread(UnaryOperator<Connection> wrapper) {
+        if (wrapper == null) {
+            threadWrapper.remove();
+        } else {
+            threadWrapper.set(wrapper);
+        }
+    }
+
+    /**
+     * Wraps a physical connection so that closing it returns it to the pool. Statements created through
+     * the wrapper are timed by the {@link QueryProfiler}.
+     */
+    private static Connection wrap(Connection physical, String caller) {
+        LatencyHistogram timer = serviceTimer(caller);
+        long checkedOut = System.nanoTime();
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            timer.recordSince(checkedOut);
+                            release(physical);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || physical.isClosed();
+                    case "unwrap":
+                    case "isWrapperFor":
+                        break;
+                    default:
+                        if (closed) {
+                            throw new SQLException("Connection is closed");
+                        }
+                }
+                Object result;
+                try {
+                    result = method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (method.getName().equals("prepareStatement")) {
+                    return QueryProfiler.monitor((Statement) result, (String) args[0], caller);
+                }
+                if (method.getName().equals("createStatement")) {
+                    return QueryProfiler.monitor((Statement) result, null, caller);
+                }
+                return result;
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                DatabaseConnection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Opens connections ahead of time and runs the given queries on each, so the first
+     * real request skips the connection handshake and the driver's first-use setup.
+     * Parameters of the queries are bound to null, so lookups by key return no rows.
+     *
+     * @param connections how many connections to open, at most the pool size
+     * @param queries read-only queries to prepare and run on every warmed connection
+     * @return the number of connections that were opened
+     */
+    public static int warmUp(int connections, List<String> queries) {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(connections, POOL_SIZE); i++) {
+                Connection conn = getConnection();
+                opened.add(conn);
+                conn.getMetaData().getDatabaseProductVersion();
+                for (String sql : queries) {
+                    runWithNullParameters(conn, sql);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Database warm-up stopped early", e);
+        } finally {
+            opened.forEach(DatabaseConnection::closeQuietly);
+        }
+        return opened.size();
+    }
+
+    private static void runWithNullParameters(Connection conn, String sql) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int count = pstmt.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                pstmt.setObject(i, null);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    // Drain the result so the row decoding path is exercised too
+                }
+            }
+        } catch (SQLException e) {
+            logger.debug("Warm-up query failed: {}", sql, e);
+        }
+    }
+
+    /**
+     * Closes all idle pooled connections, e.g. when the application exits.
+     */
+    public static void shutdown() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled.physical());
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing database connection", e);
+        }
+    }
 }
@@ -0,0 +1,256 @@
+package com.hotelreservation.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs queries and updates on pooled connections and maps the results with a {@link RowMapper}.
+ * Takes care of opening and closing the connection, statement and result set, so a service method
+ * is left with its SQL, its parameters and its error handling. Every statement is prepared, which lets
+ * the {@link QueryProfiler} and {@link SlowQueryLog} see its bind shape. Methods taking a
+ * {@link Connection} run on the caller's connection, for work that must share a transaction.
+ */
+public final class JdbcTemplate {
+
+    /** Binder for statements without parameters. */
+    public static final Binder NO_PARAMETERS = statement -> { };
+
+    private JdbcTemplate() {
+    }
+
+    /**
+     * Sets the parameters of a prepared statement.
+     */
+    @FunctionalInterface
+    public interface Binder {
+        /**
+         * Binds the parameters.
+         *
+         * @param statement the statement to bind
+         * @throws SQLException if a parameter cannot be set
+         */
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of one statement of a batch from an item.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface ItemBinder<T> {
+        /**
+         * Binds the parameters for an item.
+         *
+         * @param statement the statement to bind
+         * @param item the item to bind
+         * @throws SQLException if a parameter cannot be set
+         */
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    /**
+     * Binds values to the parameters in order with {@link PreparedStatement#setObject(int, Object)}.
+     *
+     * @param values the parameter values
+     * @return a binder for those values
+     */
+    public static Binder params(Object... values) {
+        return statement -> {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+        };
+    }
+
+    /**
+     * Escapes the LIKE wildcards in text with backslashes, PostgreSQL's default escape character, so that
+     * a pattern built around it matches the text literally.
+     *
+     * @param text the text to match
+     * @return the text with backslash, % and _ escaped
+     */
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Runs a query and maps every row.
+     *
+     * @param sql the query
+     * @param binder sets the query parameters
+     * @param mapper maps each row
+     * @param <T> the mapped type
+     * @return the mapped rows, in result order
+     * @throws SQLException if the query fails
+     */
+    public static <T> List<T> query(String sql, Binder binder, RowMapper<T> mapper) throws SQLException {
+        return query(sql, binder, mapper, 0);
+    }
+
+    /**
+     * Runs a query that may return many rows, fetching them from the server in chunks.
+     * The driver only honours a fetch size inside a transaction, so the query runs with auto-commit off.
+     *
+     * @param sql the query
+     * @param binder sets the query parameters
+     * @param mapper maps each row
+     * @param fetchSize rows fetched per round trip, or 0 to read the whole result at once
+     * @param <T> the mapped type
+     * @return the mapped rows, in result order
+     * @throws SQLException if the query fails
+     */
+    public static <T> List<T> query(String sql, Binder binder, RowMapper<T> mapper, int fetchSize)
+            throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (fetchSize > 0) {
+                conn.setAutoCommit(false);
+            }
+            return query(conn, sql, binder, mapper, fetchSize);
+        }
+    }
+
+    /**
+     * Runs a query on the caller's connection and maps every row.
+     *
+     * @param conn the connection to use; it is left open
+     * @param sql the query
+     * @param binder sets the query parameters
+     * @param mapper maps each row
+     * @param <T> the mapped type
+     * @return the mapped rows, in result order
+     * @throws SQLException if the query fails
+     */
+    public static <T> List<T> query(Connection conn, String sql, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        return query(conn, sql, binder, mapper, 0);
+    }
+
+    /**
+     * Runs a query and maps its first row.
+     *
+     * @param sql the query
+     * @param binder sets the query parameters
+     * @param mapper maps the row
+     * @param <T> the mapped type
+     * @return the mapped first row, or null if the query returned no rows
+     * @throws SQLException if the query fails
+     */
+    public static <T> T queryOne(String sql, Binder binder, RowMapper<T> mapper) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return queryOne(conn, sql, binder, mapper);
+        }
+    }
+
+    /**
+     * Runs a query on the caller's connection and maps its first row.
+     *
+     * @param conn the connection to use; it is left open
+     * @param sql the query
+     * @param binder sets the query parameters
+     * @param mapper maps the row
+     * @param <T> the mapped type
+     * @return the mapped first row, or null if the query returned no rows
+     * @throws SQLException if the query fails
+     */
+    public static <T> T queryOne(Connection conn, String sql, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapper.bind(ColumnIndex.of(rs)).read(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Runs an insert, update or delete.
+     *
+     * @param sql the statement
+     * @param binder sets the statement parameters
+     * @return the number of rows changed
+     * @throws SQLException if the statement fails
+     */
+    public static int update(String sql, Binder binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return update(conn, sql, binder);
+        }
+    }
+
+    /**
+     * Runs an insert, update or delete on the caller's connection.
+     *
+     * @param conn the connection to use; it is left open
+     * @param sql the statement
+     * @param binder sets the statement parameters
+     * @return the number of rows changed
+     * @throws SQLException if the statement fails
+     */
+    public static int update(Connection conn, String sql, Binder binder) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            binder.bind(pstmt);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Runs a statement once per item as a single JDBC batch on the caller's connection.
+     *
+     * @param conn the connection to use; it is left open
+     * @param sql the statement
+     * @param items the items to write
+     * @param binder sets the statement parameters for an item
+     * @param <T> the item type
+     * @return the update count of each statement
+     * @throws SQLException if the batch fails
+     */
+    public static <T> int[] batch(Connection conn, String sql, Collection<T> items, ItemBinder<? super T> binder)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (T item : items) {
+                binder.bind(pstmt, item);
+                pstmt.addBatch();
+            }
+            return pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Maps every remaining row of a result set, resolving the mapper's columns once.
+     *
+     * @param rs the result set
+     * @param mapper maps each row
+     * @param <T> the mapped type
+     * @return the mapped rows
+     * @throws SQLException if a row cannot be read
+     */
+    public static <T> List<T> mapAll(ResultSet rs, RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        if (!rs.next()) {
+            return rows;
+        }
+        RowMapper.Reader<T> reader = mapper.bind(ColumnIndex.of(rs));
+        do {
+            rows.add(reader.read(rs));
+        } while (rs.next());
+        return rows;
+    }
+
+    private static <T> List<T> query(Connection conn, String sql, Binder binder, RowMapper<T> mapper, int fetchSize)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (fetchSize > 0) {
+                pstmt.setFetchSize(fetchSize);
+            }
+            binder.bind(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return mapAll(rs, mapper);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.hotelreservation.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * Latencies are kept in microseconds; every power of two is split into 32 buckets,
+ * so reported percentiles are within about 3% of the true value at any magnitude.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    // Latencies above 2^40 us (about 12 days) are clamped to the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * A consistent view of the histogram at one point in time.
+     *
+     * @param count number of recorded latencies
+     * @param sumMillis total of all recorded latencies in milliseconds
+     * @param p50Millis median latency in milliseconds
+     * @param p90Millis 90th percentile latency in milliseconds
+     * @param p99Millis 99th percentile latency in milliseconds
+     * @param maxMillis largest recorded latency in milliseconds
+     */
+    public record Snapshot(long count, double sumMillis, double p50Millis, double p90Millis,
+                           double p99Millis, double maxMillis) {
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(indexOf(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * Records the time elapsed since the given start.
+     *
+     * @param startNanos a value of {@link System#nanoTime()} taken at the start
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Takes a snapshot of the recorded latencies.
+     *
+     * @return the current count, sum and percentiles
+     */
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = counts.get(i);
+            total += buckets[i];
+        }
+        return new Snapshot(total, sumMicros.sum() / 1000.0,
+                percentile(buckets, total, 0.50), percentile(buckets, total, 0.90),
+                percentile(buckets, total, 0.99), maxMicros.get() / 1000.0);
+    }
+
+    private static double percentile(long[] buckets, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return midpointOf(i) / 1000.0;
+            }
+        }
+        return midpointOf(buckets.length - 1) / 1000.0;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT - 1);
+        int shift = exponent - SUB_BUCKET_BITS;
+        long top = Math.min(micros >>> shift, LINEAR_LIMIT - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) (top - SUB_BUCKETS);
+    }
+
+    static long midpointOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long top = offset % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = top << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
@@ -0,0 +1,232 @@
+package com.hotelreservation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Application-wide metrics: counters, gauges and latency timers.
+ * Counters and gauges can be backed by values a class already tracks, so existing statistics
+ * are exported without being counted twice. Timers are grouped into families that share a name
+ * and a label, e.g. one family for all service methods with one timer per method.
+ * Everything can be written in the Prometheus text format.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+    private final Map<String, TimerFamily> timers = new ConcurrentSkipListMap<>();
+
+    /**
+     * A counter or gauge read when metrics are exported.
+     */
+    private record Metric(String name, String help, String type, DoubleSupplier value) {
+    }
+
+    /**
+     * A named set of timers distinguished by one label.
+     */
+    private record TimerFamily(String name, String help, String label, Map<String, LatencyHistogram> timers) {
+    }
+
+    /**
+     * One timer's statistics, for display.
+     *
+     * @param family the timer family
+     * @param label the label value within the family
+     * @param stats the recorded latencies
+     */
+    public record TimerStats(String family, String label, LatencyHistogram.Snapshot stats) {
+    }
+
+    /**
+     * A counter or gauge's current value, for display.
+     *
+     * @param name the metric name
+     * @param help the metric description
+     * @param value the current value
+     */
+    public record Reading(String name, String help, double value) {
+    }
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates a counter, or gets it if it already exists.
+     *
+     * @param name the metric name
+     * @param help the metric description
+     * @return the counter to increment
+     */
+    public LongAdder counter(String name, String help) {
+        Metric metric = metrics.computeIfAbsent(name,
+                ignored -> new Metric(name, help, "counter", new CounterValue(new LongAdder())));
+        if (metric.value() instanceof CounterValue value) {
+            return value.adder();
+        }
+        throw new IllegalArgumentException("Metric " + name + " is not a counter");
+    }
+
+    /**
+     * Registers a counter whose value is tracked elsewhere.
+     *
+     * @param name the metric name
+     * @param help the metric description
+     * @param value reads the current count
+     */
+    public void counter(String name, String help, DoubleSupplier value) {
+        metrics.put(name, new Metric(name, help, "counter", value));
+    }
+
+    /**
+     * Registers a gauge, a value that can go up and down.
+     *
+     * @param name the metric name
+     * @param help the metric description
+     * @param value reads the current value
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        metrics.put(name, new Metric(name, help, "gauge", value));
+    }
+
+    /**
+     * Gets the timer for one label value of a family, creating both if needed.
+     *
+     * @param family the family name, e.g. {@code hotel_service_call_seconds}
+     * @param help the family description
+     * @param label the label name shared by the family, e.g. {@code method}
+     * @param value the label value of this timer
+     * @return the timer's histogram
+     */
+    public LatencyHistogram timer(String family, String help, String label, String value) {
+        TimerFamily timerFamily = timers.computeIfAbsent(family,
+                name -> new TimerFamily(name, help, label, new ConcurrentHashMap<>()));
+        return timerFamily.timers().computeIfAbsent(value, ignored -> new LatencyHistogram());
+    }
+
+    /**
+     * Runs a task and records its duration in a timer.
+     *
+     * @param histogram the timer to record in
+     * @param task the task to run
+     * @param <T> the task's result type
+     * @return the task's result
+     */
+    public static <T> T time(LatencyHistogram histogram, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            histogram.recordSince(start);
+        }
+    }
+
+    /**
+     * Gets the statistics of every timer, sorted by family and label.
+     *
+     * @return the timer statistics
+     */
+    public List<TimerStats> getTimerStats() {
+        List<TimerStats> stats = new ArrayList<>();
+        for (TimerFamily family : timers.values()) {
+            family.timers().entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> stats.add(new TimerStats(family.name(), entry.getKey(), entry.getValue().snapshot())));
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the current value of every counter and gauge, sorted by name.
+     *
+     * @return the readings
+     */
+    public List<Reading> getReadings() {
+        List<Reading> readings = new ArrayList<>();
+        for (Metric metric : metrics.values()) {
+            readings.add(new Reading(metric.name(), metric.help(), read(metric)));
+        }
+        return readings;
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format. Timers are written as summaries.
+     *
+     * @return the exposition text
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        for (Metric metric : metrics.values()) {
+            header(out, metric.name(), metric.help(), metric.type());
+            out.append(metric.name()).append(' ').append(format(read(metric))).append('\n');
+        }
+        for (TimerFamily family : timers.values()) {
+            header(out, family.name(), family.help(), "summary");
+            family.timers().entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                String label = family.label() + "=\"" + escape(entry.getKey()) + "\"";
+                LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+                quantile(out, family.name(), label, "0.5", snapshot.p50Millis());
+                quantile(out, family.name(), label, "0.9", snapshot.p90Millis());
+                quantile(out, family.name(), label, "0.99", snapshot.p99Millis());
+                out.append(family.name()).append("_sum{").append(label).append("} ")
+                        .append(format(snapshot.sumMillis() / 1000.0)).append('\n');
+                out.append(family.name()).append("_count{").append(label).append("} ")
+                        .append(snapshot.count()).append('\n');
+            });
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String name, String label, String quantile, double millis) {
+        out.append(name).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(format(millis / 1000.0)).append('\n');
+    }
+
+    private static double read(Metric metric) {
+        try {
+            return metric.value().getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Keeps a reference to the adder of a counter created through the registry.
+     */
+    private record CounterValue(LongAdder adder) implements DoubleSupplier {
+        @Override
+        public double getAsDouble() {
+            return adder.sum();
+        }
+    }
+}
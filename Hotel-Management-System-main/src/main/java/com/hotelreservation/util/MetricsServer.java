@@ -0,0 +1,77 @@
+package com.hotelreservation.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves the application's metrics to Prometheus at {@code /metrics}.
+ * Disabled unless the {@code hotel.metrics.port} system property is set; the server
+ * only listens on the loopback interface.
+ */
+public final class MetricsServer {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+    private static final String PORT_PROPERTY = "hotel.metrics.port";
+    private static HttpServer server;
+
+    private MetricsServer() {
+    }
+
+    /**
+     * Starts the endpoint if a port is configured.
+     */
+    public static synchronized void startIfConfigured() {
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null || port.isBlank() || server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())), 0);
+            server.createContext("/metrics", MetricsServer::handle);
+            server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            logger.info("Serving metrics on http://localhost:{}/metrics", server.getAddress().getPort());
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Could not start metrics endpoint on port {}", port, e);
+            server = null;
+        }
+    }
+
+    /**
+     * Stops the endpoint if it is running.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = MetricsRegistry.getInstance().toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.hotelreservation.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times every statement run on a pooled connection.
+ * Statements are grouped by fingerprint, the SQL with literals replaced by {@code ?} and whitespace collapsed,
+ * so one timer covers every execution of the same query. Each execution also notes its bind shape, the
+ * types of the bound parameters, and executions slower than the threshold are handed to the {@link SlowQueryLog}.
+ * With the {@code com.hotelreservation.db} logger at DEBUG, every statement is also logged as a key-value
+ * event with the calling method, duration and row count.
+ */
+public final class QueryProfiler {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LABEL_LENGTH = 120;
+    private static final int MAX_CACHED_FINGERPRINTS = 1000;
+
+    private static final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final Logger events = LoggerFactory.getLogger("com.hotelreservation.db");
+
+    private QueryProfiler() {
+    }
+
+    /**
+     * Wraps a statement so its executions are timed.
+     *
+     * @param statement the statement returned by the driver
+     * @param sql the SQL of a prepared statement, or null for a plain statement
+     * @param caller the service method that owns the connection
+     * @return a timed statement of the same type
+     */
+    public static Statement monitor(Statement statement, String sql, String caller) {
+        Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(QueryProfiler.class.getClassLoader(), new Class<?>[] { type },
+                new TimedStatement(statement, sql, caller));
+    }
+
+    /**
+     * Normalizes SQL so that executions differing only in literals or layout share a fingerprint.
+     *
+     * @param sql the SQL text
+     * @return the fingerprint
+     */
+    public static String fingerprint(String sql) {
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        // SQL built with inlined values would grow the cache without bound
+        if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+            fingerprints.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    /**
+     * Wraps a result set so that closing it logs how many rows were read and how long the query
+     * took from execution to close.
+     */
+    private static ResultSet countRows(ResultSet rs, String caller, String fingerprint, long startNanos) {
+        InvocationHandler handler = new InvocationHandler() {
+            private long rows;
+            private boolean logged;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result;
+                try {
+                    result = method.invoke(rs, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else if (method.getName().equals("close") && !logged) {
+                    logged = true;
+                    logEvent(caller, fingerprint, System.nanoTime() - startNanos, rows, "ok");
+                }
+                return result;
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(QueryProfiler.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, handler);
+    }
+
+    /**
+     * Emits one structured event per statement on the {@code com.hotelreservation.db} logger.
+     * Events are at DEBUG, so nothing is built unless that logger is enabled.
+     */
+    private static void logEvent(String caller, String fingerprint, long nanos, long rows, String outcome) {
+        events.atDebug()
+                .addKeyValue("query", caller)
+                .addKeyValue("duration_ms", Math.round(nanos / 10_000.0) / 100.0)
+                .addKeyValue("rows", rows)
+                .addKeyValue("outcome", outcome)
+                .addKeyValue("sql", fingerprint)
+                .log("statement");
+    }
+
+    private static long rowsAffected(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        return -1;
+    }
+
+    private static LatencyHistogram queryTimer(String fingerprint) {
+        String label = fingerprint.length() > MAX_LABEL_LENGTH
+                ? fingerprint.substring(0, MAX_LABEL_LENGTH) + "..." : fingerprint;
+        return metrics.timer("hotel_query_seconds", "Time to execute a statement, by query fingerprint", "query", label);
+    }
+
+    /**
+     * Forwards calls to the driver's statement, remembering bound parameters and timing executions.
+     */
+    private static final class TimedStatement implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final String caller;
+        private Object[] parameters = new Object[0];
+        private String[] shape = new String[0];
+        private int batchSize;
+
+        TimedStatement(Statement statement, String sql, String caller) {
+            this.statement = statement;
+            this.sql = sql;
+            this.caller = caller;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.substring(3), args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters = new Object[0];
+                shape = new String[0];
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.startsWith("execute") && !SlowQueryLog.isExplaining()) {
+                // Plain statements pass their SQL to execute; prepared statements were given it up front
+                boolean prepared = args == null || args.length == 0 || !(args[0] instanceof String);
+                String text = prepared ? sql : (String) args[0];
+                if (text != null) {
+                    long start = System.nanoTime();
+                    Object result = timed(method, args, text, prepared);
+                    if (result instanceof ResultSet rs && events.isDebugEnabled()) {
+                        return countRows(rs, caller, fingerprint(text), start);
+                    }
+                    return result;
+                }
+            }
+            return forward(method, args);
+        }
+
+        private void bind(int index, String type, Object value) {
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, index);
+                shape = Arrays.copyOf(shape, index);
+            }
+            parameters[index - 1] = type.equals("Null") ? null : value;
+            shape[index - 1] = type.equals("Null") || value == null ? "null" : type;
+        }
+
+        private Object timed(Method method, Object[] args, String text, boolean prepared) throws Throwable {
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = forward(method, args);
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                String fingerprint = fingerprint(text);
+                queryTimer(fingerprint).record(elapsed);
+                if (SlowQueryLog.isSlow(elapsed)) {
+                    SlowQueryLog.getInstance().record(fingerprint, prepared ? text : null, bindShape(),
+                            prepared ? parameters.clone() : new Object[0], caller, elapsed,
+                            method.getName().equals("executeBatch") ? batchSize : 1);
+                }
+                if (method.getName().equals("executeBatch")) {
+                    batchSize = 0;
+                }
+                if (events.isDebugEnabled() && !(result instanceof ResultSet)) {
+                    logEvent(caller, fingerprint, elapsed, rowsAffected(result), result == null ? "error" : "ok");
+                }
+            }
+        }
+
+        private String bindShape() {
+            StringBuilder out = new StringBuilder("(");
+            for (int i = 0; i < shape.length; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(shape[i] == null ? "unset" : shape[i]);
+            }
+            return out.append(')').toString();
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
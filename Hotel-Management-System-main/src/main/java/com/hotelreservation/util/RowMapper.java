@@ -0,0 +1,99 @@
+package com.hotelreservation.util;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Maps the rows of a result set to objects.
+ * Mapping happens in two steps: {@link #bind(ColumnIndex)} runs once per result set and resolves the
+ * columns the mapper needs to positions, and the returned {@link Reader} then reads each row by position.
+ * A mapper is stateless and can be shared; the reader belongs to a single result set.
+ *
+ * @param <T> the mapped type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Resolves the columns this mapper reads.
+     *
+     * @param columns the column positions of the result set about to be read
+     * @return a reader for the rows of that result set
+     * @throws SQLException if a required column is missing
+     */
+    Reader<T> bind(ColumnIndex columns) throws SQLException;
+
+    /**
+     * Reads the current row of a result set whose columns were resolved by {@link RowMapper#bind(ColumnIndex)}.
+     *
+     * @param <T> the mapped type
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        /**
+         * Maps the current row.
+         *
+         * @param rs the result set, positioned on a row
+         * @return the mapped object
+         * @throws SQLException if a column cannot be read
+         */
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads a string column that may be missing from the result set.
+     *
+     * @param rs the result set
+     * @param column the column position, or 0 if the column is missing
+     * @return the value, or null if it is SQL NULL or the column is missing
+     * @throws SQLException if the column cannot be read
+     */
+    static String optionalString(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : rs.getString(column);
+    }
+
+    /**
+     * Reads a date column.
+     *
+     * @param rs the result set
+     * @param column the column position
+     * @return the value, or null if it is SQL NULL
+     * @throws SQLException if the column cannot be read
+     */
+    static LocalDate localDate(ResultSet rs, int column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value == null ? null : value.toLocalDate();
+    }
+
+    /**
+     * Reads a time column.
+     *
+     * @param rs the result set
+     * @param column the column position
+     * @return the value, or null if it is SQL NULL
+     * @throws SQLException if the column cannot be read
+     */
+    static LocalTime localTime(ResultSet rs, int column) throws SQLException {
+        Time value = rs.getTime(column);
+        return value == null ? null : value.toLocalTime();
+    }
+
+    /**
+     * Reads a timestamp column.
+     *
+     * @param rs the result set
+     * @param column the column position
+     * @return the value, or null if it is SQL NULL
+     * @throws SQLException if the column cannot be read
+     */
+    static LocalDateTime localDateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime();
+    }
+}
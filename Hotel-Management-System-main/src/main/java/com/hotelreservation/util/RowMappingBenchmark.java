@@ -0,0 +1,151 @@
+package com.hotelreservation.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.hotelreservation.model.Room;
+import com.hotelreservation.repository.jdbc.RowMappers;
+
+/**
+ * Compares the per-row cost of mapping rooms by column name, as the services used to, with the shared
+ * {@link RowMappers#ROOM} mapper that resolves column positions once per result set.
+ * Rows come from an in-memory result set whose lookup by name works like the PostgreSQL driver's: labels
+ * arrive in lower case, and a name is found through a per-result-set map, trying it as given and then
+ * lower-cased. No database is needed, so the numbers isolate the mapping itself; both variants make the
+ * same calls into the result set and differ only in how they find the column.
+ * Run it with {@code mvn compile javafx:run@row-mapping-benchmark}.
+ */
+public final class RowMappingBenchmark {
+    private static final String[] LABELS = {
+        "roomid", "roomnumber", "type", "rate", "capacity", "status", "description", "amenities", "floor"
+    };
+    private static final int[] RESULT_SIZES = { 1, 50, 5000 };
+    private static final int ROWS_PER_ROUND = 2_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** The mapping the services used before the shared mappers: every column looked up by name on every row. */
+    private static final RowMapper<Room> BY_NAME = columns -> rs -> new Room(
+        rs.getString("roomId"),
+        rs.getString("roomNumber"),
+        rs.getString("type"),
+        rs.getDouble("rate"),
+        rs.getInt("capacity"),
+        rs.getString("status"),
+        rs.getString("description"),
+        rs.getString("amenities"),
+        rs.getInt("floor")
+    );
+
+    private static long sink;
+
+    private RowMappingBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of measured rounds per variant (default 5)
+     * @throws SQLException if mapping fails
+     */
+    public static void main(String[] args) throws SQLException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        System.out.printf("%10s %14s %14s %10s%n", "rows/query", "by name ns/row", "cached ns/row", "saving");
+        for (int size : RESULT_SIZES) {
+            Object[][] rows = createRows(size);
+            double byName = measure(BY_NAME, rows, rounds);
+            double cached = measure(RowMappers.ROOM, rows, rounds);
+            System.out.printf("%10d %14.1f %14.1f %9.0f%%%n", size, byName, cached, 100 * (1 - cached / byName));
+        }
+        // Printed so the mapped rows cannot be optimized away
+        System.out.println("checksum " + sink);
+    }
+
+    /**
+     * Maps enough result sets of the given rows to cover a round, and returns the median time per row.
+     */
+    private static double measure(RowMapper<Room> mapper, Object[][] rows, int rounds) throws SQLException {
+        int resultSets = Math.max(1, ROWS_PER_ROUND / rows.length);
+        double[] nanosPerRow = new double[rounds];
+        for (int round = -WARMUP_ROUNDS; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < resultSets; i++) {
+                for (Room room : JdbcTemplate.mapAll(fakeResultSet(rows), mapper)) {
+                    sink += room.getFloor();
+                }
+            }
+            if (round >= 0) {
+                nanosPerRow[round] = (System.nanoTime() - start) / (double) (resultSets * rows.length);
+            }
+        }
+        Arrays.sort(nanosPerRow);
+        return nanosPerRow[rounds / 2];
+    }
+
+    private static Object[][] createRows(int count) {
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] {
+                "room-" + i, String.valueOf(100 + i), "DELUXE", 120.0 + i % 50, 2 + i % 3, "AVAILABLE",
+                "Sea view", "WiFi, Minibar", 1 + i % 10
+            };
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a forward-only result set over the rows, with the driver's lookup by name.
+     */
+    private static ResultSet fakeResultSet(Object[][] rows) {
+        ResultSetMetaData meta = proxy(ResultSetMetaData.class, (self, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> LABELS.length;
+            case "getColumnLabel" -> LABELS[(Integer) args[0] - 1];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        Map<String, Integer> positions = new HashMap<>();
+        int[] cursor = { -1 };
+        return proxy(ResultSet.class, (self, method, args) -> switch (method.getName()) {
+            case "next" -> ++cursor[0] < rows.length;
+            case "getMetaData" -> meta;
+            case "findColumn" -> findColumn(positions, (String) args[0]);
+            case "getString", "getDouble", "getInt" -> {
+                int column = args[0] instanceof String label ? findColumn(positions, label) : (Integer) args[0];
+                yield rows[cursor[0]][column - 1];
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Looks a column up by name the way the driver does: the map is filled on first use, and a name that
+     * only matched after lower-casing is remembered as given.
+     */
+    private static int findColumn(Map<String, Integer> positions, String label) throws SQLException {
+        if (positions.isEmpty()) {
+            for (int i = 0; i < LABELS.length; i++) {
+                positions.put(LABELS[i], i + 1);
+            }
+        }
+        Integer position = positions.get(label);
+        if (position == null) {
+            position = positions.get(label.toLowerCase(Locale.US));
+            if (position == null) {
+                throw new SQLException("The column name " + label + " was not found in this ResultSet.");
+            }
+            positions.put(label, position);
+        }
+        return position;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(RowMappingBenchmark.class.getClassLoader(),
+                new Class<?>[] { type }, handler));
+    }
+}
@@ -0,0 +1,205 @@
+package com.hotelreservation.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Brings the database schema up to date at startup.
+ * Migrations are SQL scripts under {@code /db/migration}, named {@code V<version>__<description>.sql} and
+ * listed in {@link #SCRIPTS}. Each pending script runs in its own transaction together with its row in
+ * SchemaHistory, so a script is either applied and recorded or not applied at all. The CRC32 of every
+ * applied script is recorded too; if a script changes after it was applied, nothing further is migrated.
+ * Instances starting together are serialized with an advisory lock.
+ */
+public final class SchemaMigrations {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+    private static final String SCRIPT_DIR = "/db/migration/";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /** The migrations in the order they are applied. Append new scripts; never edit or reorder applied ones. */
+    static final List<String> SCRIPTS = List.of(
+            "V1__baseline_schema.sql",
+            "V2__hot_query_indexes.sql",
+            "V3__change_tracking.sql");
+
+    /**
+     * A migration script.
+     *
+     * @param version the version the script brings the schema to
+     * @param description what the script does, from its file name
+     * @param sql the script
+     * @param checksum the CRC32 of the script with line endings normalized
+     */
+    record Migration(int version, String description, String sql, long checksum) {
+    }
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Applies the migrations the database has not seen yet.
+     *
+     * @return true if the schema is up to date, false if a migration failed or could not be checked
+     */
+    public static boolean migrate() {
+        List<Migration> migrations;
+        try {
+            migrations = load();
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Could not read the schema migrations", e);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Map<Integer, Long> applied = readHistory(conn);
+            for (Migration migration : migrations) {
+                Long checksum = applied.get(migration.version());
+                if (checksum != null && checksum != migration.checksum()) {
+                    logger.error("Migration V{} was changed after it was applied; not migrating further. "
+                            + "Restore the original script and add the change as a new migration.",
+                            migration.version());
+                    return false;
+                }
+            }
+            int appliedNow = 0;
+            for (Migration migration : migrations) {
+                if (!applied.containsKey(migration.version()) && apply(conn, migration)) {
+                    appliedNow++;
+                }
+            }
+            int latest = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+            if (applied.keySet().stream().anyMatch(version -> version > latest)) {
+                logger.warn("The database schema is newer than this version of the application expects");
+            }
+            logger.info("Database schema at V{}, {} migration(s) applied in {} ms", latest, appliedNow,
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Database schema migration failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the migration scripts in order.
+     */
+    static List<Migration> load() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        int previous = 0;
+        for (String script : SCRIPTS) {
+            Matcher name = SCRIPT_NAME.matcher(script);
+            if (!name.matches()) {
+                throw new IllegalStateException("Badly named migration script " + script);
+            }
+            int version = Integer.parseInt(name.group(1));
+            if (version <= previous) {
+                throw new IllegalStateException("Migration " + script + " is out of order");
+            }
+            previous = version;
+            try (InputStream in = SchemaMigrations.class.getResourceAsStream(SCRIPT_DIR + script)) {
+                if (in == null) {
+                    throw new IOException("Missing migration script " + script);
+                }
+                // Normalized so a checkout with other line endings does not look like an edited script
+                String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+                migrations.add(new Migration(version, name.group(2).replace('_', ' '), sql, checksum(sql)));
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Creates SchemaHistory if needed and reads the applied versions with their checksums.
+     */
+    private static Map<Integer, Long> readHistory(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        begin(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS SchemaHistory (" +
+                        "version INTEGER PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "checksum BIGINT NOT NULL, " +
+                        "appliedAt TIMESTAMPTZ NOT NULL DEFAULT now())");
+            try (ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM SchemaHistory")) {
+                while (rs.next()) {
+                    applied.put(rs.getInt(1), rs.getLong(2));
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+        return applied;
+    }
+
+    /**
+     * Runs a script and records it, unless another instance applied it in the meantime.
+     *
+     * @return true if this call applied the migration
+     */
+    private static boolean apply(Connection conn, Migration migration) throws SQLException {
+        begin(conn);
+        try {
+            try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM SchemaHistory WHERE version = ?")) {
+                check.setInt(1, migration.version());
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next()) {
+                        conn.commit();
+                        return false;
+                    }
+                }
+            }
+            long start = System.nanoTime();
+            try (Statement stmt = conn.createStatement()) {
+                // The driver splits the script into statements, keeping dollar-quoted function bodies whole
+                stmt.execute(migration.sql());
+            }
+            try (PreparedStatement record = conn.prepareStatement(
+                    "INSERT INTO SchemaHistory (version, description, checksum) VALUES (?, ?, ?)")) {
+                record.setInt(1, migration.version());
+                record.setString(2, migration.description());
+                record.setLong(3, migration.checksum());
+                record.executeUpdate();
+            }
+            conn.commit();
+            logger.info("Applied migration V{} ({}) in {} ms", migration.version(), migration.description(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version() + " failed: " + e.getMessage(),
+                    e.getSQLState(), e);
+        }
+    }
+
+    private static void begin(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(hashtext('SchemaMigrations'))");
+        }
+    }
+
+    private static long checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
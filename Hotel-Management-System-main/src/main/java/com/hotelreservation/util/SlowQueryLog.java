@@ -0,0 +1,238 @@
+package com.hotelreservation.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the slowest statements seen since startup, with query plans for a sample of them.
+ * Statements slower than {@code hotel.slowQuery.thresholdMillis} (default 200 ms) are recorded with their
+ * fingerprint, bind shape and calling service method; bound values are never stored. The most recent ones
+ * are kept in a ring buffer and the slowest ones in a top-N list. For read-only queries, the first slow
+ * execution of each fingerprint and every tenth after that is re-run in the background with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} inside a transaction that is rolled back.
+ */
+public class SlowQueryLog {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final long THRESHOLD_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("hotel.slowQuery.thresholdMillis", 200));
+    private static final int RECENT_CAPACITY = 100;
+    private static final int TOP_N = 20;
+    private static final int EXPLAIN_EVERY = 10;
+    private static final ThreadLocal<Boolean> explaining = ThreadLocal.withInitial(() -> false);
+    private static final SlowQueryLog instance = new SlowQueryLog();
+
+    // One plan at a time, and a slow database should not pile up more work: extra requests are dropped
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(4), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private final SlowQuery[] recent = new SlowQuery[RECENT_CAPACITY];
+    private int next;
+    private final PriorityQueue<SlowQuery> slowest = new PriorityQueue<>(Comparator.comparingDouble(SlowQuery::getDurationMillis));
+    private final Map<String, AtomicLong> slowCounts = new ConcurrentHashMap<>();
+    private final LongAdder recorded = MetricsRegistry.getInstance().counter("hotel_slow_queries_total",
+            "Statements slower than the slow query threshold");
+
+    /**
+     * One slow execution of a statement.
+     */
+    public static class SlowQuery {
+        private final String fingerprint;
+        private final String bindShape;
+        private final String caller;
+        private final double durationMillis;
+        private final int batchSize;
+        private final LocalDateTime timestamp;
+        private volatile String plan;
+
+        SlowQuery(String fingerprint, String bindShape, String caller, double durationMillis, int batchSize) {
+            this.fingerprint = fingerprint;
+            this.bindShape = bindShape;
+            this.caller = caller;
+            this.durationMillis = durationMillis;
+            this.batchSize = batchSize;
+            this.timestamp = LocalDateTime.now();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getBindShape() {
+            return bindShape;
+        }
+
+        public String getCaller() {
+            return caller;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the captured query plan.
+         *
+         * @return the plan text, or null if this execution was not sampled or the plan is not ready yet
+         */
+        public String getPlan() {
+            return plan;
+        }
+    }
+
+    private SlowQueryLog() {
+    }
+
+    public static SlowQueryLog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether an execution time is over the slow query threshold.
+     *
+     * @param nanos the execution time in nanoseconds
+     * @return true if the execution counts as slow
+     */
+    public static boolean isSlow(long nanos) {
+        return nanos >= THRESHOLD_NANOS;
+    }
+
+    /**
+     * Checks whether the current thread is capturing a plan, so its own statements are not profiled.
+     *
+     * @return true on the plan capture thread while it runs EXPLAIN
+     */
+    public static boolean isExplaining() {
+        return explaining.get();
+    }
+
+    /**
+     * Records a slow execution and samples its plan.
+     *
+     * @param fingerprint the normalized SQL
+     * @param sql the exact prepared SQL, or null if the statement cannot be re-run with parameters
+     * @param bindShape the types of the bound parameters
+     * @param parameters the bound values, used only to capture the plan
+     * @param caller the service method that ran the statement
+     * @param nanos the execution time in nanoseconds
+     * @param batchSize the number of batched executions, 1 for a single execution
+     */
+    public void record(String fingerprint, String sql, String bindShape, Object[] parameters,
+                       String caller, long nanos, int batchSize) {
+        SlowQuery query = new SlowQuery(fingerprint, bindShape, caller, nanos / 1_000_000.0, batchSize);
+        recorded.increment();
+        logger.atWarn()
+                .addKeyValue("query", caller)
+                .addKeyValue("duration_ms", Math.round(query.getDurationMillis() * 10) / 10.0)
+                .addKeyValue("binds", bindShape)
+                .addKeyValue("batch", batchSize)
+                .addKeyValue("sql", fingerprint)
+                .log("Slow query");
+
+        synchronized (this) {
+            recent[next] = query;
+            next = (next + 1) % RECENT_CAPACITY;
+            if (slowest.size() < TOP_N) {
+                slowest.add(query);
+            } else if (slowest.peek().getDurationMillis() < query.getDurationMillis()) {
+                slowest.poll();
+                slowest.add(query);
+            }
+        }
+
+        long occurrence = slowCounts.computeIfAbsent(fingerprint, key -> new AtomicLong()).getAndIncrement();
+        if (sql != null && isReadOnly(fingerprint) && occurrence % EXPLAIN_EVERY == 0) {
+            explainExecutor.execute(() -> explain(query, sql, parameters));
+        }
+    }
+
+    /**
+     * Gets the slowest executions since startup.
+     *
+     * @return up to 20 executions, slowest first
+     */
+    public synchronized List<SlowQuery> getSlowest() {
+        List<SlowQuery> list = new ArrayList<>(slowest);
+        list.sort(Comparator.comparingDouble(SlowQuery::getDurationMillis).reversed());
+        return list;
+    }
+
+    /**
+     * Gets the most recent slow executions.
+     *
+     * @return up to 100 executions, newest first
+     */
+    public synchronized List<SlowQuery> getRecent() {
+        List<SlowQuery> list = new ArrayList<>();
+        for (int i = 1; i <= RECENT_CAPACITY; i++) {
+            SlowQuery query = recent[(next - i + RECENT_CAPACITY) % RECENT_CAPACITY];
+            if (query == null) {
+                break;
+            }
+            list.add(query);
+        }
+        return list;
+    }
+
+    private static boolean isReadOnly(String fingerprint) {
+        String lower = fingerprint.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("select")) {
+            return !lower.contains(" for update") && !lower.contains(" for share");
+        }
+        return lower.startsWith("with") && !lower.matches(".*\\b(insert|update|delete)\\b.*");
+    }
+
+    private void explain(SlowQuery query, String sql, Object[] parameters) {
+        explaining.set(true);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    pstmt.setObject(i + 1, parameters[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                query.plan = plan.toString();
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not capture plan for: {}", query.getFingerprint(), e);
+        } finally {
+            explaining.remove();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.hotelreservation.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cold start with and without the class-sharing archive.
+ * Starts the application repeatedly in scripted mode, which exits as soon as bootstrap is done,
+ * and reads each run's startup timeline. Time to interactive is when the login view was shown.
+ * Run it through the {@code cds} Maven profile so the child processes get the same class and module path:
+ * {@code mvn -Pcds javafx:run@startup-benchmark}.
+ */
+public final class StartupBenchmark {
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the archive file, and optionally the number of runs per mode (default 5)
+     * @throws Exception if a run cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: StartupBenchmark <archive.jsa> [runs]");
+            System.exit(2);
+        }
+        Path archive = Path.of(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        if (!Files.exists(archive)) {
+            System.err.println("Archive " + archive + " not found; record it first with javafx:run@cds-train");
+        }
+
+        List<String> rows = new ArrayList<>();
+        rows.add(measure("default", null, runs));
+        if (Files.exists(archive)) {
+            rows.add(measure("appcds", archive, runs));
+        }
+
+        System.out.println();
+        System.out.printf("%-8s %10s %10s %10s %12s%n", "mode", "tti p50", "tti min", "boot p50", "process p50");
+        rows.forEach(System.out::println);
+    }
+
+    private static String measure(String mode, Path archive, int runs) throws IOException, InterruptedException {
+        List<Long> interactive = new ArrayList<>();
+        List<Long> bootstrapped = new ArrayList<>();
+        List<Long> process = new ArrayList<>();
+
+        for (int i = 0; i < runs; i++) {
+            Path timeline = Files.createTempFile("startup-timeline", ".csv");
+            try {
+                long started = System.nanoTime();
+                Process child = start(archive, timeline);
+                if (!child.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    child.destroyForcibly();
+                    System.err.printf("%s run %d timed out%n", mode, i + 1);
+                    continue;
+                }
+                process.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                long tti = phaseEnd(timeline, "login.view");
+                long boot = phaseEnd(timeline, "bootstrap.complete");
+                if (tti >= 0) {
+                    interactive.add(tti);
+                }
+                if (boot >= 0) {
+                    bootstrapped.add(boot);
+                }
+                System.out.printf("%s run %d: interactive after %d ms, bootstrapped after %d ms%n", mode, i + 1, tti, boot);
+            } finally {
+                Files.deleteIfExists(timeline);
+            }
+        }
+
+        return String.format("%-8s %8d ms %8d ms %8d ms %10d ms", mode,
+                median(interactive), interactive.isEmpty() ? -1 : Collections.min(interactive),
+                median(bootstrapped), median(process));
+    }
+
+    private static Process start(Path archive, Path timeline) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-Dhotel.training=true");
+        command.add("-Dhotel.startup.timeline=" + timeline);
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null && !modulePath.isEmpty()) {
+            command.add("--module-path");
+            command.add(modulePath);
+            command.add("--add-modules");
+            command.add("javafx.controls,javafx.fxml");
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.hotelreservation.App");
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        // Cold start only: do not log in even if training credentials are set
+        builder.environment().remove("HOTEL_TRAINING_STAFF_ID");
+        builder.environment().remove("HOTEL_TRAINING_PASSWORD");
+        return builder.start();
+    }
+
+    private static long phaseEnd(Path timeline, String phase) throws IOException {
+        if (!Files.exists(timeline)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(timeline)) {
+            String[] fields = line.split(",");
+            if (fields.length == 5 && fields[0].equals(phase)) {
+                return Long.parseLong(fields[3]);
+            }
+        }
+        return -1;
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
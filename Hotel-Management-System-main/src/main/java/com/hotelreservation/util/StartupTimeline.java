@@ -0,0 +1,126 @@
+package com.hotelreservation.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long each phase of application startup takes.
+ * Times are milliseconds since the JVM started, so phases running in parallel can be compared directly.
+ * When the {@code hotel.startup.timeline} system property names a file, the timeline is also written
+ * there as CSV so cold-start time can be tracked between builds.
+ */
+public final class StartupTimeline {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+    private static final String OUTPUT_PROPERTY = "hotel.startup.timeline";
+    private static final long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final List<Phase> phases = new CopyOnWriteArrayList<>();
+
+    /**
+     * A finished startup phase.
+     *
+     * @param name the phase name
+     * @param thread the thread the phase ran on
+     * @param startMillis when the phase started, in milliseconds since JVM start
+     * @param endMillis when the phase ended, in milliseconds since JVM start
+     */
+    public record Phase(String name, String thread, long startMillis, long endMillis) {
+        public long durationMillis() {
+            return endMillis - startMillis;
+        }
+    }
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Gets the current time on the timeline.
+     *
+     * @return milliseconds since the JVM started
+     */
+    public static long now() {
+        return System.currentTimeMillis() - jvmStart;
+    }
+
+    /**
+     * Records a phase that started at the given time and ends now.
+     *
+     * @param name the phase name
+     * @param startMillis the start time returned by {@link #now()}
+     */
+    public static void record(String name, long startMillis) {
+        phases.add(new Phase(name, Thread.currentThread().getName(), startMillis, now()));
+    }
+
+    /**
+     * Records a milestone, a phase measured from JVM start to now.
+     *
+     * @param name the milestone name
+     */
+    public static void mark(String name) {
+        record(name, 0);
+    }
+
+    /**
+     * Runs a task and records it as a phase.
+     *
+     * @param name the phase name
+     * @param task the work of the phase
+     * @return a task that runs the work and records its duration
+     */
+    public static Runnable timed(String name, Runnable task) {
+        return () -> {
+            long start = now();
+            try {
+                task.run();
+            } finally {
+                record(name, start);
+            }
+        };
+    }
+
+    /**
+     * Gets the recorded phases ordered by start time.
+     *
+     * @return a snapshot of the timeline
+     */
+    public static List<Phase> getPhases() {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingLong(Phase::startMillis).thenComparingLong(Phase::endMillis));
+        return sorted;
+    }
+
+    /**
+     * Logs the timeline and writes it to the configured file, if any.
+     */
+    public static void report() {
+        List<Phase> sorted = getPhases();
+        StringBuilder summary = new StringBuilder("Startup timeline (ms since JVM start):");
+        StringBuilder csv = new StringBuilder("phase,thread,start_ms,end_ms,duration_ms\n");
+        for (Phase phase : sorted) {
+            summary.append(String.format("%n  %-24s %6d -> %6d  (%d ms, %s)", phase.name(),
+                    phase.startMillis(), phase.endMillis(), phase.durationMillis(), phase.thread()));
+            csv.append(phase.name()).append(',').append(phase.thread()).append(',')
+                    .append(phase.startMillis()).append(',').append(phase.endMillis()).append(',')
+                    .append(phase.durationMillis()).append('\n');
+        }
+        logger.info(summary.toString());
+
+        String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null && !output.isBlank()) {
+            try {
+                Files.writeString(Path.of(output), csv);
+            } catch (IOException e) {
+                logger.warn("Could not write startup timeline to {}", output, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.hotelreservation.view;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import com.hotelreservation.model.Room;
+
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Virtualized room availability calendar.
+ * Rooms are rows and days are columns. Only the cells inside the viewport are painted onto a single
+ * canvas, so the cost of a redraw depends on the visible area rather than on the number of rooms or days.
+ */
+public final class AvailabilityCalendar extends Region {
+
+    /**
+     * Callback invoked when a calendar cell is clicked.
+     */
+    @FunctionalInterface
+    public interface CellClickHandler {
+        void onCellClicked(Room room, LocalDate date, MouseEvent event);
+    }
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd");
+    private static final double ROW_HEIGHT = 40;
+    private static final double COLUMN_WIDTH = 80;
+    private static final double HEADER_HEIGHT = 36;
+    private static final double ROOM_COLUMN_WIDTH = 120;
+    private static final double GAP = 1;
+
+    // Keep in sync with the calendar colours in main.css
+    private static final Color HEADER_COLOR = Color.web("#a0a0a0");
+    private static final Color AVAILABLE_COLOR = Color.web("#4caf50");
+    private static final Color OCCUPIED_COLOR = Color.web("#f44336");
+    private static final Color RESERVED_COLOR = Color.web("#ff9800");
+    private static final Color MAINTENANCE_COLOR = Color.web("#9e9e9e");
+
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar verticalBar = new ScrollBar();
+    private final ScrollBar horizontalBar = new ScrollBar();
+    private final Font headerFont = Font.font(null, FontWeight.BOLD, 12);
+
+    private List<Room> rooms = List.of();
+    private LocalDate startDate = LocalDate.now();
+    private int dayCount = 14;
+    private BiFunction<Room, LocalDate, String> statusProvider = (room, date) -> room.getStatus();
+    private CellClickHandler cellClickHandler;
+
+    public AvailabilityCalendar() {
+        getStyleClass().add("calendar-grid");
+        verticalBar.setOrientation(Orientation.VERTICAL);
+        horizontalBar.setOrientation(Orientation.HORIZONTAL);
+        getChildren().addAll(canvas, verticalBar, horizontalBar);
+
+        verticalBar.valueProperty().addListener((obs, oldVal, newVal) -> redraw());
+        horizontalBar.valueProperty().addListener((obs, oldVal, newVal) -> redraw());
+        canvas.setOnMouseClicked(this::handleClick);
+        addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+    }
+
+    /**
+     * Sets the rooms to display, one per row, in display order.
+     *
+     * @param rooms the rooms to display
+     */
+    public void setRooms(List<Room> rooms) {
+        this.rooms = List.copyOf(rooms);
+        requestLayout();
+        redraw();
+    }
+
+    /**
+     * Sets the inclusive date range shown by the calendar.
+     *
+     * @param start the first day to show
+     * @param end the last day to show
+     */
+    public void setDateRange(LocalDate start, LocalDate end) {
+        this.startDate = start;
+        this.dayCount = (int) Math.max(1, ChronoUnit.DAYS.between(start, end) + 1);
+        requestLayout();
+        redraw();
+    }
+
+    /**
+     * Sets the function resolving the status (AVAILABLE, OCCUPIED, RESERVED, MAINTENANCE) of a cell.
+     *
+     * @param statusProvider the status lookup used while painting
+     */
+    public void setStatusProvider(BiFunction<Room, LocalDate, String> statusProvider) {
+        this.statusProvider = statusProvider;
+        redraw();
+    }
+
+    public void setOnCellClicked(CellClickHandler cellClickHandler) {
+        this.cellClickHandler = cellClickHandler;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return startDate.plusDays(dayCount - 1L);
+    }
+
+    /**
+     * Repaints the visible cells, e.g. after the underlying booking data changed.
+     */
+    public void redraw() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, height);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        double scrollX = horizontalBar.getValue();
+        double scrollY = verticalBar.getValue();
+        int firstCol = (int) (scrollX / COLUMN_WIDTH);
+        int lastCol = Math.min(dayCount - 1, (int) ((scrollX + width - ROOM_COLUMN_WIDTH) / COLUMN_WIDTH));
+        int firstRow = (int) (scrollY / ROW_HEIGHT);
+        int lastRow = Math.min(rooms.size() - 1, (int) ((scrollY + height - HEADER_HEIGHT) / ROW_HEIGHT));
+
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(headerFont);
+
+        // Cells
+        for (int row = firstRow; row <= lastRow; row++) {
+            Room room = rooms.get(row);
+            double y = HEADER_HEIGHT + row * ROW_HEIGHT - scrollY;
+            for (int col = firstCol; col <= lastCol; col++) {
+                double x = ROOM_COLUMN_WIDTH + col * COLUMN_WIDTH - scrollX;
+                gc.setFill(colorFor(statusProvider.apply(room, startDate.plusDays(col))));
+                gc.fillRect(x + GAP, y + GAP, COLUMN_WIDTH - GAP, ROW_HEIGHT - GAP);
+            }
+        }
+
+        // Frozen room column
+        gc.setTextAlign(TextAlignment.LEFT);
+        for (int row = firstRow; row <= lastRow; row++) {
+            double y = HEADER_HEIGHT + row * ROW_HEIGHT - scrollY;
+            gc.setFill(HEADER_COLOR);
+            gc.fillRect(0, y + GAP, ROOM_COLUMN_WIDTH - GAP, ROW_HEIGHT - GAP);
+            gc.setFill(Color.WHITE);
+            gc.fillText(rooms.get(row).getRoomNumber(), 10, y + ROW_HEIGHT / 2);
+        }
+
+        // Frozen date header
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, HEADER_HEIGHT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        for (int col = firstCol; col <= lastCol; col++) {
+            double x = ROOM_COLUMN_WIDTH + col * COLUMN_WIDTH - scrollX;
+            gc.setFill(HEADER_COLOR);
+            gc.fillRect(x + GAP, 0, COLUMN_WIDTH - GAP, HEADER_HEIGHT - GAP);
+            gc.setFill(Color.WHITE);
+            gc.fillText(startDate.plusDays(col).format(DATE_FORMATTER), x + COLUMN_WIDTH / 2, HEADER_HEIGHT / 2);
+        }
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, ROOM_COLUMN_WIDTH, HEADER_HEIGHT);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double x = snappedLeftInset();
+        double y = snappedTopInset();
+        double width = getWidth() - x - snappedRightInset();
+        double height = getHeight() - y - snappedBottomInset();
+
+        double contentWidth = ROOM_COLUMN_WIDTH + dayCount * COLUMN_WIDTH;
+        double contentHeight = HEADER_HEIGHT + rooms.size() * ROW_HEIGHT;
+        double barWidth = verticalBar.prefWidth(-1);
+        double barHeight = horizontalBar.prefHeight(-1);
+
+        boolean needsHorizontal = contentWidth > width;
+        double viewportHeight = needsHorizontal ? height - barHeight : height;
+        boolean needsVertical = contentHeight > viewportHeight;
+        double viewportWidth = needsVertical ? width - barWidth : width;
+        if (!needsHorizontal && contentWidth > viewportWidth) {
+            needsHorizontal = true;
+            viewportHeight = height - barHeight;
+        }
+        viewportWidth = Math.max(0, viewportWidth);
+        viewportHeight = Math.max(0, viewportHeight);
+
+        configureBar(verticalBar, needsVertical, contentHeight, viewportHeight);
+        configureBar(horizontalBar, needsHorizontal, contentWidth, viewportWidth);
+        verticalBar.resizeRelocate(x + viewportWidth, y, barWidth, viewportHeight);
+        horizontalBar.resizeRelocate(x, y + viewportHeight, viewportWidth, barHeight);
+
+        canvas.relocate(x, y);
+        canvas.setWidth(viewportWidth);
+        canvas.setHeight(viewportHeight);
+        redraw();
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return snappedLeftInset() + ROOM_COLUMN_WIDTH + dayCount * COLUMN_WIDTH + snappedRightInset();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return snappedTopInset() + HEADER_HEIGHT + 10 * ROW_HEIGHT + snappedBottomInset();
+    }
+
+    private void configureBar(ScrollBar bar, boolean visible, double contentSize, double viewportSize) {
+        bar.setVisible(visible);
+        double max = Math.max(0, contentSize - viewportSize);
+        bar.setMin(0);
+        bar.setMax(max);
+        bar.setVisibleAmount(max > 0 ? viewportSize * max / contentSize : 0);
+        bar.setUnitIncrement(ROW_HEIGHT);
+        bar.setBlockIncrement(viewportSize);
+        if (bar.getValue() > max) {
+            bar.setValue(max);
+        }
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (verticalBar.isVisible() && event.getDeltaY() != 0) {
+            verticalBar.setValue(clamp(verticalBar, verticalBar.getValue() - event.getDeltaY()));
+        }
+        if (horizontalBar.isVisible() && event.getDeltaX() != 0) {
+            horizontalBar.setValue(clamp(horizontalBar, horizontalBar.getValue() - event.getDeltaX()));
+        }
+        event.consume();
+    }
+
+    private double clamp(ScrollBar bar, double value) {
+        return Math.max(bar.getMin(), Math.min(bar.getMax(), value));
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (cellClickHandler == null || event.getX() < ROOM_COLUMN_WIDTH || event.getY() < HEADER_HEIGHT) {
+            return;
+        }
+        int col = (int) ((event.getX() - ROOM_COLUMN_WIDTH + horizontalBar.getValue()) / COLUMN_WIDTH);
+        int row = (int) ((event.getY() - HEADER_HEIGHT + verticalBar.getValue()) / ROW_HEIGHT);
+        if (row >= 0 && row < rooms.size() && col >= 0 && col < dayCount) {
+            cellClickHandler.onCellClicked(rooms.get(row), startDate.plusDays(col), event);
+        }
+    }
+
+    private Color colorFor(String status) {
+        if (status == null) {
+            return AVAILABLE_COLOR;
+        }
+        switch (status) {
+            case "OCCUPIED":
+                return OCCUPIED_COLOR;
+            case "RESERVED":
+                return RESERVED_COLOR;
+            case "MAINTENANCE":
+                return MAINTENANCE_COLOR;
+            default:
+                return AVAILABLE_COLOR;
+        }
+    }
+}
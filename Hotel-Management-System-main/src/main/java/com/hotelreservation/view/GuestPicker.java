@@ -0,0 +1,113 @@
+package com.hotelreservation.view;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.service.GuestSearchIndex;
+import com.hotelreservation.service.GuestService;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * Type-ahead text field for choosing a guest.
+ * Suggestions come from the shared {@link GuestSearchIndex}; the full guest row is only loaded
+ * from the database once a suggestion is picked.
+ */
+public final class GuestPicker extends TextField {
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final GuestSearchIndex searchIndex = GuestSearchIndex.getInstance();
+    private final GuestService guestService = new GuestService();
+    private final ContextMenu suggestions = new ContextMenu();
+    private final ReadOnlyObjectWrapper<Guest> selectedGuest = new ReadOnlyObjectWrapper<>();
+    private boolean updatingText;
+    private CompletableFuture<Void> pendingLoad;
+
+    public GuestPicker() {
+        setPromptText("Type a guest name or contact number");
+        loadIndex();
+
+        textProperty().addListener((obs, oldVal, newVal) -> {
+            if (!updatingText) {
+                selectedGuest.set(null);
+                refreshSuggestions();
+            }
+        });
+        focusedProperty().addListener((obs, oldVal, newVal) -> {
+            if (!newVal) {
+                suggestions.hide();
+            }
+        });
+    }
+
+    /**
+     * Gets the guest picked from the suggestions.
+     *
+     * @return the selected guest, or null while nothing has been picked
+     */
+    public Guest getSelectedGuest() {
+        return selectedGuest.get();
+    }
+
+    public ReadOnlyObjectProperty<Guest> selectedGuestProperty() {
+        return selectedGuest.getReadOnlyProperty();
+    }
+
+    /**
+     * Loads the search index, or retries a load that failed, and refreshes the suggestions once it is ready.
+     * Each load is followed once, however many keystrokes arrive while it runs.
+     */
+    private void loadIndex() {
+        CompletableFuture<Void> load = searchIndex.ensureLoaded();
+        if (load != pendingLoad) {
+            pendingLoad = load;
+            load.thenRun(() -> Platform.runLater(this::refreshSuggestions));
+        }
+    }
+
+    private void refreshSuggestions() {
+        if (!isFocused() || selectedGuest.get() != null) {
+            return;
+        }
+        if (!searchIndex.isReady()) {
+            loadIndex();
+        }
+        List<GuestSearchIndex.Match> matches = searchIndex.search(getText(), MAX_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            suggestions.hide();
+            return;
+        }
+        suggestions.getItems().clear();
+        for (GuestSearchIndex.Match match : matches) {
+            MenuItem item = new MenuItem(match.toString());
+            item.setOnAction(e -> select(match));
+            suggestions.getItems().add(item);
+        }
+        if (!suggestions.isShowing()) {
+            suggestions.show(this, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private void select(GuestSearchIndex.Match match) {
+        updatingText = true;
+        setText(match.getDisplayName());
+        positionCaret(getText().length());
+        updatingText = false;
+        suggestions.hide();
+
+        CompletableFuture.supplyAsync(() -> guestService.getGuestById(match.getGuestId()))
+                .thenAccept(guest -> Platform.runLater(() -> {
+                    // Ignore the result if the text was edited while the row was loading
+                    if (match.getDisplayName().equals(getText())) {
+                        selectedGuest.set(guest);
+                    }
+                }));
+    }
+}
@@ -0,0 +1,96 @@
+-- Tables used by the JDBC repositories.
+-- Every statement tolerates objects that already exist, so databases set up by hand before migrations
+-- were introduced are brought under version control without changes.
+
+CREATE TABLE IF NOT EXISTS Staffs (
+    staffId VARCHAR(50) PRIMARY KEY,
+    firstName VARCHAR(100) NOT NULL,
+    lastName VARCHAR(100) NOT NULL,
+    middleName VARCHAR(100),
+    password VARCHAR(255) NOT NULL,
+    position VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS Guests (
+    guestId VARCHAR(50) PRIMARY KEY,
+    firstName VARCHAR(100) NOT NULL,
+    lastName VARCHAR(100) NOT NULL,
+    middleName VARCHAR(100),
+    password VARCHAR(255),
+    contactNumber VARCHAR(30)
+);
+
+CREATE TABLE IF NOT EXISTS Rooms (
+    roomId VARCHAR(50) PRIMARY KEY,
+    roomNumber VARCHAR(20) NOT NULL UNIQUE,
+    type VARCHAR(50) NOT NULL,
+    rate NUMERIC(10, 2) NOT NULL,
+    capacity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+    description TEXT,
+    amenities TEXT,
+    floor INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS Promos (
+    promoId VARCHAR(50) PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    description TEXT,
+    discountAmount NUMERIC(10, 2) NOT NULL DEFAULT 0,
+    validFrom DATE,
+    validUntil DATE,
+    active BOOLEAN NOT NULL DEFAULT true
+);
+
+CREATE TABLE IF NOT EXISTS Bookings (
+    bookingId VARCHAR(50) PRIMARY KEY,
+    guestId VARCHAR(50) NOT NULL REFERENCES Guests (guestId),
+    roomId VARCHAR(50) NOT NULL REFERENCES Rooms (roomId),
+    checkInDate DATE NOT NULL,
+    checkOutDate DATE NOT NULL,
+    totalAmount NUMERIC(10, 2) NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    promoCode VARCHAR(50),
+    discountAmount NUMERIC(10, 2) NOT NULL DEFAULT 0,
+    notes TEXT
+);
+
+-- Shifts and logs outlive the staff member they name, so staffId is not a foreign key there.
+-- Their ids are generated here; the repositories compare them as strings.
+CREATE TABLE IF NOT EXISTS StaffShifts (
+    shiftId VARCHAR(50) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    staffId VARCHAR(50) NOT NULL,
+    startTime TIME NOT NULL,
+    endTime TIME NOT NULL,
+    date DATE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS StaffLogs (
+    logId VARCHAR(50) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    staffId VARCHAR(50),
+    action VARCHAR(100) NOT NULL,
+    details TEXT,
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS Notifications (
+    notificationId VARCHAR(50) PRIMARY KEY,
+    staffId VARCHAR(50),
+    message TEXT NOT NULL,
+    createdAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    read BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE TABLE IF NOT EXISTS UserSettings (
+    userId VARCHAR(50) NOT NULL,
+    settingKey VARCHAR(100) NOT NULL,
+    settingValue TEXT,
+    PRIMARY KEY (userId, settingKey)
+);
+
+-- One row per user, from before settings were stored per key; still read to carry old settings over
+CREATE TABLE IF NOT EXISTS Settings (
+    userId VARCHAR(50) PRIMARY KEY,
+    darkMode BOOLEAN NOT NULL DEFAULT false,
+    resolution VARCHAR(20)
+);
@@ -0,0 +1,55 @@
+-- Indexes for the filters and sort orders of the repository queries.
+-- Primary keys and the unique room number already cover lookups by id and by number.
+
+-- Availability, conflict checks and the active-booking count only look at live bookings
+CREATE INDEX IF NOT EXISTS idx_bookings_active_dates ON Bookings (checkInDate, checkOutDate)
+    WHERE status IN ('CONFIRMED', 'CHECKED_IN');
+-- Booking history of a room, and the foreign key to Rooms
+CREATE INDEX IF NOT EXISTS idx_bookings_room ON Bookings (roomId, checkInDate);
+-- Reservation search by status, newest first
+CREATE INDEX IF NOT EXISTS idx_bookings_status ON Bookings (status, checkInDate);
+-- Today's check-ins, date searches and the calendar range
+CREATE INDEX IF NOT EXISTS idx_bookings_checkin ON Bookings (checkInDate);
+CREATE INDEX IF NOT EXISTS idx_bookings_checkout ON Bookings (checkOutDate);
+-- Guest merges and deletes, and the foreign key to Guests
+CREATE INDEX IF NOT EXISTS idx_bookings_guest ON Bookings (guestId);
+
+-- Keyset paging of the guest directory by each sort column
+CREATE INDEX IF NOT EXISTS idx_guests_first_name ON Guests (firstName, guestId);
+CREATE INDEX IF NOT EXISTS idx_guests_last_name ON Guests (lastName, guestId);
+-- Guests without a contact number sort as '' so they stay in the keyset order
+CREATE INDEX IF NOT EXISTS idx_guests_contact ON Guests ((COALESCE(contactNumber, '')), guestId);
+-- The directory filter is a case-insensitive prefix match on any of these; text_pattern_ops lets LIKE 'x%'
+-- use the index whatever the database collation
+CREATE INDEX IF NOT EXISTS idx_guests_first_name_prefix ON Guests (LOWER(firstName) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_guests_last_name_prefix ON Guests (LOWER(lastName) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_guests_id_prefix ON Guests (LOWER(guestId) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_guests_contact_prefix ON Guests (contactNumber text_pattern_ops);
+
+-- Guest and booking searches match text anywhere in a value (LIKE '%x%'), which only a trigram index serves.
+-- Guests and bookings are added one at a time, so the indexes skip the pending list and stay fully searchable
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_guests_first_name_trgm ON Guests USING gin (firstName gin_trgm_ops)
+    WITH (fastupdate = off);
+CREATE INDEX IF NOT EXISTS idx_guests_last_name_trgm ON Guests USING gin (lastName gin_trgm_ops)
+    WITH (fastupdate = off);
+CREATE INDEX IF NOT EXISTS idx_guests_contact_trgm ON Guests USING gin (contactNumber gin_trgm_ops)
+    WITH (fastupdate = off);
+CREATE INDEX IF NOT EXISTS idx_guests_full_name_trgm ON Guests USING gin (LOWER(firstName || ' ' || lastName) gin_trgm_ops)
+    WITH (fastupdate = off);
+CREATE INDEX IF NOT EXISTS idx_bookings_id_trgm ON Bookings USING gin (LOWER(bookingId) gin_trgm_ops)
+    WITH (fastupdate = off);
+
+CREATE INDEX IF NOT EXISTS idx_promos_code ON Promos (code);
+
+-- Log listing and retention pruning, and one staff member's log
+CREATE INDEX IF NOT EXISTS idx_stafflogs_timestamp ON StaffLogs (timestamp);
+CREATE INDEX IF NOT EXISTS idx_stafflogs_staff ON StaffLogs (staffId, timestamp);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_created ON Notifications (createdAt);
+-- The unread badge counts a small, changing subset
+CREATE INDEX IF NOT EXISTS idx_notifications_unread ON Notifications (createdAt) WHERE read = false;
+
+-- Rosters by day, and one staff member's shifts around a time
+CREATE INDEX IF NOT EXISTS idx_staffshifts_date ON StaffShifts (date, startTime);
+CREATE INDEX IF NOT EXISTS idx_staffshifts_staff_date ON StaffShifts (staffId, date);
@@ -0,0 +1,64 @@
+-- Change tracking read by the local read replica: an updatedAt column stamped on every insert and
+-- update, and a tombstone in DeletedRows for every delete, on Rooms, Guests, Bookings and Promos.
+
+CREATE TABLE IF NOT EXISTS DeletedRows (
+    tableName VARCHAR(50) NOT NULL,
+    rowId VARCHAR(100) NOT NULL,
+    deletedAt TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+CREATE INDEX IF NOT EXISTS idx_deletedrows_deletedat ON DeletedRows (deletedAt);
+
+-- clock_timestamp rather than now(), so rows written late in a long transaction sort late too
+CREATE OR REPLACE FUNCTION touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updatedAt := clock_timestamp();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- The primary key column is passed as the trigger argument
+CREATE OR REPLACE FUNCTION record_deleted_row() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO DeletedRows (tableName, rowId) VALUES (TG_TABLE_NAME, to_jsonb(OLD) ->> TG_ARGV[0]);
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE Rooms ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+ALTER TABLE Guests ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+ALTER TABLE Bookings ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+ALTER TABLE Promos ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+
+CREATE INDEX IF NOT EXISTS idx_rooms_updatedat ON Rooms (updatedAt);
+CREATE INDEX IF NOT EXISTS idx_guests_updatedat ON Guests (updatedAt);
+CREATE INDEX IF NOT EXISTS idx_bookings_updatedat ON Bookings (updatedAt);
+CREATE INDEX IF NOT EXISTS idx_promos_updatedat ON Promos (updatedAt);
+
+-- Replaced rather than skipped, for databases where the replica created them before this migration
+DROP TRIGGER IF EXISTS rooms_touch ON Rooms;
+CREATE TRIGGER rooms_touch BEFORE INSERT OR UPDATE ON Rooms
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+DROP TRIGGER IF EXISTS rooms_deleted ON Rooms;
+CREATE TRIGGER rooms_deleted AFTER DELETE ON Rooms
+    FOR EACH ROW EXECUTE FUNCTION record_deleted_row('roomid');
+
+DROP TRIGGER IF EXISTS guests_touch ON Guests;
+CREATE TRIGGER guests_touch BEFORE INSERT OR UPDATE ON Guests
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+DROP TRIGGER IF EXISTS guests_deleted ON Guests;
+CREATE TRIGGER guests_deleted AFTER DELETE ON Guests
+    FOR EACH ROW EXECUTE FUNCTION record_deleted_row('guestid');
+
+DROP TRIGGER IF EXISTS bookings_touch ON Bookings;
+CREATE TRIGGER bookings_touch BEFORE INSERT OR UPDATE ON Bookings
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+DROP TRIGGER IF EXISTS bookings_deleted ON Bookings;
+CREATE TRIGGER bookings_deleted AFTER DELETE ON Bookings
+    FOR EACH ROW EXECUTE FUNCTION record_deleted_row('bookingid');
+
+DROP TRIGGER IF EXISTS promos_touch ON Promos;
+CREATE TRIGGER promos_touch BEFORE INSERT OR UPDATE ON Promos
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+DROP TRIGGER IF EXISTS promos_deleted ON Promos;
+CREATE TRIGGER promos_deleted AFTER DELETE ON Promos
+    FOR EACH ROW EXECUTE FUNCTION record_deleted_row('promoid');
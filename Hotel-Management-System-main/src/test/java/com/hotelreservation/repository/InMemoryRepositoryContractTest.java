@@ -0,0 +1,14 @@
+package com.hotelreservation.repository;
+
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Runs the repository contract against the in-memory engine, on a fresh store per test.
+ */
+class InMemoryRepositoryContractTest extends RepositoryContractTest {
+
+    @Override
+    protected Repositories repositories() {
+        return Repositories.inMemory(new InMemoryStore());
+    }
+}
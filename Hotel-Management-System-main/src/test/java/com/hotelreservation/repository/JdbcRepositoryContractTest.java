@@ -0,0 +1,52 @@
+package com.hotelreservation.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+
+import com.hotelreservation.util.DatabaseConnection;
+import com.hotelreservation.util.SchemaMigrations;
+
+/**
+ * Runs the repository contract against PostgreSQL.
+ * Skipped unless SUPABASE_DB_URL points at a database, from the environment or a .env file; the rows each
+ * test adds are deleted afterwards, so a development database can be used.
+ */
+class JdbcRepositoryContractTest extends RepositoryContractTest {
+
+    @BeforeAll
+    static void migrate() {
+        Assumptions.assumeTrue(DatabaseConnection.isConfigured(), "SUPABASE_DB_URL is not set");
+        Assumptions.assumeTrue(SchemaMigrations.migrate(), "the database schema could not be brought up to date");
+    }
+
+    @AfterAll
+    static void closePool() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Override
+    protected Repositories repositories() {
+        return Repositories.jdbc();
+    }
+
+    @AfterEach
+    void deleteRows() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (String sql : new String[] {
+                    "DELETE FROM Bookings WHERE bookingId LIKE ?",
+                    "DELETE FROM Guests WHERE guestId LIKE ?",
+                    "DELETE FROM Rooms WHERE roomId LIKE ?" }) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, prefix + "%");
+                    pstmt.executeUpdate();
+                }
+            }
+        }
+    }
+}
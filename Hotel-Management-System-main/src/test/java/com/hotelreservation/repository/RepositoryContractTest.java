@@ -0,0 +1,242 @@
+package com.hotelreservation.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.model.Room;
+
+/**
+ * Behaviour every storage engine must share, run once per engine by the subclasses.
+ * Each test works on rows named with its own prefix, so the engines may hold other data, and results
+ * are narrowed to that prefix before they are checked.
+ */
+abstract class RepositoryContractTest {
+    // Stays far enough ahead that no real booking gets in the way
+    private static final LocalDate DAY = LocalDate.of(2099, 3, 1);
+
+    protected String prefix;
+    private Repositories repositories;
+
+    /**
+     * Gets the repositories under test, empty apart from rows that do not use the test's prefix.
+     */
+    protected abstract Repositories repositories();
+
+    @BeforeEach
+    void setUpPrefix() {
+        // Letters only, so lower-casing a filter built from it changes nothing
+        prefix = "t" + UUID.randomUUID().toString().replaceAll("[^a-f]", "");
+        repositories = repositories();
+    }
+
+    @Test
+    void guestPageFilterMatchesWildcardsLiterally() throws SQLException {
+        addGuest("g1", "Ann", prefix + "a_c");
+        addGuest("g2", "Ann", prefix + "abc");
+        addGuest("g3", "Ann", prefix + "10%");
+        addGuest("g4", "Ann", prefix + "10x");
+
+        assertEquals(Set.of(prefix + "g1"), pageIds(prefix + "a_c"));
+        assertEquals(Set.of(prefix + "g3"), pageIds(prefix + "10%"));
+        assertEquals(Set.of(prefix + "g1", prefix + "g2", prefix + "g3", prefix + "g4"), pageIds(prefix));
+    }
+
+    @Test
+    void guestSearchMatchesWildcardsLiterally() throws SQLException {
+        addGuest("g1", "Ann", prefix + "a_c");
+        addGuest("g2", "Ann", prefix + "abc");
+
+        List<Guest> found = repositories.guests().search(prefix + "a_c");
+
+        assertEquals(Set.of(prefix + "g1"), ids(found, Guest::getGuestId));
+    }
+
+    @Test
+    void bookingSearchMatchesWildcardsLiterally() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+        addRoom("r1");
+        addBooking("b_1", "g1", "r1", DAY, DAY.plusDays(2), "CONFIRMED");
+        addBooking("bx1", "g1", "r1", DAY.plusDays(5), DAY.plusDays(7), "CONFIRMED");
+
+        List<Booking> found = repositories.bookings().search(prefix + "b_1", null, null);
+
+        assertEquals(Set.of(prefix + "b_1"), ids(found, Booking::getBookingId));
+    }
+
+    @Test
+    void guestPageKeepsGuestsWithoutContactNumber() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            Guest guest = new Guest(prefix + "g" + i, "Ann", prefix + "lee", null, null,
+                    i % 2 == 0 ? null : "0917" + i);
+            assertTrue(repositories.guests().insert(guest));
+        }
+
+        Set<String> seen = new java.util.HashSet<>();
+        Guest after = null;
+        List<Guest> page;
+        do {
+            page = repositories.guests().findPage(prefix, GuestSortField.CONTACT_NUMBER, after, 2);
+            page.forEach(guest -> assertTrue(seen.add(guest.getGuestId()), "guest paged twice"));
+            after = page.isEmpty() ? after : page.get(page.size() - 1);
+        } while (page.size() == 2);
+
+        assertEquals(5, seen.size());
+    }
+
+    @Test
+    void activeOverlapCountsOnlyLiveStaysSharingANight() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+        addRoom("r1");
+        addBooking("b1", "g1", "r1", DAY, DAY.plusDays(4), "CONFIRMED");
+        addBooking("b2", "g1", "r1", DAY.plusDays(4), DAY.plusDays(6), "CHECKED_IN");
+        addBooking("b3", "g1", "r1", DAY.plusDays(1), DAY.plusDays(3), "CANCELLED");
+        addBooking("b4", "g1", "r1", DAY.plusDays(2), DAY.plusDays(3), "CHECKED_OUT");
+
+        // Check-out day of b1 is the check-in day of b2; they do not share a night
+        assertEquals(Set.of(prefix + "b1"), overlapping(DAY.plusDays(3), DAY.plusDays(4)));
+        assertEquals(Set.of(prefix + "b2"), overlapping(DAY.plusDays(4), DAY.plusDays(5)));
+        assertEquals(Set.of(prefix + "b1", prefix + "b2"), overlapping(DAY.plusDays(3), DAY.plusDays(5)));
+        assertEquals(Set.of(), overlapping(DAY.minusDays(3), DAY));
+    }
+
+    @Test
+    void insertIfRoomFreeRefusesOverlappingLiveStay() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+        addRoom("r1");
+        addBooking("b1", "g1", "r1", DAY, DAY.plusDays(3), "CONFIRMED");
+        BookingRepository bookings = repositories.bookings();
+
+        Booking clash = bookings.insertIfRoomFree(booking("b2", DAY.plusDays(2), DAY.plusDays(4), "CONFIRMED"));
+        assertEquals(prefix + "b1", clash.getBookingId());
+        assertNull(bookings.findById(prefix + "b2"));
+
+        assertNull(bookings.insertIfRoomFree(booking("b3", DAY.plusDays(3), DAY.plusDays(5), "CONFIRMED")));
+        assertNull(bookings.insertIfRoomFree(booking("b4", DAY.plusDays(1), DAY.plusDays(2), "CANCELLED")));
+        assertEquals(prefix + "r1", bookings.findById(prefix + "b3").getRoomId());
+        assertEquals("CANCELLED", bookings.findById(prefix + "b4").getStatus());
+    }
+
+    @Test
+    void updateIfRoomFreeRefusesOverlappingLiveStay() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+        addRoom("r1");
+        addBooking("b1", "g1", "r1", DAY, DAY.plusDays(3), "CONFIRMED");
+        addBooking("b2", "g1", "r1", DAY.plusDays(3), DAY.plusDays(5), "CONFIRMED");
+        BookingRepository bookings = repositories.bookings();
+
+        assertFalse(bookings.updateIfRoomFree(booking("b2", DAY.plusDays(2), DAY.plusDays(5), "CONFIRMED")));
+        assertEquals(DAY.plusDays(3), bookings.findById(prefix + "b2").getCheckInDate());
+
+        // A booking does not clash with itself, and a cancelled one holds no nights
+        assertTrue(bookings.updateIfRoomFree(booking("b2", DAY.plusDays(3), DAY.plusDays(6), "CONFIRMED")));
+        assertTrue(bookings.updateIfRoomFree(booking("b2", DAY.plusDays(1), DAY.plusDays(6), "CANCELLED")));
+        assertEquals(DAY.plusDays(1), bookings.findById(prefix + "b2").getCheckInDate());
+        assertFalse(bookings.updateIfRoomFree(booking("b9", DAY.plusDays(7), DAY.plusDays(8), "CONFIRMED")));
+    }
+
+    @Test
+    void moveRoomsAppliesAllOrNothing() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+        addRoom("r1");
+        addRoom("r2");
+        addBooking("b1", "g1", "r1", DAY, DAY.plusDays(3), "CONFIRMED");
+        addBooking("b2", "g1", "r1", DAY.plusDays(5), DAY.plusDays(7), "CONFIRMED");
+        addBooking("b3", "g1", "r2", DAY.plusDays(2), DAY.plusDays(4), "CONFIRMED");
+        BookingRepository bookings = repositories.bookings();
+
+        // b1 would clash with b3 in r2, so b2 must not move either
+        assertFalse(bookings.moveRooms(List.of(move("b2", "r1", "r2"), move("b1", "r1", "r2"))));
+        assertEquals(prefix + "r1", bookings.findById(prefix + "b2").getRoomId());
+
+        // A booking no longer in its planned room is not moved
+        assertFalse(bookings.moveRooms(List.of(move("b3", "r1", "r2"))));
+
+        assertTrue(bookings.moveRooms(List.of(move("b2", "r1", "r2"))));
+        Booking moved = bookings.findById(prefix + "b2");
+        assertEquals(prefix + "r2", moved.getRoomId());
+        assertEquals(DAY.plusDays(5), moved.getCheckInDate());
+        assertEquals("CONFIRMED", moved.getStatus());
+    }
+
+    @Test
+    void mergeMovesBookingsFillsMissingContactAndDeletesDuplicate() throws SQLException {
+        GuestRepository guests = repositories.guests();
+        assertTrue(guests.insert(new Guest(prefix + "g1", "Ann", prefix + "smith", null, null, null)));
+        assertTrue(guests.insert(new Guest(prefix + "g2", "Anne", prefix + "smith", "M", null, "09171234567")));
+        addRoom("r1");
+        addBooking("b1", "g2", "r1", DAY, DAY.plusDays(2), "CONFIRMED");
+        addBooking("b2", "g2", "r1", DAY.plusDays(3), DAY.plusDays(4), "CHECKED_OUT");
+
+        assertEquals(2, guests.merge(prefix + "g1", prefix + "g2"));
+
+        Guest survivor = guests.findById(prefix + "g1");
+        assertEquals("09171234567", survivor.getContactNumber());
+        assertEquals("M", survivor.getMiddleName());
+        assertEquals("Ann", survivor.getFirstName());
+        assertNull(guests.findById(prefix + "g2"));
+        assertEquals(prefix + "g1", repositories.bookings().findById(prefix + "b1").getGuestId());
+        assertEquals(prefix + "g1", repositories.bookings().findById(prefix + "b2").getGuestId());
+    }
+
+    @Test
+    void mergeWithMissingGuestChangesNothing() throws SQLException {
+        addGuest("g1", "Ann", prefix + "smith");
+
+        assertEquals(-1, repositories.guests().merge(prefix + "g1", prefix + "missing"));
+        assertEquals(-1, repositories.guests().merge(prefix + "missing", prefix + "g1"));
+        assertEquals(prefix + "g1", repositories.guests().findById(prefix + "g1").getGuestId());
+    }
+
+    private void addGuest(String id, String firstName, String lastName) throws SQLException {
+        assertTrue(repositories.guests().insert(new Guest(prefix + id, firstName, lastName, null, null, null)));
+    }
+
+    private void addRoom(String id) throws SQLException {
+        // Room numbers are unique and short; the prefix keeps them apart between runs
+        String number = (prefix + id).substring(Math.max(0, prefix.length() + id.length() - 20));
+        assertTrue(repositories.rooms().insert(
+                new Room(prefix + id, number, "Standard", 100, 2, "AVAILABLE", null, null, 1)));
+    }
+
+    private void addBooking(String id, String guestId, String roomId, LocalDate checkIn, LocalDate checkOut,
+            String status) throws SQLException {
+        assertTrue(repositories.bookings().insert(new Booking(prefix + id, prefix + guestId, prefix + roomId,
+                checkIn, checkOut, 100, status, null, 0, null)));
+    }
+
+    private Booking booking(String id, LocalDate checkIn, LocalDate checkOut, String status) {
+        return new Booking(prefix + id, prefix + "g1", prefix + "r1", checkIn, checkOut, 100, status, null, 0, null);
+    }
+
+    private BookingRepository.RoomMove move(String bookingId, String fromRoomId, String toRoomId) {
+        return new BookingRepository.RoomMove(prefix + bookingId, prefix + fromRoomId, prefix + toRoomId,
+                "CONFIRMED");
+    }
+
+    private Set<String> pageIds(String filter) throws SQLException {
+        return ids(repositories.guests().findPage(filter, GuestSortField.LAST_NAME, null, 100), Guest::getGuestId);
+    }
+
+    private Set<String> overlapping(LocalDate start, LocalDate end) throws SQLException {
+        return ids(repositories.bookings().findActiveOverlapping(start, end), Booking::getBookingId);
+    }
+
+    private <T> Set<String> ids(List<T> rows, java.util.function.Function<T, String> id) {
+        return rows.stream().map(id).filter(value -> value.startsWith(prefix)).collect(Collectors.toSet());
+    }
+}
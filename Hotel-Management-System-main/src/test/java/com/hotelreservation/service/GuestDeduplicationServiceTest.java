@@ -0,0 +1,129 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.DuplicateGuestCandidate;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Checks duplicate guest detection against an in-memory store.
+ */
+class GuestDeduplicationServiceTest {
+    private Repositories repositories;
+
+    @BeforeEach
+    void installStore() {
+        repositories = Repositories.inMemory(new InMemoryStore());
+        Repositories.install(repositories);
+    }
+
+    @AfterEach
+    void uninstallStore() {
+        Repositories.install(null);
+    }
+
+    @Test
+    void pairsAreOnlyComparedInsideABlock() throws SQLException {
+        addGuest("g1", "Jon", "Smith", null);
+        addGuest("g2", "John", "Smith", null);
+        // The same name the wrong way round, without a phone to bring it into a block with g1
+        addGuest("g3", "Smith", "Jon", null);
+        // Names entered the wrong way round; only the phone block brings them together
+        addGuest("g4", "Maria", "Santos", "0917 123 4567");
+        addGuest("g5", "Santos", "Maria", "+63 917 123 4567");
+        // Similar surnames with different codes
+        addGuest("g6", "Ann", "Lee", null);
+        addGuest("g7", "Ann", "Leigh", null);
+
+        GuestDeduplicationService.DuplicateScan scan = new GuestDeduplicationService().findDuplicates(0.9);
+
+        assertEquals(Set.of("g1|g2", "g4|g5"), pairs(scan.candidates()));
+        assertTrue(scan.skippedBlocks().isEmpty());
+    }
+
+    @Test
+    void oversizedBlockIsSplitByFirstNameAndReportedWhenStillTooLarge() throws SQLException {
+        for (int i = 0; i < 1001; i++) {
+            addGuest("a" + i, "Ala" + letters(i), "Smith", null);
+        }
+        addGuest("x1", "Alexis", "Smith", null);
+        addGuest("x2", "Alexis", "Smyth", null);
+
+        GuestDeduplicationService.DuplicateScan scan = new GuestDeduplicationService().findDuplicates(0.9);
+
+        assertEquals(Map.of("n:S530a/ala", 1001), scan.skippedBlocks());
+        assertEquals(Set.of("x1|x2"), pairs(scan.candidates()));
+    }
+
+    @Test
+    void phoneAgreementMovesAPairAcrossTheThreshold() throws SQLException {
+        addGuest("g1", "Jon", "Smith", "0917 123 4567");
+        addGuest("g2", "John", "Smith", "0917 123 4567");
+        addGuest("g3", "Jon", "Smyth", "0918 765 4321");
+        addGuest("g4", "John", "Smyth", "0917 000 0000");
+
+        List<DuplicateGuestCandidate> candidates = new GuestDeduplicationService().findDuplicates(0.9).candidates();
+
+        // Jon and John alone score about 0.97; a differing phone takes 0.1 off
+        assertEquals(Set.of("g1|g2"), pairs(candidates));
+        assertEquals(1.0, candidates.get(0).getScore());
+    }
+
+    @Test
+    void jaroWinklerMatchesPublishedValues() {
+        assertEquals(0.961, GuestDeduplicationService.jaroWinkler("martha", "marhta"), 0.001);
+        assertEquals(0.840, GuestDeduplicationService.jaroWinkler("dwayne", "duane"), 0.001);
+        assertEquals(0.813, GuestDeduplicationService.jaroWinkler("dixon", "dicksonx"), 0.001);
+        assertEquals(1.0, GuestDeduplicationService.jaroWinkler("ann", "ann"));
+        assertEquals(0.0, GuestDeduplicationService.jaroWinkler("abc", "xyz"));
+        assertEquals(0.0, GuestDeduplicationService.jaroWinkler("", "ann"));
+    }
+
+    @Test
+    void soundexGroupsSimilarSounds() {
+        assertEquals("R163", GuestDeduplicationService.soundex("robert"));
+        assertEquals("R163", GuestDeduplicationService.soundex("rupert"));
+        assertEquals("A261", GuestDeduplicationService.soundex("ashcraft"));
+        assertEquals("S530", GuestDeduplicationService.soundex("smyth"));
+    }
+
+    private void addGuest(String id, String firstName, String lastName, String contactNumber) throws SQLException {
+        assertTrue(repositories.guests().insert(new Guest(id, firstName, lastName, null, null, contactNumber)));
+    }
+
+    /**
+     * Spells a number in letters, so the generated first names share nothing but their start.
+     */
+    private static String letters(int number) {
+        StringBuilder result = new StringBuilder();
+        int value = number * 7919 + 104729;
+        for (int i = 0; i < 5; i++) {
+            result.append((char) ('a' + value % 26));
+            value /= 26;
+        }
+        return result.toString();
+    }
+
+    private static Set<String> pairs(List<DuplicateGuestCandidate> candidates) {
+        return candidates.stream()
+                .map(candidate -> {
+                    String a = candidate.getFirst().getGuestId();
+                    String b = candidate.getSecond().getGuestId();
+                    return a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a;
+                })
+                .collect(Collectors.toSet());
+    }
+}
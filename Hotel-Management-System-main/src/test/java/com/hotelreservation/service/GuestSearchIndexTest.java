@@ -0,0 +1,72 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.Guest;
+
+/**
+ * Checks that the guest search index stays current while it loads.
+ */
+class GuestSearchIndexTest {
+    private GuestSearchIndex index;
+
+    @AfterEach
+    void removeListener() {
+        GuestService.removeChangeListener(index);
+    }
+
+    @Test
+    void eventsDuringLoadWinOverTheLoadedRows() {
+        Guest renamed = new Guest("g1", "Ann", "Rivera", null, null, null);
+        index = new GuestSearchIndex(new GuestService() {
+            @Override
+            public List<Guest> getAllGuestSummaries() {
+                // The rows were read before these changes were made
+                List<Guest> rows = List.of(new Guest("g1", "Ann", "Smith", null, null, null),
+                        new Guest("g2", "Bea", "Cruz", null, null, null),
+                        new Guest("g3", "Cy", "Diaz", null, null, null));
+                index.guestSaved(renamed);
+                index.guestDeleted("g2");
+                return rows;
+            }
+        });
+
+        index.ensureLoaded().join();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("g1"), ids("ann"));
+        assertEquals(List.of(), ids("smith"));
+        assertEquals(List.of("g1"), ids("rivera"));
+        assertEquals(List.of(), ids("bea"));
+        assertEquals(List.of("g3"), ids("diaz"));
+    }
+
+    @Test
+    void savingAGuestDropsItsOldKeys() {
+        index = new GuestSearchIndex(new GuestService() {
+            @Override
+            public List<Guest> getAllGuestSummaries() {
+                return List.of(new Guest("g1", "Ann", "Smith", null, null, "0917 111 2222"));
+            }
+        });
+        index.ensureLoaded().join();
+
+        index.guestSaved(new Guest("g1", "Ann", "Rivera", null, null, "0918 333 4444"));
+
+        assertEquals(List.of(), ids("smith"));
+        assertEquals(List.of(), ids("0917"));
+        assertEquals(List.of("g1"), ids("0918"));
+        assertEquals(List.of("g1"), ids("rivera ann"));
+    }
+
+    private List<String> ids(String query) {
+        return index.search(query, 10).stream().map(GuestSearchIndex.Match::getGuestId).collect(Collectors.toList());
+    }
+}
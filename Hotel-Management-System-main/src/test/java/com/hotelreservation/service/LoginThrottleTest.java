@@ -0,0 +1,62 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.StaffLog;
+
+/**
+ * Checks lockouts and what the login throttle writes to the staff log.
+ */
+class LoginThrottleTest {
+    private final List<StaffLog> logs = new CopyOnWriteArrayList<>();
+    private final LoginThrottle throttle = new LoginThrottle(new StaffLogService() {
+        @Override
+        public boolean addLog(StaffLog log) {
+            logs.add(log);
+            return true;
+        }
+    });
+
+    @Test
+    void repeatedFailuresLockOutTheStaffId() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("s1", true);
+        }
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("s1"));
+
+        throttle.recordFailure("s1", true);
+
+        assertEquals(LoginThrottle.Decision.LOCKED_OUT, throttle.tryAcquire("s1"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("s2"));
+        assertEquals(1, throttle.getActiveLockouts());
+    }
+
+    @Test
+    void onlyLockoutsOfRealStaffAreLogged() {
+        for (int i = 0; i < 6; i++) {
+            throttle.recordFailure("s1", true);
+            throttle.recordFailure("nobody", false);
+        }
+
+        assertEquals(LoginThrottle.Decision.LOCKED_OUT, throttle.tryAcquire("nobody"));
+        assertEquals(2, logs.size());
+        logs.forEach(log -> assertEquals("s1", log.getStaffId()));
+    }
+
+    @Test
+    void successClearsTheFailureCount() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("s1", true);
+        }
+        throttle.recordSuccess("s1");
+        throttle.recordFailure("s1", true);
+
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.tryAcquire("s1"));
+        assertEquals(0, logs.size());
+    }
+}
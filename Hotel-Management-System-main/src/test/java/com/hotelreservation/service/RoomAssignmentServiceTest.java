@@ -0,0 +1,109 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.RoomReassignment;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Checks room reassignment planning against an in-memory store.
+ */
+class RoomAssignmentServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2099, 3, 1);
+
+    private Repositories repositories;
+
+    @BeforeEach
+    void installStore() throws SQLException {
+        repositories = Repositories.inMemory(new InMemoryStore());
+        Repositories.install(repositories);
+        assertTrue(repositories.guests().insert(new Guest("g1", "Ann", "Smith", null, null, null)));
+    }
+
+    @AfterEach
+    void uninstallStore() {
+        Repositories.install(null);
+    }
+
+    @Test
+    void plannedMovesAvoidRoomsUnderMaintenanceAndNeverOverlap() throws SQLException {
+        // Sorted first, so it would be the first fit for every stay if it were a target
+        addRoom("r0", "100", "MAINTENANCE");
+        addRoom("r1", "101", "AVAILABLE");
+        addRoom("r2", "102", "AVAILABLE");
+        // Starts before the period, so it stays put
+        addBooking("b0", "r0", DAY.minusDays(1), DAY.plusDays(1), "CONFIRMED");
+        addBooking("b1", "r1", DAY, DAY.plusDays(3), "CONFIRMED");
+        addBooking("b2", "r2", DAY.plusDays(5), DAY.plusDays(8), "CONFIRMED");
+        addBooking("b3", "r2", DAY.plusDays(1), DAY.plusDays(2), "CONFIRMED");
+        RoomAssignmentService service = new RoomAssignmentService();
+
+        List<RoomReassignment> moves = service.planReassignments(DAY, DAY.plusDays(10), Duration.ofMillis(50));
+
+        assertFalse(moves.isEmpty());
+        for (RoomReassignment move : moves) {
+            assertNotEquals("r0", move.getToRoom().getRoomId());
+        }
+        assertEquals(moves.size(), service.applyReassignments(moves));
+
+        List<Booking> stays = repositories.bookings().findAll();
+        assertEquals("r0", roomOf(stays, "b0"));
+        for (Booking stay : stays) {
+            if (!stay.getBookingId().equals("b0")) {
+                assertNotEquals("r0", stay.getRoomId());
+            }
+            for (Booking other : stays) {
+                boolean overlap = stay != other && stay.getRoomId().equals(other.getRoomId())
+                        && stay.getCheckInDate().isBefore(other.getCheckOutDate())
+                        && other.getCheckInDate().isBefore(stay.getCheckOutDate());
+                assertFalse(overlap, stay.getBookingId() + " overlaps " + other.getBookingId());
+            }
+        }
+    }
+
+    @Test
+    void stayInRoomUnderMaintenanceIsMovedOut() throws SQLException {
+        addRoom("r0", "100", "MAINTENANCE");
+        addRoom("r1", "101", "AVAILABLE");
+        addBooking("b1", "r0", DAY.plusDays(2), DAY.plusDays(4), "CONFIRMED");
+        addBooking("b2", "r1", DAY, DAY.plusDays(2), "CONFIRMED");
+
+        List<RoomReassignment> moves = new RoomAssignmentService()
+                .planReassignments(DAY, DAY.plusDays(10), Duration.ofMillis(50));
+
+        assertEquals(1, moves.size());
+        assertEquals("r0", moves.get(0).getFromRoom().getRoomId());
+        assertEquals("r1", moves.get(0).getToRoom().getRoomId());
+    }
+
+    private void addRoom(String id, String number, String status) throws SQLException {
+        assertTrue(repositories.rooms().insert(new Room(id, number, "Standard", 100, 2, status, null, null, 1)));
+    }
+
+    private void addBooking(String id, String roomId, LocalDate checkIn, LocalDate checkOut, String status)
+            throws SQLException {
+        assertTrue(repositories.bookings().insert(
+                new Booking(id, "g1", roomId, checkIn, checkOut, 100, status, null, 0, null)));
+    }
+
+    private static String roomOf(List<Booking> stays, String bookingId) {
+        return stays.stream().filter(stay -> stay.getBookingId().equals(bookingId)).findFirst()
+                .map(Booking::getRoomId).orElse(null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.Room;
+import com.hotelreservation.model.StayOption;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Checks the contiguous availability search against an in-memory store.
+ */
+class RoomServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2099, 3, 1);
+
+    private Repositories repositories;
+
+    @BeforeEach
+    void installStore() throws SQLException {
+        repositories = Repositories.inMemory(new InMemoryStore());
+        Repositories.install(repositories);
+        assertTrue(repositories.guests().insert(new Guest("g1", "Ann", "Smith", null, null, null)));
+    }
+
+    @AfterEach
+    void uninstallStore() {
+        Repositories.install(null);
+    }
+
+    @Test
+    void stayMayStartOnAnotherStaysCheckOutDay() throws SQLException {
+        addRoom("r1", "101", 100, "AVAILABLE");
+        addBooking("b1", "r1", DAY, DAY.plusDays(2), "CONFIRMED");
+
+        List<StayOption> found = new RoomService().findContiguousAvailability(DAY, DAY.plusDays(4), 2, null, 0);
+
+        assertEquals(List.of("101 " + DAY.plusDays(2)), describe(found));
+        assertEquals(DAY.plusDays(4), found.get(0).getCheckOutDate());
+    }
+
+    @Test
+    void onlyLiveStaysBlockNights() throws SQLException {
+        addRoom("r1", "101", 100, "AVAILABLE");
+        addBooking("b1", "r1", DAY, DAY.plusDays(1), "CANCELLED");
+        addBooking("b2", "r1", DAY.plusDays(1), DAY.plusDays(2), "CHECKED_IN");
+
+        List<StayOption> found = new RoomService().findContiguousAvailability(DAY, DAY.plusDays(3), 1, null, 0);
+
+        assertEquals(List.of("101 " + DAY, "101 " + DAY.plusDays(2)), describe(found));
+    }
+
+    @Test
+    void roomsUnderMaintenanceAreSkipped() throws SQLException {
+        addRoom("r1", "101", 100, "MAINTENANCE");
+        addRoom("r2", "102", 100, "OCCUPIED");
+
+        List<StayOption> found = new RoomService().findContiguousAvailability(DAY, DAY.plusDays(2), 2, null, 0);
+
+        assertEquals(List.of("102 " + DAY), describe(found));
+    }
+
+    @Test
+    void staysAreRankedByPriceThenRoomNumberThenCheckIn() throws SQLException {
+        addRoom("r1", "103", 100, "AVAILABLE");
+        addRoom("r2", "102", 80, "AVAILABLE");
+        addRoom("r3", "101", 100, "AVAILABLE");
+
+        List<StayOption> found = new RoomService().findContiguousAvailability(DAY, DAY.plusDays(3), 2, null, 0);
+
+        assertEquals(List.of("102 " + DAY, "102 " + DAY.plusDays(1), "101 " + DAY, "101 " + DAY.plusDays(1),
+                "103 " + DAY, "103 " + DAY.plusDays(1)), describe(found));
+        assertEquals(160, found.get(0).getTotalPrice());
+    }
+
+    @Test
+    void rangeShorterThanStayFindsNothing() throws SQLException {
+        addRoom("r1", "101", 100, "AVAILABLE");
+
+        assertTrue(new RoomService().findContiguousAvailability(DAY, DAY.plusDays(1), 2, null, 0).isEmpty());
+        assertTrue(new RoomService().findContiguousAvailability(DAY, DAY.plusDays(1), 0, null, 0).isEmpty());
+    }
+
+    private void addRoom(String id, String number, double rate, String status) throws SQLException {
+        assertTrue(repositories.rooms().insert(new Room(id, number, "Standard", rate, 2, status, null, null, 1)));
+    }
+
+    private void addBooking(String id, String roomId, LocalDate checkIn, LocalDate checkOut, String status)
+            throws SQLException {
+        assertTrue(repositories.bookings().insert(
+                new Booking(id, "g1", roomId, checkIn, checkOut, 100, status, null, 0, null)));
+    }
+
+    private static List<String> describe(List<StayOption> options) {
+        return options.stream()
+                .map(option -> option.getRoom().getRoomNumber() + " " + option.getCheckInDate())
+                .collect(Collectors.toList());
+    }
+}
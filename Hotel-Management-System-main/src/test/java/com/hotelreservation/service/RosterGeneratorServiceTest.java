@@ -0,0 +1,178 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.RosterPlan;
+import com.hotelreservation.model.ShiftType;
+import com.hotelreservation.model.Staff;
+import com.hotelreservation.model.StaffShift;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Checks generated rosters against an in-memory store.
+ */
+class RosterGeneratorServiceTest {
+    private static final LocalDate MONDAY = LocalDate.of(2099, 3, 1)
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    private static final Duration BUDGET = Duration.ofMillis(100);
+
+    private Repositories repositories;
+    private final Map<String, String> positions = new HashMap<>();
+
+    @BeforeEach
+    void installStore() {
+        repositories = Repositories.inMemory(new InMemoryStore());
+        Repositories.install(repositories);
+    }
+
+    @AfterEach
+    void uninstallStore() {
+        Repositories.install(null);
+    }
+
+    @Test
+    void everyoneWorksOneShiftADayWithMinimumRest() throws SQLException {
+        for (int i = 1; i <= 4; i++) {
+            addStaff("s" + i, "Receptionist");
+        }
+        Map<ShiftType, Map<String, Integer>> coverage = new EnumMap<>(ShiftType.class);
+        for (ShiftType type : ShiftType.values()) {
+            coverage.put(type, Map.of("Receptionist", 1));
+        }
+
+        RosterPlan plan = new RosterGeneratorService().generateRoster(MONDAY, 14, coverage, 11, 7, BUDGET);
+
+        assertTrue(plan.isFullyCovered());
+        assertEquals(42, plan.getShifts().size());
+        assertRested(plan.getShifts(), 11);
+    }
+
+    @Test
+    void slotsAreFilledByStaffOfTheirPosition() throws SQLException {
+        addStaff("s1", "Receptionist");
+        addStaff("s2", "Receptionist");
+        addStaff("s3", "Housekeeping");
+
+        Map<ShiftType, Map<String, Integer>> coverage = new EnumMap<>(ShiftType.class);
+        coverage.put(ShiftType.MORNING, Map.of("receptionist", 1, "Housekeeping", 1));
+        coverage.put(ShiftType.AFTERNOON, Map.of("Chef", 1));
+
+        RosterPlan plan = new RosterGeneratorService().generateRoster(MONDAY, 3, coverage, BUDGET);
+
+        // Nobody can cook
+        assertEquals(3, plan.getUnfilledSlots());
+        assertEquals(6, plan.getShifts().size());
+        for (LocalDate day = MONDAY; day.isBefore(MONDAY.plusDays(3)); day = day.plusDays(1)) {
+            List<String> onDuty = positionsOnDuty(plan, day);
+            assertEquals(List.of("Housekeeping", "Receptionist"), onDuty);
+        }
+    }
+
+    @Test
+    void storedShiftsAreKeptClearOf() throws SQLException {
+        addStaff("s1", "Receptionist");
+        addStaff("s2", "Receptionist");
+        StaffShift night = ShiftType.NIGHT.toShift("s1", MONDAY.plusDays(1));
+        assertTrue(repositories.shifts().insertUnlessOverlapping(List.of(night)).isEmpty());
+
+        Map<ShiftType, Map<String, Integer>> coverage = Map.of(ShiftType.MORNING, Map.of("Receptionist", 1));
+        RosterPlan plan = new RosterGeneratorService().generateRoster(MONDAY, 4, coverage, 11, 7, BUDGET);
+
+        assertTrue(plan.isFullyCovered());
+        // s1 is on nights that day, and the night ends as the next morning shift starts
+        assertEquals("s2", staffOn(plan, MONDAY.plusDays(1)));
+        assertEquals("s2", staffOn(plan, MONDAY.plusDays(2)));
+        List<StaffShift> all = new ArrayList<>(plan.getShifts());
+        all.add(night);
+        assertRested(all, 11);
+    }
+
+    @Test
+    void weeklyLimitHoldsWhenOthersCanCover() throws SQLException {
+        addStaff("s1", "Receptionist");
+        addStaff("s2", "Receptionist");
+        addStaff("s3", "Receptionist");
+        // s1 already works most of the week
+        List<StaffShift> stored = new ArrayList<>();
+        for (int d = 0; d < 4; d++) {
+            stored.add(ShiftType.NIGHT.toShift("s1", MONDAY.plusDays(d)));
+        }
+        assertTrue(repositories.shifts().insertUnlessOverlapping(stored).isEmpty());
+
+        Map<ShiftType, Map<String, Integer>> coverage = Map.of(ShiftType.AFTERNOON, Map.of("Receptionist", 1));
+        RosterPlan plan = new RosterGeneratorService().generateRoster(MONDAY, 7, coverage, 11, 5, BUDGET);
+
+        assertTrue(plan.isFullyCovered());
+        long s1Shifts = plan.getShifts().stream().filter(shift -> shift.getStaffId().equals("s1")).count();
+        assertTrue(stored.size() + s1Shifts <= 5, "s1 works " + (stored.size() + s1Shifts) + " shifts");
+    }
+
+    @Test
+    void weeklyLimitGivesWayToCoverage() throws SQLException {
+        addStaff("s1", "Receptionist");
+
+        Map<ShiftType, Map<String, Integer>> coverage = Map.of(ShiftType.MORNING, Map.of("Receptionist", 1));
+        RosterPlan plan = new RosterGeneratorService().generateRoster(MONDAY, 7, coverage, 11, 5, BUDGET);
+
+        assertTrue(plan.isFullyCovered());
+        assertEquals(7, plan.getShifts().size());
+    }
+
+    private void addStaff(String id, String position) throws SQLException {
+        positions.put(id, position);
+        assertTrue(repositories.staff().insert(new Staff(id, "Ann", id, null, null, position), "hash"));
+    }
+
+    private List<String> positionsOnDuty(RosterPlan plan, LocalDate day) {
+        return plan.getShifts().stream()
+                .filter(shift -> shift.getDate().equals(day))
+                .map(shift -> positions.get(shift.getStaffId()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static String staffOn(RosterPlan plan, LocalDate day) {
+        return plan.getShifts().stream()
+                .filter(shift -> shift.getDate().equals(day))
+                .map(StaffShift::getStaffId)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Checks that nobody works twice on a day and everyone rests long enough between shifts.
+     */
+    private static void assertRested(List<StaffShift> shifts, int minRestHours) {
+        Map<String, List<StaffShift>> byStaff = shifts.stream().collect(Collectors.groupingBy(StaffShift::getStaffId));
+        byStaff.forEach((staffId, own) -> {
+            own.sort(Comparator.comparing(StaffShift::getStartDateTime));
+            for (int i = 1; i < own.size(); i++) {
+                StaffShift previous = own.get(i - 1);
+                StaffShift next = own.get(i);
+                assertTrue(next.getDate().isAfter(previous.getDate()), staffId + " works twice on " + next.getDate());
+                long rest = ChronoUnit.HOURS.between(previous.getEndDateTime(), next.getStartDateTime());
+                assertTrue(rest >= minRestHours, staffId + " rests " + rest + " h before " + next.getDate());
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.hotelreservation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.SettingKey;
+import com.hotelreservation.repository.Repositories;
+import com.hotelreservation.repository.memory.InMemoryStore;
+
+/**
+ * Checks the settings cache against an in-memory store.
+ */
+class SettingsStoreTest {
+    private Repositories repositories;
+    private SettingsStore store;
+
+    @BeforeEach
+    void installStore() {
+        repositories = Repositories.inMemory(new InMemoryStore());
+        Repositories.install(repositories);
+        store = new SettingsStore(new SettingsService());
+    }
+
+    @AfterEach
+    void uninstallStore() {
+        store.clear();
+        Repositories.install(null);
+    }
+
+    @Test
+    void keyStoredWithoutValueFallsBackToDefault() throws SQLException {
+        Map<String, String> stored = new HashMap<>();
+        stored.put(SettingKey.DARK_MODE.getName(), "true");
+        stored.put(SettingKey.RESOLUTION.getName(), null);
+        repositories.settings().save("u1", stored);
+
+        store.load("u1");
+
+        assertTrue(store.get(SettingKey.DARK_MODE));
+        assertEquals("1366x768", store.get(SettingKey.RESOLUTION));
+    }
+
+    @Test
+    void settingNullStoresTheDefault() throws SQLException {
+        store.load("u1");
+        store.set(SettingKey.RESOLUTION, "1920x1080");
+        store.set(SettingKey.RESOLUTION, null);
+
+        assertEquals("1366x768", store.get(SettingKey.RESOLUTION));
+        assertTrue(store.flush());
+        assertEquals("1366x768", repositories.settings().load("u1").get(SettingKey.RESOLUTION.getName()));
+    }
+
+    @Test
+    void nullIsEncodedAsTheDefault() {
+        assertEquals("1366x768", SettingKey.RESOLUTION.encode(null));
+        assertEquals("false", SettingKey.DARK_MODE.encode(null));
+    }
+}
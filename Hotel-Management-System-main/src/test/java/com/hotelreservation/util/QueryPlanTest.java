@@ -0,0 +1,304 @@
+package com.hotelreservation.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.hotelreservation.model.Booking;
+import com.hotelreservation.model.Guest;
+import com.hotelreservation.model.GuestSortField;
+import com.hotelreservation.repository.Repositories;
+
+/**
+ * Checks that the hot repository queries are answered through indexes once the tables are large.
+ * Each repository method is called once and the prepared statements it sends are recorded by a wrapper around
+ * its pooled connections; data changes are recorded without being run. Then, inside one transaction, a few years' worth of synthetic
+ * rows are added to every table, the planner statistics are refreshed and every recorded statement is run
+ * through {@code EXPLAIN} with the values it was bound to. The transaction is rolled back, so neither the rows
+ * nor the statistics are kept; still, the inserts lock the tables while it runs, so point it at a development
+ * database. Skipped unless SUPABASE_DB_URL is set.
+ */
+class QueryPlanTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static final List<String> SEED = List.of(
+            "INSERT INTO Staffs (staffId, firstName, lastName, password, position) "
+                    + "SELECT 'plan-s' || i, 'First' || i, 'Last' || i, 'x', 'Receptionist' "
+                    + "FROM generate_series(1, 200) i",
+            "INSERT INTO Rooms (roomId, roomNumber, type, rate, capacity, status, floor) "
+                    + "SELECT 'plan-r' || i, 'P' || i, 'Standard', 100, 2, "
+                    + "CASE WHEN i % 20 = 0 THEN 'MAINTENANCE' ELSE 'AVAILABLE' END, i % 20 "
+                    + "FROM generate_series(1, 1000) i",
+            "INSERT INTO Guests (guestId, firstName, lastName, contactNumber) "
+                    + "SELECT 'plan-g' || i, 'First' || (i % 5000), 'Last' || i, '0917' || lpad(i::text, 7, '0') "
+                    + "FROM generate_series(1, 50000) i",
+            // Stays over the past five years and the next three months; only the recent ones are still live
+            "INSERT INTO Bookings (bookingId, guestId, roomId, checkInDate, checkOutDate, totalAmount, status) "
+                    + "SELECT 'plan-b' || i, 'plan-g' || (i % 50000 + 1), 'plan-r' || (i % 1000 + 1), d, "
+                    + "d + 1 + i % 5, 100, CASE WHEN d >= CURRENT_DATE - 7 "
+                    + "THEN (CASE WHEN i % 2 = 0 THEN 'CONFIRMED' ELSE 'CHECKED_IN' END) "
+                    + "WHEN i % 25 = 0 THEN 'CANCELLED' ELSE 'CHECKED_OUT' END "
+                    + "FROM (SELECT i, CURRENT_DATE - 1800 + i % 1890 AS d FROM generate_series(1, 200000) i) s",
+            "INSERT INTO Promos (promoId, code, discountAmount, validFrom, validUntil, active) "
+                    + "SELECT 'plan-p' || i, 'PLAN' || i, 10, CURRENT_DATE - 30, CURRENT_DATE + 30, i % 3 = 0 "
+                    + "FROM generate_series(1, 5000) i",
+            "INSERT INTO StaffShifts (staffId, startTime, endTime, date) "
+                    + "SELECT 'plan-s' || (i % 200 + 1), '08:00', '16:00', CURRENT_DATE - i / 200 "
+                    + "FROM generate_series(1, 100000) i",
+            "INSERT INTO StaffLogs (staffId, action, details, timestamp) "
+                    + "SELECT 'plan-s' || (i % 200 + 1), 'LOGIN', NULL, CURRENT_TIMESTAMP - i * INTERVAL '5 minutes' "
+                    + "FROM generate_series(1, 200000) i",
+            "INSERT INTO Notifications (notificationId, staffId, message, createdAt, read) "
+                    + "SELECT 'plan-n' || i, 'plan-s' || (i % 200 + 1), 'Message', "
+                    + "CURRENT_TIMESTAMP - i * INTERVAL '10 minutes', i > 50 "
+                    + "FROM generate_series(1, 50000) i");
+
+    private static final List<String> ANALYZED = List.of(
+            "Staffs", "Rooms", "Guests", "Bookings", "Promos", "StaffShifts", "StaffLogs", "Notifications");
+
+    /**
+     * A repository call to check.
+     *
+     * @param name the repository method and the case it covers
+     * @param call the call, made against the unseeded database to record its statements
+     * @param indexedTables the tables that must not be scanned sequentially, in lower case; tables joined in
+     *        whole, such as the guests named on a page of bookings, are left out
+     */
+    private record HotQuery(String name, RecordedCall call, List<String> indexedTables) {
+    }
+
+    /**
+     * A prepared statement as it was run, with its bound values.
+     *
+     * @param sql the prepared SQL
+     * @param parameters the bound values, in order
+     */
+    private record Execution(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Database work whose statements are recorded.
+     */
+    @FunctionalInterface
+    private interface RecordedCall {
+        void run() throws SQLException;
+    }
+
+    @BeforeAll
+    static void migrate() {
+        Assumptions.assumeTrue(DatabaseConnection.isConfigured(), "SUPABASE_DB_URL is not set");
+        assertTrue(SchemaMigrations.migrate(), "the database schema could not be brought up to date");
+    }
+
+    @AfterAll
+    static void closePool() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Test
+    void hotQueriesUseIndexes() throws SQLException {
+        Repositories db = Repositories.jdbc();
+        Guest lastOnPage = new Guest("plan-g25000", "First0", "Last25000", null, null, null);
+        List<HotQuery> queries = List.of(
+                new HotQuery("JdbcRoomRepository.findAvailable",
+                        () -> db.rooms().findAvailable(date(0), date(2)), List.of("bookings")),
+                new HotQuery("JdbcBookingRepository.findActiveOverlapping",
+                        () -> db.bookings().findActiveOverlapping(date(1), date(3)), List.of("bookings")),
+                new HotQuery("JdbcBookingRepository.findInRange",
+                        () -> db.bookings().findInRange(date(0), date(7)), List.of("bookings")),
+                new HotQuery("JdbcBookingRepository.search (by status)",
+                        () -> db.bookings().search(null, "CONFIRMED", null), List.of("bookings")),
+                new HotQuery("JdbcBookingRepository.search (by text)",
+                        () -> db.bookings().search("t4211", null, null), List.of("bookings", "guests")),
+                new HotQuery("JdbcBookingRepository.insertIfRoomFree",
+                        () -> db.bookings().insertIfRoomFree(new Booking("plan-new", "plan-g1", "plan-r7", date(1),
+                                date(3), 100, "CONFIRMED", null, 0, null)), List.of("bookings")),
+                new HotQuery("JdbcGuestRepository.merge",
+                        () -> db.guests().merge("plan-g1", "plan-g2"), List.of("bookings", "guests")),
+                new HotQuery("JdbcGuestRepository.findPage (next page)",
+                        () -> db.guests().findPage(null, GuestSortField.LAST_NAME, lastOnPage, 50), List.of("guests")),
+                new HotQuery("JdbcGuestRepository.findPage (filtered)",
+                        () -> db.guests().findPage("last4211", GuestSortField.LAST_NAME, null, 50), List.of("guests")),
+                new HotQuery("JdbcGuestRepository.search",
+                        () -> db.guests().search("t4211"), List.of("guests")),
+                new HotQuery("JdbcPromoRepository.findValidByCode",
+                        () -> db.promos().findValidByCode("PLAN42"), List.of("promos")),
+                new HotQuery("JdbcStaffLogRepository.findByStaff",
+                        () -> db.staffLogs().findByStaff("plan-s7"), List.of("stafflogs")),
+                new HotQuery("JdbcStaffLogRepository.deleteOlderThan",
+                        () -> db.staffLogs().deleteOlderThan(690), List.of("stafflogs")),
+                new HotQuery("JdbcNotificationRepository.countUnread",
+                        () -> db.notifications().countUnread(), List.of("notifications")),
+                new HotQuery("JdbcShiftRepository.findByDate",
+                        () -> db.shifts().findByDate(date(-3)), List.of("staffshifts")),
+                new HotQuery("JdbcShiftRepository.findCurrent",
+                        () -> db.shifts().findCurrent("plan-s7", LocalDateTime.now()), List.of("staffshifts")));
+
+        List<List<Execution>> recorded = new ArrayList<>();
+        for (HotQuery query : queries) {
+            recorded.add(record(query.call()));
+        }
+
+        List<String> failures = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : SEED) {
+                    stmt.executeUpdate(sql);
+                }
+                for (String table : ANALYZED) {
+                    stmt.execute("ANALYZE " + table);
+                }
+                for (int i = 0; i < queries.size(); i++) {
+                    HotQuery query = queries.get(i);
+                    assertTrue(!recorded.get(i).isEmpty(), query.name() + " sent no statements");
+                    for (Execution execution : recorded.get(i)) {
+                        String plan = explain(conn, execution);
+                        String scanned = sequentiallyScanned(plan, query.indexedTables());
+                        if (scanned != null) {
+                            failures.add(query.name() + " scans " + scanned + " sequentially:\n"
+                                    + execution.sql() + "\n" + plan);
+                        }
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /**
+     * Runs database work and returns the prepared statements it sent on this thread. Queries run as usual.
+     * Prepared statements that change data are recorded but not run, and report one row changed so the work
+     * goes on to its later statements.
+     */
+    private static List<Execution> record(RecordedCall call) throws SQLException {
+        List<Execution> executions = new ArrayList<>();
+        DatabaseConnection.wrapConnectionsOnThisThread(conn -> proxy(Connection.class, (proxy, method, args) -> {
+            Object result = forward(conn, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                return recording((PreparedStatement) result, (String) args[0], executions);
+            }
+            return result;
+        }));
+        try {
+            call.run();
+        } finally {
+            DatabaseConnection.wrapConnectionsOnThisThread(null);
+        }
+        return executions;
+    }
+
+    private static PreparedStatement recording(PreparedStatement pstmt, String sql, List<Execution> executions) {
+        List<Object> parameters = new ArrayList<>();
+        int[] batchSize = { 0 };
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                while (parameters.size() < index) {
+                    parameters.add(null);
+                }
+                parameters.set(index - 1, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize[0]++;
+            } else if (name.startsWith("execute")) {
+                executions.add(new Execution(sql, Collections.unmodifiableList(new ArrayList<>(parameters))));
+                if (!name.equals("executeQuery")) {
+                    int rows = batchSize[0];
+                    batchSize[0] = 0;
+                    return unchanged(name, rows);
+                }
+            }
+            return forward(pstmt, method, args);
+        });
+    }
+
+    /**
+     * Gets the result of a data change recorded instead of run: one row changed per statement.
+     */
+    private static Object unchanged(String name, int batchSize) {
+        return switch (name) {
+            case "executeUpdate" -> 1;
+            case "executeLargeUpdate" -> 1L;
+            case "executeBatch" -> {
+                int[] counts = new int[batchSize];
+                Arrays.fill(counts, 1);
+                yield counts;
+            }
+            case "executeLargeBatch" -> {
+                long[] counts = new long[batchSize];
+                Arrays.fill(counts, 1L);
+                yield counts;
+            }
+            default -> false;
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[] { type },
+                handler));
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String explain(Connection conn, Execution execution) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + execution.sql())) {
+            for (int i = 0; i < execution.parameters().size(); i++) {
+                pstmt.setObject(i + 1, execution.parameters().get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Finds the first table of the list the plan scans sequentially, or returns null.
+     */
+    private static String sequentiallyScanned(String plan, List<String> tables) {
+        String lower = plan.toLowerCase(Locale.ROOT);
+        for (String table : tables) {
+            if (lower.contains("seq scan on " + table + " ") || lower.contains("seq scan on " + table + "\n")) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate date(int daysFromToday) {
+        return TODAY.plusDays(daysFromToday);
+    }
+}